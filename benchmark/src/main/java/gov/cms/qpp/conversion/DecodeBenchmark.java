@@ -0,0 +1,53 @@
+package gov.cms.qpp.conversion;
+
+import gov.cms.qpp.conversion.decode.XmlInputDecoder;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.xml.XmlException;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding from a fully built XML document against the streaming decode.
+ * Run with {@code -prof gc} to compare allocation alongside throughput.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(3)
+@State(Scope.Benchmark)
+public class DecodeBenchmark {
+
+	@Param({"../qrda-files/valid-QRDA-III-latest.xml"})
+	public String fileName;
+
+	@Param({"false", "true"})
+	public boolean streaming;
+
+	private byte[] content;
+
+	@Setup
+	public void setup() throws IOException {
+		content = Files.readAllBytes(Paths.get(fileName));
+	}
+
+	@Benchmark
+	public Node decode() throws XmlException {
+		Context context = new Context();
+		if (streaming) {
+			return XmlInputDecoder.decodeXml(context, new ByteArrayInputStream(content));
+		}
+		return XmlInputDecoder.decodeXml(context, XmlUtils.parseXmlStream(new ByteArrayInputStream(content)));
+	}
+}
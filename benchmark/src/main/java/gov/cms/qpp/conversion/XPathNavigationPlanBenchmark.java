@@ -0,0 +1,89 @@
+package gov.cms.qpp.conversion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.cms.qpp.conversion.correlation.model.Config;
+import gov.cms.qpp.conversion.correlation.model.Correlation;
+import gov.cms.qpp.conversion.correlation.model.PathCorrelation;
+import gov.cms.qpp.conversion.decode.XPathNavigationPlan;
+import gov.cms.qpp.conversion.xml.XmlException;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
+import org.jdom2.xpath.XPathFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Compares navigation plans against XPath for every path-correlation.json xpath, evaluated at every
+ * element of the document that a decoder would be handed.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(3)
+@State(Scope.Benchmark)
+public class XPathNavigationPlanBenchmark {
+
+	@Param({"../qrda-files/valid-QRDA-III-latest.xml",
+			"../qrda-files/ComprehensivePrimaryCare_Sample_QRDA_III-latest.xml"})
+	public String fileName;
+
+	@Param({"plan", "xpath"})
+	public String navigation;
+
+	private List<Element> decodePoints;
+	private List<XPathExpression<Object>> expressions;
+
+	@Setup
+	public void setup() throws IOException, XmlException {
+		Element root = XmlUtils.parseXmlStream(XmlUtils.fileToStream(Paths.get(fileName)));
+		decodePoints = StreamSupport.stream(root.getDescendants(Filters.element()).spliterator(), false)
+				.filter(element -> element.getChild("templateId", element.getNamespace()) != null)
+				.collect(Collectors.toList());
+
+		Namespace xpathNs = Namespace.getNamespace("ns", root.getNamespaceURI());
+		expressions = relativeXpaths(root.getNamespaceURI()).stream()
+				.map(xpath -> "plan".equals(navigation)
+						? XPathNavigationPlan.compile(xpath, Filters.fpassthrough(), xpathNs)
+						: XPathFactory.instance().compile(xpath, Filters.fpassthrough(), null, xpathNs))
+				.collect(Collectors.toList());
+	}
+
+	@Benchmark
+	public void evaluate(Blackhole blackhole) {
+		for (Element element : decodePoints) {
+			for (XPathExpression<Object> expression : expressions) {
+				blackhole.consume(expression.evaluate(element));
+			}
+		}
+	}
+
+	private List<String> relativeXpaths(String uri) throws IOException {
+		try (InputStream input = ClassLoader.getSystemResourceAsStream("pathing/path-correlation.json")) {
+			PathCorrelation pathCorrelation = new ObjectMapper().readValue(input, PathCorrelation.class);
+			return pathCorrelation.getCorrelations().stream()
+					.map(Correlation::getConfig)
+					.flatMap(List::stream)
+					.map(Config::getGoods)
+					.map(goods -> goods.getRelativeXPath().replace(pathCorrelation.getUriSubstitution(), uri))
+					.distinct()
+					.collect(Collectors.toList());
+		}
+	}
+}
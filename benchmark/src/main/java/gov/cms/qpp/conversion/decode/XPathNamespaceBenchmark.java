@@ -0,0 +1,51 @@
+package gov.cms.qpp.conversion.decode;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.xml.XmlException;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+import org.jdom2.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding a document while binding the decoders' "ns" xpath namespace by reflective construction for
+ * every decoded element, as was done before, against binding it to the interned {@link XPathNamespace}.
+ * Run with {@code -prof gc} to compare allocation alongside throughput.
+ */
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(3)
+@State(Scope.Benchmark)
+public class XPathNamespaceBenchmark {
+
+	@Param({"../qrda-files/valid-QRDA-III-latest.xml"})
+	public String fileName;
+
+	@Param({"reflection", "interned"})
+	public String binding;
+
+	private Element root;
+
+	@Setup
+	public void setup() throws XmlException {
+		root = XmlUtils.parseXmlStream(XmlUtils.fileToStream(Paths.get(fileName))).getDocument().getRootElement();
+	}
+
+	@Benchmark
+	public Node decode() {
+		DecodeState state = "interned".equals(binding)
+				? DecodeState.of(root)
+				: DecodeState.of(root, XPathNamespace::construct);
+		return new QppXmlDecoder(new Context()).decodeRoot(state, root);
+	}
+}
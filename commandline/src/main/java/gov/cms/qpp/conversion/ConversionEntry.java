@@ -37,6 +37,7 @@ public class ConversionEntry {
 
 	static final String CLI_PROBLEM = "Problem parsing cli options";
 	static final String INVALID_TEMPLATE_SCOPE = "Invalid template scope";
+	static final String INVALID_MAX_ERRORS = "The maximum number of errors must be a positive whole number";
 	private static final String TOO_MANY_WILD_CARDS = "Too many wild cards in {}";
 	private static final String NO_INPUT_FILE_SPECIFIED = "No input filename was specified.";
 	private static final String FILE_DOES_NOT_EXIST = "{} does not exist.";
@@ -46,6 +47,8 @@ public class ConversionEntry {
 	static final String SKIP_VALIDATION = "skipValidation";
 	static final String SKIP_DEFAULTS = "skipDefaults";
 	static final String TEMPLATE_SCOPE = "templateScope";
+	static final String MAX_ERRORS = "maxErrors";
+	static final String COMPACT = "compact";
 	private static final String HELP = "help";
 
 	private static FileSystem fileSystem = FileSystems.getDefault();
@@ -54,6 +57,8 @@ public class ConversionEntry {
 	private static boolean doValidation = true;
 	private static boolean historical;
 	private static Set<QrdaScope> scope = EnumSet.noneOf(QrdaScope.class);
+	private static int maxErrors;
+	private static boolean compactOutput;
 	private static Options options;
 	private static HelpFormatter formatter;
 
@@ -85,6 +90,8 @@ public class ConversionEntry {
 		context.setDoValidation(doValidation);
 		context.setHistorical(historical);
 		context.setScope(scope);
+		context.setMaxErrors(maxErrors);
+		context.setCompactOutput(compactOutput);
 		return context;
 	}
 
@@ -117,7 +124,7 @@ public class ConversionEntry {
 	 * @return determination of validity
 	 */
 	static boolean shouldContinue(CommandLine line) {
-		boolean shouldContinue = !line.hasOption(HELP) && validatedScope(line);
+		boolean shouldContinue = !line.hasOption(HELP) && validatedScope(line) && validatedMaxErrors(line);
 		if (shouldContinue && line.getArgList().isEmpty()) {
 			DEV_LOG.error(NO_INPUT_FILE_SPECIFIED);
 			shouldContinue = false;
@@ -148,6 +155,29 @@ public class ConversionEntry {
 		return isItValid;
 	}
 
+	/**
+	 * Validate the maximum number of errors passed via command line.
+	 *
+	 * @param line command line arguments
+	 * @return determination of validity
+	 */
+	private static boolean validatedMaxErrors(CommandLine line) {
+		maxErrors = 0;
+		if (line.hasOption(MAX_ERRORS)) {
+			try {
+				maxErrors = Integer.parseInt(line.getOptionValue(MAX_ERRORS));
+			} catch (NumberFormatException exception) {
+				maxErrors = -1;
+			}
+
+			if (maxErrors <= 0) {
+				DEV_LOG.error(INVALID_MAX_ERRORS);
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Initialize the command line interface.
 	 */
@@ -156,6 +186,7 @@ public class ConversionEntry {
 		options.addOption("b", BYGONE, false, "Signals a historical conversion");
 		options.addOption("v", SKIP_VALIDATION, false, "Skip validations");
 		options.addOption("d", SKIP_DEFAULTS, false,"Skip defaulted transformations");
+		options.addOption("c", COMPACT, false, "Write the QPP json without indentation or line breaks");
 		options.addOption("h", HELP, false,"This help message");
 
 		Option templateScope = Option.builder("t")
@@ -167,6 +198,14 @@ public class ConversionEntry {
 				.build();
 		options.addOption(templateScope);
 
+		Option maxErrorCount = Option.builder("e")
+				.longOpt(MAX_ERRORS)
+				.argName("count")
+				.hasArg()
+				.desc("Stop converting a file once it has this many errors, reporting no more than these")
+				.build();
+		options.addOption(maxErrorCount);
+
 		formatter = new HelpFormatter();
 	}
 
@@ -206,6 +245,7 @@ public class ConversionEntry {
 		doValidation = !line.hasOption(SKIP_VALIDATION);
 		doDefaults = !line.hasOption(SKIP_DEFAULTS);
 		historical = line.hasOption(BYGONE);
+		compactOutput = line.hasOption(COMPACT);
 		return line;
 	}
 
@@ -1,10 +1,15 @@
 package gov.cms.qpp.conversion;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,7 +17,6 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 
-import gov.cms.qpp.conversion.encode.JsonWrapper;
 import gov.cms.qpp.conversion.model.error.AllErrors;
 import gov.cms.qpp.conversion.model.error.TransformException;
 
@@ -54,37 +58,89 @@ public class ConversionFileWriterWrapper {
 
 	/**
 	 * Execute the converter and do initial handling of the result.
+	 * The QPP is streamed to a temporary file beside its destination as it is encoded, and only moved into place
+	 * once the conversion succeeds, so a failed conversion leaves any earlier QPP untouched. Failures other than
+	 * those of the conversion itself are passed on once the temporary file is removed.
+	 * The moved QPP has the permissions of the QPP it replaces, or those of any new file when there is none.
 	 *
 	 * @param converter The Converter to execute.
 	 */
 	private void executeConverter(Converter converter) {
+		Path outFile = getOutputFile(source.getName(), true);
+		Path tempFile;
 		try {
-			JsonWrapper jsonWrapper = converter.transform();
-			Path outFile = getOutputFile(source.getName(), true);
-			DEV_LOG.info("Successful conversion.  Writing out QPP to {}",
+			tempFile = createTempFile(outFile);
+		} catch (IOException exception) {
+			DEV_LOG.error("Could not write out QPP JSON to file", exception);
+			return;
+		}
+
+		try {
+			try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+				converter.transform(output);
+			}
+			moveIntoPlace(tempFile, outFile);
+			DEV_LOG.info("Successful conversion.  Wrote out QPP to {}",
 				outFile.toString());
-			writeOutQpp(jsonWrapper, outFile);
 		} catch (TransformException exception) {
+			deleteOutput(tempFile);
 			AllErrors allErrors = exception.getDetails();
-			Path outFile = getOutputFile(source.getName(), false);
-			DEV_LOG.warn("There were errors during conversion.  Writing out errors to {} " + outFile.toString(),
+			Path errFile = getOutputFile(source.getName(), false);
+			DEV_LOG.warn("There were errors during conversion.  Writing out errors to {} " + errFile.toString(),
 					exception);
-			writeOutErrors(allErrors, outFile);
+			writeOutErrors(allErrors, errFile);
+		} catch (IOException exception) {
+			deleteOutput(tempFile);
+			DEV_LOG.error("Could not write out QPP JSON to file", exception);
+		} catch (RuntimeException exception) {
+			deleteOutput(tempFile);
+			throw exception;
 		}
 	}
 
 	/**
-	 * Write out the QPP to a file.
+	 * Create the file the QPP is written to before it is moved into place. It is created as any new file would be,
+	 * then given the permissions of an earlier QPP it is to replace.
 	 *
-	 * @param jsonWrapper The QPP to write
-	 * @param outFile The location to write.
+	 * @param outFile The location of the QPP.
+	 * @return The temporary location of the QPP.
+	 * @throws IOException If the file cannot be created.
 	 */
-	private void writeOutQpp(JsonWrapper jsonWrapper, Path outFile) {
-		try (Writer writer = Files.newBufferedWriter(outFile)) {
-			writer.write(jsonWrapper.toString());
-			writer.flush();
+	private Path createTempFile(Path outFile) throws IOException {
+		Path tempFile = Files.createFile(outFile.toAbsolutePath()
+				.resolveSibling(outFile.getFileName() + "." + UUID.randomUUID() + ".tmp"));
+		if (Files.exists(outFile) && fileSystem.supportedFileAttributeViews().contains("posix")) {
+			Files.setPosixFilePermissions(tempFile, Files.getPosixFilePermissions(outFile));
+		}
+		return tempFile;
+	}
+
+	/**
+	 * Move the QPP into place, atomically where the file system allows it.
+	 *
+	 * @param tempFile The temporary location of the QPP.
+	 * @param outFile The location of the QPP.
+	 * @throws IOException If the QPP cannot be moved.
+	 */
+	private void moveIntoPlace(Path tempFile, Path outFile) throws IOException {
+		try {
+			Files.move(tempFile, outFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException exception) {
+			DEV_LOG.debug("Atomic moves are not supported, moving the QPP into place instead", exception);
+			Files.move(tempFile, outFile, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Remove the incomplete QPP of a failed conversion.
+	 *
+	 * @param tempFile The temporary location of the QPP.
+	 */
+	private void deleteOutput(Path tempFile) {
+		try {
+			Files.deleteIfExists(tempFile);
 		} catch (IOException exception) {
-			DEV_LOG.error("Could not write out QPP JSON to file", exception);
+			DEV_LOG.error("Could not remove the QPP JSON file of a failed conversion", exception);
 		}
 	}
 
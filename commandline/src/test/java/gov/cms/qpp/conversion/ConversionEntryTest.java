@@ -278,6 +278,36 @@ public class ConversionEntryTest {
 				.that(result).isTrue();
 	}
 
+	@Test
+	public void shouldAllowValidMaxErrors() throws ParseException {
+		//when
+		CommandLine line = ConversionEntry.cli(new String[] {"file.txt", "-e", "10"});
+		boolean result = ConversionEntry.shouldContinue(line);
+
+		//then
+		assertWithMessage("10 should be a valid maximum")
+				.that(result).isTrue();
+	}
+
+	@Test
+	public void shouldDenyInvalidMaxErrors() throws ParseException {
+		//setup
+		ByteArrayOutputStream baos1 = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(baos1));
+
+		for (String maxErrors : new String[] {"meep", "0"}) {
+			//when
+			CommandLine line = ConversionEntry.cli(new String[] {"file.txt", "--" + ConversionEntry.MAX_ERRORS, maxErrors});
+			boolean result = ConversionEntry.shouldContinue(line);
+
+			//then
+			assertWithMessage(maxErrors + " is not a valid maximum")
+					.that(result).isFalse();
+		}
+		assertWithMessage("output stream should contain " + ConversionEntry.INVALID_MAX_ERRORS)
+				.that(baos1.toString()).contains(ConversionEntry.INVALID_MAX_ERRORS);
+	}
+
 	@Test
 	@PrepareForTest({DefaultParser.class, ConversionEntry.class})
 	public void testValidArgsParseException() throws Exception {
@@ -330,6 +360,14 @@ public class ConversionEntryTest {
 				.isTrue();
 	}
 
+	@Test
+	public void testHandleCompact() throws ParseException {
+		CommandLine line = ConversionEntry.cli(new String[] {"-c"});
+		assertWithMessage("Should have a compact option")
+				.that(line.hasOption(ConversionEntry.COMPACT))
+				.isTrue();
+	}
+
 	@Test
 	public void testHandleCombo() throws ParseException {
 		CommandLine line = ConversionEntry.cli(new String[] {"-dvt", "meep"});
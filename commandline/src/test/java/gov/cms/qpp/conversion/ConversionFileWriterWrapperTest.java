@@ -5,19 +5,28 @@ import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.List;
 import java.util.Map;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
 @RunWith(PowerMockRunner.class)
 public class ConversionFileWriterWrapperTest {
@@ -25,9 +34,11 @@ public class ConversionFileWriterWrapperTest {
 	@After
 	public void deleteFiles() throws IOException {
 		Files.deleteIfExists(Paths.get("valid-QRDA-III-latest.qpp.json"));
+		Files.deleteIfExists(Paths.get("not-a-QRDA-III-file.qpp.json"));
 		Files.deleteIfExists(Paths.get("not-a-QRDA-III-file.err.json"));
 		Files.deleteIfExists(Paths.get("qrda_bad_denominator.qpp.json"));
 		Files.deleteIfExists(Paths.get("qrda_bad_denominator.err.json"));
+		Files.deleteIfExists(Paths.get("new-file.json"));
 	}
 
 	@Test
@@ -42,6 +53,79 @@ public class ConversionFileWriterWrapperTest {
 		assertFileExists("valid-QRDA-III-latest.qpp.json");
 	}
 
+	@Test
+	public void testValidQppStreamedAsConverted() throws IOException {
+		Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
+		ConversionFileWriterWrapper converterWrapper = new ConversionFileWriterWrapper(path);
+
+		converterWrapper.transform();
+
+		String expected = new Converter(new PathQrdaSource(path)).transform().toString();
+		assertThat(new String(Files.readAllBytes(Paths.get("valid-QRDA-III-latest.qpp.json")), StandardCharsets.UTF_8))
+				.isEqualTo(expected);
+	}
+
+	@Test
+	public void testCompactQpp() throws IOException {
+		Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
+		ConversionFileWriterWrapper converterWrapper = new ConversionFileWriterWrapper(path);
+
+		Context context = new Context();
+		context.setCompactOutput(true);
+		converterWrapper.setContext(context).transform();
+
+		String expected = new String(new Converter(new PathQrdaSource(path)).transform().toBytes(true),
+				StandardCharsets.UTF_8);
+		assertThat(new String(Files.readAllBytes(Paths.get("valid-QRDA-III-latest.qpp.json")), StandardCharsets.UTF_8))
+				.isEqualTo(expected);
+	}
+
+	@Test
+	public void testQppHasPermissionsOfNewFile() throws IOException {
+		assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+		Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
+		ConversionFileWriterWrapper converterWrapper = new ConversionFileWriterWrapper(path);
+
+		converterWrapper.transform();
+
+		Path newFile = Files.createFile(Paths.get("new-file.json"));
+		assertWithMessage("The QPP should have the permissions of any new file")
+				.that(Files.getPosixFilePermissions(Paths.get("valid-QRDA-III-latest.qpp.json")))
+				.isEqualTo(Files.getPosixFilePermissions(newFile));
+	}
+
+	@Test
+	public void testQppKeepsPermissionsOfEarlierQpp() throws IOException {
+		assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+		Path earlier = Paths.get("valid-QRDA-III-latest.qpp.json");
+		Files.write(earlier, "{}".getBytes(StandardCharsets.UTF_8));
+		Files.setPosixFilePermissions(earlier, PosixFilePermissions.fromString("rw-r-----"));
+		Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
+		ConversionFileWriterWrapper converterWrapper = new ConversionFileWriterWrapper(path);
+
+		converterWrapper.transform();
+
+		assertWithMessage("The QPP should keep the permissions of the QPP it replaces")
+				.that(PosixFilePermissions.toString(Files.getPosixFilePermissions(earlier)))
+				.isEqualTo("rw-r-----");
+	}
+
+	@Test
+	@PrepareForTest({Files.class, ConversionFileWriterWrapper.class})
+	public void testQppMovedWithoutAtomicMove() throws Exception {
+		PowerMockito.spy(Files.class);
+		PowerMockito.doThrow(new AtomicMoveNotSupportedException(null, null, "meep")).when(Files.class);
+		Files.move(ArgumentMatchers.any(Path.class), ArgumentMatchers.any(Path.class),
+				ArgumentMatchers.eq(StandardCopyOption.ATOMIC_MOVE),
+				ArgumentMatchers.eq(StandardCopyOption.REPLACE_EXISTING));
+		Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
+		ConversionFileWriterWrapper converterWrapper = new ConversionFileWriterWrapper(path);
+
+		converterWrapper.transform();
+
+		assertFileExists("valid-QRDA-III-latest.qpp.json");
+	}
+
 	@Test
 	public void testInvalidQpp() {
 		Path path = Paths.get("src/test/resources/not-a-QRDA-III-file.xml");
@@ -50,6 +134,7 @@ public class ConversionFileWriterWrapperTest {
 		converterWrapper.transform();
 
 		assertFileExists("not-a-QRDA-III-file.err.json");
+		assertFileDoesNotExists("not-a-QRDA-III-file.qpp.json");
 	}
 
 	@Test
@@ -68,7 +153,9 @@ public class ConversionFileWriterWrapperTest {
 	@PrepareForTest({Files.class, ConversionFileWriterWrapper.class})
 	public void testFailureToWriteQpp() throws IOException {
 		PowerMockito.mockStatic(Files.class);
-		PowerMockito.when(Files.newBufferedWriter(ArgumentMatchers.any(Path.class))).thenThrow(new IOException());
+		PowerMockito.when(Files.createFile(ArgumentMatchers.any(Path.class)))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+		PowerMockito.when(Files.newOutputStream(ArgumentMatchers.any(Path.class))).thenThrow(new IOException());
 
 		Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
 		ConversionFileWriterWrapper converterWrapper = new ConversionFileWriterWrapper(path);
@@ -78,6 +165,52 @@ public class ConversionFileWriterWrapperTest {
 		assertFileDoesNotExists("valid-QRDA-III-latest.qpp.json");
 	}
 
+	@Test
+	@PrepareForTest(ConversionFileWriterWrapper.class)
+	public void testUnexpectedFailureRemovesPartialQpp() throws Exception {
+		Converter converter = Mockito.mock(Converter.class);
+		Mockito.doAnswer(invocation -> {
+			invocation.<OutputStream>getArgument(0).write('{');
+			throw new IllegalStateException("meep");
+		}).when(converter).transform(ArgumentMatchers.any(OutputStream.class));
+		PowerMockito.whenNew(Converter.class).withAnyArguments().thenReturn(converter);
+
+		Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
+		ConversionFileWriterWrapper converterWrapper = new ConversionFileWriterWrapper(path);
+
+		try {
+			converterWrapper.transform();
+			fail("The failure should be passed on");
+		} catch (IllegalStateException expected) {
+			assertThat(expected).hasMessageThat().isEqualTo("meep");
+		}
+		assertFileDoesNotExists("valid-QRDA-III-latest.qpp.json");
+	}
+
+	@Test
+	@PrepareForTest(ConversionFileWriterWrapper.class)
+	public void testFailureKeepsEarlierQpp() throws Exception {
+		Path earlier = Paths.get("valid-QRDA-III-latest.qpp.json");
+		Files.write(earlier, "{}".getBytes(StandardCharsets.UTF_8));
+		Converter converter = Mockito.mock(Converter.class);
+		Mockito.doAnswer(invocation -> {
+			invocation.<OutputStream>getArgument(0).write('{');
+			throw new IllegalStateException("meep");
+		}).when(converter).transform(ArgumentMatchers.any(OutputStream.class));
+		PowerMockito.whenNew(Converter.class).withAnyArguments().thenReturn(converter);
+
+		Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
+		ConversionFileWriterWrapper converterWrapper = new ConversionFileWriterWrapper(path);
+
+		try {
+			converterWrapper.transform();
+			fail("The failure should be passed on");
+		} catch (IllegalStateException expected) {
+			assertThat(expected).hasMessageThat().isEqualTo("meep");
+		}
+		assertThat(new String(Files.readAllBytes(earlier), StandardCharsets.UTF_8)).isEqualTo("{}");
+	}
+
 	@Test
 	@PrepareForTest({Files.class, ConversionFileWriterWrapper.class})
 	public void testFailureToWriteErrors() throws IOException {
@@ -8,6 +8,8 @@ import java.util.Set;
 
 import gov.cms.qpp.conversion.model.Program;
 import gov.cms.qpp.conversion.model.Registry;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigSnapshot;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigs;
 import gov.cms.qpp.conversion.segmentation.QrdaScope;
 
 /**
@@ -22,6 +24,11 @@ public class Context {
 	private boolean historical;
 	private boolean doDefaults = true;
 	private boolean doValidation = true;
+	private boolean streamingDecode;
+	private boolean parallelValidation;
+	private boolean compactOutput;
+	private int maxErrors;
+	private MeasureConfigSnapshot measureConfigs = MeasureConfigs.getSnapshot();
 
 	/**
 	 * Gets the current contextual {@link Program}
@@ -122,6 +129,103 @@ public class Context {
 		this.doValidation = doValidation;
 	}
 
+	/**
+	 * Whether this context wants the QRDA document decoded as a stream of sections rather
+	 * than from a fully built XML tree
+	 *
+	 * @return streamingDecode
+	 */
+	public boolean isStreamingDecode() {
+		return streamingDecode;
+	}
+
+	/**
+	 * Switch for enabling or disabling the streaming decode.
+	 *
+	 * @param streamingDecode toggle value
+	 * @see gov.cms.qpp.conversion.decode.StreamingQppXmlDecoder
+	 */
+	public void setStreamingDecode(boolean streamingDecode) {
+		this.streamingDecode = streamingDecode;
+	}
+
+	/**
+	 * Whether this context wants the subtrees of the QRDA document validated in parallel
+	 *
+	 * @return parallelValidation
+	 */
+	public boolean isParallelValidation() {
+		return parallelValidation;
+	}
+
+	/**
+	 * Switch for enabling or disabling parallel validation.
+	 *
+	 * @param parallelValidation toggle value
+	 * @see gov.cms.qpp.conversion.validate.QrdaValidator
+	 */
+	public void setParallelValidation(boolean parallelValidation) {
+		this.parallelValidation = parallelValidation;
+	}
+
+	/**
+	 * Whether this context wants the QPP json it streams written without indentation or line breaks
+	 *
+	 * @return compactOutput
+	 */
+	public boolean isCompactOutput() {
+		return compactOutput;
+	}
+
+	/**
+	 * Switch for enabling or disabling compact output.
+	 *
+	 * @param compactOutput toggle value
+	 * @see Converter#transform(java.io.OutputStream)
+	 */
+	public void setCompactOutput(boolean compactOutput) {
+		this.compactOutput = compactOutput;
+	}
+
+	/**
+	 * The most errors a conversion under this context reports before it stops looking for more
+	 *
+	 * @return maxErrors, where zero or less means there is no limit
+	 */
+	public int getMaxErrors() {
+		return maxErrors;
+	}
+
+	/**
+	 * Sets the most errors a conversion reports. A conversion that reaches the limit stops early
+	 * and its report is marked as truncated.
+	 *
+	 * @param maxErrors the limit, or zero or less for no limit
+	 */
+	public void setMaxErrors(int maxErrors) {
+		this.maxErrors = maxErrors;
+	}
+
+	/**
+	 * The measure configurations a conversion under this context uses, which are those current when the context
+	 * was created
+	 *
+	 * @return measureConfigs
+	 */
+	public MeasureConfigSnapshot getMeasureConfigs() {
+		return measureConfigs;
+	}
+
+	/**
+	 * Sets the measure configurations a conversion uses
+	 *
+	 * @param measureConfigs the snapshot to use
+	 * @see MeasureConfigs#getSnapshot()
+	 */
+	public void setMeasureConfigs(MeasureConfigSnapshot measureConfigs) {
+		this.measureConfigs = measureConfigs;
+	}
+
 	/**
 	 * Looks up or creates a new {@link Registry} for the given annotation type under this context
 	 *
@@ -2,10 +2,12 @@ package gov.cms.qpp.conversion;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.cms.qpp.conversion.decode.QrdaHeaderSniffer;
 import gov.cms.qpp.conversion.decode.XmlInputDecoder;
 import gov.cms.qpp.conversion.decode.XmlInputFileException;
 import gov.cms.qpp.conversion.decode.placeholder.DefaultDecoder;
 import gov.cms.qpp.conversion.encode.EncodeException;
+import gov.cms.qpp.conversion.encode.EncodeState;
 import gov.cms.qpp.conversion.encode.JsonOutputEncoder;
 import gov.cms.qpp.conversion.encode.JsonWrapper;
 import gov.cms.qpp.conversion.encode.QppOutputEncoder;
@@ -14,8 +16,8 @@ import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.error.AllErrors;
 import gov.cms.qpp.conversion.model.error.Detail;
 import gov.cms.qpp.conversion.model.error.Error;
+import gov.cms.qpp.conversion.model.error.ErrorBudget;
 import gov.cms.qpp.conversion.model.error.TransformException;
-import gov.cms.qpp.conversion.util.CloneHelper;
 import gov.cms.qpp.conversion.validate.QrdaValidator;
 import gov.cms.qpp.conversion.xml.XmlException;
 import gov.cms.qpp.conversion.xml.XmlUtils;
@@ -23,8 +25,10 @@ import org.jdom2.Element;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -47,8 +51,11 @@ public class Converter {
 	private final QrdaSource source;
 	private final Context context;
 	private List<Detail> details = new ArrayList<>();
+	private ErrorBudget errorBudget = ErrorBudget.UNLIMITED;
+	private boolean truncated;
 	private Node decoded;
 	private JsonWrapper encoded;
+	private OutputStream output;
 
 	/**
 	 * Constructor for the CLI Converter application
@@ -84,6 +91,7 @@ public class Converter {
 	 */
 	public JsonWrapper transform() {
 		DEV_LOG.info("Transform invoked with file {}", source.getName());
+		errorBudget = new ErrorBudget(context.getMaxErrors());
 		try {
 			encoded = transform(source.toInputStream());
 		} catch (XmlInputFileException | XmlException xe) {
@@ -93,6 +101,8 @@ public class Converter {
 			DEV_LOG.error(UNEXPECTED_ERROR, exception);
 			details.add(new Detail(UNEXPECTED_ERROR));
 		}
+		truncateDetails();
+		freeze();
 
 		if (!details.isEmpty()) {
 			throw new TransformException("Validation errors exist", null, getReport());
@@ -101,6 +111,45 @@ public class Converter {
 		return encoded;
 	}
 
+	/**
+	 * Perform conversion, writing the QPP json straight to an output stream as it is encoded instead of holding
+	 * it all in a {@link JsonWrapper}. Nothing is written unless the submission is valid, but an encoding error
+	 * may still leave incomplete json behind, so the output should be discarded when a
+	 * {@link TransformException} is thrown. The json is compact when the context asks for
+	 * {@link Context#isCompactOutput() compact output}. The {@link ConversionReport} of a streamed conversion has
+	 * no encoded content.
+	 *
+	 * @param output where to write the QPP json, which is left open
+	 */
+	public void transform(OutputStream output) {
+		Objects.requireNonNull(output, "output");
+		this.output = output;
+		transform();
+	}
+
+	/**
+	 * Cuts the details down to the most the context allows once the error budget has been exhausted,
+	 * marking the report as truncated.
+	 */
+	private void truncateDetails() {
+		if (errorBudget.isExhausted()) {
+			truncated = true;
+			details = new ArrayList<>(details.subList(0, Math.min(details.size(), errorBudget.getMaxErrors())));
+		}
+	}
+
+	/**
+	 * Makes the results of the conversion read only, so the report can hand them out without copying.
+	 */
+	private void freeze() {
+		if (decoded != null) {
+			decoded.freeze();
+		}
+		if (encoded != null) {
+			encoded.freeze();
+		}
+	}
+
 	/**
 	 * Transform the content in a given input stream
 	 *
@@ -109,8 +158,18 @@ public class Converter {
 	 * @throws XmlException during transform
 	 */
 	private JsonWrapper transform(InputStream inStream) throws XmlException {
-		Element doc = XmlUtils.parseXmlStream(inStream);
-		decoded = XmlInputDecoder.decodeXml(context, doc);
+		InputStream xmlStream = new BufferedInputStream(inStream);
+		if (!QrdaHeaderSniffer.accepts(context, xmlStream)) {
+			details.add(new Detail(NOT_VALID_QRDA_DOCUMENT));
+			return null;
+		}
+
+		if (context.isStreamingDecode()) {
+			decoded = XmlInputDecoder.decodeXml(context, xmlStream);
+		} else {
+			Element doc = XmlUtils.parseXmlStream(xmlStream);
+			decoded = XmlInputDecoder.decodeXml(context, doc);
+		}
 		JsonWrapper qpp = null;
 		if (null != decoded) {
 			DEV_LOG.info("Decoded template ID {} from file '{}'", decoded.getType(), source.getName());
@@ -121,7 +180,7 @@ public class Converter {
 
 			if (context.isDoValidation()) {
 				QrdaValidator validator = new QrdaValidator(context);
-				details.addAll(validator.validate(decoded));
+				details.addAll(validator.validate(decoded, errorBudget));
 			}
 
 			if (details.isEmpty()) {
@@ -144,9 +203,15 @@ public class Converter {
 		DEV_LOG.info("Encoding template ID {}", decoded.getType());
 
 		try {
-			encoder.setNodes(Collections.singletonList(decoded));
-			JsonWrapper qpp = encoder.encode();
-			details.addAll(encoder.getDetails());
+			EncodeState state = new EncodeState(errorBudget);
+			List<Node> nodes = Collections.singletonList(decoded);
+			JsonWrapper qpp = null;
+			if (output == null) {
+				qpp = encoder.encode(state, nodes);
+			} else {
+				encoder.encode(state, nodes, output, context.isCompactOutput());
+			}
+			details.addAll(state.getDetails());
 			return qpp;
 		} catch (EncodeException e) {
 			throw new XmlInputFileException("Issues decoding/encoding.", e);
@@ -211,25 +276,27 @@ public class Converter {
 		 * @return A single source of validation errors.
 		 */
 		private Error constructErrorSource(final String inputIdentifier, final List<Detail> details) {
-			return new Error(inputIdentifier, details);
+			Error error = new Error(inputIdentifier, details);
+			error.setTruncated(truncated);
+			return error;
 		}
 
 		/**
-		 * Defensive copy of decoded submission
+		 * Read only decoded submission
 		 *
-		 * @return decoded {@link Node}
+		 * @return frozen decoded {@link Node}
 		 */
 		public Node getDecoded() {
-			return CloneHelper.deepClone(decoded);
+			return decoded;
 		}
 
 		/**
-		 * Defensive copy of the result of the conversion
+		 * Read only result of the conversion
 		 *
-		 * @return encoded {@link JsonWrapper}
+		 * @return frozen encoded {@link JsonWrapper}
 		 */
 		public JsonWrapper getEncoded() {
-			return CloneHelper.deepClone(encoded);
+			return encoded;
 		}
 
 		/**
@@ -1,13 +1,14 @@
 package gov.cms.qpp.conversion.correlation;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.jayway.jsonpath.JsonPath;
 import gov.cms.qpp.conversion.correlation.model.Config;
 import gov.cms.qpp.conversion.correlation.model.Correlation;
 import gov.cms.qpp.conversion.correlation.model.Goods;
 import gov.cms.qpp.conversion.correlation.model.PathCorrelation;
+import gov.cms.qpp.conversion.decode.XPathNamespace;
+import gov.cms.qpp.conversion.encode.CorrelationIndex;
+import gov.cms.qpp.conversion.encode.CorrelationIndex.Metadata;
 import gov.cms.qpp.conversion.encode.JsonWrapper;
-import java.util.Objects;
 import org.reflections.util.ClasspathHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,8 +19,11 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Maintains associations between QPP json paths and their pre-transformation xpaths.
@@ -27,10 +31,11 @@ import java.util.stream.Stream;
 public class PathCorrelator {
 	private static final Logger DEV_LOG = LoggerFactory.getLogger(PathCorrelator.class);
 	public static final String KEY_DELIMITER = "#";
-	private static final String ENCODE_LABEL = "encodeLabel";
+	private static final Pattern PATH_SEGMENT = Pattern.compile("\\.([^.\\[\\]]+)|\\[(\\d+)]|\\['([^']*)']");
 	private static String config = "pathing/path-correlation.json";
 	private static PathCorrelation pathCorrelation;
 	private static Map<String, Goods> pathCorrelationMap = new HashMap<>();
+	private static Map<String, Map<String, String>> xpathsByUri = new ConcurrentHashMap<>();
 
 	static {
 		initPathCorrelation();
@@ -99,7 +104,8 @@ public class PathCorrelator {
 	}
 
 	/**
-	 * Assemble an xpath for a given base template and leaf attribute.
+	 * Assemble an xpath for a given base template and leaf attribute. Only the xpaths of the known QRDA
+	 * namespaces are kept, since other URIs come from the documents being converted.
 	 *
 	 * @param base base template name
 	 * @param attribute leaf attribute name
@@ -109,8 +115,25 @@ public class PathCorrelator {
 	public static String getXpath(String base, String attribute, String uri) {
 		String key = PathCorrelator.getKey(base, attribute);
 		Goods goods = pathCorrelationMap.get(key);
-		return (goods == null) ? null :
-				goods.getRelativeXPath().replace(pathCorrelation.getUriSubstitution(), uri);
+		if (goods == null) {
+			return null;
+		}
+		if (!XPathNamespace.isInterned(uri)) {
+			return substitute(goods, uri);
+		}
+		return xpathsByUri.computeIfAbsent(key, ignore -> new ConcurrentHashMap<>())
+				.computeIfAbsent(uri, ignore -> substitute(goods, uri));
+	}
+
+	/**
+	 * Substitute a namespace uri into a relative xpath.
+	 *
+	 * @param goods correlation holding the relative xpath
+	 * @param uri URI to substitute
+	 * @return xpath expression
+	 */
+	private static String substitute(Goods goods, String uri) {
+		return goods.getRelativeXPath().replace(pathCorrelation.getUriSubstitution(), uri);
 	}
 
 	/**
@@ -124,41 +147,68 @@ public class PathCorrelator {
 		String base = "$";
 		String leaf = jsonPath;
 		int lastIndex = jsonPath.lastIndexOf('.');
-		JsonWrapper metaWrapper = new JsonWrapper(wrapper, false);
 
 		if (lastIndex > 0) {
 			base = jsonPath.substring(0, lastIndex);
 			leaf = jsonPath.substring(lastIndex + 1);
 		}
 
-		JsonPath compiledPath = JsonPath.compile(base);
-		Map<String, Object> jsonMap = compiledPath.read(metaWrapper.toString());
+		String jsonPointer = toJsonPointer(base);
+		CorrelationIndex index = (jsonPointer == null) ? null : wrapper.getCorrelationIndex().find(jsonPointer);
 
-		Map<String, String> metaMap = getMetaMap(jsonMap, leaf);
+		Metadata metadata = (index == null) ? null : getMetadata(index.getMetadata(), leaf);
 		String preparedPath = "";
-		if (metaMap != null) {
-			preparedPath = makePath(metaMap, leaf);
+		if (metadata != null) {
+			preparedPath = makePath(metadata, leaf);
 		}
 		return preparedPath;
 	}
 
 	/**
-	 * Retrieve metadata from map representing a json hash.
+	 * Converts a definite json path, made up of field names and array positions, to a JSON pointer.
+	 *
+	 * @param jsonPath definite json path such as {@code $.measurementSets[0]['measurements']}
+	 * @return the JSON pointer, or null if the path isn't definite
+	 */
+	static String toJsonPointer(String jsonPath) {
+		String path = jsonPath;
+		if (path.startsWith("$")) {
+			path = path.substring(1);
+		} else if (!path.startsWith("[")) {
+			path = "." + path;
+		}
+		StringBuilder jsonPointer = new StringBuilder();
+		Matcher segment = PATH_SEGMENT.matcher(path);
+		int end = 0;
+		while (end < path.length()) {
+			if (!segment.find(end) || segment.start() != end) {
+				return null;
+			}
+			String name = segment.group(1) != null ? segment.group(1) : segment.group(2);
+			if (name == null) {
+				name = segment.group(3);
+			}
+			jsonPointer.append('/').append(CorrelationIndex.escape(name));
+			end = segment.end();
+		}
+		return jsonPointer.toString();
+	}
+
+	/**
+	 * Retrieve the metadata that best describes a leaf json attribute.
 	 *
-	 * @param jsonMap json hash
+	 * @param metadata metadata of the json hash holding the leaf
 	 * @param leaf name of leaf json attribute
-	 * @return metadata map
+	 * @return metadata
 	 */
-	@SuppressWarnings("unchecked")
-	private static Map<String, String> getMetaMap(Map<String, Object> jsonMap, final String leaf) {
-		List<Map<String, String>> metaHolder = (List<Map<String, String>>) jsonMap.get("metadata_holder");
-		return metaHolder.stream()
+	private static Metadata getMetadata(Set<Metadata> metadata, final String leaf) {
+		return metadata.stream()
 				.sorted(labeledFirst())
 				.filter(entry -> {
-					String encodeLabel = entry.get(ENCODE_LABEL);
+					String encodeLabel = entry.getEncodeLabel();
 					if (encodeLabel.equals(leaf)) {
 						return leaf.isEmpty()
-								|| PathCorrelator.getXpath(entry.get("template"), leaf, entry.get("nsuri")) != null;
+								|| PathCorrelator.getXpath(entry.getTemplate(), leaf, entry.getNsUri()) != null;
 					} else {
 						return encodeLabel.isEmpty();
 					}
@@ -166,32 +216,24 @@ public class PathCorrelator {
 	}
 
 	/**
-	 * Order metadata maps by placing a higher priority on maps containing a non-empty
-	 * {@link PathCorrelator#ENCODE_LABEL}.
+	 * Order metadata by placing a higher priority on metadata with a non-empty encode label.
 	 *
 	 * @return a comparator that will enact prioritization
 	 */
-	private static Comparator<Map<String, String>> labeledFirst() {
-		return (Map<String, String> map1, Map<String, String> map2) -> {
-			String map1Label = map1.get(ENCODE_LABEL);
-			String map2Label = map2.get(ENCODE_LABEL);
-			
-			return Boolean.compare(map1Label.isEmpty(), map2Label.isEmpty());
-		};
+	private static Comparator<Metadata> labeledFirst() {
+		return (Metadata metadata1, Metadata metadata2) ->
+				Boolean.compare(metadata1.getEncodeLabel().isEmpty(), metadata2.getEncodeLabel().isEmpty());
 	}
 
 	/**
 	 * Assemble base xpath with a relative xpath that identifies a leaf json attribute.
 	 *
-	 * @param metadata attribute specific metadata hash
+	 * @param metadata attribute specific metadata
 	 * @param leaf attribute name
 	 * @return xpath expression
 	 */
-	private static String makePath(Map<String, String> metadata, final String leaf) {
-		String nsUri = metadata.get("nsuri");
-		String baseTemplate = metadata.get("template");
-		String baseXpath = metadata.get("path");
-		String relativeXpath = PathCorrelator.getXpath(baseTemplate, leaf, nsUri);
-		return (relativeXpath != null) ? baseXpath + "/" + relativeXpath : baseXpath;
+	private static String makePath(Metadata metadata, final String leaf) {
+		String relativeXpath = PathCorrelator.getXpath(metadata.getTemplate(), leaf, metadata.getNsUri());
+		return (relativeXpath != null) ? metadata.getPath() + "/" + relativeXpath : metadata.getPath();
 	}
-}
\ No newline at end of file
+}
@@ -7,6 +7,7 @@ import gov.cms.qpp.conversion.model.TemplateId;
 import org.jdom2.Attribute;
 import org.jdom2.Element;
 import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
 
 import java.util.function.Consumer;
 
@@ -25,26 +26,28 @@ public class AciMeasurePerformedRnRDecoder extends QppXmlDecoder {
 	/**
 	 * Decodes an ACI Measure Performed Reference and Results into an intermediate node
 	 *
+	 * @param state State of the decode
 	 * @param element Element XML element that represents the ACI Measure Performed measure
 	 * @param thisNode Node that represents the ACI Measure Performed measure.  It is updated in this method.
 	 * @return {@code DecodeResult.TREE_CONTINUE}
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisNode) {
-		setMeasureIdOnNode(element, thisNode);
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisNode) {
+		setMeasureIdOnNode(state, element, thisNode);
 		return DecodeResult.TREE_CONTINUE;
 	}
 
 	/**
 	 * Sets the measure name id
 	 *
+	 * @param state State of the decode
 	 * @param element Object that holds the XML representation of measure id
 	 * @param thisNode Object that will retrieve the parsed measure id
 	 */
-	private void setMeasureIdOnNode(Element element, Node thisNode) {
-		String expressionStr = getXpath(MEASURE_ID);
+	private void setMeasureIdOnNode(DecodeState state, Element element, Node thisNode) {
+		XPathExpression<Attribute> expression = getXpathExpression(state, MEASURE_ID, Filters.attribute());
 		Consumer<? super Attribute> consumer = p ->
 				thisNode.putValue(MEASURE_ID, p.getValue(), false);
-		setOnNode(element, expressionStr, consumer, Filters.attribute(), false);
+		setOnNode(element, expression, consumer, false);
 	}
 }
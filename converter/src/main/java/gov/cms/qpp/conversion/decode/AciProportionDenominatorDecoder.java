@@ -22,12 +22,13 @@ public class AciProportionDenominatorDecoder extends QppXmlDecoder {
 	 * internalDecode reads the xml fragment "aciProportionDenominator" parses
 	 * into gov.cms.qpp.conversion.model.Node
 	 *
+	 * @param state State of the decode
 	 * @param element Element
 	 * @param thisnode Node enclosing parent node xml fragment
 	 * @return DecodeResult
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisnode) {
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisnode) {
 		thisnode.putValue("name", "aciProportionDenominator");
 		return DecodeResult.TREE_CONTINUE;
 	}
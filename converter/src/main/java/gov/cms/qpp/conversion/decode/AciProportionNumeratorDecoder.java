@@ -19,12 +19,13 @@ public class AciProportionNumeratorDecoder extends QppXmlDecoder {
 	/**
 	 *  Decodes an ACI Numerator Measure into an intermediate node
 	 *
+	 * @param state State of the decode
 	 * @param element XML element that represents the ACI Numerator
 	 * @param thisNode Node that represents the ACI Numerator Measure
 	 * @return
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisNode) {
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisNode) {
 		thisNode.putValue("name", "aciProportionNumerator");
 		return DecodeResult.TREE_CONTINUE;
 	}
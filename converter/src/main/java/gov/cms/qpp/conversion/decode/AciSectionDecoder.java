@@ -19,12 +19,13 @@ public class AciSectionDecoder extends QppXmlDecoder {
 	/**
 	 * Decodes an ACI Section into the intermediate Node format
 	 *
+	 * @param state State of the decode
 	 * @param element XML element that represents the ACI Section
 	 * @param thisNode Node represents the aci section
 	 * @return {@code DecodeResult.TREE_CONTINUE} to continue down the parsed XML
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisNode) {
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisNode) {
 		thisNode.putValue("category", "aci");
 		return DecodeResult.TREE_CONTINUE;
 	}
@@ -7,6 +7,7 @@ import gov.cms.qpp.conversion.model.TemplateId;
 import org.jdom2.Attribute;
 import org.jdom2.Element;
 import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
 
 import java.util.function.Consumer;
 
@@ -25,26 +26,28 @@ public class AggregateCountDecoder extends QppXmlDecoder {
 	/**
 	 * Parses out the aggregateCount value from the xml fragment
 	 *
+	 * @param state State of the decode
 	 * @param element Element
 	 * @param thisnode Node
 	 * @return DecodeResult.TreeFinished;
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisnode) {
-		setSciNumeratorDenominatorOnNode(element, thisnode);
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisnode) {
+		setSciNumeratorDenominatorOnNode(state, element, thisnode);
 		return DecodeResult.TREE_FINISHED;
 	}
 
 	/**
 	 * Sets the aggregateCount value into the element
 	 *
+	 * @param state State of the decode
 	 * @param element Element
 	 * @param thisnode Node
 	 */
-	protected void setSciNumeratorDenominatorOnNode(Element element, Node thisnode) {
-		String expressionStr = getXpath(AGGREGATE_COUNT);
+	protected void setSciNumeratorDenominatorOnNode(DecodeState state, Element element, Node thisnode) {
+		XPathExpression<Attribute> expression = getXpathExpression(state, AGGREGATE_COUNT, Filters.attribute());
 		Consumer<? super Attribute> consumer = p ->
 				thisnode.putValue(AGGREGATE_COUNT, p.getValue(), false);
-		setOnNode(element, expressionStr, consumer, Filters.attribute(), false);
+		setOnNode(element, expression, consumer, false);
 	}
 }
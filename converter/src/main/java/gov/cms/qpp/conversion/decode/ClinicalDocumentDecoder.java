@@ -38,18 +38,21 @@ public class ClinicalDocumentDecoder extends QppXmlDecoder {
 	/**
 	 * internalDecode parses the xml fragment into thisNode
 	 *
+	 * @param state State of the decode
 	 * @param element Element
 	 * @param thisNode Node
 	 * @return DecodeResult.TreeFinished thisNode gets the newly parsed xml fragment
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisNode) {
-		setProgramNameOnNode(element, thisNode);
-		setEntityIdOnNode(element, thisNode);
-		setPracticeSiteAddress(element, thisNode);
-		setNationalProviderIdOnNode(element, thisNode);
-		setTaxProviderTaxIdOnNode(element, thisNode);
-		processComponentElement(element, thisNode);
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisNode) {
+		XPathBatch batch = new XPathBatch(this);
+		setProgramNameOnNode(state, batch, thisNode);
+		setEntityIdOnNode(state, batch, thisNode);
+		setPracticeSiteAddress(state, batch, thisNode);
+		setNationalProviderIdOnNode(state, batch, thisNode);
+		setTaxProviderTaxIdOnNode(state, batch, thisNode);
+		processComponentElement(state, batch, thisNode);
+		batch.evaluate(element);
 		return DecodeResult.TREE_FINISHED;
 	}
 
@@ -57,83 +60,91 @@ public class ClinicalDocumentDecoder extends QppXmlDecoder {
 	 * Looks up the entity Id from the element if the program name is CPC+
 	 * <id root="2.16.840.1.113883.3.249.5.1" extension="AR000000"
 	 *
-	 * @param element Xml fragment being parsed.
+	 * @param state State of the decode
+	 * @param batch Expressions evaluated against the xml fragment being parsed.
 	 * @param thisNode The output internal representation of the document
 	 */
-	private void setEntityIdOnNode(Element element, Node thisNode) {
-		if (Program.isCpc(thisNode)) {
-			Consumer<Attribute> consumer = id ->
+	private void setEntityIdOnNode(DecodeState state, XPathBatch batch, Node thisNode) {
+		Consumer<Attribute> consumer = id -> {
+			if (Program.isCpc(thisNode)) {
 				thisNode.putValue(ENTITY_ID, id.getValue(), false);
-			setOnNode(element, getXpath(ENTITY_ID), consumer, Filters.attribute(), false);
-		}
+			}
+		};
+		batch.add(getXpathExpression(state, ENTITY_ID, Filters.attribute()), consumer, false);
 	}
 
 	/**
 	 * Looks up the Practice Site address from the element if the program name is CPC+
 	 *
-	 * @param element Xml fragment being parsed.
+	 * @param state State of the decode
+	 * @param batch Expressions evaluated against the xml fragment being parsed.
 	 * @param thisNode The output internal representation of the document
 	 */
-	private void setPracticeSiteAddress(Element element, Node thisNode) {
-		if (Program.isCpc(thisNode)) {
-			Consumer<Element> consumer = p ->
-					thisNode.putValue(PRACTICE_SITE_ADDR, p.getValue().trim(), false);
-			setOnNode(element, getXpath(PRACTICE_SITE_ADDR), consumer, Filters.element(), false);
-		}
+	private void setPracticeSiteAddress(DecodeState state, XPathBatch batch, Node thisNode) {
+		Consumer<Element> consumer = p -> {
+			if (Program.isCpc(thisNode)) {
+				thisNode.putValue(PRACTICE_SITE_ADDR, p.getValue().trim(), false);
+			}
+		};
+		batch.add(getXpathExpression(state, PRACTICE_SITE_ADDR, Filters.element()), consumer, false);
 	}
 
 	/**
 	 * Will decode the program name from the xml
 	 *
-	 * @param element Xml fragment being parsed.
+	 * @param state State of the decode
+	 * @param batch Expressions evaluated against the xml fragment being parsed.
 	 * @param thisNode The output internal representation of the document
 	 */
-	private void setProgramNameOnNode(Element element, Node thisNode) {
+	private void setProgramNameOnNode(DecodeState state, XPathBatch batch, Node thisNode) {
 		Consumer<? super Attribute> consumer = p -> {
 			String[] nameEntityPair = getProgramNameEntityPair(p.getValue());
 			thisNode.putValue(PROGRAM_NAME, nameEntityPair[0], false);
 			thisNode.putValue(ENTITY_TYPE, nameEntityPair[1], false);
 		};
-		setOnNode(element, getXpath(PROGRAM_NAME), consumer, Filters.attribute(), false);
-		context.setProgram(Program.extractProgram(thisNode));
+		batch.add(getXpathExpression(state, PROGRAM_NAME, Filters.attribute()), consumer, false)
+				.then(() -> context.setProgram(Program.extractProgram(thisNode)));
 	}
 
 	/**
 	 * Will decode the NPI from the xml
 	 *
-	 * @param element Xml fragment being parsed.
+	 * @param state State of the decode
+	 * @param batch Expressions evaluated against the xml fragment being parsed.
 	 * @param thisNode The output internal representation of the document
 	 */
-	private void setNationalProviderIdOnNode(Element element, Node thisNode) {
+	private void setNationalProviderIdOnNode(DecodeState state, XPathBatch batch, Node thisNode) {
 		Consumer<? super Attribute> consumer = p ->
 				thisNode.putValue(MultipleTinsDecoder.NATIONAL_PROVIDER_IDENTIFIER, p.getValue());
-		setOnNode(element, getXpath(MultipleTinsDecoder.NATIONAL_PROVIDER_IDENTIFIER),
-				consumer, Filters.attribute(), true);
+		batch.add(getXpathExpression(state, MultipleTinsDecoder.NATIONAL_PROVIDER_IDENTIFIER,
+				Filters.attribute()), consumer, true);
 	}
 
 	/**
 	 * Will decode the TPI from the xml
 	 *
-	 * @param element Xml fragment being parsed.
+	 * @param state State of the decode
+	 * @param batch Expressions evaluated against the xml fragment being parsed.
 	 * @param thisNode The output internal representation of the document
 	 */
-	private void setTaxProviderTaxIdOnNode(Element element, Node thisNode) {
+	private void setTaxProviderTaxIdOnNode(DecodeState state, XPathBatch batch, Node thisNode) {
 		Consumer<? super Attribute> consumer = p ->
 				thisNode.putValue(MultipleTinsDecoder.TAX_PAYER_IDENTIFICATION_NUMBER,
 						p.getValue());
-		setOnNode(element, getXpath(MultipleTinsDecoder.TAX_PAYER_IDENTIFICATION_NUMBER),
-				consumer, Filters.attribute(), true);
+		batch.add(getXpathExpression(state, MultipleTinsDecoder.TAX_PAYER_IDENTIFICATION_NUMBER,
+				Filters.attribute()), consumer, true);
 	}
 
 	/**
 	 * Continues decoding the elements that are children of Clinical Document.
 	 *
-	 * @param element Xml fragment being parsed.
+	 * @param state State of the decode
+	 * @param batch Expressions evaluated against the xml fragment being parsed.
 	 * @param thisNode The output internal representation of the document
 	 */
-	private void processComponentElement(Element element, Node thisNode) {
-		Consumer<Element> consumer = p -> this.decode(p, thisNode);
-		setOnNode(element, getXpath("components"), consumer, Filters.element(), false);
+	private void processComponentElement(DecodeState state, XPathBatch batch, Node thisNode) {
+		Consumer<Element> consumer = p -> this.decode(state, p, thisNode);
+		batch.add(getXpathExpression(state, "components", Filters.element()), consumer, false);
 	}
 
 	/**
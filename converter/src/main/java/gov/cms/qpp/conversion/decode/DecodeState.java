@@ -0,0 +1,89 @@
+package gov.cms.qpp.conversion.decode;
+
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+
+import java.util.function.Function;
+
+/**
+ * What the decode of an element works with: the namespace of the element, the interned {@link XPathNamespace} its
+ * xpaths are bound to, and the paths of the elements of the document being decoded.
+ *
+ * The state is handed from decoder to decoder along with the element being decoded. A state is never changed.
+ * Moving to an element of another namespace makes a new one.
+ */
+public final class DecodeState {
+
+	private static final Function<String, Namespace> INTERNED = XPathNamespace::forUri;
+
+	private final Namespace defaultNs;
+	private final Namespace xpathNs;
+	private final ElementPaths paths;
+	private final Function<String, Namespace> binding;
+
+	private DecodeState(Namespace defaultNs, ElementPaths paths, Function<String, Namespace> binding) {
+		this.defaultNs = defaultNs;
+		this.xpathNs = binding.apply(defaultNs.getURI());
+		this.paths = paths;
+		this.binding = binding;
+	}
+
+	/**
+	 * State for decoding a document, starting from the given element
+	 *
+	 * @param element Element the decode starts from
+	 * @return state with the namespace of the element and no paths worked out yet
+	 */
+	static DecodeState of(Element element) {
+		return of(element, INTERNED);
+	}
+
+	/**
+	 * State for decoding a document that binds xpath namespaces with the given function. Bindings other than the
+	 * interned {@link XPathNamespace} are made afresh for every element decoded, which is how decoders bound them
+	 * before they were interned, so that the two may be compared.
+	 *
+	 * @param element Element the decode starts from
+	 * @param binding Binds the "ns" prefixed namespace for a namespace URI
+	 * @return state with the namespace of the element and no paths worked out yet
+	 */
+	static DecodeState of(Element element, Function<String, Namespace> binding) {
+		return new DecodeState(element.getNamespace(), new ElementPaths(), binding);
+	}
+
+	/**
+	 * State for decoding an element of the same document. The state stays the same while the elements are of the
+	 * same namespace, which is the case for nearly every element of a document.
+	 *
+	 * @param element Element to be decoded
+	 * @return state with the namespace of the element
+	 */
+	DecodeState forElement(Element element) {
+		Namespace namespace = element.getNamespace();
+		if (namespace == defaultNs && binding == INTERNED) {
+			return this;
+		}
+		return new DecodeState(namespace, paths, binding);
+	}
+
+	/**
+	 * @return namespace of the element being decoded
+	 */
+	Namespace getDefaultNs() {
+		return defaultNs;
+	}
+
+	/**
+	 * @return "ns" prefixed namespace the xpaths of the element are bound to
+	 */
+	Namespace getXpathNs() {
+		return xpathNs;
+	}
+
+	/**
+	 * @return paths of the elements of the document
+	 */
+	ElementPaths getPaths() {
+		return paths;
+	}
+}
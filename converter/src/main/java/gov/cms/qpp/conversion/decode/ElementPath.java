@@ -0,0 +1,91 @@
+package gov.cms.qpp.conversion.decode;
+
+import org.jdom2.Element;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A handle to the absolute xpath of an element, made up of the handle of its parent element and its own step.
+ *
+ * The path is only built into a string when first requested and is then identical to the path given by
+ * {@link org.jdom2.xpath.XPathHelper#getAbsolutePath(org.jdom2.Content)}.
+ */
+final class ElementPath implements Supplier<String> {
+
+	private final ElementPath parent;
+	private final String name;
+	private final String uri;
+	private int position;
+	private String resolved;
+
+	/**
+	 * @param parent handle of the parent element, or null for the top most element
+	 * @param element element the handle is for
+	 */
+	ElementPath(ElementPath parent, Element element) {
+		this.parent = parent;
+		this.name = element.getName();
+		this.uri = element.getNamespaceURI();
+		this.position = position(element);
+	}
+
+	/**
+	 * Builds the absolute xpath of the element on first request
+	 *
+	 * @return absolute xpath
+	 */
+	@Override
+	public String get() {
+		if (resolved == null) {
+			resolved = appendTo(new StringBuilder()).toString();
+		}
+		return resolved;
+	}
+
+	/**
+	 * Takes the element's position amongst its like named siblings afresh, for when siblings have been added
+	 * since the handle was created
+	 *
+	 * @param element element the handle is for
+	 */
+	void relocate(Element element) {
+		position = position(element);
+		resolved = null;
+	}
+
+	private StringBuilder appendTo(StringBuilder path) {
+		if (parent != null) {
+			parent.appendTo(path);
+		}
+
+		path.append('/');
+		if (uri.isEmpty()) {
+			path.append(name);
+		} else {
+			path.append("*[local-name() = '").append(name)
+					.append("' and namespace-uri() = '").append(uri).append("']");
+		}
+
+		if (position > 0) {
+			path.append('[').append(position).append(']');
+		}
+		return path;
+	}
+
+	/**
+	 * Determines the position of an element amongst the like named children of its parent
+	 *
+	 * @param element element to locate
+	 * @return one based position, or zero when the element has no like named siblings
+	 */
+	private static int position(Element element) {
+		Element parentElement = element.getParentElement();
+		if (parentElement == null) {
+			return 0;
+		}
+
+		List<Element> siblings = parentElement.getChildren(element.getName(), element.getNamespace());
+		return siblings.size() > 1 ? siblings.indexOf(element) + 1 : 0;
+	}
+}
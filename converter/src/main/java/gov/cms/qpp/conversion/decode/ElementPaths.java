@@ -0,0 +1,50 @@
+package gov.cms.qpp.conversion.decode;
+
+import org.jdom2.Element;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands out {@link ElementPath}s over the course of a decode.
+ *
+ * Decoding is depth first, so the handles of the most recently requested element and its ancestors are kept and
+ * shared with the next request that descends through the same ancestors. Only that one line of ancestry is held,
+ * so elements already decoded are not kept reachable.
+ */
+final class ElementPaths {
+
+	private final List<Element> lineage = new ArrayList<>();
+	private final List<ElementPath> paths = new ArrayList<>();
+
+	/**
+	 * Retrieve the path handle for an element
+	 *
+	 * @param element element to locate
+	 * @return handle to the element's absolute xpath
+	 */
+	ElementPath of(Element element) {
+		List<Element> ancestry = new ArrayList<>();
+		for (Element current = element; current != null; current = current.getParentElement()) {
+			ancestry.add(current);
+		}
+
+		int depth = 0;
+		int top = ancestry.size() - 1;
+		while (depth < lineage.size() && depth <= top && lineage.get(depth) == ancestry.get(top - depth)) {
+			depth++;
+		}
+
+		lineage.subList(depth, lineage.size()).clear();
+		paths.subList(depth, paths.size()).clear();
+
+		for (; depth <= top; depth++) {
+			Element current = ancestry.get(top - depth);
+			ElementPath parent = depth == 0 ? null : paths.get(depth - 1);
+			lineage.add(current);
+			paths.add(new ElementPath(parent, current));
+		}
+
+		return paths.get(top);
+	}
+}
@@ -7,6 +7,7 @@ import gov.cms.qpp.conversion.model.TemplateId;
 import org.jdom2.Attribute;
 import org.jdom2.Element;
 import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
 
 import java.util.function.Consumer;
 
@@ -24,17 +25,18 @@ public class IaMeasureDecoder extends QppXmlDecoder {
 	/**
 	 * Parses element containing a IA Measure into a node
 	 *
+	 * @param state State of the decode
 	 * @param element Top element in the XML document
 	 * @param thisNode Top node created in the XML document
 	 * @return result that the decoder is finished for this node
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisNode) {
-		String expressionStr = getXpath("measureId");
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisNode) {
+		XPathExpression<Attribute> expression = getXpathExpression(state, "measureId", Filters.attribute());
 		Consumer<? super Attribute> consumer = p -> thisNode.putValue("measureId", p.getValue());
-		setOnNode(element, expressionStr, consumer, Filters.attribute(), true);
+		setOnNode(element, expression, consumer, true);
 
-		decode(element.getChild("component", defaultNs), thisNode);
+		decode(state, element.getChild("component", state.getDefaultNs()), thisNode);
 
 		return DecodeResult.TREE_FINISHED;
 	}
@@ -19,12 +19,13 @@ public class IaSectionDecoder extends QppXmlDecoder {
 	/**
 	 * DecodeResult reads the xml elements and stores them into the internal Node structure
 	 * This will update the thisNode value
+	 * @param state State of the decode
 	 * @param element Top element in the XML document
 	 * @param thisNode Node
 	 * @return
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisNode) {
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisNode) {
 		thisNode.putValue("category", "ia");
 		return DecodeResult.TREE_CONTINUE;
 	}
@@ -7,6 +7,7 @@ import gov.cms.qpp.conversion.model.TemplateId;
 import org.jdom2.Attribute;
 import org.jdom2.Element;
 import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
 
 import java.util.Set;
 import java.util.function.Consumer;
@@ -32,44 +33,49 @@ public class MeasureDataDecoder extends QppXmlDecoder {
 	/**
 	 * Decodes V2 CMS Measure Data into an intermediate node
 	 *
+	 * @param state State of the decode
 	 * @param element Element XML element that represents V2 CMS Measure Data
 	 * @param thisNode Node that represents V2 CMS Measure Data.
 	 * @return DecodeResult
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisNode) {
-		setMeasure(element, thisNode);
-		setPopulationId(element, thisNode);
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisNode) {
+		XPathBatch batch = new XPathBatch(this);
+		setMeasure(state, batch, thisNode);
+		setPopulationId(state, batch, thisNode);
+		batch.evaluate(element);
 		return thisNode.hasValue(MEASURE_TYPE) ? DecodeResult.TREE_CONTINUE : DecodeResult.TREE_ESCAPED;
 	}
 
 	/**
 	 * Locate measure code value in element and set on node.
 	 *
-	 * @param element Object that holds the XML representation of measure id
+	 * @param state State of the decode
+	 * @param batch Expressions evaluated against the XML representation of measure id
 	 * @param thisNode Holder for decoded data
 	 */
-	private void setMeasure(Element element, Node thisNode) {
-		String expressionStr = getXpath(MEASURE_TYPE);
+	private void setMeasure(DecodeState state, XPathBatch batch, Node thisNode) {
+		XPathExpression<Attribute> expression = getXpathExpression(state, MEASURE_TYPE, Filters.attribute());
 		Consumer<? super Attribute> consumer = attr -> {
 			String code = attr.getValue();
 			if (MEASURES.contains(code)) {
 				thisNode.putValue(MEASURE_TYPE, code, false);
 			}
 		};
-		setOnNode(element, expressionStr, consumer, Filters.attribute(), false);
+		batch.add(expression, consumer, false);
 	}
 
 	/**
 	 * Locate measure sub-population GUUID from the element and set on node.
 	 *
-	 * @param element Object that holds the XML representation of measure id
+	 * @param state State of the decode
+	 * @param batch Expressions evaluated against the XML representation of measure id
 	 * @param thisNode Holder for decoded data
 	 */
-	private void setPopulationId(Element element, Node thisNode) {
-		String expressionStr = getXpath(MEASURE_POPULATION);
+	private void setPopulationId(DecodeState state, XPathBatch batch, Node thisNode) {
+		XPathExpression<Attribute> expression = getXpathExpression(state, MEASURE_POPULATION, Filters.attribute());
 		Consumer<? super Attribute> consumer = attr ->
 				thisNode.putValue(MEASURE_POPULATION, attr.getValue(), false);
-		setOnNode(element, expressionStr, consumer, Filters.attribute(), false);
+		batch.add(expression, consumer, false);
 	}
 }
@@ -7,6 +7,7 @@ import gov.cms.qpp.conversion.model.TemplateId;
 import org.jdom2.Attribute;
 import org.jdom2.Element;
 import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
 
 import java.util.function.Consumer;
 
@@ -23,26 +24,28 @@ public class MeasurePerformedDecoder extends QppXmlDecoder {
 	/**
 	 * Decodes a measure performed element into a node.
 	 *
+	 * @param state State of the decode
 	 * @param element XML parsed representation of measure performed
 	 * @param thisNode Object to hold the measure performed
 	 * @return
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisNode) {
-		setMeasurePerformedOnNode(element, thisNode);
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisNode) {
+		setMeasurePerformedOnNode(state, element, thisNode);
 		return DecodeResult.TREE_FINISHED;
 	}
 
 	/**
 	 * Decodes a measure performed element into a node with a boolean code
 	 *
+	 * @param state State of the decode
 	 * @param element XML parsed representation of measure performed
 	 * @param thisNode Object to hold the measure performed
 	 */
-	private void setMeasurePerformedOnNode(Element element, Node thisNode) {
-		String expressionStr = getXpath("measurePerformed");
+	private void setMeasurePerformedOnNode(DecodeState state, Element element, Node thisNode) {
+		XPathExpression<Attribute> expression = getXpathExpression(state, "measurePerformed", Filters.attribute());
 		Consumer<? super Attribute> consumer = p ->
 				thisNode.putValue("measurePerformed", p.getValue(), false);
-		setOnNode(element, expressionStr, consumer, Filters.attribute(), false);
+		setOnNode(element, expression, consumer, false);
 	}
 }
@@ -8,8 +8,6 @@ import org.jdom2.Element;
 import org.jdom2.Namespace;
 import org.jdom2.filter.Filters;
 import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
-import org.jdom2.xpath.XPathHelper;
 
 import java.util.List;
 import java.util.function.Consumer;
@@ -35,19 +33,19 @@ public class MultipleTinsDecoder extends QppXmlDecoder {
 	/**
 	 * internalDecode parses the xml fragment into thisNode
 	 *
+	 * @param state State of the decode
 	 * @param element Element represents the XML input
 	 * @param thisNode Node internal representation of input
 	 * @return DecodeResult.TreeFinished thisNode gets the newly parsed xml fragment
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisNode) {
-		setNationalProviderIdOnNode(element, thisNode);
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisNode) {
+		setNationalProviderIdOnNode(state, element, thisNode);
 
-		Node child = new Node(TemplateId.CLINICAL_DOCUMENT);
-		child.setPath(XPathHelper.getAbsolutePath(element));
+		Node child = new Node(TemplateId.CLINICAL_DOCUMENT, thisNode);
+		child.setPath(state.getPaths().of(element));
 		ClinicalDocumentDecoder clinicalDocument = new ClinicalDocumentDecoder(context);
-		clinicalDocument.setNamespace(element, clinicalDocument);
-		clinicalDocument.internalDecode(element, child);
+		clinicalDocument.internalDecode(state.forElement(element), element, child);
 		thisNode.addChildNode(child);
 
 		return DecodeResult.TREE_FINISHED;
@@ -57,17 +55,16 @@ public class MultipleTinsDecoder extends QppXmlDecoder {
 	/**
 	 * Parses out the multiple NPI / TIN numbers from multiple submission
 	 *
+	 * @param state State of the decode
 	 * @param element XML Element
 	 * @param thisNode internal Node representation
 	 */
-	@SuppressWarnings("unchecked")
-	private void setNationalProviderIdOnNode(Element element, Node thisNode) {
+	private void setNationalProviderIdOnNode(DecodeState state, Element element, Node thisNode) {
 
 		Namespace ns = element.getNamespace();
 
-		XPathExpression<?> expression = XPathFactory.instance().compile(
-				getXpath(NPI_TIN), Filters.element(), null, xpathNs);
-		List<Element> assignedEntities = (List<Element>) expression.evaluate(element);
+		XPathExpression<Element> expression = getXpathExpression(state, NPI_TIN, Filters.element());
+		List<Element> assignedEntities = expression.evaluate(element);
 
 		assignedEntities.stream()
 				.filter(this.validAssignedEntity(ns))
@@ -112,7 +109,7 @@ public class MultipleTinsDecoder extends QppXmlDecoder {
 					.getChild(ID, ns)
 					.getAttributeValue(EXTENSION);
 			if (npi != null || tin != null) {
-				Node child = new Node(TemplateId.NPI_TIN_ID);
+				Node child = new Node(TemplateId.NPI_TIN_ID, thisNode);
 				child.putValue(NATIONAL_PROVIDER_IDENTIFIER, npi);
 				child.putValue(TAX_PAYER_IDENTIFICATION_NUMBER, tin);
 				thisNode.addChildNode(child);
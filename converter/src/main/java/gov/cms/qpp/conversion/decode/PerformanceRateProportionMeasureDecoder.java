@@ -5,9 +5,11 @@ import gov.cms.qpp.conversion.model.Decoder;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import org.jdom2.Attribute;
 import org.jdom2.Element;
 import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
 
 /**
  * Decodes the Performance Rate Proportion Measure from the Measure Section
@@ -28,17 +30,18 @@ public class PerformanceRateProportionMeasureDecoder extends QppXmlDecoder {
 	 * Add a null check to see if the Performance rate is found.
 	 * If not then will check the secondary xpath
 	 *
+	 * @param state State of the decode
 	 * @param element Top element in the XML document
 	 * @param thisNode Top node created in the XML document
 	 * @return
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisNode) {
-		setNameOnNode(element, thisNode, PERFORMANCE_RATE);
-		if (isFirstExpressionUnsuccessful(thisNode)) {
-			setNameOnNode(element, thisNode, NULL_PERFORMANCE_RATE);
-		}
-		setNameOnNode(element, thisNode, PERFORMANCE_RATE_ID);
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisNode) {
+		XPathBatch batch = new XPathBatch(this);
+		setNameOnNode(state, batch, thisNode, PERFORMANCE_RATE);
+		setNameOnNode(state, batch, thisNode, NULL_PERFORMANCE_RATE, this::isFirstExpressionUnsuccessful);
+		setNameOnNode(state, batch, thisNode, PERFORMANCE_RATE_ID);
+		batch.evaluate(element);
 
 		return DecodeResult.TREE_CONTINUE;
 	}
@@ -56,18 +59,35 @@ public class PerformanceRateProportionMeasureDecoder extends QppXmlDecoder {
 	/**
 	 * Finds the Xpath associated with the given name and puts it in node
 	 *
-	 * @param element Object the xpath will be evaluated upon
+	 * @param state State of the decode
+	 * @param batch Expressions the xpath will be evaluated with
 	 * @param node Object to hold the value found
 	 * @param name Attribute name associated with the correct xpath
-	 * @return
 	 */
-	private void setNameOnNode(Element element, Node node, final String name) {
-		String expression = getXpath(name);
+	private void setNameOnNode(DecodeState state, XPathBatch batch, Node node, final String name) {
+		setNameOnNode(state, batch, node, name, ignore -> true);
+	}
+
+	/**
+	 * Finds the Xpath associated with the given name and puts it in node if the node is still in need of it
+	 * once the earlier expressions of the batch have been applied
+	 *
+	 * @param state State of the decode
+	 * @param batch Expressions the xpath will be evaluated with
+	 * @param node Object to hold the value found
+	 * @param name Attribute name associated with the correct xpath
+	 * @param required Whether the node still requires the value
+	 */
+	private void setNameOnNode(DecodeState state, XPathBatch batch, Node node, final String name,
+			Predicate<Node> required) {
+		XPathExpression<Attribute> expression = getXpathExpression(state, name, Filters.attribute());
 		Consumer<? super Attribute> consumer = attr -> {
-			String value = attr.getValue();
-			node.putValue(name, value);
+			if (required.test(node)) {
+				String value = attr.getValue();
+				node.putValue(name, value);
+			}
 		};
 
-		setOnNode(element, expression, consumer, Filters.attribute(), true);
+		batch.add(expression, consumer, true);
 	}
 }
@@ -8,7 +8,8 @@ import gov.cms.qpp.conversion.model.Registry;
 import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.segmentation.QrdaScope;
 import org.jdom2.Element;
-import org.jdom2.xpath.XPathHelper;
+import org.jdom2.filter.Filter;
+import org.jdom2.xpath.XPathExpression;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,19 +47,18 @@ public class QppXmlDecoder extends XmlInputDecoder {
 	 * Decode iterates over the elements to find all child elements
 	 * to decode any matching elements found in the Decoder Registry
 	 *
+	 * @param state State of the decode
 	 * @param element Current highest level XML element
 	 * @param parentNode Parent of the current nodes to be parsed
 	 * @return Status of the child element
 	 */
 	@Override
-	public DecodeResult decode(Element element, Node parentNode) {
+	public DecodeResult decode(DecodeState state, Element element, Node parentNode) {
 		if (null == element) {
 			return DecodeResult.ERROR;
 		}
 
-		setNamespace(element, this);
-
-		DecodeResult decodeResult = decodeChildren(element, parentNode);
+		DecodeResult decodeResult = decodeChildren(state.forElement(element), element, parentNode);
 
 		return (decodeResult != null) ? decodeResult : DecodeResult.TREE_CONTINUE;
 	}
@@ -66,55 +66,123 @@ public class QppXmlDecoder extends XmlInputDecoder {
 	/**
 	 * Decodes Parent element children using recursion.
 	 *
+	 * @param state state of the decode of the parent element
 	 * @param element parent element to be decoded
 	 * @param parentNode parent node to decode into
 	 * @return status of current decode
 	 */
-	private DecodeResult decodeChildren(final Element element, final Node parentNode) {
-		Node currentNode = parentNode;
+	private DecodeResult decodeChildren(final DecodeState state, final Element element, final Node parentNode) {
+		ChildDecode children = new ChildDecode(state, element, parentNode);
+
+		for (Element childEl : element.getChildren()) {
+			if (!children.decode(childEl)) {
+				break;
+			}
+		}
+
+		return children.getResult();
+	}
+
+	/**
+	 * Starts decoding the children of an element one at a time, as {@link #decode(DecodeState, Element, Node)}
+	 * would, for when the children are not all at hand when the decode starts.
+	 *
+	 * @param state state of the decode
+	 * @param element parent element to be decoded
+	 * @param parentNode parent node to decode into
+	 * @return decode of the children of the element
+	 */
+	ChildDecode decodeChildrenOf(DecodeState state, Element element, Node parentNode) {
+		return new ChildDecode(state.forElement(element), element, parentNode);
+	}
 
-		List<Element> childElements = element.getChildren();
+	/**
+	 * The decode of the children of an element, in document order. A child {@code templateId} decodes its parent
+	 * element into a new node, which the later children are then decoded into.
+	 */
+	final class ChildDecode {
+
+		private final DecodeState state;
+		private final Element element;
+		private final Node parentNode;
+		private Node currentNode;
+		private DecodeResult result;
+
+		private ChildDecode(DecodeState state, Element element, Node parentNode) {
+			this.state = state;
+			this.element = element;
+			this.parentNode = parentNode;
+			this.currentNode = parentNode;
+		}
 
-		for (Element childEl : childElements) {
+		/**
+		 * Decodes the next child of the element
+		 *
+		 * @param childEl child element, which must already be part of the element
+		 * @return false if the decode of the element is finished and later children are not to be decoded
+		 */
+		boolean decode(Element childEl) {
+			if (result != null) {
+				return false;
+			}
 
 			if (TEMPLATE_ID.equals(childEl.getName())) {
-				String root = childEl.getAttributeValue(ROOT_STRING);
-				String extension = childEl.getAttributeValue(EXTENSION_STRING);
-				TemplateId templateId = TemplateId.getTemplateId(root, extension, context);
-				DEV_LOG.debug("templateIdFound:{}", templateId);
-
-				QppXmlDecoder childDecoder = getDecoder(templateId);
-
-				if (null == childDecoder) {
-					continue;
-				}
-				DEV_LOG.debug("Using decoder for {} as {}", templateId, childDecoder.getClass());
-				Node childNode = new Node(templateId, parentNode);
-
-				childNode.setDefaultNsUri(defaultNs.getURI());
-				childNode.setPath(XPathHelper.getAbsolutePath(element));
-				
-				setNamespace(childEl, childDecoder);
-				
-				// the child decoder might require the entire its siblings
-				DecodeResult result = childDecoder.internalDecode(element, childNode);
-				if (result == DecodeResult.TREE_ESCAPED) {
-					return DecodeResult.TREE_FINISHED;
-				}
-
-				parentNode.addChildNode(childNode);
-				currentNode = childNode;
-
-				DecodeResult placeholderNode = testChildDecodeResult(result, childEl, childNode);
-				if (placeholderNode != null) {
-					return placeholderNode;
-				}
+				decodeTemplateId(childEl);
 			} else {
-				decode(childEl, currentNode);
+				QppXmlDecoder.this.decode(state, childEl, currentNode);
 			}
+			return result == null;
 		}
 
-		return null;
+		/**
+		 * Starts decoding the children of a child of the element, as decoding the child would
+		 *
+		 * @param childEl child element, which must already be part of the element
+		 * @return decode of the children of the child, or null if the decode of the element is finished
+		 */
+		ChildDecode descend(Element childEl) {
+			if (result != null) {
+				return null;
+			}
+			return decodeChildrenOf(state, childEl, currentNode);
+		}
+
+		/**
+		 * @return status of the decode, or null while it is not finished
+		 */
+		DecodeResult getResult() {
+			return result;
+		}
+
+		private void decodeTemplateId(Element childEl) {
+			String root = childEl.getAttributeValue(ROOT_STRING);
+			String extension = childEl.getAttributeValue(EXTENSION_STRING);
+			TemplateId templateId = TemplateId.getTemplateId(root, extension, context);
+			DEV_LOG.debug("templateIdFound:{}", templateId);
+
+			QppXmlDecoder childDecoder = getDecoder(templateId);
+
+			if (null == childDecoder) {
+				return;
+			}
+			DEV_LOG.debug("Using decoder for {} as {}", templateId, childDecoder.getClass());
+			Node childNode = new Node(templateId, parentNode);
+
+			childNode.setDefaultNsUri(state.getDefaultNs().getURI());
+			childNode.setPath(state.getPaths().of(element));
+
+			// the child decoder might require the entire its siblings
+			DecodeResult childResult = childDecoder.internalDecode(state.forElement(childEl), element, childNode);
+			if (childResult == DecodeResult.TREE_ESCAPED) {
+				result = DecodeResult.TREE_FINISHED;
+				return;
+			}
+
+			parentNode.addChildNode(childNode);
+			currentNode = childNode;
+
+			result = testChildDecodeResult(state, childResult, childEl, childNode);
+		}
 	}
 
 	/**
@@ -137,22 +205,23 @@ public class QppXmlDecoder extends XmlInputDecoder {
 	/**
 	 * Checks children internal decode result for DecodeResult action
 	 *
+	 * @param state state of the decode
 	 * @param result object that holds the value to be analyzed
 	 * @param childElement next child to decode if continued
 	 * @param childNode object to decode into
 	 * @return status of current decode
 	 */
-	private DecodeResult testChildDecodeResult(DecodeResult result, Element childElement,
+	private DecodeResult testChildDecodeResult(DecodeState state, DecodeResult result, Element childElement,
 												Node childNode) {
 		if (result == null) {
 			Node placeholderNode = new Node(TemplateId.PLACEHOLDER, childNode.getParent());
-			return decode(childElement, placeholderNode);
+			return decode(state, childElement, placeholderNode);
 		}
 
 		if (result == DecodeResult.TREE_FINISHED) {
 			return DecodeResult.TREE_FINISHED;
 		} else if (result == DecodeResult.TREE_CONTINUE) {
-			decode(childElement, childNode);
+			decode(state, childElement, childNode);
 		} else if (result == DecodeResult.ERROR) {
 			DEV_LOG.error("Failed to decode templateId {} ", childNode.getType());
 		} else {
@@ -170,8 +239,19 @@ public class QppXmlDecoder extends XmlInputDecoder {
 	 */
 	@Override
 	protected Node decodeRoot(Element xmlDoc) {
-		Node rootNode = new Node();
 		Element rootElement = xmlDoc.getDocument().getRootElement();
+		return decodeRoot(DecodeState.of(rootElement), rootElement);
+	}
+
+	/**
+	 * Decodes the top of the XML document
+	 *
+	 * @param state State of the decode of the document
+	 * @param rootElement Root of the XML Document to be parsed
+	 * @return Root node
+	 */
+	Node decodeRoot(DecodeState state, Element rootElement) {
+		Node rootNode = new Node();
 		
 		QppXmlDecoder rootDecoder = null;
 		for (Element element : rootElement.getChildren(TEMPLATE_ID, rootElement.getNamespace())) {
@@ -186,14 +266,14 @@ public class QppXmlDecoder extends XmlInputDecoder {
 		}
 		
 		if (rootDecoder != null) {
-			rootDecoder.setNamespace(rootElement, rootDecoder);
-			rootNode.setDefaultNsUri(rootDecoder.defaultNs.getURI());
-			rootNode.setPath(XPathHelper.getAbsolutePath(rootElement));
-			rootDecoder.internalDecode(rootElement, rootNode);
+			DecodeState rootState = state.forElement(rootElement);
+			rootNode.setDefaultNsUri(rootState.getDefaultNs().getURI());
+			rootNode.setPath(rootState.getPaths().of(rootElement));
+			rootDecoder.internalDecode(rootState, rootElement, rootNode);
 		} else {
 			rootNode.setType(TemplateId.PLACEHOLDER);
-			rootNode.setPath(XPathHelper.getAbsolutePath(rootElement));
-			this.decode(rootElement, rootNode);
+			rootNode.setPath(state.getPaths().of(rootElement));
+			this.decode(state, rootElement, rootNode);
 		}
 		
 		return rootNode;
@@ -245,23 +325,41 @@ public class QppXmlDecoder extends XmlInputDecoder {
 	/**
 	 * Top level decode
 	 *
+	 * @param state State of the decode
 	 * @param element Top element in the XML document
 	 * @param thisNode Top node created in the XML document
 	 * @return No action is returned for the top level internalDecode.
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisNode) {
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisNode) {
 		return DecodeResult.NO_ACTION;
 	}
 
 	/**
 	 * Returns the xpath from the path-correlation.json meta data
 	 *
+	 * @param state State of the decode, holding the namespace of the element
 	 * @param attribute Key to the correlation data
 	 * @return xpath expression as a string
 	 */
-	protected String getXpath(String attribute) {
-		String template = this.getClass().getAnnotation(Decoder.class).value().name();
-		return PathCorrelator.getXpath(template, attribute, defaultNs.getURI());
+	protected String getXpath(DecodeState state, String attribute) {
+		return PathCorrelator.getXpath(getTemplateName(), attribute, state.getDefaultNs().getURI());
+	}
+
+	/**
+	 * Returns the compiled xpath from the path-correlation.json meta data
+	 *
+	 * @param state State of the decode, holding the namespace the xpath is bound to
+	 * @param attribute Key to the correlation data
+	 * @param filter Filter to apply for the xpath
+	 * @param <T> type of the filtered results
+	 * @return compiled xpath expression
+	 */
+	protected <T> XPathExpression<T> getXpathExpression(DecodeState state, String attribute, Filter<T> filter) {
+		return XPathExpressionCache.get(getTemplateName(), attribute, filter, state.getXpathNs());
+	}
+
+	private String getTemplateName() {
+		return this.getClass().getAnnotation(Decoder.class).value().name();
 	}
 }
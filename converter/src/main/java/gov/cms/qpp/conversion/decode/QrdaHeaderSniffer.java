@@ -0,0 +1,233 @@
+package gov.cms.qpp.conversion.decode;
+
+import com.google.common.base.Strings;
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.xml.XmlException;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Pre-check that pulls the start of a document through a StAX reader to turn away documents that are not
+ * QRDA-III before any XML tree is built.
+ *
+ * The check mirrors {@link QppXmlDecoder#accepts(org.jdom2.Element)}: the root must be a {@code ClinicalDocument}
+ * with a {@code templateId} child identifying it as a {@link TemplateId#CLINICAL_DOCUMENT}, wherever that child is
+ * among the children of the root. A document that fails the check is read to its end and rejected once it is
+ * known to be well-formed XML. Documents that do not settle the check within {@link #HEADER_LIMIT} bytes, or that
+ * are malformed there, are left for the full parse.
+ */
+public final class QrdaHeaderSniffer {
+
+	private static final Logger DEV_LOG = LoggerFactory.getLogger(QrdaHeaderSniffer.class);
+	private static final String NOT_VALID_QRDA_III_FORMAT = "The file is not a QRDA-III XML document";
+	private static final String CLINICAL_DOCUMENT = "ClinicalDocument";
+	private static final String TEMPLATE_ID = "templateId";
+	private static final String ROOT_STRING = "root";
+	private static final String EXTENSION_STRING = "extension";
+
+	/**
+	 * The most bytes read from the start of a document before the check is settled
+	 */
+	static final int HEADER_LIMIT = 64 * 1024;
+
+	private QrdaHeaderSniffer() {
+		//private and empty because this is a utility class
+	}
+
+	/**
+	 * Determines whether the start of a document permits it to be a QRDA-III document. A document that may be
+	 * QRDA-III is rewound to where it was, ready to be parsed in full. A document that is not is read to its end.
+	 *
+	 * @param context Context to use for identifying template ids
+	 * @param xmlStream XML document, which must support mark and reset
+	 * @return false if the document is certainly not a QRDA-III document, true otherwise
+	 * @throws XmlException When the stream cannot be rewound, or a document that is not QRDA-III is malformed
+	 */
+	public static boolean accepts(Context context, InputStream xmlStream) throws XmlException {
+		xmlStream.mark(HEADER_LIMIT);
+		HeaderWindow header = new HeaderWindow(xmlStream);
+		XMLStreamReader reader = null;
+		try {
+			reader = XmlUtils.openXmlStreamReader(header);
+			if (isClinicalDocument(context, reader)) {
+				rewind(xmlStream);
+				return true;
+			}
+
+			header.open();
+			readToEnd(reader);
+		} catch (XMLStreamException | XmlException inconclusive) {
+			if (header.isOpen()) {
+				throw new XmlException("Failed to process XML stream", inconclusive);
+			}
+			DEV_LOG.debug("Unable to check the start of the XML file", inconclusive);
+			rewind(xmlStream);
+			return true;
+		} finally {
+			close(reader);
+		}
+
+		DEV_LOG.error(NOT_VALID_QRDA_III_FORMAT);
+		DEV_LOG.error("The XML file is an unknown document");
+		return false;
+	}
+
+	/**
+	 * Reads the root and its children until a {@link TemplateId#CLINICAL_DOCUMENT} template id is found, or the
+	 * root ends.
+	 *
+	 * @param context Context to use for identifying template ids
+	 * @param reader reader at the start of the document
+	 * @return true if the document has the root and template id of a QRDA-III document
+	 * @throws XMLStreamException if the start of the document is malformed or longer than {@link #HEADER_LIMIT}
+	 */
+	private static boolean isClinicalDocument(Context context, XMLStreamReader reader) throws XMLStreamException {
+		reader.nextTag();
+		if (!CLINICAL_DOCUMENT.equals(reader.getLocalName())) {
+			return false;
+		}
+
+		String namespace = Strings.nullToEmpty(reader.getNamespaceURI());
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if (isTemplateId(reader, namespace) && isClinicalDocumentTemplateId(context, reader)) {
+				return true;
+			}
+			skipElement(reader);
+		}
+		return false;
+	}
+
+	/**
+	 * Skips to the end of the element the reader is at the start of.
+	 *
+	 * @param reader reader at the start of an element
+	 * @throws XMLStreamException if the element is malformed
+	 */
+	private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+
+	/**
+	 * Reads the rest of a document that fails the check, so that it is only rejected once known to be XML.
+	 *
+	 * @param reader reader part way through the document
+	 * @throws XMLStreamException if the document is malformed
+	 */
+	private static void readToEnd(XMLStreamReader reader) throws XMLStreamException {
+		while (reader.hasNext()) {
+			reader.next();
+		}
+	}
+
+	private static boolean isTemplateId(XMLStreamReader reader, String namespace) {
+		return TEMPLATE_ID.equals(reader.getLocalName())
+				&& namespace.equals(Strings.nullToEmpty(reader.getNamespaceURI()));
+	}
+
+	private static boolean isClinicalDocumentTemplateId(Context context, XMLStreamReader reader) {
+		String root = reader.getAttributeValue(null, ROOT_STRING);
+		String extension = reader.getAttributeValue(null, EXTENSION_STRING);
+		return TemplateId.getTemplateId(root, extension, context) == TemplateId.CLINICAL_DOCUMENT;
+	}
+
+	private static void rewind(InputStream xmlStream) throws XmlException {
+		try {
+			xmlStream.reset();
+		} catch (IOException exception) {
+			throw new XmlException("Failed to rewind XML stream", exception);
+		}
+	}
+
+	private static void close(XMLStreamReader reader) {
+		try {
+			if (reader != null) {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			DEV_LOG.warn("Failed to close XML stream", e);
+		}
+	}
+
+	/**
+	 * Keeps the reader within {@link #HEADER_LIMIT} bytes, which can still be rewound, until opened to read on.
+	 * Reading past the limit fails, leaving the check unsettled. Closing leaves the document itself open.
+	 */
+	private static final class HeaderWindow extends FilterInputStream {
+
+		private long remaining = HEADER_LIMIT;
+		private boolean open;
+
+		HeaderWindow(InputStream in) {
+			super(in);
+		}
+
+		void open() {
+			open = true;
+		}
+
+		boolean isOpen() {
+			return open;
+		}
+
+		@Override
+		public int read() throws IOException {
+			checkRemaining();
+			int read = super.read();
+			if (read != -1) {
+				remaining--;
+			}
+			return read;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			checkRemaining();
+			int read = super.read(buffer, offset, open ? length : (int) Math.min(length, remaining));
+			if (read > 0) {
+				remaining -= read;
+			}
+			return read;
+		}
+
+		@Override
+		public long skip(long count) throws IOException {
+			checkRemaining();
+			long skipped = super.skip(open ? count : Math.min(count, remaining));
+			remaining -= skipped;
+			return skipped;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		@Override
+		public void close() {
+			// the reader may close its input, which must leave the document itself open
+		}
+
+		private void checkRemaining() throws IOException {
+			if (!open && remaining <= 0) {
+				throw new IOException("The start of the XML file is longer than " + HEADER_LIMIT + " bytes");
+			}
+		}
+	}
+}
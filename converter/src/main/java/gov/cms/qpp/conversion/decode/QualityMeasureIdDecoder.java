@@ -8,7 +8,6 @@ import org.jdom2.Attribute;
 import org.jdom2.Element;
 import org.jdom2.filter.Filters;
 import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,13 +29,14 @@ public class QualityMeasureIdDecoder extends QppXmlDecoder {
 	 *
 	 * Currently, only decodes measures that do not contain stratum.
 	 *
+	 * @param state State of the decode
 	 * @param element  XML element that represents the Quality Measure Identifier
 	 * @param thisNode Node represents the quality measure identifier
 	 * @return {@code DecodeResult.TREE_CONTINUE} to continue down the parsed XML
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisNode) {
-		List<String> measureGuids = getMeasureGuid(element);
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisNode) {
+		List<String> measureGuids = getMeasureGuid(state, element);
 
 		measureGuids.forEach(measureGuid ->
 			thisNode.putValue(MEASURE_ID, measureGuid, false));
@@ -47,14 +47,12 @@ public class QualityMeasureIdDecoder extends QppXmlDecoder {
 	/**
 	 * Obtains the measure GUID.
 	 *
+	 * @param state State of the decode
 	 * @param element XML element that represents the Quality Measure Identifier
 	 * @return The measure GUID in the Quality Measure Identifier
 	 */
-	private List<String> getMeasureGuid(final Element element) {
-		String expressionStr = getXpath(MEASURE_ID);
-
-		XPathExpression<Attribute> expression = XPathFactory.instance()
-			.compile(expressionStr, Filters.attribute(), null, xpathNs);
+	private List<String> getMeasureGuid(DecodeState state, final Element element) {
+		XPathExpression<Attribute> expression = getXpathExpression(state, MEASURE_ID, Filters.attribute());
 		return expression.evaluate(element).stream()
 			.map(Attribute::getValue)
 			.collect(Collectors.toList());
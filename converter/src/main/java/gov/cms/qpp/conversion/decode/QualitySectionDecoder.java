@@ -21,12 +21,13 @@ public class QualitySectionDecoder extends QppXmlDecoder {
 	/**
 	 * Decodes an Quality Measure Section into the intermediate Node format
 	 *
+	 * @param state State of the decode
 	 * @param element  XML element that represents the Quality Section
 	 * @param thisNode Node represents the quality section
 	 * @return {@code DecodeResult.TREE_CONTINUE} to continue down the parsed XML
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisNode) {
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisNode) {
 		thisNode.putValue(CATEGORY, "quality");
 		return DecodeResult.TREE_CONTINUE;
 	}
@@ -7,6 +7,7 @@ import gov.cms.qpp.conversion.model.TemplateId;
 import org.jdom2.Attribute;
 import org.jdom2.Element;
 import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
 
 import java.util.function.Consumer;
 
@@ -28,25 +29,27 @@ public class ReportingParametersActDecoder extends QppXmlDecoder {
 	 * Decodes a given element for a reporting parameter into a specified node
 	 * And returns finished.
 	 *
+	 * @param state State of the decode
 	 * @param element XML document element
 	 * @param thisNode Reporting parameter node
 	 * @return Finished parsing tree result
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisNode) {
-		setPerformanceTimeRangeOnNode(element, thisNode);
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisNode) {
+		setPerformanceTimeRangeOnNode(state, element, thisNode);
 		return DecodeResult.TREE_FINISHED;
 	}
 
 	/**
 	 * Acquires the reporting parameters within the xml and inserts into a given node
 	 *
+	 * @param state State of the decode
 	 * @param element XML document that contains the reporting parameters act
 	 * @param thisNode Reporting parameter node
 	 */
-	private void setPerformanceTimeRangeOnNode(Element element, Node thisNode) {
-		String performanceStartExprStr = getXpath(PERFORMANCE_START);
-		String performanceEndExprStr = getXpath(PERFORMANCE_END);
+	private void setPerformanceTimeRangeOnNode(DecodeState state, Element element, Node thisNode) {
+		XPathExpression<Attribute> performanceStartExpr = getXpathExpression(state, PERFORMANCE_START, Filters.attribute());
+		XPathExpression<Attribute> performanceEndExpr = getXpathExpression(state, PERFORMANCE_END, Filters.attribute());
 
 		Consumer<? super Attribute> performanceStartConsumer =
 				p -> {
@@ -58,7 +61,9 @@ public class ReportingParametersActDecoder extends QppXmlDecoder {
 		Consumer<? super Attribute> performanceEndConsumer =
 				p -> thisNode.putValue(PERFORMANCE_END, p.getValue(), false);
 
-		setOnNode(element, performanceStartExprStr, performanceStartConsumer, Filters.attribute(), false);
-		setOnNode(element, performanceEndExprStr, performanceEndConsumer, Filters.attribute(), false);
+		new XPathBatch(this)
+				.add(performanceStartExpr, performanceStartConsumer, false)
+				.add(performanceEndExpr, performanceEndConsumer, false)
+				.evaluate(element);
 	}
 }
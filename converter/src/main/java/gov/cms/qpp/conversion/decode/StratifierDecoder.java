@@ -8,6 +8,7 @@ import gov.cms.qpp.conversion.model.TemplateId;
 import org.jdom2.Attribute;
 import org.jdom2.Element;
 import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
 
 import java.util.function.Consumer;
 
@@ -26,28 +27,30 @@ public class StratifierDecoder extends QppXmlDecoder {
 	/**
 	 * Decodes a measure stratifier element into a node.
 	 *
+	 * @param state State of the decode
 	 * @param element XML parsed representation of measure stratifier
 	 * @param thisNode Object to hold the measure stratifier
 	 * @return cue to caller about how to proceed after this node of the xml document is decoded
 	 */
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisNode) {
-		setStratifierId(element, thisNode);
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisNode) {
+		setStratifierId(state, element, thisNode);
 		return DecodeResult.TREE_FINISHED;
 	}
 
 	/**
 	 * Dig up the stratifier's id and assign it to thisNode
+	 * @param state State of the decode
 	 * @param element DOM element
 	 * @param thisNode current node
 	 */
-	private void setStratifierId(Element element, Node thisNode) {
-		String expressionStr = getXpath(STRATIFIER_ID);
+	private void setStratifierId(DecodeState state, Element element, Node thisNode) {
+		XPathExpression<Attribute> expression = getXpathExpression(state, STRATIFIER_ID, Filters.attribute());
 		Consumer<? super Attribute> consumer = attr -> {
 			String code = attr.getValue();
 			thisNode.putValue(STRATIFIER_ID, code, false);
 		};
-		setOnNode(element, expressionStr, consumer, Filters.attribute(), false);
+		setOnNode(element, expression, consumer, false);
 	}
 
 }
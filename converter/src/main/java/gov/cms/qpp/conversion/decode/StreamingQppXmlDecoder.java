@@ -0,0 +1,316 @@
+package gov.cms.qpp.conversion.decode;
+
+import com.google.common.base.Strings;
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.xml.XmlException;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+import org.jdom2.Attribute;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.Namespace;
+import org.jdom2.input.StAXStreamBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Decoder that pulls a QRDA document through a StAX reader rather than building the entire XML tree up front.
+ *
+ * The document header is built in full and handed to the root decoder exactly as {@link QppXmlDecoder} would.
+ * The sections of the {@code structuredBody} are then read one at a time. The header of a section is built and
+ * decoded, and each {@code entry} of the section is then built, decoded and discarded in turn, so only a single
+ * entry, such as one measure reference and its results, is held in memory at any point. The resulting
+ * {@link Node} tree is identical to the one produced from a fully built document.
+ *
+ * As mandated by CDA, the body {@code component} is expected to be the last child of the {@code ClinicalDocument},
+ * and a section's entries are expected to follow its header. Section decoders read no further than that header.
+ */
+public class StreamingQppXmlDecoder extends QppXmlDecoder {
+
+	private static final Logger DEV_LOG = LoggerFactory.getLogger(StreamingQppXmlDecoder.class);
+	private static final String COMPONENT = "component";
+	private static final String STRUCTURED_BODY = "structuredBody";
+	private static final String SECTION = "section";
+	private static final String ENTRY = "entry";
+
+	private final StAXStreamBuilder builder = new StAXStreamBuilder();
+
+	/**
+	 * Initialize a streaming qpp xml decoder
+	 *
+	 * @param context Context to use for the decode
+	 */
+	public StreamingQppXmlDecoder(Context context) {
+		super(context);
+	}
+
+	/**
+	 * Decodes a stream of xml one section at a time
+	 *
+	 * @param xmlStream XML document to be decoded
+	 * @return Root node, or null if the document is not a QRDA-III document
+	 * @throws XmlException When a failure to parse the XML
+	 */
+	public Node decode(InputStream xmlStream) throws XmlException {
+		XMLStreamReader reader = XmlUtils.openXmlStreamReader(xmlStream);
+		try {
+			Node rootNode = decode(reader);
+			// the remainder of the document must still be well formed
+			while (reader.hasNext()) {
+				reader.next();
+			}
+			return rootNode;
+		} catch (XMLStreamException | JDOMException e) {
+			throw new XmlException("Failed to stream XML into decoded nodes", e);
+		} finally {
+			close(reader);
+		}
+	}
+
+	/**
+	 * Builds the document header and hands off to the body
+	 *
+	 * @param reader reader positioned at the start of the document
+	 * @return Root node, or null if the document is not a QRDA-III document
+	 * @throws XMLStreamException When the reader fails or the document declares a DTD
+	 * @throws JDOMException When a header element cannot be built
+	 */
+	private Node decode(XMLStreamReader reader) throws XMLStreamException, JDOMException {
+		reader.nextTag();
+		Element rootElement = shellOf(reader);
+		new Document(rootElement);
+
+		while (nextChildElement(reader)) {
+			if (isNamed(reader, COMPONENT, rootElement)) {
+				Element body = shellOf(reader);
+				rootElement.addContent(body);
+				return decodeBody(reader, body, rootElement);
+			}
+			rootElement.addContent(builder.fragment(reader));
+		}
+
+		return acceptAndDecodeRoot(DecodeState.of(rootElement), rootElement);
+	}
+
+	/**
+	 * Builds the body {@code component}. Once its {@code structuredBody} is reached the root is decoded
+	 * and the sections are streamed into it.
+	 *
+	 * @param reader reader positioned at the start of the body
+	 * @param body shell of the body element
+	 * @param rootElement the document root
+	 * @return Root node, or null if the document is not a QRDA-III document
+	 * @throws XMLStreamException When the reader fails
+	 * @throws JDOMException When a section cannot be built
+	 */
+	private Node decodeBody(XMLStreamReader reader, Element body, Element rootElement)
+			throws XMLStreamException, JDOMException {
+		while (nextChildElement(reader)) {
+			if (isNamed(reader, STRUCTURED_BODY, rootElement)) {
+				Element structuredBody = shellOf(reader);
+				body.addContent(structuredBody);
+				DecodeState state = DecodeState.of(rootElement);
+				Node rootNode = acceptAndDecodeRoot(state, rootElement);
+				if (rootNode != null) {
+					decodeSections(state, reader, structuredBody, rootElement, rootNode);
+				}
+				return rootNode;
+			}
+			body.addContent(builder.fragment(reader));
+		}
+
+		return acceptAndDecodeRoot(DecodeState.of(rootElement), rootElement);
+	}
+
+	/**
+	 * Decodes each section of the {@code structuredBody} as it is read. The section elements, and the entries
+	 * within them, are emptied once decoded but kept so the positions of later siblings remain true to the
+	 * original document.
+	 *
+	 * @param state state of the decode of the root, whose element paths the sections share
+	 * @param reader reader positioned at the start of the structured body
+	 * @param structuredBody shell of the structured body element
+	 * @param rootElement the document root
+	 * @param rootNode the decoded root
+	 * @throws XMLStreamException When the reader fails
+	 * @throws JDOMException When a section cannot be built
+	 */
+	private void decodeSections(DecodeState state, XMLStreamReader reader, Element structuredBody,
+			Element rootElement, Node rootNode) throws XMLStreamException, JDOMException {
+		Node sectionParent = Optional.ofNullable(rootNode.findFirstNode(TemplateId.CLINICAL_DOCUMENT))
+				.orElse(rootNode);
+		Map<Element, ElementPath> decodedPaths = new LinkedHashMap<>();
+
+		while (nextChildElement(reader)) {
+			if (isNamed(reader, COMPONENT, rootElement)) {
+				Element component = shellOf(reader);
+				structuredBody.addContent(component);
+				decodedPaths.put(component, state.getPaths().of(component));
+				decodeComponent(state, decodeChildrenOf(state, component, sectionParent), reader, component,
+						rootElement, decodedPaths);
+				component.removeContent();
+			} else {
+				structuredBody.addContent(builder.fragment(reader));
+			}
+		}
+
+		// an element is located while its later siblings are yet to be read, so the first of many lacks its position
+		decodedPaths.forEach((element, path) -> path.relocate(element));
+	}
+
+	/**
+	 * Reads the children of a section {@code component}, streaming the {@code section} itself and decoding
+	 * every other child whole.
+	 *
+	 * @param state state of the decode of the root, whose element paths the component shares
+	 * @param componentDecode decode of the children of the component
+	 * @param reader reader positioned at the content of the component
+	 * @param component shell of the component element
+	 * @param rootElement the document root
+	 * @param decodedPaths paths of the elements streamed so far, to be relocated once all are read
+	 * @throws XMLStreamException When the reader fails
+	 * @throws JDOMException When a child cannot be built
+	 */
+	private void decodeComponent(DecodeState state, ChildDecode componentDecode, XMLStreamReader reader,
+			Element component, Element rootElement, Map<Element, ElementPath> decodedPaths)
+			throws XMLStreamException, JDOMException {
+		while (nextChildElement(reader)) {
+			if (isNamed(reader, SECTION, rootElement)) {
+				Element section = shellOf(reader);
+				component.addContent(section);
+				decodeSection(state, componentDecode.descend(section), reader, section, rootElement, decodedPaths);
+				reader.next();
+			} else {
+				Element child = (Element) builder.fragment(reader);
+				component.addContent(child);
+				componentDecode.decode(child);
+			}
+		}
+		reader.next();
+	}
+
+	/**
+	 * Reads the children of a {@code section}, decoding each as soon as it is built. Each {@code entry} is
+	 * emptied once read.
+	 *
+	 * @param state state of the decode of the root, whose element paths the section shares
+	 * @param sectionDecode decode of the children of the section, or null if they are not to be decoded
+	 * @param reader reader positioned at the content of the section
+	 * @param section shell of the section element
+	 * @param rootElement the document root
+	 * @param decodedPaths paths of the elements streamed so far, to be relocated once all are read
+	 * @throws XMLStreamException When the reader fails
+	 * @throws JDOMException When a child cannot be built
+	 */
+	private void decodeSection(DecodeState state, ChildDecode sectionDecode, XMLStreamReader reader,
+			Element section, Element rootElement, Map<Element, ElementPath> decodedPaths)
+			throws XMLStreamException, JDOMException {
+		if (sectionDecode != null) {
+			decodedPaths.put(section, state.getPaths().of(section));
+		}
+		while (nextChildElement(reader)) {
+			boolean isEntry = isNamed(reader, ENTRY, rootElement);
+			Element child = (Element) builder.fragment(reader);
+			section.addContent(child);
+
+			if (sectionDecode != null && sectionDecode.getResult() == null) {
+				decodedPaths.put(child, state.getPaths().of(child));
+				sectionDecode.decode(child);
+			}
+			if (isEntry) {
+				child.removeContent();
+			}
+		}
+	}
+
+	/**
+	 * Checks the document header and decodes the root
+	 *
+	 * @param state state of the decode of the document
+	 * @param rootElement the document root
+	 * @return Root node, or null if the document is not a QRDA-III document
+	 */
+	private Node acceptAndDecodeRoot(DecodeState state, Element rootElement) {
+		if (accepts(rootElement)) {
+			return decodeRoot(state, rootElement);
+		}
+
+		DEV_LOG.error("The XML file is an unknown document");
+		return null;
+	}
+
+	/**
+	 * Moves the reader on from its current event to the next child element of the current element
+	 *
+	 * @param reader the reader
+	 * @return true if positioned at the start of a child, false if the end of the current element was reached
+	 * @throws XMLStreamException When the reader fails
+	 */
+	private boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+		int event = reader.getEventType();
+		while (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT) {
+			event = reader.next();
+		}
+		return event == XMLStreamConstants.START_ELEMENT;
+	}
+
+	/**
+	 * Determines whether the reader is at an element of the given name within the document's namespace
+	 *
+	 * @param reader the reader
+	 * @param name the local name to match
+	 * @param rootElement the document root
+	 * @return whether the element matches
+	 */
+	private boolean isNamed(XMLStreamReader reader, String name, Element rootElement) {
+		return name.equals(reader.getLocalName())
+				&& rootElement.getNamespace().equals(namespace(reader.getPrefix(), reader.getNamespaceURI()));
+	}
+
+	/**
+	 * Creates an element, without any content, for the start element the reader is positioned at and
+	 * moves the reader on to the element's content
+	 *
+	 * @param reader the reader
+	 * @return element with the namespaces and attributes of the start element
+	 * @throws XMLStreamException When the reader fails
+	 */
+	private Element shellOf(XMLStreamReader reader) throws XMLStreamException {
+		Element element = new Element(reader.getLocalName(), namespace(reader.getPrefix(), reader.getNamespaceURI()));
+
+		for (int i = 0; i < reader.getNamespaceCount(); i++) {
+			element.addNamespaceDeclaration(
+					namespace(reader.getNamespacePrefix(i), reader.getNamespaceURI(i)));
+		}
+
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			element.setAttribute(new Attribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i),
+					namespace(reader.getAttributePrefix(i), reader.getAttributeNamespace(i))));
+		}
+
+		reader.next();
+		return element;
+	}
+
+	private Namespace namespace(String prefix, String uri) {
+		return Namespace.getNamespace(Strings.nullToEmpty(prefix), Strings.nullToEmpty(uri));
+	}
+
+	private void close(XMLStreamReader reader) {
+		try {
+			reader.close();
+		} catch (XMLStreamException e) {
+			DEV_LOG.warn("Failed to close XML stream", e);
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package gov.cms.qpp.conversion.decode;
+
+import org.jdom2.Element;
+import org.jdom2.filter.Filter;
+import org.jdom2.xpath.XPathExpression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Evaluates all of a decoder's expressions against an element in a single traversal of its subtree.
+ *
+ * Expressions compiled into {@link XPathNavigationPlan}s are walked together, so that steps shared between
+ * them are navigated once and each child element is visited once. Once the walk is complete the consumers
+ * are executed in the order they were added, exactly as a series of
+ * {@link XmlInputDecoder#setOnNode(Element, XPathExpression, Consumer, boolean)} calls would have executed them.
+ * Expressions that are not navigation plans are evaluated individually when their turn comes.
+ */
+final class XPathBatch {
+
+	private final XmlInputDecoder decoder;
+	private final List<Navigation> navigations = new ArrayList<>();
+	private final List<Consumer<Element>> dispatchers = new ArrayList<>();
+
+	/**
+	 * @param decoder decoder the batch evaluates expressions for
+	 */
+	XPathBatch(XmlInputDecoder decoder) {
+		this.decoder = decoder;
+	}
+
+	/**
+	 * Adds an expression along with the consumer for its results
+	 *
+	 * @param expression Compiled xpath
+	 * @param consumer Consumer that will be executed for each of the expression's results
+	 * @param selectOne Whether to execute for the first match or multiple matches
+	 * @return this batch
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	XPathBatch add(XPathExpression<?> expression, Consumer consumer, boolean selectOne) {
+		if (expression instanceof XPathNavigationPlan) {
+			Navigation navigation = new Navigation((XPathNavigationPlan<?>) expression);
+			navigations.add(navigation);
+			dispatchers.add(ignore -> navigation.dispatch(consumer, selectOne));
+		} else {
+			dispatchers.add(element -> decoder.setOnNode(element, expression, consumer, selectOne));
+		}
+		return this;
+	}
+
+	/**
+	 * Adds an action to run once the consumers added before it have executed
+	 *
+	 * @param action action to run
+	 * @return this batch
+	 */
+	XPathBatch then(Runnable action) {
+		dispatchers.add(ignore -> action.run());
+		return this;
+	}
+
+	/**
+	 * Walks the element once for all of the batch's navigation plans and then executes the consumers in turn
+	 *
+	 * @param element Top element in the XML document
+	 */
+	void evaluate(Element element) {
+		navigations.forEach(navigation -> navigation.reached.clear());
+		walk(element, 0, navigations);
+		dispatchers.forEach(dispatcher -> dispatcher.accept(element));
+	}
+
+	/**
+	 * Records the element against the plans that end at it and descends into the children matched by the
+	 * remaining plans
+	 *
+	 * @param element element reached by the first depth steps of every active plan
+	 * @param depth number of steps taken to reach the element
+	 * @param active plans that have reached the element
+	 */
+	private void walk(Element element, int depth, List<Navigation> active) {
+		List<Navigation> descending = new ArrayList<>(active.size());
+		for (Navigation navigation : active) {
+			if (navigation.plan.depth() == depth) {
+				navigation.reached.add(element);
+			} else {
+				descending.add(navigation);
+			}
+		}
+
+		if (descending.isEmpty()) {
+			return;
+		}
+
+		for (Element child : element.getChildren()) {
+			List<Navigation> matched = new ArrayList<>(descending.size());
+			for (Navigation navigation : descending) {
+				if (navigation.plan.matches(depth, child)) {
+					matched.add(navigation);
+				}
+			}
+			if (!matched.isEmpty()) {
+				walk(child, depth + 1, matched);
+			}
+		}
+	}
+
+	/**
+	 * A navigation plan and the elements its final step reached during the walk
+	 */
+	private static final class Navigation {
+		private final XPathNavigationPlan<?> plan;
+		private final List<Element> reached = new ArrayList<>();
+
+		Navigation(XPathNavigationPlan<?> plan) {
+			this.plan = plan;
+		}
+
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		void dispatch(Consumer consumer, boolean selectOne) {
+			Filter<?> filter = plan.getFilter();
+			List<?> selected = plan.select(reached);
+			if (selectOne) {
+				selected.stream().findFirst().map(filter::filter).ifPresent(consumer);
+			} else {
+				filter.filter(selected).forEach(consumer);
+			}
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package gov.cms.qpp.conversion.decode;
+
+import gov.cms.qpp.conversion.correlation.PathCorrelator;
+import org.jdom2.Namespace;
+import org.jdom2.filter.Filter;
+import org.jdom2.xpath.XPathExpression;
+import org.jdom2.xpath.XPathFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of compiled {@link XPathExpression}s for the relative xpaths found in path-correlation.json.
+ *
+ * Expressions are keyed by template, decode label, namespace uri and filter and are compiled on first use into an
+ * {@link XPathNavigationPlan}, which holds no state and is shared by every thread. Only the known QRDA namespaces
+ * are cached, so documents of other namespaces cannot grow the cache. JDOM's Jaxen backed expressions keep
+ * navigation state while evaluating, so an xpath that cannot be navigated directly is compiled for each use.
+ */
+final class XPathExpressionCache {
+
+	private static final Map<List<Object>, XPathExpression<?>> EXPRESSIONS = new ConcurrentHashMap<>();
+
+	private XPathExpressionCache() {
+		//private constructor so utility class cannot be instantiated
+	}
+
+	/**
+	 * Retrieve the compiled expression for a template's decode label
+	 *
+	 * @param template template name
+	 * @param label decode label of the relative xpath
+	 * @param filter filter to apply to the results of the expression
+	 * @param xpathNs namespace bound to the "ns" prefix and substituted into the relative xpath
+	 * @param <T> type of the filtered results
+	 * @return compiled expression
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> XPathExpression<T> get(String template, String label, Filter<T> filter, Namespace xpathNs) {
+		String uri = xpathNs.getURI();
+		if (!XPathNamespace.isInterned(uri)) {
+			return compile(PathCorrelator.getXpath(template, label, uri), filter, xpathNs);
+		}
+
+		List<Object> key = Arrays.asList(template, label, uri, filter);
+		XPathExpression<T> expression = (XPathExpression<T>) EXPRESSIONS.get(key);
+		if (expression == null) {
+			expression = compile(PathCorrelator.getXpath(template, label, uri), filter, xpathNs);
+			if (expression instanceof XPathNavigationPlan) {
+				XPathExpression<T> cached = (XPathExpression<T>) EXPRESSIONS.putIfAbsent(key, expression);
+				expression = cached != null ? cached : expression;
+			}
+		}
+		return expression;
+	}
+
+	/**
+	 * Compiles a relative xpath into a navigation plan, falling back to XPath when the expression cannot be
+	 * navigated directly.
+	 *
+	 * @param expression relative xpath
+	 * @param filter filter to apply to the results of the expression
+	 * @param xpathNs namespace bound to the "ns" prefix
+	 * @param <T> type of the filtered results
+	 * @return compiled expression
+	 */
+	private static <T> XPathExpression<T> compile(String expression, Filter<T> filter, Namespace xpathNs) {
+		XPathExpression<T> plan = XPathNavigationPlan.compile(expression, filter, xpathNs);
+		return plan != null ? plan : XPathFactory.instance().compile(expression, filter, null, xpathNs);
+	}
+}
@@ -0,0 +1,68 @@
+package gov.cms.qpp.conversion.decode;
+
+import com.google.common.collect.ImmutableMap;
+import org.jdom2.Namespace;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+
+/**
+ * Interned "ns" prefixed {@link Namespace}s that decoders bind their xpaths to.
+ *
+ * {@link Namespace#getNamespace(String, String)} refuses a prefix without a URI, which is the case for documents
+ * without a default namespace (test), so the namespace is constructed reflectively. That is done once for each of
+ * the known QRDA namespaces and the result is shared by every decode thereafter. Other URIs come from the
+ * documents being converted, so their namespaces are constructed afresh rather than kept.
+ */
+public final class XPathNamespace {
+
+	static final String PREFIX = "ns";
+	static final String QRDA_URI = "urn:hl7-org:v3";
+
+	private static final Map<String, Namespace> NAMESPACES = ImmutableMap.of(
+			QRDA_URI, construct(QRDA_URI),
+			"", construct(""));
+
+	private XPathNamespace() {
+		//private constructor so utility class cannot be instantiated
+	}
+
+	/**
+	 * Retrieve the "ns" prefixed namespace for a URI
+	 *
+	 * @param uri namespace URI
+	 * @return interned namespace for a known URI, otherwise a new namespace
+	 */
+	public static Namespace forUri(String uri) {
+		Namespace namespace = NAMESPACES.get(uri);
+		return namespace != null ? namespace : construct(uri);
+	}
+
+	/**
+	 * Determines whether a URI is one of the known QRDA namespaces, for which what is derived from it may be kept
+	 *
+	 * @param uri namespace URI
+	 * @return whether the namespace of the URI is interned
+	 */
+	public static boolean isInterned(String uri) {
+		return NAMESPACES.containsKey(uri);
+	}
+
+	/**
+	 * Constructs a new "ns" prefixed namespace, bypassing the checks in {@link Namespace#getNamespace(String, String)}
+	 *
+	 * @param uri namespace URI
+	 * @return namespace
+	 */
+	static Namespace construct(String uri) {
+		try {
+			Constructor<Namespace> constructor = Namespace.class.getDeclaredConstructor(String.class, String.class);
+			constructor.setAccessible(true);
+			return constructor.newInstance(PREFIX, uri);
+		} catch (NoSuchMethodException | InstantiationException | IllegalAccessException
+				| IllegalArgumentException | InvocationTargetException e) {
+			throw new IllegalArgumentException("Cannot construct special Xpath namespace", e);
+		}
+	}
+}
@@ -0,0 +1,185 @@
+package gov.cms.qpp.conversion.decode;
+
+import org.jdom2.Attribute;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.filter.Filter;
+import org.jdom2.xpath.XPathExpression;
+import org.jdom2.xpath.util.AbstractXPathCompiled;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An {@link XPathExpression} that walks JDOM elements directly rather than evaluating through Jaxen.
+ *
+ * Only the relative child walks used by path-correlation.json are understood, that is paths of the form
+ * {@code ./*[local-name() = 'a' and namespace-uri() = 'b'][@c='d']/.../@e} where the attribute predicate and the
+ * trailing attribute are optional. {@link #compile(String, Filter, Namespace...)} returns null for anything else
+ * so that the caller may fall back to XPath.
+ *
+ * Plans hold no evaluation state and may be shared between threads.
+ *
+ * @param <T> type of the filtered results
+ */
+public final class XPathNavigationPlan<T> extends AbstractXPathCompiled<T> {
+
+	private static final Pattern STEP = Pattern.compile(
+			"/\\*\\[local-name\\(\\) = '([^']+)' and namespace-uri\\(\\) = '([^']*)'](?:\\[@([\\w-]+)='([^']*)'])?");
+	private static final Pattern ATTRIBUTE = Pattern.compile("/@([\\w-]+)");
+
+	private final List<Step> steps;
+	private final String attribute;
+
+	private XPathNavigationPlan(String expression, Filter<T> filter, Namespace[] namespaces,
+			List<Step> steps, String attribute) {
+		super(expression, filter, null, namespaces);
+		this.steps = steps;
+		this.attribute = attribute;
+	}
+
+	/**
+	 * Compiles a relative xpath into a navigation plan
+	 *
+	 * @param expression relative xpath
+	 * @param filter filter to apply to the results of the plan
+	 * @param namespaces namespaces available to the expression
+	 * @param <T> type of the filtered results
+	 * @return navigation plan, or null if the expression cannot be navigated directly
+	 */
+	public static <T> XPathExpression<T> compile(String expression, Filter<T> filter, Namespace... namespaces) {
+		if (!expression.startsWith(".")) {
+			return null;
+		}
+
+		List<Step> steps = new ArrayList<>();
+		Matcher step = STEP.matcher(expression);
+		int position = 1;
+		while (step.find(position) && step.start() == position) {
+			steps.add(new Step(step.group(1), step.group(2), step.group(3), step.group(4)));
+			position = step.end();
+		}
+
+		String attribute = null;
+		Matcher trailing = ATTRIBUTE.matcher(expression).region(position, expression.length());
+		if (trailing.lookingAt()) {
+			attribute = trailing.group(1);
+			position = trailing.end();
+		}
+
+		if (position != expression.length()) {
+			return null;
+		}
+
+		return new XPathNavigationPlan<>(expression, filter, namespaces, steps, attribute);
+	}
+
+	/**
+	 * Navigates from the context element through each step of the plan
+	 *
+	 * @param context {@link Element} the plan is evaluated against
+	 * @return matching elements, or their attributes if the plan ends in an attribute, in document order
+	 */
+	@Override
+	protected List<?> evaluateRawAll(Object context) {
+		List<Element> current = Collections.singletonList((Element) context);
+		for (Step step : steps) {
+			List<Element> next = new ArrayList<>();
+			for (Element element : current) {
+				step.addMatches(element, next);
+			}
+			current = next;
+		}
+		return select(current);
+	}
+
+	/**
+	 * Navigates from the context element to the first match of the plan
+	 *
+	 * @param context {@link Element} the plan is evaluated against
+	 * @return the first match in document order or null if there is none
+	 */
+	@Override
+	protected Object evaluateRawFirst(Object context) {
+		List<?> all = evaluateRawAll(context);
+		return all.isEmpty() ? null : all.get(0);
+	}
+
+	/**
+	 * The number of child steps taken by the plan
+	 *
+	 * @return step count
+	 */
+	int depth() {
+		return steps.size();
+	}
+
+	/**
+	 * Determines whether a child element satisfies one of the plan's steps
+	 *
+	 * @param depth index of the step
+	 * @param child element reached by the step
+	 * @return whether the child is matched by the step
+	 */
+	boolean matches(int depth, Element child) {
+		return steps.get(depth).matches(child);
+	}
+
+	/**
+	 * Projects the elements reached by the final step onto the plan's trailing attribute, if any
+	 *
+	 * @param reached elements reached by the final step in document order
+	 * @return the reached elements, or their attributes if the plan ends in an attribute
+	 */
+	List<?> select(List<Element> reached) {
+		if (attribute == null) {
+			return reached;
+		}
+
+		List<Attribute> attributes = new ArrayList<>(reached.size());
+		for (Element element : reached) {
+			Attribute found = element.getAttribute(attribute);
+			if (found != null) {
+				attributes.add(found);
+			}
+		}
+		return attributes;
+	}
+
+	/**
+	 * A single child step with an optional attribute value predicate
+	 */
+	private static final class Step {
+		private final String name;
+		private final Namespace namespace;
+		private final String predicateAttribute;
+		private final String predicateValue;
+
+		Step(String name, String uri, String predicateAttribute, String predicateValue) {
+			this.name = name;
+			this.namespace = Namespace.getNamespace(uri);
+			this.predicateAttribute = predicateAttribute;
+			this.predicateValue = predicateValue;
+		}
+
+		void addMatches(Element parent, List<Element> matches) {
+			for (Element child : parent.getChildren(name, namespace)) {
+				if (hasPredicate(child)) {
+					matches.add(child);
+				}
+			}
+		}
+
+		boolean matches(Element child) {
+			return name.equals(child.getName()) && namespace.getURI().equals(child.getNamespaceURI())
+					&& hasPredicate(child);
+		}
+
+		private boolean hasPredicate(Element child) {
+			return predicateAttribute == null || predicateValue.equals(child.getAttributeValue(predicateAttribute));
+		}
+	}
+}
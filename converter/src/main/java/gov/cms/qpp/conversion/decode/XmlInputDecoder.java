@@ -1,29 +1,24 @@
 package gov.cms.qpp.conversion.decode;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 
 import org.jdom2.Element;
-import org.jdom2.Namespace;
-import org.jdom2.filter.Filter;
 import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.xml.XmlException;
 
 /**
  * Abstraction to parse XML files within the decoder structure.
  */
 public abstract class XmlInputDecoder implements InputDecoder {
 	private static final Logger DEV_LOG = LoggerFactory.getLogger(XmlInputDecoder.class);
-	Namespace defaultNs;
-	Namespace xpathNs;
 
 	/**
 	 * decodeXml Determines what formats of xml we accept and decode to
@@ -42,6 +37,19 @@ public abstract class XmlInputDecoder implements InputDecoder {
 		return null;
 	}
 
+	/**
+	 * decodeXml Decodes a stream of xml one section at a time, without building the entire document in memory
+	 *
+	 * @param context Context to use for the decode
+	 * @param xmlStream XML document to be decoded
+	 * @return Root intermediate format node
+	 * @throws XmlException When a failure to parse the XML
+	 * @see StreamingQppXmlDecoder
+	 */
+	public static Node decodeXml(Context context, InputStream xmlStream) throws XmlException {
+		return new StreamingQppXmlDecoder(context).decode(xmlStream);
+	}
+
 	/**
 	 * Decode a document into a Node
 	 *
@@ -56,58 +64,36 @@ public abstract class XmlInputDecoder implements InputDecoder {
 	/**
 	 * Convenient way to pass a list into sub decoders.
 	 * 
+	 * @param state State of the decode
 	 * @param elements List of elements to be decoded
 	 * @param parent Parent node that all child elements will be decoded into
 	 */
-	protected void decode(List<Element> elements, Node parent) {
+	protected void decode(DecodeState state, List<Element> elements, Node parent) {
 		for (Element element : elements) {
-			decode(element, parent);
+			decode(state, element, parent);
 		}
 	}
 
 	/**
 	 * Abstraction of decode for an element to a node
 	 * 
+	 * @param state State of the decode
 	 * @param element Element to be decoded
 	 * @param parent Node to be decoded into
  	 * @return Action to take after decode
 	 */
-	protected abstract DecodeResult decode(Element element, Node parent);
-
-	/**
-	 * Sets xml namespace
-	 *
-	 * @param element Element that hold the namespace
-	 * @param decoder Decoder to configure
-	 */
-	void setNamespace(Element element, XmlInputDecoder decoder) {
-		decoder.defaultNs = element.getNamespace();
-
-		// this handle the case where there is no URI for a default namespace (test)
-		try {
-			Constructor<Namespace> constructor = Namespace.class.getDeclaredConstructor(String.class, String.class);
-			constructor.setAccessible(true);
-			decoder.xpathNs = constructor.newInstance("ns", decoder.defaultNs.getURI());
-		} catch (NoSuchMethodException | InstantiationException | IllegalAccessException
-				| IllegalArgumentException | InvocationTargetException e) {
-			throw new IllegalArgumentException("Cannot construct special Xpath namespace", e);
-		}
-	}
+	protected abstract DecodeResult decode(DecodeState state, Element element, Node parent);
 
 	/**
 	 * Executes an Xpath for an element and executes the consumer
 	 *
 	 * @param element Element the xpath is executed against
-	 * @param expressionStr Xpath
+	 * @param expression Compiled xpath
 	 * @param consumer Consumer to execute if the xpath matches
-	 * @param filter Filter to apply for the xpath
 	 * @param selectOne Whether to execute for the first match or multiple matches
 	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
-	void setOnNode(Element element, String expressionStr,
-					Consumer consumer, Filter<?> filter, boolean selectOne) {
-		XPathExpression<?> expression = XPathFactory.instance().compile(expressionStr, filter, null,  xpathNs);
-
+	void setOnNode(Element element, XPathExpression<?> expression, Consumer consumer, boolean selectOne) {
 		if (selectOne) {
 			Optional.ofNullable(expression.evaluateFirst(element)).ifPresent(consumer);
 		} else {
@@ -128,11 +114,12 @@ public abstract class XmlInputDecoder implements InputDecoder {
 	/**
 	 * Represents an internal parsing of an element
 	 * 
+	 * @param state State of the decode, holding the namespace the element's xpaths are bound to
 	 * @param element Element to be decoded
 	 * @param thisNode Node to be decoded into
 	 * @return Action to take after decode
 	 */
-	protected abstract DecodeResult internalDecode(Element element, Node thisNode);
+	protected abstract DecodeResult internalDecode(DecodeState state, Element element, Node thisNode);
 
 	/**
 	 * Determines if the Decoder can handle the input
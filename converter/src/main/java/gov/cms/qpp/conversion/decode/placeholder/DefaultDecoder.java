@@ -2,6 +2,7 @@ package gov.cms.qpp.conversion.decode.placeholder;
 
 import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.decode.DecodeResult;
+import gov.cms.qpp.conversion.decode.DecodeState;
 import gov.cms.qpp.conversion.decode.QppXmlDecoder;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
@@ -32,7 +33,7 @@ public class DefaultDecoder extends QppXmlDecoder {
 	}
 
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisnode) {
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisnode) {
 		DEV_LOG.debug("Default decoder {} is handling templateId {} and is described as '{}' ",
 				getClass(), thisnode.getType().name(), description);
 		thisnode.putValue("DefaultDecoderFor", description);
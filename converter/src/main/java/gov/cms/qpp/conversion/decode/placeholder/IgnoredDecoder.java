@@ -4,6 +4,7 @@ import org.jdom2.Element;
 
 import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.decode.DecodeResult;
+import gov.cms.qpp.conversion.decode.DecodeState;
 import gov.cms.qpp.conversion.decode.QppXmlDecoder;
 import gov.cms.qpp.conversion.model.Decoder;
 import gov.cms.qpp.conversion.model.Node;
@@ -16,7 +17,7 @@ public class IgnoredDecoder extends QppXmlDecoder {
 	}
 
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisnode) {
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisnode) {
 		return DecodeResult.TREE_FINISHED;
 	}
 
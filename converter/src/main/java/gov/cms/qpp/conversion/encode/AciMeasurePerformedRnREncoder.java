@@ -15,11 +15,12 @@ public class AciMeasurePerformedRnREncoder extends QppOutputEncoder {
 	/**
 	 *  Encodes an ACI measure performed reference and results node into the QPP format
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper Wrapper representing the {@link TemplateId#ACI_MEASURE_PERFORMED_REFERENCE_AND_RESULTS} type
 	 * @param node Node that represents the {@link TemplateId#ACI_MEASURE_PERFORMED_REFERENCE_AND_RESULTS}
 	 */
 	@Override
-	protected void internalEncode(JsonWrapper wrapper, Node node) {
+	protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 		wrapper.putObject("measureId", node.getValue("measureId"));
 		encodeChild(wrapper, node);
 	}
@@ -25,12 +25,13 @@ public class AciNumeratorDenominatorEncoder extends QppOutputEncoder {
 	/**
 	 *  Encodes an ACI Numerator Denominator Type Measure into the QPP format
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper Wrapper that will represent the ACI Numerator Denominator Type Measure
 	 * @param node Node that represents the ACI Numerator Denominator Type Measure
 	 * @throws EncodeException If an error occurs during encoding
 	 */
 	@Override
-	protected void internalEncode(JsonWrapper wrapper, Node node) {
+	protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 
 		//the measure node will have 2 child nodes
 		//one for the numerator and one for the denominator
@@ -39,7 +40,7 @@ public class AciNumeratorDenominatorEncoder extends QppOutputEncoder {
 		Map<TemplateId, Node> childMapByTemplateId = node.getChildNodes().stream().collect(
 				Collectors.toMap(Node::getType, Function.identity(), (v1, v2) -> v1, LinkedHashMap::new));
 
-		JsonWrapper childWrapper = encodeChildren(childMapByTemplateId);
+		JsonWrapper childWrapper = encodeChildren(state, childMapByTemplateId);
 
 		wrapper.putObject("measureId", node.getValue("measureId"));
 		wrapper.putObject(VALUE, childWrapper);
@@ -48,19 +49,20 @@ public class AciNumeratorDenominatorEncoder extends QppOutputEncoder {
 	/**
 	 * Encodes ACI Numerator Denominator Children
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param childMapByTemplateId Map of children that will be encoded
 	 * @return JsonWrapper that will represent the encoded children
 	 */
-	private JsonWrapper encodeChildren(Map<TemplateId, Node> childMapByTemplateId) {
+	private JsonWrapper encodeChildren(EncodeState state, Map<TemplateId, Node> childMapByTemplateId) {
 		JsonWrapper childWrapper = new JsonWrapper();
 		for (Node currentChild : childMapByTemplateId.values()) {
 
 			JsonOutputEncoder childEncoder = encoders.get(currentChild.getType());
 
 			if (childEncoder != null) {
-				childEncoder.encode(childWrapper, currentChild);
+				childEncoder.encode(state, childWrapper, currentChild);
 			} else {
-				addValidationError(new Detail("Failed to find an encoder", currentChild.getPath()));
+				state.addValidationError(new Detail("Failed to find an encoder", currentChild.getPath()));
 			}
 		}
 
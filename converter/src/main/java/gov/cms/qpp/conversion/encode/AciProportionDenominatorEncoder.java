@@ -22,7 +22,7 @@ public class AciProportionDenominatorEncoder extends QppOutputEncoder {
 	}
 
 	@Override
-	protected void internalEncode(JsonWrapper wrapper, Node node) {
+	protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 		// simply writes the value in the Node
 
 		// the ACI Proportion Denominator Node should have a single child
@@ -33,7 +33,7 @@ public class AciProportionDenominatorEncoder extends QppOutputEncoder {
 			JsonOutputEncoder denominatorValueEncoder = encoders.get(denominatorValueNode.getType());
 
 			JsonWrapper value = new JsonWrapper();
-			denominatorValueEncoder.encode(value, denominatorValueNode);
+			denominatorValueEncoder.encode(state, value, denominatorValueNode);
 
 			if (null != value.getInteger(VALUE)) {
 				wrapper.putObject(ENCODE_LABEL, value.getInteger(VALUE));
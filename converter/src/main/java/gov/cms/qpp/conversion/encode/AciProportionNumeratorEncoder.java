@@ -22,17 +22,18 @@ public class AciProportionNumeratorEncoder extends QppOutputEncoder {
 	/**
 	 *  Encodes an ACI Numerator Measure into the QPP format
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper Wrapper that will represent the ACI Numerator Measure
 	 * @param node Node that represents the ACI Numerator Measure
 	 * @throws EncodeException If an error occurs during encoding
 	 */
 	@Override
-	protected void internalEncode(JsonWrapper wrapper, Node node) {
+	protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 
 		List<Node> children = node.getChildNodes();
 
 		if (!children.isEmpty()) {
-			JsonWrapper numerator = encodeChild(children.get(0));
+			JsonWrapper numerator = encodeChild(state, children.get(0));
 
 			if (null != numerator.getInteger(VALUE)) {
 				wrapper.putObject(ENCODE_LABEL, numerator.getInteger(VALUE));
@@ -41,11 +42,11 @@ public class AciProportionNumeratorEncoder extends QppOutputEncoder {
 		}
 	}
 
-	private JsonWrapper encodeChild(Node numeratorValueNode) {
+	private JsonWrapper encodeChild(EncodeState state, Node numeratorValueNode) {
 		JsonOutputEncoder numeratorValueEncoder = encoders.get(numeratorValueNode.getType());
 
 		JsonWrapper jsonWrapper = new JsonWrapper();
-		numeratorValueEncoder.encode(jsonWrapper, numeratorValueNode);
+		numeratorValueEncoder.encode(state, jsonWrapper, numeratorValueNode);
 
 		return jsonWrapper;
 	}
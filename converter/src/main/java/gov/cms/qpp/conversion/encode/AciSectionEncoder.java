@@ -27,21 +27,22 @@ public class AciSectionEncoder extends QppOutputEncoder {
 	/**
 	 *  Encodes an ACI Section into the QPP format
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper JsonWrapper that will represent the ACI Section
 	 * @param node Node that represents the ACI Section
 	 * @throws EncodeException If an error occurs during encoding
 	 */
 	@Override
-	public void internalEncode(JsonWrapper wrapper, Node node) {
+	public void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 		encodeTopLevelValues(wrapper, node);
 		List<Node> children = node.getChildNodes();
 		JsonWrapper measurementsWrapper = new JsonWrapper();
 
-		encodeChildren(children, measurementsWrapper);
+		encodeChildren(state, children, measurementsWrapper);
 
 		wrapper.putObject("measurements", measurementsWrapper);
 
-		encodeReportingParameter(wrapper, node);
+		encodeReportingParameter(state, wrapper, node);
 	}
 
 	private void encodeTopLevelValues(JsonWrapper wrapper, Node node) {
@@ -50,24 +51,28 @@ public class AciSectionEncoder extends QppOutputEncoder {
 	}
 
 	/**
-	 * Encodes the children of the given section
+	 * Encodes the children of the given section, until the errors found reach the error budget
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param children child nodes of the given section
 	 * @param measurementsWrapper wrapper that holds the measurements of a section
 	 */
-	private void encodeChildren(List<Node> children, JsonWrapper measurementsWrapper) {
+	private void encodeChildren(EncodeState state, List<Node> children, JsonWrapper measurementsWrapper) {
 		JsonWrapper childWrapper;
 		for (Node currentChild : children) {
+			if (state.isExhausted()) {
+				break;
+			}
 			childWrapper = new JsonWrapper();
 			TemplateId templateId = currentChild.getType();
 			if (TemplateId.REPORTING_PARAMETERS_ACT != templateId) {
 				JsonOutputEncoder childEncoder = encoders.get(templateId);
 
 				if (childEncoder != null) {
-					childEncoder.encode(childWrapper, currentChild);
+					childEncoder.encode(state, childWrapper, currentChild);
 					measurementsWrapper.putObject(childWrapper);
 				} else {
-					addValidationError(new Detail("Failed to find an encoder for child node " + currentChild.getType(),
+					state.addValidationError(new Detail("Failed to find an encoder for child node " + currentChild.getType(),
 						currentChild.getPath()));
 				}
 			}
@@ -77,17 +82,18 @@ public class AciSectionEncoder extends QppOutputEncoder {
 	/**
 	 * Encodes the reporting parameter section
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper wrapper that holds the section
 	 * @param node ACI Section Node
 	 */
-	private void encodeReportingParameter(JsonWrapper wrapper, Node node) {
+	private void encodeReportingParameter(EncodeState state, JsonWrapper wrapper, Node node) {
 		JsonOutputEncoder reportingParamEncoder = encoders.get(TemplateId.REPORTING_PARAMETERS_ACT);
 		Node reportingChild = node.findFirstNode(TemplateId.REPORTING_PARAMETERS_ACT);
 		if (reportingChild == null) {
 			DEV_LOG.error("Missing Reporting Parameters from ACI Section");
 			return;
 		}
-		reportingParamEncoder.encode(wrapper, reportingChild);
+		reportingParamEncoder.encode(state, wrapper, reportingChild);
 		maintainContinuity(wrapper, reportingChild, ReportingParametersActDecoder.PERFORMANCE_END);
 		maintainContinuity(wrapper, reportingChild, ReportingParametersActDecoder.PERFORMANCE_START);
 	}
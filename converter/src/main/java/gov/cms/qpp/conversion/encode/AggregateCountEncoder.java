@@ -19,12 +19,13 @@ public class AggregateCountEncoder extends QppOutputEncoder {
 	/**
 	 * Copies the aggregate count to the output
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper JsonWrapper
 	 * @param node Node
 	 * @throws EncodeException
 	 */
 	@Override
-	protected void internalEncode(JsonWrapper wrapper, Node node) {
+	protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 		// simply writes the value in the Node
 		wrapper.putInteger(VALUE, node.getValue("aggregateCount"));
 	}
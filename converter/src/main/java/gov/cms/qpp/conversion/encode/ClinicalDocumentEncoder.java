@@ -7,9 +7,12 @@ import gov.cms.qpp.conversion.decode.ReportingParametersActDecoder;
 import gov.cms.qpp.conversion.model.Encoder;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.model.error.Detail;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Function;
@@ -32,21 +35,62 @@ public class ClinicalDocumentEncoder extends QppOutputEncoder {
 	/**
 	 * internalEncode encodes nodes into Json Wrapper.
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper will hold the json format of nodes
 	 * @param thisNode holds the decoded node sections of clinical document
 	 */
 	@Override
-	public void internalEncode(JsonWrapper wrapper, Node thisNode) {
+	public void internalEncode(EncodeState state, JsonWrapper wrapper, Node thisNode) {
 		encodeToplevel(wrapper, thisNode);
 		encodeEntityId(wrapper, thisNode);
-		Map<TemplateId, Node> childMapByTemplateId = thisNode.getChildNodes().stream().collect(
-				Collectors.toMap(Node::getType, Function.identity(), (v1, v2) -> v1, LinkedHashMap::new));
 
 		JsonWrapper measurementSets =
-			encodeMeasurementSets(childMapByTemplateId);
+			encodeMeasurementSets(state, getMeasurementSetNodes(thisNode));
 			wrapper.putObject(MEASUREMENT_SETS, measurementSets);
 	}
 
+	/**
+	 * streamEncode writes the top level attributes and then each measurement set as soon as it is encoded,
+	 * so that only one measurement set is held in a Json Wrapper at a time.
+	 *
+	 * @param state state of the encoding, which collects its errors
+	 * @param writer where to write the json
+	 * @param thisNode holds the decoded node sections of clinical document
+	 * @throws IOException if the json cannot be written
+	 */
+	@Override
+	protected void streamEncode(EncodeState state, JsonStreamWriter writer, Node thisNode) throws IOException {
+		try {
+			JsonWrapper wrapper = new JsonWrapper();
+			encodeToplevel(wrapper, thisNode);
+			encodeEntityId(wrapper, thisNode);
+
+			writer.writeStartObject();
+			writer.writeFields(wrapper);
+			boolean started = false;
+			for (Node child : getMeasurementSetNodes(thisNode)) {
+				if (state.isExhausted()) {
+					break;
+				}
+				JsonWrapper measurementSet = encodeMeasurementSet(state, child);
+				if (measurementSet.getObject() != null) {
+					if (!started) {
+						writer.writeArrayFieldStart(MEASUREMENT_SETS);
+						started = true;
+					}
+					writer.writeValue(measurementSet);
+				}
+			}
+			if (started) {
+				writer.writeEndArray();
+			}
+			writer.writeEndObject();
+		} catch (EncodeException e) {
+			DEV_LOG.warn("Encode error when doing streamEncode, adding a new Detail", e);
+			state.addValidationError(new Detail(e.getMessage()));
+		}
+	}
+
 	/**
 	 * This will add the attributes from the Clinical Document Node
 	 *
@@ -97,29 +141,53 @@ public class ClinicalDocumentEncoder extends QppOutputEncoder {
 	}
 
 	/**
-	 * Method for encoding each child measurement set
+	 * Finds the children of the document that are encoded as measurement sets, the first of each template id
 	 *
-	 * @param childMapByTemplateId object that represents the document's children
+	 * @param thisNode holds the decoded node sections of clinical document
+	 * @return the measurement set nodes in document order
+	 */
+	private Collection<Node> getMeasurementSetNodes(Node thisNode) {
+		Map<TemplateId, Node> childMapByTemplateId = thisNode.getChildNodes().stream().collect(
+				Collectors.toMap(Node::getType, Function.identity(), (v1, v2) -> v1, LinkedHashMap::new));
+		childMapByTemplateId.remove(TemplateId.NPI_TIN_ID);
+		return childMapByTemplateId.values();
+	}
+
+	/**
+	 * Method for encoding each child measurement set, until the errors found reach the error budget
+	 *
+	 * @param state state of the encoding, which collects its errors
+	 * @param measurementSetNodes the document's children that are measurement sets
 	 * @return encoded measurement sets
 	 */
-	private JsonWrapper encodeMeasurementSets(Map<TemplateId, Node> childMapByTemplateId) {
+	private JsonWrapper encodeMeasurementSets(EncodeState state, Collection<Node> measurementSetNodes) {
 		JsonWrapper measurementSetsWrapper = new JsonWrapper();
-		JsonWrapper childWrapper;
-		JsonOutputEncoder sectionEncoder;
-
-		for (Node child : childMapByTemplateId.values()) {
-			if (TemplateId.NPI_TIN_ID != child.getType()) {
-				childWrapper = new JsonWrapper();
-				sectionEncoder = encoders.get(child.getType());
-				try {
-					sectionEncoder.encode(childWrapper, child);
-					measurementSetsWrapper.putObject(childWrapper);
-				} catch (NullPointerException exc) {
-					String message = "No encoder for decoder : " + child.getType();
-					throw new EncodeException(message, exc);
-				}
+
+		for (Node child : measurementSetNodes) {
+			if (state.isExhausted()) {
+				break;
 			}
+			measurementSetsWrapper.putObject(encodeMeasurementSet(state, child));
 		}
 		return measurementSetsWrapper;
 	}
+
+	/**
+	 * Method for encoding a single child measurement set
+	 *
+	 * @param state state of the encoding, which collects its errors
+	 * @param child the measurement set node
+	 * @return encoded measurement set
+	 */
+	private JsonWrapper encodeMeasurementSet(EncodeState state, Node child) {
+		JsonWrapper childWrapper = new JsonWrapper();
+		JsonOutputEncoder sectionEncoder = encoders.get(child.getType());
+		try {
+			sectionEncoder.encode(state, childWrapper, child);
+		} catch (NullPointerException exc) {
+			String message = "No encoder for decoder : " + child.getType();
+			throw new EncodeException(message, exc);
+		}
+		return childWrapper;
+	}
 }
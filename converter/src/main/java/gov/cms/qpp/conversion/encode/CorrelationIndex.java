@@ -0,0 +1,196 @@
+package gov.cms.qpp.conversion.encode;
+
+import gov.cms.qpp.conversion.model.Node;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Records where the objects of an encoding came from, kept alongside the encoded json rather than inside it.
+ * <p>
+ * The index mirrors the shape of the json it describes. Each object of the json that was encoded from a
+ * {@link Node} has the {@link Metadata} of that node, and the index of a nested object is found with the
+ * JSON pointer (RFC 6901) of the object, such as {@code /measurementSets/0/measurements/1}.
+ * Nested indexes are shared rather than copied when wrappers are nested, just as their json content is.
+ */
+public final class CorrelationIndex {
+
+	private static final CorrelationIndex EMPTY = new CorrelationIndex();
+
+	private final Set<Metadata> metadata = new LinkedHashSet<>();
+	private final Map<String, CorrelationIndex> children = new HashMap<>();
+
+	/**
+	 * An index that holds no metadata
+	 *
+	 * @return an empty index
+	 */
+	static CorrelationIndex empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Makes a copy of an index that shares its nested indexes
+	 *
+	 * @return the copy
+	 */
+	CorrelationIndex copy() {
+		CorrelationIndex copy = new CorrelationIndex();
+		copy.metadata.addAll(metadata);
+		copy.children.putAll(children);
+		return copy;
+	}
+
+	/**
+	 * Records metadata of the object this index describes
+	 *
+	 * @param entry metadata to record
+	 */
+	void add(Metadata entry) {
+		metadata.add(entry);
+	}
+
+	/**
+	 * Places the index of a nested value, replacing the index of any value it replaces
+	 *
+	 * @param name object field name or array position of the value
+	 * @param child index of the value, or null when the value has no metadata
+	 */
+	void put(String name, CorrelationIndex child) {
+		if (child == null) {
+			children.remove(name);
+		} else {
+			children.put(name, child);
+		}
+	}
+
+	/**
+	 * Metadata of the object this index describes
+	 *
+	 * @return read only metadata, in the order it was recorded
+	 */
+	public Set<Metadata> getMetadata() {
+		return Collections.unmodifiableSet(metadata);
+	}
+
+	/**
+	 * Finds the index of a nested value
+	 *
+	 * @param jsonPointer JSON pointer of the value, relative to the object this index describes
+	 * @return the index of the value, or null when nothing was recorded for it
+	 */
+	public CorrelationIndex find(String jsonPointer) {
+		if (jsonPointer.isEmpty()) {
+			return this;
+		}
+		if (jsonPointer.charAt(0) != '/') {
+			return null;
+		}
+
+		CorrelationIndex current = this;
+		for (String token : jsonPointer.substring(1).split("/", -1)) {
+			current = current.children.get(unescape(token));
+			if (current == null) {
+				return null;
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Escapes a field name for use as a JSON pointer reference token
+	 *
+	 * @param name field name
+	 * @return the reference token
+	 */
+	public static String escape(String name) {
+		return name.replace("~", "~0").replace("/", "~1");
+	}
+
+	private static String unescape(String token) {
+		return token.replace("~1", "/").replace("~0", "~");
+	}
+
+	/**
+	 * Identifies the decoded node an encoded object came from, and the label it was encoded under
+	 */
+	public static final class Metadata {
+		private final String template;
+		private final String nsUri;
+		private final String path;
+		private final String encodeLabel;
+
+		/**
+		 * Metadata of an object encoded from the given node
+		 *
+		 * @param node the encoded node
+		 */
+		Metadata(Node node) {
+			this(node.getType().name(), node.getDefaultNsUri(), node.getPath(), "");
+		}
+
+		private Metadata(String template, String nsUri, String path, String encodeLabel) {
+			this.template = template;
+			this.nsUri = nsUri;
+			this.path = path;
+			this.encodeLabel = encodeLabel;
+		}
+
+		/**
+		 * Copies this metadata with another label
+		 *
+		 * @param label the label
+		 * @return the copy
+		 */
+		Metadata withEncodeLabel(String label) {
+			return new Metadata(template, nsUri, path, label);
+		}
+
+		public String getTemplate() {
+			return template;
+		}
+
+		public String getNsUri() {
+			return nsUri;
+		}
+
+		public String getPath() {
+			return path;
+		}
+
+		public String getEncodeLabel() {
+			return encodeLabel;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+
+			Metadata that = (Metadata) o;
+			return Objects.equals(template, that.template)
+					&& Objects.equals(nsUri, that.nsUri)
+					&& Objects.equals(path, that.path)
+					&& Objects.equals(encodeLabel, that.encodeLabel);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(template, nsUri, path, encodeLabel);
+		}
+
+		@Override
+		public String toString() {
+			return "Metadata{template=" + template + ", nsUri=" + nsUri + ", path=" + path
+					+ ", encodeLabel=" + encodeLabel + '}';
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package gov.cms.qpp.conversion.encode;
+
+import gov.cms.qpp.conversion.model.error.Detail;
+import gov.cms.qpp.conversion.model.error.ErrorBudget;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What an encoding run works with besides the nodes it encodes: the details the run has found so far and the
+ * errors it may still report. The state is handed from encoder to encoder along with each node being encoded.
+ */
+public final class EncodeState {
+
+	private final List<Detail> details = new ArrayList<>();
+	private final ErrorBudget errorBudget;
+
+	/**
+	 * State of an encoding that may report any number of errors
+	 */
+	public EncodeState() {
+		this(ErrorBudget.UNLIMITED);
+	}
+
+	/**
+	 * State of an encoding made as part of a conversion
+	 *
+	 * @param errorBudget the budget shared with the rest of the conversion
+	 */
+	public EncodeState(ErrorBudget errorBudget) {
+		this.errorBudget = errorBudget;
+	}
+
+	/**
+	 * Adds a {@link Detail} found by the encoding.
+	 *
+	 * @param detail the error to add
+	 */
+	public void addValidationError(Detail detail) {
+		details.add(detail);
+		errorBudget.spend(1);
+	}
+
+	/**
+	 * The errors the encoding has found so far.
+	 *
+	 * @return the current list of errors
+	 */
+	public List<Detail> getDetails() {
+		return details;
+	}
+
+	/**
+	 * Whether the encoding may stop, since the errors reported so far have reached the limit
+	 *
+	 * @return true once no more nodes need to be encoded
+	 */
+	public boolean isExhausted() {
+		return errorBudget.isExhausted();
+	}
+}
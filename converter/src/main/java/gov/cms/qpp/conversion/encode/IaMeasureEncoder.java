@@ -20,12 +20,13 @@ public class IaMeasureEncoder extends QppOutputEncoder {
 	/**
 	 * internalEncode to encode the IA Performed Measure
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper object that will represent a IA Performed Measure
 	 * @param node object that represents a IA Performed Measure
 	 * @throws EncodeException If error occurs during encoding
 	 */
 	@Override
-	protected void internalEncode(JsonWrapper wrapper, Node node) {
+	protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 		wrapper.putObject("measureId", node.getValue("measureId"));
 
 		List<Node> children = node.getChildNodes();
@@ -35,7 +36,7 @@ public class IaMeasureEncoder extends QppOutputEncoder {
 			JsonOutputEncoder measurePerformedEncoder = encoders.get(measurePerformedNode.getType());
 
 			JsonWrapper value = new JsonWrapper();
-			measurePerformedEncoder.encode(value, measurePerformedNode);
+			measurePerformedEncoder.encode(state, value, measurePerformedNode);
 			maintainContinuity(wrapper, value, VALUE);
 
 			if (null != value.getBoolean(VALUE)) {
@@ -6,8 +6,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -15,56 +15,112 @@ import java.util.List;
  */
 public abstract class JsonOutputEncoder implements OutputEncoder {
 	private static final Logger DEV_LOG = LoggerFactory.getLogger(JsonOutputEncoder.class);
-	private List<Node> nodes;
-	private List<Detail> details = new ArrayList<>();
 
 	@Override
-	public void encode(Writer writer) {
+	public void encode(EncodeState state, List<Node> nodes, Writer writer) {
 		try {
-			JsonWrapper wrapper = new JsonWrapper();
-			for (Node curNode : nodes) {
-				encode(wrapper, curNode);
-			}
+			JsonWrapper wrapper = encode(state, nodes);
 			writer.write(wrapper.toString());
 			writer.flush();
 		} catch (IOException exception) {
 			DEV_LOG.error("Couldn't write out JSON file.", exception);
-			details.add(new Detail("Failure to encode"));
+			state.addValidationError(new Detail("Failure to encode"));
+		}
+	}
+
+	/**
+	 * Writes the encoded nodes straight to an output stream as pretty printed json.
+	 *
+	 * @param state state of the encoding, which collects its errors
+	 * @param nodes nodes to encode
+	 * @param outputStream where to write the json, which is left open
+	 */
+	@Override
+	public void encode(EncodeState state, List<Node> nodes, OutputStream outputStream) {
+		encode(state, nodes, outputStream, false);
+	}
+
+	/**
+	 * Writes the encoded nodes straight to an output stream as each one is encoded.
+	 * Encoders that override {@link #streamEncode(EncodeState, JsonStreamWriter, Node)} write their output part by
+	 * part.
+	 *
+	 * @param state state of the encoding, which collects its errors
+	 * @param nodes nodes to encode
+	 * @param outputStream where to write the json, which is left open
+	 * @param compact whether to leave out all indentation and line breaks
+	 */
+	public void encode(EncodeState state, List<Node> nodes, OutputStream outputStream, boolean compact) {
+		try (JsonStreamWriter writer = new JsonStreamWriter(outputStream, compact)) {
+			for (Node curNode : nodes) {
+				if (state.isExhausted()) {
+					break;
+				}
+				streamEncode(state, writer, curNode);
+			}
+		} catch (IOException exception) {
+			DEV_LOG.error("Couldn't write out JSON stream.", exception);
+			state.addValidationError(new Detail("Failure to encode"));
 		}
 	}
 
-	public void encode(JsonWrapper wrapper, Node node) {
+	/**
+	 * Writes the encoding of a node as a single json value. By default the node is encoded into a
+	 * {@link JsonWrapper} which is then written out whole.
+	 *
+	 * @param state state of the encoding, which collects its errors
+	 * @param writer where to write the json
+	 * @param node object to encode
+	 * @throws IOException if the json cannot be written
+	 */
+	protected void streamEncode(EncodeState state, JsonStreamWriter writer, Node node) throws IOException {
+		JsonWrapper wrapper = new JsonWrapper();
+		encode(state, wrapper, node);
+		writer.writeValue(wrapper);
+	}
+
+	public void encode(EncodeState state, JsonWrapper wrapper, Node node) {
 		try {
-			internalEncode(wrapper, node);
+			internalEncode(state, wrapper, node);
 			if (wrapper.isObject()) {
-				wrapper.attachMetadata(node);
+				attachMetadata(wrapper, node);
 			}
 		} catch (EncodeException e) {
 			DEV_LOG.warn("Encode error when doing internalEncode, adding a new Detail", e);
-			details.add(new Detail(e.getMessage()));
+			state.addValidationError(new Detail(e.getMessage()));
 		}
 	}
 
+	/**
+	 * Records which node the encoding of a node came from. Encoders that harvest values from other nodes record
+	 * where those values came from as well, so that this alone describes the encoding.
+	 *
+	 * @param wrapper object the node was encoded into
+	 * @param node the encoded node
+	 */
+	protected void attachMetadata(JsonWrapper wrapper, Node node) {
+		wrapper.attachMetadata(node);
+	}
+
+	/**
+	 * Encodes the nodes into a single {@link JsonWrapper}. Nodes are no longer encoded once the error budget of the
+	 * state is exhausted.
+	 *
+	 * @param state state of the encoding, which collects its errors
+	 * @param nodes nodes to encode
+	 * @return the encoded nodes
+	 */
 	@Override
-	public JsonWrapper encode() {
+	public JsonWrapper encode(EncodeState state, List<Node> nodes) {
 		JsonWrapper wrapper = new JsonWrapper();
 		for (Node curNode : nodes) {
-			encode(wrapper, curNode);
+			if (state.isExhausted()) {
+				break;
+			}
+			encode(state, wrapper, curNode);
 		}
 		return wrapper;
 	}
 
-	public void addValidationError(Detail detail) {
-		details.add(detail);
-	}
-
-	public List<Detail> getDetails() {
-		return this.details;
-	}
-
-	public void setNodes(List<Node> someNodes) {
-		this.nodes = someNodes;
-	}
-
-	protected abstract void internalEncode(JsonWrapper wrapper, Node node);
+	protected abstract void internalEncode(EncodeState state, JsonWrapper wrapper, Node node);
 }
@@ -0,0 +1,270 @@
+package gov.cms.qpp.conversion.encode;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes encoded json straight to a {@link JsonGenerator} in document order, formatted exactly as
+ * {@link JsonWrapper#toBytes(boolean)} would format the same content.
+ *
+ * Encoders that stream write the parts of their output as soon as they are encoded, so that only the part being
+ * encoded is ever held in a {@link JsonWrapper}. Content repeated across the output, such as the measurement
+ * sets shared by every NPI/TIN entry, is rendered once and copied wherever it is repeated.
+ */
+public final class JsonStreamWriter implements Closeable {
+
+	private final ObjectMapper mapper;
+	private final JsonGenerator generator;
+	private final NestedPrettyPrinter printer;
+	private final Map<Object, Rendering> renderings = new IdentityHashMap<>();
+
+	/**
+	 * Writes pretty printed json to an output stream
+	 *
+	 * @param output where to write the json, which is left open
+	 * @throws IOException if the json cannot be written
+	 */
+	JsonStreamWriter(OutputStream output) throws IOException {
+		this(output, false);
+	}
+
+	/**
+	 * Writes json to an output stream
+	 *
+	 * @param output where to write the json, which is left open
+	 * @param compact whether to leave out all indentation and line breaks
+	 * @throws IOException if the json cannot be written
+	 */
+	JsonStreamWriter(OutputStream output, boolean compact) throws IOException {
+		mapper = JsonWrapper.getObjectMapper();
+		generator = mapper.getFactory().createGenerator(output, JsonEncoding.UTF8);
+		printer = compact ? null : new NestedPrettyPrinter(JsonWrapper.getPrettyPrinter());
+		if (printer != null) {
+			generator.setPrettyPrinter(printer);
+		}
+		generator.setRootValueSeparator(null);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+
+	/**
+	 * Starts a json object
+	 *
+	 * @throws IOException if the json cannot be written
+	 */
+	public void writeStartObject() throws IOException {
+		generator.writeStartObject();
+	}
+
+	/**
+	 * Ends the current json object
+	 *
+	 * @throws IOException if the json cannot be written
+	 */
+	public void writeEndObject() throws IOException {
+		generator.writeEndObject();
+	}
+
+	/**
+	 * Starts a json array
+	 *
+	 * @throws IOException if the json cannot be written
+	 */
+	public void writeStartArray() throws IOException {
+		generator.writeStartArray();
+	}
+
+	/**
+	 * Starts a json array held by the given field of the current object
+	 *
+	 * @param name name of the field
+	 * @throws IOException if the json cannot be written
+	 */
+	public void writeArrayFieldStart(String name) throws IOException {
+		generator.writeArrayFieldStart(name);
+	}
+
+	/**
+	 * Ends the current json array
+	 *
+	 * @throws IOException if the json cannot be written
+	 */
+	public void writeEndArray() throws IOException {
+		generator.writeEndArray();
+	}
+
+	/**
+	 * Writes the fields of a wrapped object as fields of the current object
+	 *
+	 * @param wrapper object whose fields are written
+	 * @throws IOException if the json cannot be written
+	 */
+	public void writeFields(JsonWrapper wrapper) throws IOException {
+		writeFields(wrapper, Collections.emptySet());
+	}
+
+	/**
+	 * Writes the fields of a wrapped object as fields of the current object. Field values that are also written
+	 * elsewhere are rendered the first time they are written, and that rendering is copied each time they are
+	 * written again at the same depth.
+	 *
+	 * @param wrapper object whose fields are written
+	 * @param shared field values, compared by identity, that are written more than once
+	 * @throws IOException if the json cannot be written
+	 */
+	@SuppressWarnings("unchecked")
+	public void writeFields(JsonWrapper wrapper, Set<Object> shared) throws IOException {
+		if (wrapper.isObject()) {
+			writeFields((Map<String, Object>) wrapper.getObject(), shared);
+		}
+	}
+
+	private void writeFields(Map<String, Object> fields, Set<Object> shared) throws IOException {
+		for (Map.Entry<String, Object> field : fields.entrySet()) {
+			generator.writeFieldName(field.getKey());
+			if (shared.contains(field.getValue())) {
+				generator.writeRawValue(render(field.getValue()));
+			} else {
+				mapper.writeValue(generator, field.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Writes the content of a wrapper as a single json value. The objects of a wrapped list are written one at a
+	 * time, rendering the values they share only once.
+	 *
+	 * @param wrapper the content to write
+	 * @throws IOException if the json cannot be written
+	 */
+	@SuppressWarnings("unchecked")
+	public void writeValue(JsonWrapper wrapper) throws IOException {
+		Object value = wrapper.getObject();
+		if (!(value instanceof List)) {
+			mapper.writeValue(generator, value);
+			return;
+		}
+
+		List<Object> entries = (List<Object>) value;
+		Set<Object> shared = findSharedValues(entries);
+		generator.writeStartArray();
+		for (Object entry : entries) {
+			if (entry instanceof Map) {
+				generator.writeStartObject();
+				writeFields((Map<String, Object>) entry, shared);
+				generator.writeEndObject();
+			} else {
+				mapper.writeValue(generator, entry);
+			}
+		}
+		generator.writeEndArray();
+	}
+
+	/**
+	 * Flushes what has been written so far to the output stream
+	 *
+	 * @throws IOException if the json cannot be written
+	 */
+	public void flush() throws IOException {
+		generator.flush();
+	}
+
+	/**
+	 * Finishes the json, flushing it to the output stream without closing the stream
+	 *
+	 * @throws IOException if the json cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		generator.close();
+	}
+
+	/**
+	 * Finds the nested values that more than one of the given objects hold, as the NPI/TIN entries of a submission
+	 * hold the same measurement sets
+	 *
+	 * @param entries objects, and any other values, to compare
+	 * @return the values, compared by identity, held by more than one object field
+	 */
+	static Set<Object> findSharedValues(Iterable<?> entries) {
+		Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		Set<Object> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Object entry : entries) {
+			if (entry instanceof Map) {
+				for (Object value : ((Map<?, ?>) entry).values()) {
+					if ((value instanceof Map || value instanceof List) && !seen.add(value)) {
+						shared.add(value);
+					}
+				}
+			}
+		}
+		return shared;
+	}
+
+	/**
+	 * Renders a value as it is written at the current depth, reusing an earlier rendering made at that depth
+	 *
+	 * @param value the value to render
+	 * @return the rendered json
+	 * @throws IOException if the json cannot be rendered
+	 */
+	private SerializableString render(Object value) throws IOException {
+		int nesting = (printer == null) ? 0 : printer.getNesting();
+		Rendering rendering = renderings.get(value);
+		if (rendering == null || rendering.nesting != nesting) {
+			ByteArrayOutputStream json = new ByteArrayOutputStream();
+			try (JsonGenerator renderer = mapper.getFactory().createGenerator(json, JsonEncoding.UTF8)) {
+				if (printer != null) {
+					renderer.setPrettyPrinter(new NestedPrettyPrinter(printer));
+				}
+				mapper.writeValue(renderer, value);
+			}
+			String rendered = new String(json.toByteArray(), StandardCharsets.UTF_8);
+			rendering = new Rendering(nesting, new SerializedString(rendered));
+			renderings.put(value, rendering);
+		}
+		return rendering.json;
+	}
+
+	/**
+	 * Json rendered for a given depth
+	 */
+	private static final class Rendering {
+		private final int nesting;
+		private final SerializableString json;
+
+		private Rendering(int nesting, SerializableString json) {
+			this.nesting = nesting;
+			this.json = json;
+		}
+	}
+
+	/**
+	 * Pretty printer that reveals how deeply it has nested, and that can start from the depth of another printer
+	 */
+	private static final class NestedPrettyPrinter extends DefaultPrettyPrinter {
+		private static final long serialVersionUID = 1L;
+
+		private NestedPrettyPrinter(DefaultPrettyPrinter base) {
+			super(base);
+		}
+
+		private int getNesting() {
+			return _nesting;
+		}
+	}
+}
@@ -1,53 +1,65 @@
 package gov.cms.qpp.conversion.encode;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.introspect.Annotated;
-import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
-import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
-import com.fasterxml.jackson.databind.ser.PropertyWriter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.google.common.collect.Streams;
 import gov.cms.qpp.conversion.model.Node;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 /**
  * Manages building a "simple" object of JSON conversion.
  * JSON renderers can convert maps and list into JSON Strings.
  * This class is a wrapper around a list/map impl.
+ * Once {@link #freeze() frozen} the wrapped content may no longer be changed, which lets it be shared without copying.
+ * Where the content was encoded from is kept beside it in a {@link CorrelationIndex}, so it is never serialized.
  */
 public class JsonWrapper {
-	private static final String METADATA_HOLDER = "metadata_holder";
-	private ObjectWriter ow;
+	private static final Class<?> FROZEN_MAP = Collections.unmodifiableMap(Collections.emptyMap()).getClass();
+	private static final Class<?> FROZEN_LIST = Collections.unmodifiableList(new LinkedList<>()).getClass();
+	private static final Class<?> FROZEN_SET = Collections.unmodifiableSet(Collections.emptySet()).getClass();
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final ObjectWriter PRETTY_WRITER = createObjectWriter(false);
+	private static final ObjectWriter COMPACT_WRITER = createObjectWriter(true);
 	private Map<String, Object> object;
 	private List<Object> list;
+	private CorrelationIndex index;
+	private boolean frozen;
 
 	public JsonWrapper() {
-		this(true);
+		//empty
 	}
 
-	public JsonWrapper(boolean filterMeta) {
-		ow = getObjectWriter(filterMeta);
-	}
-
-	public JsonWrapper(JsonWrapper wrapper, boolean filterMeta) {
-		this(filterMeta);
+	/**
+	 * Copies a wrapper, sharing the content nested in it
+	 *
+	 * @param wrapper the wrapper to copy
+	 */
+	public JsonWrapper(JsonWrapper wrapper) {
 		if (wrapper.isObject()) {
 			this.initAsObject();
 			this.object = new LinkedHashMap<>(wrapper.object);
@@ -55,41 +67,61 @@ public class JsonWrapper {
 			this.initAsList();
 			this.list = new LinkedList<>(wrapper.list);
 		}
-	}
-
-	protected JsonWrapper(JsonWrapper jsonWrapper) {
-		this(jsonWrapper, true);
+		if (wrapper.index != null) {
+			this.index = wrapper.index.copy();
+		}
 	}
 
 	/**
-	 * Static factory that creates {@link com.fasterxml.jackson.databind.ObjectWriter}s.
+	 * Retrieves the shared {@link com.fasterxml.jackson.databind.ObjectWriter} that pretty prints. It is made once per
+	 * process so that Jackson can reuse the serializers it caches for it, and doesn't close the streams it writes to.
 	 *
 	 * @return utility that will allow client to serialize wrapper contents as json
 	 */
-	public static ObjectWriter getObjectWriter(boolean filterMeta) {
-		DefaultIndenter withLinefeed = new DefaultIndenter("  ", "\n");
-		DefaultPrettyPrinter printer = new DefaultPrettyPrinter();
-		printer.indentObjectsWith(withLinefeed);
-		ObjectMapper om = new ObjectMapper();
+	public static ObjectWriter getObjectWriter() {
+		return PRETTY_WRITER;
+	}
 
-		if (filterMeta) {
-			outfitMetadataFilter(om);
-		}
+	/**
+	 * Retrieves the shared {@link com.fasterxml.jackson.databind.ObjectWriter} that leaves out all indentation and
+	 * line breaks.
+	 *
+	 * @return utility that will allow client to serialize wrapper contents as compact json
+	 * @see #getObjectWriter()
+	 */
+	public static ObjectWriter getCompactObjectWriter() {
+		return COMPACT_WRITER;
+	}
 
-		return om.writer().with(printer);
+	/**
+	 * Retrieves the shared {@link ObjectMapper} that serializes wrapper contents.
+	 *
+	 * @return mapper for wrapper contents
+	 */
+	static ObjectMapper getObjectMapper() {
+		return MAPPER;
 	}
 
 	/**
-	 * Outfit the given {@link ObjectMapper} with a filter that will treat all metadata map entries as transient.
+	 * Creates the pretty printer that formats serialized wrapper contents. A printer keeps track of how deeply it
+	 * has nested, so each generator needs its own.
 	 *
-	 * @param om object mapper to modify
+	 * @return printer that indents objects on separate lines
 	 */
-	private static void outfitMetadataFilter(ObjectMapper om) {
-		final String filterName = "exclude-metadata";
-		SimpleFilterProvider filters = new SimpleFilterProvider();
-		filters.addFilter(filterName, new MetadataPropertyFilter());
-		om.setAnnotationIntrospector(new JsonWrapperIntrospector(filterName));
-		om.setFilterProvider(filters);
+	static DefaultPrettyPrinter getPrettyPrinter() {
+		DefaultIndenter withLinefeed = new DefaultIndenter("  ", "\n");
+		DefaultPrettyPrinter printer = new DefaultPrettyPrinter();
+		printer.indentObjectsWith(withLinefeed);
+		return printer;
+	}
+
+	private static ObjectWriter createObjectWriter(boolean compact) {
+		ObjectWriter writer = compact ? MAPPER.writer() : MAPPER.writer(getPrettyPrinter());
+		return writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+
+	private static ObjectWriter getObjectWriter(boolean compact) {
+		return compact ? COMPACT_WRITER : PRETTY_WRITER;
 	}
 
 	/**
@@ -272,6 +304,7 @@ public class JsonWrapper {
 	 * @return <i><b>this</b></i> reference for chaining
 	 */
 	public JsonWrapper putObject(String name, Object value) {
+		checkNotFrozen();
 		checkState(list);
 		initAsObject();
 		Object internalValue = stripWrapper(value);
@@ -279,6 +312,7 @@ public class JsonWrapper {
 			return this;
 		}
 		this.object.put(name, internalValue);
+		indexValue(name, value);
 		return this;
 	}
 
@@ -292,12 +326,14 @@ public class JsonWrapper {
 	 * @return <i><b>this</b></i> reference for chaining
 	 */
 	public JsonWrapper putObject(Object value) {
+		checkNotFrozen();
 		checkState(object);
 		initAsList();
 		Object internalValue = stripWrapper(value);
 		if (internalValue == null) {
 			return this;
 		}
+		indexValue(String.valueOf(this.list.size()), value);
 		this.list.add(internalValue);
 		return this;
 	}
@@ -472,6 +508,100 @@ public class JsonWrapper {
 		}
 	}
 
+	/**
+	 * Guards the changes to the {@link JsonWrapper}'s content.
+	 *
+	 * @throws UnsupportedOperationException if the wrapper is frozen
+	 */
+	private void checkNotFrozen() {
+		if (frozen) {
+			throw new UnsupportedOperationException("A frozen JsonWrapper may not be changed");
+		}
+	}
+
+	/**
+	 * Makes the wrapped content, and everything nested in it, read only. Maps and lists are frozen in place
+	 * behind unmodifiable views rather than copied. Content held in several places is held behind the same view
+	 * once frozen, so it is still found to be shared when it is rendered.
+	 *
+	 * @return <i><b>this</b></i> reference for chaining
+	 */
+	@SuppressWarnings("unchecked")
+	public JsonWrapper freeze() {
+		if (!frozen) {
+			frozen = true;
+			Map<Object, Object> views = new IdentityHashMap<>();
+			if (object != null) {
+				object = (Map<String, Object>) freezeValue(object, views);
+			}
+			if (list != null) {
+				list = (List<Object>) freezeValue(list, views);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Whether the {@link JsonWrapper}'s content is read only
+	 *
+	 * @return whether the wrapper has been frozen
+	 * @see #freeze()
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Freezes a value of the wrapped content. Content shared between several places is frozen once, and each of
+	 * those places is given the same read only view of it.
+	 *
+	 * @param value to freeze
+	 * @param views the read only views of the values frozen so far
+	 * @return the read only value
+	 */
+	private static Object freezeValue(Object value, Map<Object, Object> views) {
+		if (!(value instanceof Map || value instanceof List || value instanceof Set)) {
+			return value;
+		}
+		Object view = views.get(value);
+		if (view == null) {
+			view = freezeUnseenValue(value, views);
+			views.put(value, view);
+		}
+		return view;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Object freezeUnseenValue(Object value, Map<Object, Object> views) {
+		if (value instanceof Map && !FROZEN_MAP.isInstance(value)) {
+			Map<Object, Object> map = (Map<Object, Object>) value;
+			for (Map.Entry<Object, Object> entry : map.entrySet()) {
+				Object frozenEntry = freezeValue(entry.getValue(), views);
+				if (frozenEntry != entry.getValue()) {
+					entry.setValue(frozenEntry);
+				}
+			}
+			return Collections.unmodifiableMap(map);
+		}
+		if (value instanceof List && !FROZEN_LIST.isInstance(value)) {
+			List<Object> entries = (List<Object>) value;
+			for (ListIterator<Object> iterator = entries.listIterator(); iterator.hasNext(); ) {
+				Object entry = iterator.next();
+				Object frozenEntry = freezeValue(entry, views);
+				if (frozenEntry != entry) {
+					iterator.set(frozenEntry);
+				}
+			}
+			return Collections.unmodifiableList(entries);
+		}
+		if (value instanceof Set && !FROZEN_SET.isInstance(value)) {
+			Set<Object> entries = new LinkedHashSet<>();
+			((Set<Object>) value).forEach(entry -> entries.add(freezeValue(entry, views)));
+			return Collections.unmodifiableSet(entries);
+		}
+		return value;
+	}
+
 	/**
 	 * Identifies whether or not the {@link JsonWrapper}'s content is a hash or array.
 	 *
@@ -499,17 +629,51 @@ public class JsonWrapper {
 	public Stream<JsonWrapper> stream() {
 		Stream<JsonWrapper> returnValue = Stream.of(this);
 		if (list != null) {
-			returnValue = list.stream()
-				.filter(entry -> entry instanceof Map)
-				.map(entry -> {
-					JsonWrapper wrapper = new JsonWrapper();
-					wrapper.object = (Map<String, Object>) entry;
-					return wrapper;
-				});
+			CorrelationIndex listIndex = getCorrelationIndex();
+			returnValue = Streams.mapWithIndex(list.stream(), (entry, position) -> {
+				if (!(entry instanceof Map)) {
+					return null;
+				}
+				JsonWrapper wrapper = new JsonWrapper();
+				wrapper.object = (Map<String, Object>) entry;
+				wrapper.index = listIndex.find("/" + position);
+				wrapper.frozen = frozen;
+				return wrapper;
+			}).filter(Objects::nonNull);
 		}
 		return returnValue;
 	}
 
+	/**
+	 * Renders each object that {@link #stream()} provides as compact json, one object at a time, handing each on
+	 * before the next is rendered. The objects are taken to be repetitions of the first, as the NPI/TIN entries of a
+	 * submission repeat its clinical document, so the nested values of the first are rendered once and copied into
+	 * the json of each object that holds them.
+	 *
+	 * @param consumer receives each object along with its UTF-8 encoded json
+	 */
+	public void renderEach(BiConsumer<JsonWrapper, byte[]> consumer) {
+		Set<Object> shared = null;
+		ByteArrayOutputStream json = new ByteArrayOutputStream();
+		try (JsonStreamWriter writer = new JsonStreamWriter(json, true)) {
+			for (Iterator<JsonWrapper> entries = stream().iterator(); entries.hasNext(); ) {
+				JsonWrapper entry = entries.next();
+				if (shared == null) {
+					// every entry holds the nested values of the first
+					shared = JsonStreamWriter.findSharedValues(Collections.nCopies(2, entry.getObject()));
+				}
+				json.reset();
+				writer.writeStartObject();
+				writer.writeFields(entry, shared);
+				writer.writeEndObject();
+				writer.flush();
+				consumer.accept(entry, json.toByteArray());
+			}
+		} catch (IOException e) {
+			throw new EncodeException("Issue rendering JSON from JsonWrapper Map", e);
+		}
+	}
+
 	/**
 	 * String representation of the {@link JsonWrapper}.
 	 *
@@ -517,113 +681,144 @@ public class JsonWrapper {
 	 */
 	@Override
 	public String toString() {
+		if (list != null) {
+			return new String(toBytes(false), StandardCharsets.UTF_8);
+		}
 		try {
-			return ow.writeValueAsString(isObject() ? object : list);
+			return PRETTY_WRITER.writeValueAsString(getObject());
 		} catch (JsonProcessingException e) {
 			throw new EncodeException("Issue rendering JSON from JsonWrapper Map", e);
 		}
 	}
 
 	/**
-	 * Convenience method to get the JsonWrapper's content as an input stream.
+	 * Renders the JsonWrapper's content as pretty printed json.
 	 *
-	 * @return input stream containing serialized json
+	 * @return UTF-8 encoded json
 	 */
-	public InputStream contentStream() {
-		return new ByteArrayInputStream(toString().getBytes(StandardCharsets.UTF_8));
+	public byte[] toBytes() {
+		return toBytes(false);
 	}
 
 	/**
-	 * JsonWrapper specific annotation introspector. This gives us a way to programmatically associate
-	 * filtering for metadata properties prior to serialization. This is an advantage over annotated filtering
-	 * in that it's less rigid than compile time modification.
+	 * Renders the JsonWrapper's content as json, without first rendering it as a String.
+	 *
+	 * @param compact whether to leave out all indentation and line breaks
+	 * @return UTF-8 encoded json
 	 */
-	private static class JsonWrapperIntrospector extends JacksonAnnotationIntrospector {
-		private String filterName;
-
-		/**
-		 * @param filterName name of filter to be aassociated during introspection
-		 */
-		private JsonWrapperIntrospector(String filterName) {
-			this.filterName = filterName;
-		}
-
-		/**
-		 * Apply the {@link JsonWrapperIntrospector#filterName} filter to all instances of Map.
-		 *
-		 * @param a objects to be serialized
-		 * @return either the specified filter or a the default supplied by the parent.
-		 * @see JacksonAnnotationIntrospector
-		 */
-		@Override
-		public Object findFilterId(Annotated a) {
-			if (Map.class.isAssignableFrom(a.getRawType())) {
-				return filterName;
+	public byte[] toBytes(boolean compact) {
+		try {
+			if (list == null) {
+				return getObjectWriter(compact).writeValueAsBytes(getObject());
 			}
-			return super.findFilterId(a);
+			ByteArrayOutputStream json = new ByteArrayOutputStream();
+			writeTo(json, compact);
+			return json.toByteArray();
+		} catch (IOException e) {
+			throw new EncodeException("Issue rendering JSON from JsonWrapper Map", e);
 		}
 	}
 
 	/**
-	 * Filters out all map entries during serialization that have keys prefixed with "metadata_".
+	 * Writes the JsonWrapper's content as pretty printed json straight to an output stream.
+	 *
+	 * @param output where to write the json, which is left open
+	 * @throws IOException if the json cannot be written
 	 */
-	private static class MetadataPropertyFilter extends SimpleBeanPropertyFilter {
-		/**
-		 * Pass through inclusion for beans.
-		 *
-		 * @param writer that performs serialization
-		 * @return determination of whether or not it should be serialized
-		 */
-		@Override
-		protected boolean include(BeanPropertyWriter writer) {
-			return true;
-		}
+	public void writeTo(OutputStream output) throws IOException {
+		writeTo(output, false);
+	}
 
-		/**
-		 * Denies inclusion for "metadata_" prefixed properties.
-		 *
-		 * @param writer that performs serialization
-		 * @return determination of whether or not it should be serialized
-		 */
-		@Override
-		protected boolean include(PropertyWriter writer) {
-			return !writer.getName().startsWith("metadata_");
+	/**
+	 * Writes the JsonWrapper's content as json straight to an output stream, without first rendering it as a String.
+	 * Values shared by the objects of a wrapped list, such as the measurement sets of NPI/TIN entries, are rendered
+	 * once and copied into each object that holds them.
+	 *
+	 * @param output where to write the json, which is left open
+	 * @param compact whether to leave out all indentation and line breaks
+	 * @throws IOException if the json cannot be written
+	 */
+	public void writeTo(OutputStream output, boolean compact) throws IOException {
+		if (list == null) {
+			getObjectWriter(compact).writeValue(output, getObject());
+			return;
+		}
+		try (JsonStreamWriter writer = new JsonStreamWriter(output, compact)) {
+			writer.writeValue(this);
 		}
 	}
 
-	void attachMetadata(Node node) {
-		addMetaMap(createMetaMap(node));
+	/**
+	 * Convenience method to get the JsonWrapper's content as an input stream of pretty printed json.
+	 *
+	 * @return input stream containing serialized json
+	 */
+	public InputStream contentStream() {
+		return contentStream(false);
 	}
 
-	private Map<String,String> createMetaMap(Node node) {
-		Map<String, String> metaMap = new HashMap<>();
-		metaMap.put("encodeLabel", "");
-		metaMap.put("nsuri", node.getDefaultNsUri());
-		metaMap.put("template", node.getType().name());
-		metaMap.put("path", node.getPath());
-		return metaMap;
+	/**
+	 * Convenience method to get the JsonWrapper's content as an input stream.
+	 *
+	 * @param compact whether to leave out all indentation and line breaks
+	 * @return input stream containing serialized json
+	 */
+	public InputStream contentStream(boolean compact) {
+		return new ByteArrayInputStream(toBytes(compact));
 	}
 
-	private void addMetaMap(Map<String, String> metaMap) {
-		Set<Map<String, String>> metaHolder = this.getMetadataHolder();
-		metaHolder.add(metaMap);
+	/**
+	 * Where the objects of the wrapped content came from. The index is built up as the content is encoded, and
+	 * is never serialized with it.
+	 *
+	 * @return the index of the wrapped content, empty if nothing was recorded
+	 */
+	public CorrelationIndex getCorrelationIndex() {
+		return index == null ? CorrelationIndex.empty() : index;
 	}
 
-	private Set<Map<String, String>> getMetadataHolder() {
-		Set<Map<String, String>> returnValue = this.getValue(METADATA_HOLDER);
-		if (returnValue == null) {
-			returnValue = new LinkedHashSet<>();
-			this.putObject(METADATA_HOLDER, returnValue);
-		}
-		return returnValue;
+	/**
+	 * Records that the wrapped object was encoded from the given node.
+	 *
+	 * @param node the encoded node
+	 */
+	void attachMetadata(Node node) {
+		checkNotFrozen();
+		getOwnIndex().add(new CorrelationIndex.Metadata(node));
 	}
 
+	/**
+	 * Records the metadata of another wrapper's object as metadata of this wrapper's object, under the given label.
+	 *
+	 * @param otherWrapper wrapper whose metadata is merged
+	 * @param encodeLabel label of the merged metadata
+	 */
 	void mergeMetadata(JsonWrapper otherWrapper, String encodeLabel) {
-		Set<Map<String, String>> meta = this.getMetadataHolder();
-		Set<Map<String, String>> otherMeta = otherWrapper.getMetadataHolder();
-		otherMeta.forEach(other -> {
-			other.put("encodeLabel", encodeLabel);
-			meta.add(other);
-		});
+		checkNotFrozen();
+		CorrelationIndex own = getOwnIndex();
+		otherWrapper.getCorrelationIndex().getMetadata()
+				.forEach(other -> own.add(other.withEncodeLabel(encodeLabel)));
+	}
+
+	/**
+	 * Files the index of a nested value under its field name or array position.
+	 *
+	 * @param name field name or array position
+	 * @param value the nested value
+	 */
+	private void indexValue(String name, Object value) {
+		CorrelationIndex child = (value instanceof JsonWrapper) ? ((JsonWrapper) value).index : null;
+		if (child != null) {
+			getOwnIndex().put(name, child);
+		} else if (index != null) {
+			index.put(name, null);
+		}
+	}
+
+	private CorrelationIndex getOwnIndex() {
+		if (index == null) {
+			index = new CorrelationIndex();
+		}
+		return index;
 	}
 }
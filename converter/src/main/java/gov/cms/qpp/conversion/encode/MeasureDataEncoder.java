@@ -31,12 +31,13 @@ public class MeasureDataEncoder extends QppOutputEncoder {
 	/**
 	 * internalEncode for measure data
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper object that will represent the measure data
 	 * @param node object that represents the measure data
 	 * @throws EncodeException If error occurs during encoding
 	 */
 	@Override
-	protected void internalEncode(JsonWrapper wrapper, Node node) {
+	protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 		if (!IPOP.contains(node.getValue(MEASURE_TYPE))) {
 			Map<String, String> measureTypeMapper = initializeMeasureTypeMap();
 			String measureType = node.getValue(MEASURE_TYPE);
@@ -44,10 +45,27 @@ public class MeasureDataEncoder extends QppOutputEncoder {
 
 			String encodeLabel = measureTypeMapper.get(measureType);
 			wrapper.putInteger(encodeLabel, aggCount.getValue(AGGREGATE_COUNT));
-			maintainContinuity(wrapper, aggCount, encodeLabel);
 		}
 	}
 
+	/**
+	 * Records the measure data, and the aggregate count whose value was encoded under the measure type's label
+	 *
+	 * @param wrapper object the measure data was encoded into
+	 * @param node object that represents the measure data
+	 */
+	@Override
+	protected void attachMetadata(JsonWrapper wrapper, Node node) {
+		if (!IPOP.contains(node.getValue(MEASURE_TYPE))) {
+			String encodeLabel = initializeMeasureTypeMap().get(node.getValue(MEASURE_TYPE));
+			Node aggCount = node.findFirstNode(TemplateId.ACI_AGGREGATE_COUNT);
+			if (encodeLabel != null && aggCount != null) {
+				maintainContinuity(wrapper, aggCount, encodeLabel);
+			}
+		}
+		super.attachMetadata(wrapper, node);
+	}
+
 	/**
 	 * Initializes the measure type map with specific values.
 	 *
@@ -18,12 +18,13 @@ public class MeasurePerformedEncoder extends QppOutputEncoder {
 	/**
 	 * internalEncode for measures performed
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper object that will represent the measure performed
 	 * @param node object that represents the measure performed
 	 * @throws EncodeException If error occurs during encoding
 	 */
 	@Override
-	protected void internalEncode(JsonWrapper wrapper, Node node) {
+	protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 		wrapper.putBoolean(VALUE, node.getValue("measurePerformed"));
 	}
 }
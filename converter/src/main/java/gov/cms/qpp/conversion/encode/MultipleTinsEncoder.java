@@ -5,8 +5,14 @@ import gov.cms.qpp.conversion.decode.MultipleTinsDecoder;
 import gov.cms.qpp.conversion.model.Encoder;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.model.error.Detail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Encodes either multiple clinical documents based on npi/tin combinations
@@ -15,6 +21,8 @@ import java.util.List;
 @Encoder(TemplateId.QRDA_CATEGORY_III_REPORT_V3)
 public class MultipleTinsEncoder extends QppOutputEncoder {
 
+	private static final Logger DEV_LOG = LoggerFactory.getLogger(MultipleTinsEncoder.class);
+
 	public MultipleTinsEncoder(Context context) {
 		super(context);
 	}
@@ -23,53 +31,113 @@ public class MultipleTinsEncoder extends QppOutputEncoder {
 	 * Encodes the Clinical Document and repeats it if there are more than one
 	 * NPI TIN included in the QRDA III
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper object to encode into
 	 * @param node object to encode
 	 */
 	@Override
-	public void internalEncode(JsonWrapper wrapper, Node node) {
+	public void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 		List<Node> npiTinCombinations = node.findNode(TemplateId.NPI_TIN_ID);
 
 		if (npiTinCombinations.size() > 1) {
-			encodeNpiTinCombinations(wrapper, npiTinCombinations, node);
+			encodeNpiTinCombinations(state, wrapper, npiTinCombinations, node);
 		} else {
-			encodeSingleNpiTinCombination(wrapper, node);
+			encodeSingleNpiTinCombination(state, wrapper, node);
 		}
 	}
 
 	/**
 	 * Creates a new clinical document from a single clinical document encoding for each NPI/TIN combination.
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper object to be encoded too
 	 * @param npiTinCombinations object holding the of National Provider Identifier/Taxpayer Identifier combinations
 	 * @param node object to encode from
 	 */
-	private void encodeNpiTinCombinations(JsonWrapper wrapper, List<Node> npiTinCombinations, Node node) {
+	private void encodeNpiTinCombinations(EncodeState state, JsonWrapper wrapper, List<Node> npiTinCombinations, Node node) {
+		JsonWrapper clinicalDocWrapper = encodeClinicalDocument(state, node);
+		npiTinCombinations.forEach(npiTinNode -> wrapper.putObject(createNpiTinEntry(clinicalDocWrapper, npiTinNode)));
+	}
+
+	/**
+	 * Streams the clinical document, or its repetitions for each NPI/TIN combination one at a time.
+	 * The content every repetition shares, such as the measurement sets, is rendered only once.
+	 *
+	 * @param state state of the encoding, which collects its errors
+	 * @param writer where to write the json
+	 * @param node object to encode
+	 * @throws IOException if the json cannot be written
+	 */
+	@Override
+	protected void streamEncode(EncodeState state, JsonStreamWriter writer, Node node) throws IOException {
+		List<Node> npiTinCombinations = node.findNode(TemplateId.NPI_TIN_ID);
+		if (npiTinCombinations.size() <= 1) {
+			encoders.get(TemplateId.CLINICAL_DOCUMENT)
+					.streamEncode(state, writer, node.findFirstNode(TemplateId.CLINICAL_DOCUMENT));
+			return;
+		}
+
+		try {
+			JsonWrapper clinicalDocWrapper = encodeClinicalDocument(state, node);
+			// every entry holds the nested values of the clinical document
+			Set<Object> shared = JsonStreamWriter.findSharedValues(
+					Collections.nCopies(2, clinicalDocWrapper.getObject()));
+
+			writer.writeStartArray();
+			for (Node npiTinNode : npiTinCombinations) {
+				writer.writeStartObject();
+				writer.writeFields(createNpiTinEntry(clinicalDocWrapper, npiTinNode), shared);
+				writer.writeEndObject();
+			}
+			writer.writeEndArray();
+		} catch (EncodeException e) {
+			DEV_LOG.warn("Encode error when doing streamEncode, adding a new Detail", e);
+			state.addValidationError(new Detail(e.getMessage()));
+		}
+	}
+
+	/**
+	 * Encodes the clinical document that is repeated for each NPI/TIN combination
+	 *
+	 * @param state state of the encoding, which collects its errors
+	 * @param node object to encode from
+	 * @return the encoded clinical document
+	 */
+	private JsonWrapper encodeClinicalDocument(EncodeState state, Node node) {
 		JsonOutputEncoder clinicalDocumentEncoder = encoders.get(TemplateId.CLINICAL_DOCUMENT);
 		Node clinicalDocumentNode = node.findFirstNode(TemplateId.CLINICAL_DOCUMENT);
 
 		JsonWrapper clinicalDocWrapper = new JsonWrapper();
-		clinicalDocumentEncoder.internalEncode(clinicalDocWrapper, clinicalDocumentNode);
+		clinicalDocumentEncoder.internalEncode(state, clinicalDocWrapper, clinicalDocumentNode);
+		return clinicalDocWrapper;
+	}
 
-		npiTinCombinations.forEach(npiTinNode -> {
-			JsonWrapper childWrapper = new JsonWrapper(clinicalDocWrapper);
-			childWrapper.putString(MultipleTinsDecoder.TAX_PAYER_IDENTIFICATION_NUMBER,
-					npiTinNode.getValue(MultipleTinsDecoder.TAX_PAYER_IDENTIFICATION_NUMBER));
-			childWrapper.putString(MultipleTinsDecoder.NATIONAL_PROVIDER_IDENTIFIER,
-					npiTinNode.getValue(MultipleTinsDecoder.NATIONAL_PROVIDER_IDENTIFIER));
-			wrapper.putObject(childWrapper);
-		});
+	/**
+	 * Repeats the clinical document for an NPI/TIN combination, sharing its nested content
+	 *
+	 * @param clinicalDocWrapper the encoded clinical document
+	 * @param npiTinNode the NPI/TIN combination
+	 * @return the clinical document of the combination
+	 */
+	private JsonWrapper createNpiTinEntry(JsonWrapper clinicalDocWrapper, Node npiTinNode) {
+		JsonWrapper childWrapper = new JsonWrapper(clinicalDocWrapper);
+		childWrapper.putString(MultipleTinsDecoder.TAX_PAYER_IDENTIFICATION_NUMBER,
+				npiTinNode.getValue(MultipleTinsDecoder.TAX_PAYER_IDENTIFICATION_NUMBER));
+		childWrapper.putString(MultipleTinsDecoder.NATIONAL_PROVIDER_IDENTIFIER,
+				npiTinNode.getValue(MultipleTinsDecoder.NATIONAL_PROVIDER_IDENTIFIER));
+		return childWrapper;
 	}
 
 	/**
 	 * Encodes a clinical document for a single NPI/TIN
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper object to be encoded
 	 * @param node object to encode from
 	 */
-	private void encodeSingleNpiTinCombination(JsonWrapper wrapper, Node node) {
+	private void encodeSingleNpiTinCombination(EncodeState state, JsonWrapper wrapper, Node node) {
 		Node clinicalDocumentNode = node.findFirstNode(TemplateId.CLINICAL_DOCUMENT);
 		JsonOutputEncoder clinicalDocumentEncoder = encoders.get(TemplateId.CLINICAL_DOCUMENT);
-		clinicalDocumentEncoder.internalEncode(wrapper, clinicalDocumentNode);
+		clinicalDocumentEncoder.internalEncode(state, wrapper, clinicalDocumentNode);
 	}
 }
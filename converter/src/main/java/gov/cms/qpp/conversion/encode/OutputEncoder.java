@@ -1,6 +1,10 @@
 package gov.cms.qpp.conversion.encode;
 
+import gov.cms.qpp.conversion.model.Node;
+
+import java.io.OutputStream;
 import java.io.Writer;
+import java.util.List;
 
 /**
  * Interface for encoding output.
@@ -9,13 +13,28 @@ public interface OutputEncoder {
 
 	/**
 	 * Encode data to a Writer
-	 * 
+	 *
+	 * @param state state of the encoding, which collects its errors
+	 * @param nodes nodes to encode
 	 * @param writer
 	 */
-	void encode(Writer writer);
+	void encode(EncodeState state, List<Node> nodes, Writer writer);
+
+	/**
+	 * Encode data straight to an OutputStream, without building a JsonWrapper of the whole output
+	 *
+	 * @param state state of the encoding, which collects its errors
+	 * @param nodes nodes to encode
+	 * @param outputStream
+	 */
+	void encode(EncodeState state, List<Node> nodes, OutputStream outputStream);
 
 	/**
 	 * Encode data to JsonWrapper
+	 *
+	 * @param state state of the encoding, which collects its errors
+	 * @param nodes nodes to encode
+	 * @return the encoded nodes
 	 */
-	JsonWrapper encode();
+	JsonWrapper encode(EncodeState state, List<Node> nodes);
 }
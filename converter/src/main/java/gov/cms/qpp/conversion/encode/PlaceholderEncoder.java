@@ -19,19 +19,20 @@ public class PlaceholderEncoder extends QppOutputEncoder {
 	/**
 	 * Encodes placeholder nodes into the wrapper
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper object that will represent a placeholder
 	 * @param node object that represents a placeholder
 	 * @throws EncodeException If error occurs during encoding
 	 */
 	@Override
-	protected void internalEncode(JsonWrapper wrapper, Node node) {
+	protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 
 		for (Node child : node.getChildNodes()) {
 			JsonOutputEncoder encoder = encoders.get(child.getType());
 			if (encoder != null) {
-				encoder.encode(wrapper, child);
+				encoder.encode(state, wrapper, child);
 			} else {
-				addValidationError(new Detail("Failed to find an encoder", child.getPath()));
+				state.addValidationError(new Detail("Failed to find an encoder", child.getPath()));
 			}
 		}
 	}
@@ -8,6 +8,8 @@ import gov.cms.qpp.conversion.model.TemplateId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+
 /**
  * Top level Encoder for serializing into QPP format.
  */
@@ -27,41 +29,63 @@ public class QppOutputEncoder extends JsonOutputEncoder {
 	}
 
 	@Override
-	public final void encode(JsonWrapper wrapper, Node node) {
+	public final void encode(EncodeState state, JsonWrapper wrapper, Node node) {
 		DEV_LOG.debug("Using " + template + " encoder to encode " + node);
-		super.encode(wrapper, node);
+		super.encode(state, wrapper, node);
 	}
 
 	/**
 	 * Top level internalEncode that calls it's children from the registry.
 	 * Each encoder calls its child encoder with an encode() method
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper object to encode into
 	 * @param node object to encode
 	 * @throws EncodeException If error occurs during encoding
 	 */
 	@Override
-	protected void internalEncode(JsonWrapper wrapper, Node node) {
+	protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 		JsonOutputEncoder encoder = encoders.get(node.getType());
 
 		if (null != encoder) {
-			encoder.encode(wrapper, node);
+			encoder.encode(state, wrapper, node);
+		}
+	}
+
+	/**
+	 * Top level streamEncode that lets the child from the registry stream its own encoding.
+	 * Children that do not stream fall back to writing out their whole encoding.
+	 *
+	 * @param state state of the encoding, which collects its errors
+	 * @param writer where to write the json
+	 * @param node object to encode
+	 * @throws IOException if the json cannot be written
+	 */
+	@Override
+	protected void streamEncode(EncodeState state, JsonStreamWriter writer, Node node) throws IOException {
+		JsonOutputEncoder encoder = (template != node.getType()) ? encoders.get(node.getType()) : null;
+
+		if (null != encoder) {
+			encoder.streamEncode(state, writer, node);
+		} else {
+			super.streamEncode(state, writer, node);
 		}
 	}
 
 	/**
 	 * Provide a means to associate json path to xpath expression when data is harvested from nodes by means
-	 * other than extraction via the node's specified {@link Encoder}.
+	 * other than extraction via the node's specified {@link Encoder}. The node isn't encoded, its encoder only
+	 * records the metadata its encoding would have.
 	 *
 	 * @param wrapper parent {@link JsonWrapper}
 	 * @param node decoded QRDA node
 	 * @param leafLabel encoded json attribute name
 	 */
 	void maintainContinuity(JsonWrapper wrapper, Node node, String leafLabel) {
-		JsonWrapper throwAway = new JsonWrapper();
+		JsonWrapper metadata = new JsonWrapper();
 		JsonOutputEncoder used = encoders.get(node.getType());
-		used.encode(throwAway, node);
-		maintainContinuity(wrapper, throwAway, leafLabel);
+		used.attachMetadata(metadata, node);
+		maintainContinuity(wrapper, metadata, leafLabel);
 	}
 
 	/**
@@ -6,7 +6,6 @@ import gov.cms.qpp.conversion.model.Encoder;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.model.validation.MeasureConfig;
-import gov.cms.qpp.conversion.model.validation.MeasureConfigs;
 import gov.cms.qpp.conversion.model.validation.Strata;
 import gov.cms.qpp.conversion.model.validation.SubPopulation;
 import gov.cms.qpp.conversion.model.validation.SubPopulations;
@@ -37,21 +36,22 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 	/**
 	 * Encodes an Quality Measure Id into the QPP format
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper JsonWrapper that will represent the Quality Measure Identifier
 	 * @param node Node that represents the Quality Measure Identifier
 	 * @throws EncodeException If an error occurs during encoding
 	 */
 	@Override
-	public void internalEncode(JsonWrapper wrapper, Node node) {
-		Map<String, MeasureConfig> configurationMap = MeasureConfigs.getConfigurationMap();
+	public void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
+		Map<String, MeasureConfig> configurationMap = context.getMeasureConfigs().getConfigurationMap();
 		MeasureConfig measureConfig = configurationMap.get(node.getValue(MEASURE_ID));
 		String measureId = measureConfig.getMeasureId();
 		wrapper.putString(MEASURE_ID, measureId);
 
 		if (isASinglePerformanceRate(measureConfig)) {
-			encodeChildren(wrapper, node, measureConfig);
+			encodeChildren(state, wrapper, node, measureConfig);
 		} else {
-			encodeMultiPerformanceRate(wrapper, node, measureConfig);
+			encodeMultiPerformanceRate(state, wrapper, node, measureConfig);
 		}
 	}
 
@@ -68,27 +68,29 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 
 	/**
 	 * Encode child nodes.
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper holder for encoded node data
 	 * @param parentNode holder of the Quality Measures
 	 * @param measureConfig The measure configuration for the current measure.
 	 */
-	private void encodeChildren(JsonWrapper wrapper, Node parentNode, final MeasureConfig measureConfig) {
+	private void encodeChildren(EncodeState state, JsonWrapper wrapper, Node parentNode, final MeasureConfig measureConfig) {
 		JsonWrapper childWrapper = new JsonWrapper();
 		childWrapper.putBoolean(IS_END_TO_END_REPORTED, TRUE);
-		encodeSubPopulation(parentNode, childWrapper, false, measureConfig);
+		encodeSubPopulation(state, parentNode, childWrapper, false, measureConfig);
 		wrapper.putObject(VALUE, childWrapper);
 	}
 
 	/**
 	 * Encodes a multi performance rate proportion measure
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper object to be encoded into
 	 * @param node parent node that holds the current performance rate proportion measures
 	 * @param measureConfig configurations to group performance rate proportion measures
 	 */
-	private void encodeMultiPerformanceRate(JsonWrapper wrapper, Node node, MeasureConfig measureConfig) {
+	private void encodeMultiPerformanceRate(EncodeState state, JsonWrapper wrapper, Node node, MeasureConfig measureConfig) {
 		List<Node> subPopNodes = createSubPopulationGrouping(node, measureConfig);
-		encodeMultiPerformanceChildren(wrapper, subPopNodes, measureConfig);
+		encodeMultiPerformanceChildren(state, wrapper, subPopNodes, measureConfig);
 	}
 
 	/**
@@ -150,17 +152,18 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 	/**
 	 * Encode multi performance child nodes
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper holder for encoded node data
 	 * @param subPopNodes holder of the Quality Measures
 	 * @param measureConfig The measure configuration for the current measure.
 	 */
-	private void encodeMultiPerformanceChildren(JsonWrapper wrapper, List<Node> subPopNodes, final MeasureConfig measureConfig) {
+	private void encodeMultiPerformanceChildren(EncodeState state, JsonWrapper wrapper, List<Node> subPopNodes, final MeasureConfig measureConfig) {
 		JsonWrapper childWrapper = new JsonWrapper();
 		childWrapper.putBoolean(IS_END_TO_END_REPORTED, TRUE);
 		JsonWrapper strataListWrapper = new JsonWrapper();
 		for (Node subPopNode : subPopNodes) {
 			JsonWrapper strataWrapper = new JsonWrapper();
-			encodeSubPopulation(subPopNode, strataWrapper, true, measureConfig);
+			encodeSubPopulation(state, subPopNode, strataWrapper, true, measureConfig);
 			strataListWrapper.putObject(strataWrapper);
 		}
 		childWrapper.putObject("strata", strataListWrapper);
@@ -170,11 +173,12 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 	/**
 	 * Encodes a sub population
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param parentNode holder of the sub populations
 	 * @param childWrapper holder of encoded sub populations
 	 * @param measureConfig The measure configuration for the current measure.
 	 */
-	private void encodeSubPopulation(Node parentNode, JsonWrapper childWrapper, boolean isMultiRate,
+	private void encodeSubPopulation(EncodeState state, Node parentNode, JsonWrapper childWrapper, boolean isMultiRate,
 		final MeasureConfig measureConfig) {
 		this.encodePerformanceMet(childWrapper, parentNode);
 		this.encodePerformanceNotMet(childWrapper, parentNode);
@@ -182,7 +186,7 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 		for (Node childNode : parentNode.getChildNodes()) {
 			JsonOutputEncoder measureDataEncoder = encoders.get(childNode.getType());
 			if (null != measureDataEncoder) {
-				measureDataEncoder.encode(childWrapper, childNode);
+				measureDataEncoder.encode(state, childWrapper, childNode);
 			}
 		}
 		if (isMultiRate) {
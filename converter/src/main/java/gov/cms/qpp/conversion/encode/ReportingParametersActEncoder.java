@@ -26,11 +26,12 @@ public class ReportingParametersActEncoder extends QppOutputEncoder {
 	/**
 	 * Copies the reporting parameters performance start and performance end to the output
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper JsonWrapper
 	 * @param node Node
 	 */
 	@Override
-	protected void internalEncode(JsonWrapper wrapper, Node node) {
+	protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 		encodeDate(wrapper, node, PERFORMANCE_START);
 		encodeDate(wrapper, node, PERFORMANCE_END);
 	}
@@ -6,6 +6,7 @@ import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.segmentation.QrdaScope;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.stream.Stream;
 
@@ -22,12 +23,13 @@ public class ScopedQppOutputEncoder extends QppOutputEncoder {
 	 * Encode the decoded node. If a {@link TemplateId#PLACEHOLDER} node is detected then assume
 	 * the {@link Converter#scope} has been set to a level lower than {@link QrdaScope#CLINICAL_DOCUMENT}.
 	 *
+	 * @param state state of the encoding, which collects its errors
 	 * @param wrapper object to encode into
 	 * @param node object to encode
 	 * @throws EncodeException If error occurs during encoding
 	 */
 	@Override
-	protected void internalEncode(JsonWrapper wrapper, Node node) {
+	protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 		if (node.getType() == TemplateId.PLACEHOLDER) {
 			JsonWrapper scoped = new JsonWrapper();
 			node.getChildNodes().stream()
@@ -36,12 +38,32 @@ public class ScopedQppOutputEncoder extends QppOutputEncoder {
 					.forEach(child -> {
 				JsonWrapper childWrapper = new JsonWrapper();
 				JsonOutputEncoder encoder = encoders.get(child.getType());
-				encoder.encode(childWrapper, child);
+				encoder.encode(state, childWrapper, child);
 				scoped.putObject(childWrapper);
 			});
 			wrapper.putObject("scoped", scoped);
 		} else {
-			super.internalEncode(wrapper, node);
+			super.internalEncode(state, wrapper, node);
+		}
+	}
+
+	/**
+	 * Writes out the whole encoding of a {@link TemplateId#PLACEHOLDER} node, so that it is scoped the same as
+	 * {@link #internalEncode(EncodeState, JsonWrapper, Node)} scopes it.
+	 *
+	 * @param state state of the encoding, which collects its errors
+	 * @param writer where to write the json
+	 * @param node object to encode
+	 * @throws IOException if the json cannot be written
+	 */
+	@Override
+	protected void streamEncode(EncodeState state, JsonStreamWriter writer, Node node) throws IOException {
+		if (node.getType() == TemplateId.PLACEHOLDER) {
+			JsonWrapper wrapper = new JsonWrapper();
+			encode(state, wrapper, node);
+			writer.writeValue(wrapper);
+		} else {
+			super.streamEncode(state, writer, node);
 		}
 	}
 
@@ -1,5 +1,6 @@
 package gov.cms.qpp.conversion.encode.placeholder;
 
+import gov.cms.qpp.conversion.encode.EncodeState;
 import gov.cms.qpp.conversion.encode.JsonOutputEncoder;
 import gov.cms.qpp.conversion.encode.JsonWrapper;
 import gov.cms.qpp.conversion.model.Encoder;
@@ -23,7 +24,7 @@ public class DefaultEncoder extends JsonOutputEncoder {
 	}
 
 	@Override
-	protected void internalEncode(JsonWrapper wrapper, Node node) {
+	protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 		DEV_LOG.debug("Default JSON encoder {} is handling templateId {} and is described as '{}' ",
 				getClass(), node.getType().name(), description);
 
@@ -38,7 +39,7 @@ public class DefaultEncoder extends JsonOutputEncoder {
 
 		for (Node child : node.getChildNodes()) {
 			childWrapper.putObject(child.getType().name(), childWrapper);
-			encode(childWrapper, child);
+			encode(state, childWrapper, child);
 		}
 	}
 
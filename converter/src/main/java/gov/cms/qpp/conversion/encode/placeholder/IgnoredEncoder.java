@@ -1,5 +1,6 @@
 package gov.cms.qpp.conversion.encode.placeholder;
 
+import gov.cms.qpp.conversion.encode.EncodeState;
 import gov.cms.qpp.conversion.encode.JsonOutputEncoder;
 import gov.cms.qpp.conversion.encode.JsonWrapper;
 import gov.cms.qpp.conversion.model.Encoder;
@@ -13,7 +14,7 @@ import gov.cms.qpp.conversion.model.TemplateId;
 public class IgnoredEncoder extends JsonOutputEncoder {
 
 	@Override
-	protected void internalEncode(JsonWrapper wrapper, Node node) {
+	protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
 		// do nothing
 	}
 
@@ -33,6 +33,15 @@ public class ComponentKey {
 		return template;
 	}
 
+	/**
+	 * Get the program value of the key.
+	 *
+	 * @return the program
+	 */
+	public Program getProgram() {
+		return program;
+	}
+
 	/**
 	 * equality check
 	 *
@@ -0,0 +1,75 @@
+package gov.cms.qpp.conversion.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Frozen lookup of the handler classes that apply to each {@link TemplateId} as seen from each {@link Program}.
+ *
+ * A table is built once from a registry's {@link ComponentKey} mappings so that lookups are a pair of
+ * {@link EnumMap} reads that hand back ready made, unmodifiable results.
+ */
+final class DispatchTable {
+
+	private final Map<Program, Map<TemplateId, Class<?>>> handlers = new EnumMap<>(Program.class);
+	private final Map<Program, Map<TemplateId, List<Class<?>>>> inclusiveHandlers = new EnumMap<>(Program.class);
+
+	/**
+	 * Builds the table for the given registry mappings
+	 *
+	 * @param registry handler classes keyed by template and program
+	 */
+	DispatchTable(Map<ComponentKey, Class<?>> registry) {
+		for (Program program : Program.values()) {
+			Map<TemplateId, Class<?>> programHandlers = new EnumMap<>(TemplateId.class);
+			Map<TemplateId, List<Class<?>>> programInclusiveHandlers = new EnumMap<>(TemplateId.class);
+
+			for (TemplateId template : TemplateId.values()) {
+				Class<?> specific = registry.get(new ComponentKey(template, program));
+				Class<?> general = program == Program.ALL ? null : registry.get(new ComponentKey(template, Program.ALL));
+
+				List<Class<?>> inclusive = new ArrayList<>(2);
+				addHandler(inclusive, general);
+				addHandler(inclusive, specific);
+				if (!inclusive.isEmpty()) {
+					programHandlers.put(template, specific != null ? specific : general);
+					programInclusiveHandlers.put(template, Collections.unmodifiableList(inclusive));
+				}
+			}
+
+			handlers.put(program, programHandlers);
+			inclusiveHandlers.put(program, programInclusiveHandlers);
+		}
+	}
+
+	private static void addHandler(List<Class<?>> inclusive, Class<?> handler) {
+		if (handler != null && !inclusive.contains(handler)) {
+			inclusive.add(handler);
+		}
+	}
+
+	/**
+	 * Retrieve the most specific handler for a template
+	 *
+	 * @param program program of the conversion
+	 * @param template template id
+	 * @return the program specific handler, otherwise the general handler, or null if there is neither
+	 */
+	Class<?> get(Program program, TemplateId template) {
+		return handlers.get(program).get(template);
+	}
+
+	/**
+	 * Retrieve the general and then program specific handlers for a template
+	 *
+	 * @param program program of the conversion
+	 * @param template template id
+	 * @return unmodifiable list of handlers, general handler first
+	 */
+	List<Class<?>> inclusiveGet(Program program, TemplateId template) {
+		return inclusiveHandlers.get(program).getOrDefault(template, Collections.emptyList());
+	}
+}
@@ -0,0 +1,77 @@
+package gov.cms.qpp.conversion.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the handler indexes written at compile time by the {@code HandlerIndexProcessor} of the processors module.
+ */
+final class HandlerIndex {
+
+	static final String INDEX_LOCATION = "META-INF/handlers/";
+
+	private static final Logger DEV_LOG = LoggerFactory.getLogger(HandlerIndex.class);
+
+	private HandlerIndex() {
+		//private and empty because this is a utility class
+	}
+
+	/**
+	 * Loads the classes listed by every index of the given annotation visible to the class loader
+	 *
+	 * @param loader class loader to find the indexes and classes with
+	 * @param annotationClass annotation of which the handlers were indexed
+	 * @return the indexed classes, or null if the class loader sees no index for the annotation
+	 */
+	static Set<Class<?>> load(ClassLoader loader, Class<? extends Annotation> annotationClass) {
+		try {
+			List<URL> indexes = Collections.list(
+					loader.getResources(INDEX_LOCATION + annotationClass.getName()));
+			if (indexes.isEmpty()) {
+				return null;
+			}
+
+			Set<Class<?>> handlers = new LinkedHashSet<>();
+			for (URL index : indexes) {
+				read(loader, index, handlers);
+			}
+			return handlers;
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	private static void read(ClassLoader loader, URL index, Set<Class<?>> handlers) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8));
+		try {
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				String name = line.trim();
+				if (!name.isEmpty()) {
+					addHandler(loader, name, handlers);
+				}
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+	private static void addHandler(ClassLoader loader, String name, Set<Class<?>> handlers) {
+		try {
+			handlers.add(Class.forName(name, false, loader));
+		} catch (ClassNotFoundException exception) {
+			DEV_LOG.warn("Skipping indexed handler " + name + " that could not be loaded", exception);
+		}
+	}
+}
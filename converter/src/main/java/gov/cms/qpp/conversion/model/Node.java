@@ -3,34 +3,56 @@ package gov.cms.qpp.conversion.model;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
- * Represents a node of data that should be converted. Consists of a key/value
- * Map that holds the data gleaned from an input file.
+ * Represents a node of data that should be converted. Consists of a compact key/value
+ * store that holds the data gleaned from an input file.
  * Nodes can contain other nodes as children to create a hierarchy.
+ *
+ * Searches by {@link TemplateId} are answered from indexes built the first time a node is searched. A change
+ * drops the indexes of the nodes above it by following their parents, so only hierarchies whose children point
+ * back at their parents, or are {@link #freeze() frozen}, are indexed. Any other hierarchy is walked, and is
+ * not looked at for an index again until it changes.
  */
 public class Node {
+	/**
+	 * Hierarchies of fewer nodes than this are searched by walking them, which costs less than an index would hold
+	 */
+	static final int INDEX_THRESHOLD = 8;
+
+	/**
+	 * Stands in for the index of a hierarchy that cannot be indexed
+	 */
+	private static final Map<TemplateId, List<Node>> UNINDEXABLE = Collections.emptyMap();
+
 	private final List<Node> childNodes = new ArrayList<>();
-	private final Map<String, String> data = new HashMap<>();
-	private final Map<String, List<String>> duplicateData = new HashMap<>();
+	private final NodeAttributes data = new NodeAttributes();
+	private Map<String, List<String>> duplicateData;
 
 	private TemplateId type;
 	private Node parent;
-	private boolean validated;
+	private boolean frozen;
 
 	private String defaultNsUri;
-	private String path;
+	private Supplier<String> path;
+
+	private volatile boolean indexed;
+	private volatile Map<TemplateId, List<Node>> childIndex;
+	private volatile Map<TemplateId, List<Node>> descendantIndex;
 
 	/**
 	 * Default constructor initializes internal list of Nodes
@@ -76,7 +98,7 @@ public class Node {
 	 * @return mapped duplicates of target value
 	 */
 	public List<String> getDuplicateValues(String name) {
-		return duplicateData.get(name);
+		return duplicateData == null ? null : duplicateData.get(name);
 	}
 
 	/**
@@ -96,15 +118,14 @@ public class Node {
 	 * @param value String that is stored with this xml parsed Node
 	 */
 	public void putValue(String name, String value, boolean replace) {
+		checkNotFrozen();
 		if (getValue(name) == null || replace) {
 			data.put(name, value);
 		} else {
-			List<String> duplicates = Optional.ofNullable(duplicateData.get(name))
-					.orElseGet(() -> {
-				duplicateData.put(name, new ArrayList<>());
-				return duplicateData.get(name);
-			});
-			duplicates.add(value);
+			if (duplicateData == null) {
+				duplicateData = new HashMap<>();
+			}
+			duplicateData.computeIfAbsent(name, ignore -> new ArrayList<>()).add(value);
 		}
 	}
 
@@ -114,6 +135,7 @@ public class Node {
 	 * @param name String key to remove value under
 	 */
 	public void removeValue(String name) {
+		checkNotFrozen();
 		data.remove(name);
 	}
 
@@ -124,16 +146,17 @@ public class Node {
 	 * @return corresponding value
 	 */
 	public boolean hasValue(String name) {
-		return data.containsKey(name);
+		return data.contains(name);
 	}
 
 	/**
-	 * getChildNodes returns the list of child Nodes for this Node
+	 * getChildNodes returns the list of child Nodes for this Node. Changes made through the list are changes
+	 * to this node, and the list of a frozen node may not be changed at all.
 	 *
 	 * @return List of child Nodes.
 	 */
 	public List<Node> getChildNodes() {
-		return childNodes;
+		return new ChildList();
 	}
 
 	/**
@@ -142,11 +165,34 @@ public class Node {
 	 * @return List of matching child Nodes.
 	 */
 	public Stream<Node> getChildNodes(TemplateId... templateIds) {
+		if (templateIds.length == 1) {
+			Map<TemplateId, List<Node>> index = childIndex();
+			if (index == null) {
+				TemplateId templateId = templateIds[0];
+				return getChildNodes(node -> node.type == templateId);
+			}
+			return index.getOrDefault(templateIds[0], Collections.emptyList()).stream();
+		}
+
 		Set<TemplateId> lookupTemplateIds = EnumSet.noneOf(TemplateId.class);
 		Collections.addAll(lookupTemplateIds, templateIds);
 		return getChildNodes(node -> lookupTemplateIds.contains(node.getType()));
 	}
 
+	/**
+	 * Counts the child Nodes of a template id
+	 *
+	 * @param templateId template id of the children
+	 * @return number of matching child Nodes.
+	 */
+	public int countChildNodes(TemplateId templateId) {
+		Map<TemplateId, List<Node>> index = childIndex();
+		if (index == null) {
+			return (int) getChildNodes(node -> node.type == templateId).count();
+		}
+		return index.getOrDefault(templateId, Collections.emptyList()).size();
+	}
+
 	/**
 	 * Returns a list of child Nodes for this Node that satisfy the predicate.
 	 *
@@ -174,8 +220,9 @@ public class Node {
 	 * @param childNodes vararg Node array
 	 */
 	public void setChildNodes(Node... childNodes) {
+		checkNotFrozen();
 		this.childNodes.clear();
-		this.childNodes.addAll(Arrays.asList(childNodes));
+		addChildNodes(childNodes);
 	}
 
 	/**
@@ -184,7 +231,9 @@ public class Node {
 	 * @param childNodes vararg Node array
 	 */
 	public void addChildNodes(Node... childNodes) {
+		checkNotFrozen();
 		this.childNodes.addAll(Arrays.asList(childNodes));
+		structureChanged();
 	}
 
 	/**
@@ -196,7 +245,9 @@ public class Node {
 		if (childNode == null || childNode == this) {
 			return;
 		}
+		checkNotFrozen();
 		this.childNodes.add(childNode);
+		structureChanged();
 	}
 
 	/**
@@ -210,16 +261,62 @@ public class Node {
 			return false;
 		}
 
-		return this.childNodes.remove(childNode);
+		checkNotFrozen();
+		boolean removed = this.childNodes.remove(childNode);
+		if (removed) {
+			structureChanged();
+		}
+		return removed;
+	}
+
+	/**
+	 * View of the children of this node that changes them as this node would.
+	 */
+	private final class ChildList extends AbstractList<Node> implements RandomAccess {
+
+		@Override
+		public Node get(int index) {
+			return childNodes.get(index);
+		}
+
+		@Override
+		public int size() {
+			return childNodes.size();
+		}
+
+		@Override
+		public Node set(int index, Node childNode) {
+			checkNotFrozen();
+			Node replaced = childNodes.set(index, childNode);
+			structureChanged();
+			return replaced;
+		}
+
+		@Override
+		public void add(int index, Node childNode) {
+			checkNotFrozen();
+			childNodes.add(index, childNode);
+			modCount++;
+			structureChanged();
+		}
+
+		@Override
+		public Node remove(int index) {
+			checkNotFrozen();
+			Node removed = childNodes.remove(index);
+			modCount++;
+			structureChanged();
+			return removed;
+		}
 	}
 
 	/**
 	 * getKeys gets the internal keyset for the list of Nodes
 	 *
-	 * @return The keys the value's set on this Node.
+	 * @return The keys the value's set on this Node, in the order they were first set.
 	 */
 	public Set<String> getKeys() {
-		return data.keySet();
+		return data.names();
 	}
 
 	/**
@@ -237,7 +334,14 @@ public class Node {
 	 * @param parent Node
 	 */
 	public void setParent(Node parent) {
+		checkNotFrozen();
+		if (this.parent != null) {
+			this.parent.structureChanged();
+		}
 		this.parent = parent;
+		if (parent != null) {
+			parent.structureChanged();
+		}
 	}
 
 	/**
@@ -246,7 +350,9 @@ public class Node {
 	 * @param type TemplateId
 	 */
 	public void setType(TemplateId type) {
+		checkNotFrozen();
 		this.type = type;
+		structureChanged();
 	}
 
 	/**
@@ -264,7 +370,7 @@ public class Node {
 	 * @return The path.
 	 */
 	public String getPath() {
-		return path;
+		return path == null ? null : path.get();
 	}
 
 	/**
@@ -273,6 +379,18 @@ public class Node {
 	 * @param newPath The path.
 	 */
 	public void setPath(String newPath) {
+		checkNotFrozen();
+		path = () -> newPath;
+	}
+
+	/**
+	 * Sets the path from the original document that this {@code Node} is associated with.
+	 * The path is only resolved when it is requested.
+	 *
+	 * @param newPath Supplier of the path.
+	 */
+	public void setPath(Supplier<String> newPath) {
+		checkNotFrozen();
 		path = newPath;
 	}
 
@@ -291,6 +409,7 @@ public class Node {
 	 * @param newDefaultNsUri updated default namespace URI.
 	 */
 	public void setDefaultNsUri(String newDefaultNsUri) {
+		checkNotFrozen();
 		defaultNsUri = newDefaultNsUri;
 	}
 
@@ -302,30 +421,13 @@ public class Node {
 	 * {@link gov.cms.qpp.conversion.model.Node}'s hierarchy that match the searched id
 	 */
 	public List<Node> findNode(TemplateId templateId) {
-		return findNode(templateId, null);
-	}
-
-	/**
-	 * Search of this and child nodes for matching ids
-	 *
-	 * @param templateId templateid that identifies matching {@link gov.cms.qpp.conversion.model.Node}s
-	 * @param bail lambda that consumes a list and returns a boolean that governs early exit
-	 * @return a list of {@link gov.cms.qpp.conversion.model.Node}s in this
-	 * {@link gov.cms.qpp.conversion.model.Node}'s hierarchy that match the searched id
-	 */
-	private List<Node> findNode(TemplateId templateId, Predicate<List<Node>> bail) {
-		List<Node> foundNodes = new ArrayList<>();
-		if (this.type == templateId) {
-			foundNodes.add(this);
-		}
-		for (Node childNode : childNodes) {
-			if (bail != null && bail.test(foundNodes)) {
-				break;
-			}
-			List<Node> matches = childNode.findNode(templateId, bail);
-			foundNodes.addAll(matches);
+		Map<TemplateId, List<Node>> index = descendantIndex();
+		if (index == null) {
+			List<Node> found = new ArrayList<>();
+			findNodes(this, templateId, found);
+			return found;
 		}
-		return foundNodes;
+		return new ArrayList<>(index.getOrDefault(templateId, Collections.emptyList()));
 	}
 
 	/**
@@ -337,52 +439,187 @@ public class Node {
 	 * if no matches are found
 	 */
 	public Node findFirstNode(TemplateId templateId) {
-		List<Node> nodes = this.findNode(templateId, Node::foundNode);
-		return nodes.isEmpty() ? null : nodes.get(0);
+		Map<TemplateId, List<Node>> index = descendantIndex();
+		if (index == null) {
+			return findFirstNode(this, templateId);
+		}
+		List<Node> nodes = index.get(templateId);
+		return nodes == null ? null : nodes.get(0);
 	}
 
 	/**
-	 * setValidated sets the internal state of this Node validation.
-	 * Used to control the recursion of nested validations
+	 * Makes this node and every node under it read only. Any later attempt to change them fails.
 	 *
-	 * @param validated boolean
-	 * @see Node#isValidated()
-	 * @see Node#isNotValidated()
+	 * @return this node
 	 */
-	public void setValidated(boolean validated) {
-		this.validated = validated;
+	public Node freeze() {
+		if (!frozen) {
+			frozen = true;
+			childNodes.forEach(Node::freeze);
+			structureChanged();
+		}
+		return this;
 	}
 
 	/**
-	 * The state of this Node validation
+	 * Whether this node is read only
 	 *
-	 * @return boolean if the node has been validated
-	 * @see Node#isNotValidated()
-	 * @see Node#setValidated(boolean)
+	 * @return whether this node has been frozen
+	 * @see Node#freeze()
 	 */
-	public boolean isValidated() {
-		return validated;
+	public boolean isFrozen() {
+		return frozen;
 	}
 
 	/**
-	 * The state of this Node validation
+	 * Guards the changes to this node
 	 *
-	 * @return boolean if the node has NOT been validated
-	 * @see Node#isValidated()
-	 * @see Node#setValidated(boolean)
+	 * @throws UnsupportedOperationException if this node is frozen
 	 */
-	public boolean isNotValidated() {
-		return !isValidated();
+	private void checkNotFrozen() {
+		if (frozen) {
+			throw new UnsupportedOperationException("A frozen node may not be changed");
+		}
 	}
 
 	/**
-	 * foundNode checks to see if any Node exists in the List
+	 * Children of this node by template id, in the order they are held. A node with few children, or with a child
+	 * that would not tell this node of its changes, has no index.
 	 *
-	 * @param nodes A list
-	 * @return Whether the list has an element or not
+	 * @return index of the children, or null if the children are to be searched one by one
 	 */
-	private static boolean foundNode(List<?> nodes) {
-		return !nodes.isEmpty();
+	private Map<TemplateId, List<Node>> childIndex() {
+		Map<TemplateId, List<Node>> index = childIndex;
+		if (index == null && childNodes.size() >= INDEX_THRESHOLD) {
+			index = indexChildren();
+			childIndex = index;
+		}
+		return index == UNINDEXABLE ? null : index;
+	}
+
+	private Map<TemplateId, List<Node>> indexChildren() {
+		indexed = true;
+		for (Node childNode : childNodes) {
+			if (!isLinked(this, childNode)) {
+				return UNINDEXABLE;
+			}
+		}
+
+		Map<TemplateId, List<Node>> index = new EnumMap<>(TemplateId.class);
+		for (Node childNode : childNodes) {
+			childNode.indexed = true;
+			addToIndex(index, childNode);
+		}
+		return trim(index);
+	}
+
+	/**
+	 * This node and its descendants by template id, in the order a depth first search visits them. A small
+	 * hierarchy, or one with a node that would not tell its holder of its changes, has no index.
+	 *
+	 * @return index of the hierarchy under this node, or null if the hierarchy is to be walked
+	 */
+	private Map<TemplateId, List<Node>> descendantIndex() {
+		Map<TemplateId, List<Node>> index = descendantIndex;
+		if (index == null && countNodes(this, INDEX_THRESHOLD) >= INDEX_THRESHOLD) {
+			index = new EnumMap<>(TemplateId.class);
+			index = indexDescendants(this, index) ? trim(index) : UNINDEXABLE;
+			descendantIndex = index;
+		}
+		return index == UNINDEXABLE ? null : index;
+	}
+
+	private static int countNodes(Node node, int limit) {
+		int count = 1;
+		for (Node childNode : node.childNodes) {
+			if (count >= limit) {
+				break;
+			}
+			count += countNodes(childNode, limit - count);
+		}
+		return count;
+	}
+
+	private static void findNodes(Node node, TemplateId templateId, List<Node> found) {
+		if (node.type == templateId) {
+			found.add(node);
+		}
+		for (Node childNode : node.childNodes) {
+			findNodes(childNode, templateId, found);
+		}
+	}
+
+	private static Node findFirstNode(Node node, TemplateId templateId) {
+		if (node.type == templateId) {
+			return node;
+		}
+		for (Node childNode : node.childNodes) {
+			Node found = findFirstNode(childNode, templateId);
+			if (found != null) {
+				return found;
+			}
+		}
+		return null;
+	}
+
+	private static boolean indexDescendants(Node node, Map<TemplateId, List<Node>> index) {
+		node.indexed = true;
+		addToIndex(index, node);
+		for (Node childNode : node.childNodes) {
+			if (!isLinked(node, childNode) || !indexDescendants(childNode, index)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Whether the changes of a child reach the node holding it, which they do through its parent. A frozen child
+	 * does not change.
+	 *
+	 * @param node the node holding the child
+	 * @param childNode the child
+	 * @return whether an index of the node may cover the child
+	 */
+	private static boolean isLinked(Node node, Node childNode) {
+		return childNode.parent == node || childNode.frozen;
+	}
+
+	private static void addToIndex(Map<TemplateId, List<Node>> index, Node node) {
+		if (node.type != null) {
+			index.computeIfAbsent(node.type, ignore -> new ArrayList<>(1)).add(node);
+		}
+	}
+
+	/**
+	 * Indexes are kept for as long as the nodes they cover, so their lists hold no spare room. The lists are
+	 * reached without the views of the index, which it would otherwise keep.
+	 *
+	 * @param index built index
+	 * @return the index
+	 */
+	private static Map<TemplateId, List<Node>> trim(Map<TemplateId, List<Node>> index) {
+		for (TemplateId templateId : TemplateId.values()) {
+			List<Node> nodes = index.get(templateId);
+			if (nodes != null) {
+				((ArrayList<Node>) nodes).trimToSize();
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Drops the indexes that cover this node, which are held by this node and the nodes above it, along with what
+	 * was found about whether they can be indexed. A node that no index covers has nothing above it to drop.
+	 */
+	private void structureChanged() {
+		Node node = this;
+		while (node != null && node.indexed) {
+			node.indexed = false;
+			node.childIndex = null;
+			node.descendantIndex = null;
+			node = node.parent;
+		}
 	}
 
 	/**
@@ -397,9 +634,8 @@ public class Node {
 				.add("data", data)
 				.add("childNodesSize", childNodes.size())
 				.add("parent", parent == null ? null : "not null")
-				.add("validated", validated)
 				.add("defaultNsUri", defaultNsUri)
-				.add("path", path)
+				.add("path", getPath())
 				.toString();
 	}
 
@@ -421,10 +657,9 @@ public class Node {
 
 		final Node node = (Node)o;
 
-		boolean halfEquals = isValidated() == node.isValidated()
-			&& Objects.equal(getChildNodes(), node.getChildNodes())
+		boolean halfEquals = Objects.equal(childNodes, node.childNodes)
 			&& Objects.equal(data, node.data)
-			&& Objects.equal(duplicateData, node.duplicateData);
+			&& Objects.equal(getDuplicateData(), node.getDuplicateData());
 
 		return halfEquals
 			&& getType() == node.getType()
@@ -439,6 +674,15 @@ public class Node {
 	 */
 	@Override
 	public final int hashCode() {
-		return Objects.hashCode(getChildNodes(), data, duplicateData, getType(), isValidated(), getDefaultNsUri(), getPath());
+		return Objects.hashCode(childNodes, data, getDuplicateData(), getType(), getDefaultNsUri(), getPath());
+	}
+
+	/**
+	 * Duplicates are only allocated for the nodes that have them, a node without is equal to one with none.
+	 *
+	 * @return this node's duplicate values
+	 */
+	private Map<String, List<String>> getDuplicateData() {
+		return duplicateData == null ? Collections.emptyMap() : duplicateData;
 	}
 }
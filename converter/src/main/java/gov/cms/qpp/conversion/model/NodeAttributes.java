@@ -0,0 +1,175 @@
+package gov.cms.qpp.conversion.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Compact store of the named values of a {@link Node}.
+ *
+ * Names are interned into a registry shared by every node that hands out a small number for each distinct name,
+ * so a node holds no more than a pair of arrays sized to the handful of values it actually has. Equality and hash
+ * codes are those of a {@link Map} of the same names and values.
+ */
+final class NodeAttributes {
+
+	private static final Map<String, Integer> KEY_IDS = new ConcurrentHashMap<>();
+	private static final List<String> KEY_NAMES = new CopyOnWriteArrayList<>();
+	private static final int INITIAL_CAPACITY = 4;
+
+	private int[] keys;
+	private String[] values;
+	private int size;
+
+	/**
+	 * Retrieve the value stored under a name
+	 *
+	 * @param name name of the value
+	 * @return the value, or null if there is none
+	 */
+	String get(String name) {
+		int index = indexOf(name);
+		return index < 0 ? null : values[index];
+	}
+
+	/**
+	 * Determines whether a value, null or otherwise, is stored under a name
+	 *
+	 * @param name name of the value
+	 * @return whether there is a value
+	 */
+	boolean contains(String name) {
+		return indexOf(name) >= 0;
+	}
+
+	/**
+	 * Stores a value under a name, replacing any value already stored under it
+	 *
+	 * @param name name of the value
+	 * @param value value to store
+	 */
+	void put(String name, String value) {
+		int index = indexOf(name);
+		if (index < 0) {
+			ensureCapacity();
+			keys[size] = keyOf(name);
+			index = size++;
+		}
+		values[index] = value;
+	}
+
+	/**
+	 * Removes the value stored under a name
+	 *
+	 * @param name name of the value
+	 */
+	void remove(String name) {
+		int index = indexOf(name);
+		if (index >= 0) {
+			size--;
+			System.arraycopy(keys, index + 1, keys, index, size - index);
+			System.arraycopy(values, index + 1, values, index, size - index);
+			values[size] = null;
+		}
+	}
+
+	/**
+	 * Retrieve the names of the stored values
+	 *
+	 * @return unmodifiable set of names, in the order they were first stored
+	 */
+	Set<String> names() {
+		Set<String> names = new LinkedHashSet<>(size * 2);
+		for (int i = 0; i < size; i++) {
+			names.add(KEY_NAMES.get(keys[i]));
+		}
+		return Collections.unmodifiableSet(names);
+	}
+
+	private int indexOf(String name) {
+		Integer key = name == null ? null : KEY_IDS.get(name);
+		return key == null ? -1 : indexOfKey(key);
+	}
+
+	private int indexOfKey(int key) {
+		for (int i = 0; i < size; i++) {
+			if (keys[i] == key) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void ensureCapacity() {
+		if (keys == null) {
+			keys = new int[INITIAL_CAPACITY];
+			values = new String[INITIAL_CAPACITY];
+		} else if (size == keys.length) {
+			keys = Arrays.copyOf(keys, size * 2);
+			values = Arrays.copyOf(values, size * 2);
+		}
+	}
+
+	private static int keyOf(String name) {
+		Integer key = KEY_IDS.get(name);
+		return key != null ? key : register(name);
+	}
+
+	private static synchronized int register(String name) {
+		return KEY_IDS.computeIfAbsent(name, newName -> {
+			KEY_NAMES.add(newName);
+			return KEY_NAMES.size() - 1;
+		});
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+
+		if (!(o instanceof NodeAttributes)) {
+			return false;
+		}
+
+		NodeAttributes that = (NodeAttributes) o;
+		if (size != that.size) {
+			return false;
+		}
+
+		for (int i = 0; i < size; i++) {
+			int index = that.indexOfKey(keys[i]);
+			if (index < 0 || !Objects.equals(values[i], that.values[index])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		for (int i = 0; i < size; i++) {
+			hash += KEY_NAMES.get(keys[i]).hashCode() ^ Objects.hashCode(values[i]);
+		}
+		return hash;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("{");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			builder.append(KEY_NAMES.get(keys[i])).append('=').append(values[i]);
+		}
+		return builder.append('}').toString();
+	}
+}
@@ -5,11 +5,9 @@ import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -17,31 +15,53 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import org.reflections.Reflections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.util.EnvironmentHelper;
 
 /**
  * This class manages the available transformation handlers. Currently it takes
  * the XPATH that the handler will transform.
  * <p>
+ * Handlers are found through the index written at compile time by the {@code HandlerIndexProcessor}.
+ * Lookups are answered from a {@link DispatchTable} that is built once per annotation type and shared by every
+ * registry, until a registry registers a handler of its own.
+ * <p>
+ * Handlers keep no state of their own. What a call works with is handed along with it, in a
+ * {@link gov.cms.qpp.conversion.decode.DecodeState}, {@link gov.cms.qpp.conversion.encode.EncodeState} or
+ * {@link gov.cms.qpp.conversion.validate.ValidationState}. So each handler class is constructed once per registry
+ * and the same instance is handed out for every lookup made with the registry's {@link Context}, on any number of
+ * threads at once.
+ * <p>
  * R is the stored and return interface type.
  * V is the key type to access the registered values.
  */
 public class Registry<R> {
 
+	/**
+	 * Environment variable or system property that has handlers be searched for on the class path in addition to
+	 * those indexed at compile time
+	 */
+	public static final String SCAN_FOR_HANDLERS = "SCAN_FOR_HANDLERS";
+
 	private static final Logger DEV_LOG = LoggerFactory.getLogger(Registry.class);
-	private static final Map<Class<?>, Function<Context, Object>> CONSTRUCTORS = new IdentityHashMap<>();
+	private static final Map<Class<?>, Function<Context, Object>> CONSTRUCTORS = new ConcurrentHashMap<>();
 	private static final Map<Class<? extends Annotation>, Map<ComponentKey, Class<?>>> SHARED_REGISTRY_MAP
 		= new ConcurrentHashMap<>();
+	private static final Map<Class<? extends Annotation>, DispatchTable> SHARED_DISPATCH_TABLES
+		= new ConcurrentHashMap<>();
 
 	private final Context context;
-	private final Map<ComponentKey, Class<?>> registryMap;
 	private final Class<? extends Annotation> annotationClass;
+	private final Map<Class<?>, Object> handlers = new ConcurrentHashMap<>();
+	private final Map<ComponentKey, Set<R>> inclusiveHandlers = new ConcurrentHashMap<>();
+	private Map<ComponentKey, Class<?>> registryMap;
+	private DispatchTable dispatchTable;
+	private boolean shared = true;
 
 	/**
 	 * Registry constructor
@@ -55,18 +75,29 @@ public class Registry<R> {
 
 		this.context = context;
 		this.annotationClass = annotationClass;
-		this.registryMap = new HashMap<>(SHARED_REGISTRY_MAP.computeIfAbsent(annotationClass, this::lookupAnnotatedClasses));
+		this.registryMap = SHARED_REGISTRY_MAP.computeIfAbsent(annotationClass, this::lookupAnnotatedClasses);
+		this.dispatchTable = SHARED_DISPATCH_TABLES.computeIfAbsent(annotationClass,
+				ignore -> new DispatchTable(registryMap));
 	}
 
 	/**
-	 * Searches the class path for types with the given annotation
+	 * Finds the types with the given annotation, as listed by the index written at compile time by
+	 * the {@code HandlerIndexProcessor}. The class path is searched instead when there is no index, and in addition to
+	 * the index when {@link #SCAN_FOR_HANDLERS} is set so that handlers of plugins compiled without the
+	 * processor are found.
 	 *
 	 * @param annotationClass The annotation for which to search
-	 * @return A map of classes with the given annotation
+	 * @return An unmodifiable map of classes with the given annotation
 	 */
-	private Map<ComponentKey, Class<?>> lookupAnnotatedClasses(Class<? extends Annotation> annotationClass) {
-		Reflections reflections = new Reflections("gov.cms");
-		Set<Class<?>> annotatedClasses = reflections.getTypesAnnotatedWith(annotationClass);
+	Map<ComponentKey, Class<?>> lookupAnnotatedClasses(Class<? extends Annotation> annotationClass) {
+		Set<Class<?>> annotatedClasses = HandlerIndex.load(Registry.class.getClassLoader(), annotationClass);
+		if (annotatedClasses == null) {
+			DEV_LOG.warn("No " + annotationClass.getSimpleName() + " index found, searching the class path");
+			annotatedClasses = scanForAnnotatedClasses(annotationClass);
+		} else if (EnvironmentHelper.isPresent(SCAN_FOR_HANDLERS)) {
+			annotatedClasses.addAll(scanForAnnotatedClasses(annotationClass));
+		}
+
 		Map<ComponentKey, Class<?>> registry = new HashMap<>(annotatedClasses.size());
 
 		for (Class<?> annotatedClass : annotatedClasses) {
@@ -75,7 +106,17 @@ public class Registry<R> {
 			}
 		}
 
-		return registry;
+		return Collections.unmodifiableMap(registry);
+	}
+
+	/**
+	 * Searches the class path for types with the given annotation
+	 *
+	 * @param annotationClass The annotation for which to search
+	 * @return classes with the given annotation
+	 */
+	Set<Class<?>> scanForAnnotatedClasses(Class<? extends Annotation> annotationClass) {
+		return new Reflections("gov.cms").getTypesAnnotatedWith(annotationClass);
 	}
 
 	Set<ComponentKey> getComponentKeys(Class<?> annotatedClass) {
@@ -104,22 +145,25 @@ public class Registry<R> {
 	 *
 	 * @param registryKey String
 	 */
+	@SuppressWarnings("unchecked")
 	public R get(TemplateId registryKey) {
-		return instantiateHandler(findHandler(registryKey));
+		return instantiateHandler((Class<? extends R>) dispatchTable.get(context.getProgram(), registryKey));
 	}
 
 	/**
-	 * Instantiate a given handler class.
+	 * Retrieve the instance of a given handler class, instantiating it upon first request.
 	 *
 	 * @param handlerClass the class to instantiate
-	 * @return an instance of the given class
+	 * @return the registry's instance of the given class
 	 */
 	private R instantiateHandler(Class<? extends R> handlerClass) {
 		if (handlerClass == null) {
 			return null;
 		}
 
-		return handlerClass.cast(CONSTRUCTORS.computeIfAbsent(handlerClass, this::createHandler).apply(context));
+		Object handler = handlers.computeIfAbsent(handlerClass,
+				type -> CONSTRUCTORS.computeIfAbsent(type, this::createHandler).apply(context));
+		return handlerClass.cast(handler);
 	}
 
 	/**
@@ -206,72 +250,36 @@ public class Registry<R> {
 	}
 
 	/**
-	 * Retrieve handlers that apply generally and specifically to the given template. The
+	 * Retrieve handlers that apply generally and specifically to the given template. The handlers found for a
+	 * program and template are kept until the next {@link #register(ComponentKey, Class)}.
 	 *
 	 * @param registryKey the template for which handlers will be searched
-	 * @return all applicable handlers
+	 * @return an unmodifiable set of all applicable handlers
 	 */
 	public Set<R> inclusiveGet(TemplateId registryKey) {
-		return findHandlers(getKeys(registryKey, true)).stream()
-				.map(this::instantiateHandler)
-				.collect(Collectors.toCollection(LinkedHashSet<R>::new));
+		return inclusiveHandlers.computeIfAbsent(new ComponentKey(registryKey, context.getProgram()),
+				this::instantiateInclusiveHandlers);
 	}
 
 	/**
-	 * Get a template specific list that specifies the order in which handler classes will be searched.
+	 * Instantiates the handlers that apply generally and specifically to the given key's template and program.
 	 *
-	 * @param registryKey a template id
-	 * @param generalPriority specify the order of specificity i.e. general first or program specific first.
-	 * @return list of component keys
+	 * @param key the template and program for which handlers will be searched
+	 * @return an unmodifiable set of all applicable handlers
 	 */
-	private List<ComponentKey> getKeys(TemplateId registryKey, boolean generalPriority) {
-		Program contextProgram = context.getProgram();
-		if (contextProgram == Program.ALL) {
-			return Collections.singletonList(new ComponentKey(registryKey, contextProgram));
+	@SuppressWarnings("unchecked")
+	private Set<R> instantiateInclusiveHandlers(ComponentKey key) {
+		List<Class<?>> handlerClasses = dispatchTable.inclusiveGet(key.getProgram(), key.getTemplate());
+		Set<R> instances = new LinkedHashSet<>(handlerClasses.size());
+		for (Class<?> handler : handlerClasses) {
+			instances.add(instantiateHandler((Class<? extends R>) handler));
 		}
-
-		List<ComponentKey> returnValue = Arrays.asList(
-				new ComponentKey(registryKey, contextProgram),
-				new ComponentKey(registryKey, Program.ALL));
-		if (generalPriority) {
-			Collections.reverse(returnValue);
-		}
-		return returnValue;
-	}
-
-	/**
-	 * Retrieve a handler for the given template id
-	 *
-	 * @param registryKey template id
-	 * @return handler i.e. {@link Validator}, {@link Decoder} or {@link Encoder}
-	 */
-	private Class<? extends R> findHandler(TemplateId registryKey) {
-		return findHandlers(getKeys(registryKey, false))
-				.stream()
-				.findFirst()
-				.orElse(null);
+		return Collections.unmodifiableSet(instances);
 	}
 
 	/**
-	 * Find and return handler classes that correspond to the given component keys.
-	 *
-	 * @param keys a list of potential {@link Registry#registryMap} keys
-	 * @return ordered set of handler classes
-	 */
-	private Set<Class<? extends R>> findHandlers(List<ComponentKey> keys) {
-		Set<Class<? extends R>> handlers = new LinkedHashSet<>();
-		keys.forEach(key -> {
-			@SuppressWarnings("unchecked")
-			Class<? extends R> handler = (Class<? extends R>) registryMap.get(key);
-			if (handler != null) {
-				handlers.add(handler);
-			}
-		});
-		return handlers;
-	}
-
-	/**
-	 * Means to register a new transformation handler
+	 * Means to register a new transformation handler. The shared mappings are left untouched, this registry
+	 * switches to its own copy of them upon its first registration.
 	 *
 	 * @param registryKey key that identifies a component i.e. a {@link Validator}, {@link Decoder} or {@link Encoder}
 	 * @param handler the keyed {@link Validator}, {@link Decoder} or {@link Encoder}
@@ -285,8 +293,14 @@ public class Registry<R> {
 						+ " both " + registryMap.get(registryKey).getName()
 						+ " and " + handler.getName());
 		}
-		
+
+		if (shared) {
+			registryMap = new HashMap<>(registryMap);
+			shared = false;
+		}
 		registryMap.put(registryKey, handler);
+		dispatchTable = new DispatchTable(registryMap);
+		inclusiveHandlers.clear();
 	}
 
 	public int size() {
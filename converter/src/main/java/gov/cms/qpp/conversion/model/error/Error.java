@@ -2,6 +2,7 @@ package gov.cms.qpp.conversion.model.error;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import com.google.common.base.MoreObjects;
@@ -23,6 +24,9 @@ public class Error implements Serializable {
 	@JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
 	@JsonProperty("details")
 	private List<Detail> details = new ArrayList<>();
+	@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+	@JsonProperty("truncated")
+	private boolean truncated;
 
 	/**
 	 * Constructs an empty {@code Error}.
@@ -117,6 +121,24 @@ public class Error implements Serializable {
 		this.details = details;
 	}
 
+	/**
+	 * Whether the details were cut short because the conversion reached its limit of errors
+	 *
+	 * @return true if there may be more errors than the details list
+	 */
+	public boolean isTruncated() {
+		return truncated;
+	}
+
+	/**
+	 * Sets whether the details were cut short.
+	 *
+	 * @param truncated Whether there may be more errors than the details list
+	 */
+	public void setTruncated(final boolean truncated) {
+		this.truncated = truncated;
+	}
+
 	/**
 	 * addValidationError will add an error to the list of validation errors
 	 *
@@ -137,6 +159,7 @@ public class Error implements Serializable {
 				.add("type", type)
 				.add("message", message)
 				.add("details", details)
+				.add("truncated", truncated)
 				.toString();
 	}
 }
@@ -0,0 +1,66 @@
+package gov.cms.qpp.conversion.model.error;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The number of errors a conversion may report before it stops looking for more.
+ *
+ * One budget is shared by everything reporting errors during a conversion, which may be on several threads.
+ * A budget with a limit of zero or less never runs out.
+ */
+public final class ErrorBudget {
+
+	/**
+	 * A budget that never runs out
+	 */
+	public static final ErrorBudget UNLIMITED = new ErrorBudget(0);
+
+	private final int maxErrors;
+	private final AtomicInteger spent = new AtomicInteger();
+
+	/**
+	 * @param maxErrors the most errors to report, or zero or less for no limit
+	 */
+	public ErrorBudget(int maxErrors) {
+		this.maxErrors = maxErrors;
+	}
+
+	/**
+	 * Gets the most errors to report
+	 *
+	 * @return the limit, or zero or less for no limit
+	 */
+	public int getMaxErrors() {
+		return maxErrors;
+	}
+
+	/**
+	 * Records errors that have been reported
+	 *
+	 * @param errors number of errors
+	 */
+	public void spend(int errors) {
+		if (maxErrors > 0) {
+			spent.addAndGet(errors);
+		}
+	}
+
+	/**
+	 * Whether the errors reported so far have reached the limit
+	 *
+	 * @return true once no more errors need to be looked for
+	 */
+	public boolean isExhausted() {
+		return isExhaustedWith(0);
+	}
+
+	/**
+	 * Whether the errors reported so far, together with errors about to be reported, reach the limit
+	 *
+	 * @param pending errors about to be reported
+	 * @return true if no more errors need to be looked for
+	 */
+	public boolean isExhaustedWith(int pending) {
+		return maxErrors > 0 && spent.get() + pending >= maxErrors;
+	}
+}
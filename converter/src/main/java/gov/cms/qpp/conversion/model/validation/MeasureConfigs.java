@@ -2,73 +2,100 @@ package gov.cms.qpp.conversion.model.validation;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.ByteStreams;
 import org.reflections.util.ClasspathHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Publishes the current {@link MeasureConfigSnapshot}.
+ *
+ * A new snapshot replaces the current one in a single step, so a conversion never sees a mix of two of them.
+ */
 public class MeasureConfigs {
 	private static final Logger DEV_LOG = LoggerFactory.getLogger(MeasureConfigs.class);
 	public static final String DEFAULT_MEASURE_DATA_FILE_NAME = "measures-data.json";
 
-	private static String measureDataFileName = DEFAULT_MEASURE_DATA_FILE_NAME;
-	private static Map<String, MeasureConfig> configurationMap;
+	private static final AtomicReference<MeasureConfigSnapshot> SNAPSHOT =
+			new AtomicReference<>(readSnapshot(DEFAULT_MEASURE_DATA_FILE_NAME));
 
 	/**
-	 * Static initialization
+	 * Empty private constructor for singleton
 	 */
-	static {
-		initMeasureConfigs();
+	private MeasureConfigs() {
+		//empty and private constructor because this is a singleton
+	}
+
+	public static Map<String, MeasureConfig> grabConfiguration(String fileName) {
+		return readSnapshot(fileName).getConfigurationMap();
 	}
 
 	/**
-	 * Empty private constructor for singleton
+	 * Reads measure configurations from the class path, from the {@link MeasureCatalog} compiled from the file
+	 * if there is one and it was compiled from the file as it is now
+	 *
+	 * @param fileName Name of the resource
+	 * @return the configurations
 	 */
-	private MeasureConfigs() {
-		//empty and private constructor because this is a singleton
+	private static MeasureConfigSnapshot readSnapshot(String fileName) {
+		ClassLoader classLoader = ClasspathHelper.contextClassLoader();
+		byte[] json = readJson(() -> classLoader.getResourceAsStream(fileName));
+		InputStream catalog = classLoader.getResourceAsStream(MeasureCatalog.catalogFor(fileName));
+		if (catalog != null) {
+			try (InputStream catalogInput = catalog) {
+				return MeasureCatalog.read(catalogInput, json);
+			} catch (IOException e) {
+				DEV_LOG.warn("Unable to read the measure catalog of " + fileName + ", reading the json instead", e);
+			}
+		}
+		return readSnapshot(json);
 	}
 
 	/**
-	 * Initialize all measure configurations
+	 * Reads measure configurations from the file system
+	 *
+	 * @param file Path of the file
+	 * @return the configurations
 	 */
-	private static void initMeasureConfigs() {
-		configurationMap = grabConfiguration(measureDataFileName);
+	private static MeasureConfigSnapshot readSnapshot(Path file) {
+		return readSnapshot(readJson(() -> Files.newInputStream(file)));
 	}
 
-	public static Map<String, MeasureConfig> grabConfiguration(String fileName) {
+	private static MeasureConfigSnapshot readSnapshot(byte[] json) {
 		ObjectMapper mapper = new ObjectMapper();
 
-		InputStream measuresInput = ClasspathHelper.contextClassLoader().getResourceAsStream(fileName);
-
 		try {
 			TypeReference<List<MeasureConfig>> measureConfigType = new TypeReference<List<MeasureConfig>>() {};
-			List<MeasureConfig> configurations = mapper.readValue(measuresInput, measureConfigType);
-			return configurations.stream()
-					.collect(Collectors.toMap(MeasureConfigs::getMeasureId, Function.identity()));
+			List<MeasureConfig> configurations = mapper.readValue(json, measureConfigType);
+			return new MeasureConfigSnapshot(configurations);
 		} catch (IOException e) {
-			String message = "failure to correctly read measures config json";
-			DEV_LOG.error(message);
-			throw new IllegalArgumentException(message, e);
+			throw failedToRead(e);
 		}
 	}
 
-	/**
-	 * Finds the first existing guid, electronicMeasureId, or measureId that exists for an aci, ia, or ecqm section
-	 *
-	 * @param measureConfig Measure configuration that contains the identifiers
-	 * @return An identifier
-	 */
-	private static String getMeasureId(MeasureConfig measureConfig) {
-		String guid = measureConfig.getElectronicMeasureVerUuid();
-		String electronicMeasureId = measureConfig.getElectronicMeasureId();
-		String measureId = measureConfig.getMeasureId();
-		return (guid != null ? guid : (electronicMeasureId != null ? electronicMeasureId : measureId));
+	private static byte[] readJson(MeasuresInput input) {
+		try (InputStream measuresInput = input.open()) {
+			if (measuresInput == null) {
+				throw new IOException("No measures config json");
+			}
+			return ByteStreams.toByteArray(measuresInput);
+		} catch (IOException e) {
+			throw failedToRead(e);
+		}
+	}
+
+	private static IllegalArgumentException failedToRead(IOException e) {
+		String message = "failure to correctly read measures config json";
+		DEV_LOG.error(message);
+		return new IllegalArgumentException(message, e);
 	}
 
 	/**
@@ -77,12 +104,31 @@ public class MeasureConfigs {
 	 * @param fileName Name to be used
 	 */
 	public static void setMeasureDataFile(String fileName) {
-		measureDataFileName = fileName;
-		initMeasureConfigs();
+		SNAPSHOT.set(readSnapshot(fileName));
+	}
+
+	/**
+	 * Initializes the measure configurations from a file outside the class path. The current configurations
+	 * are kept if the file cannot be read.
+	 *
+	 * @param file Path of the file
+	 */
+	public static void setMeasureDataFile(Path file) {
+		SNAPSHOT.set(readSnapshot(file));
+	}
+
+	/**
+	 * Retrieves the current measure configurations. Hold on to the snapshot for as long as its configurations need
+	 * to agree with each other.
+	 *
+	 * @return the current snapshot
+	 */
+	public static MeasureConfigSnapshot getSnapshot() {
+		return SNAPSHOT.get();
 	}
 
 	public static List<MeasureConfig> getMeasureConfigs() {
-		return configurationMap.values().stream().collect(Collectors.toList());
+		return getSnapshot().getMeasureConfigs();
 	}
 
 	/**
@@ -91,7 +137,7 @@ public class MeasureConfigs {
 	 * @return mapped configurations
 	 */
 	public static Map<String, MeasureConfig> getConfigurationMap() {
-		return configurationMap;
+		return getSnapshot().getConfigurationMap();
 	}
 
 	/**
@@ -101,10 +147,14 @@ public class MeasureConfigs {
 	 * @return The list of required measures
 	 */
 	public static List<String> requiredMeasuresForSection(String section) {
+		return getSnapshot().requiredMeasuresForSection(section);
+	}
 
-		return configurationMap.values().stream()
-			.filter(measureConfig -> measureConfig.isRequired() && section.equals(measureConfig.getCategory()))
-			.map(MeasureConfigs::getMeasureId)
-			.collect(Collectors.toList());
+	/**
+	 * Opens the measures configuration json
+	 */
+	@FunctionalInterface
+	private interface MeasuresInput {
+		InputStream open() throws IOException;
 	}
 }
@@ -0,0 +1,107 @@
+package gov.cms.qpp.conversion.model.validation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * Reloads the {@link MeasureConfigs} whenever a measures data file on the file system changes.
+ *
+ * Conversions already under way keep the snapshot they started with. A change that cannot be read, such as a file
+ * caught halfway through being written, leaves the current configurations in place until the next change.
+ */
+public final class MeasureDataFileWatcher implements Closeable {
+
+	private static final Logger DEV_LOG = LoggerFactory.getLogger(MeasureDataFileWatcher.class);
+
+	private final Path file;
+	private final WatchService watchService;
+
+	private MeasureDataFileWatcher(Path file, WatchService watchService) {
+		this.file = file;
+		this.watchService = watchService;
+	}
+
+	/**
+	 * Loads the measure configurations from a file and reloads them on a background thread whenever it changes
+	 *
+	 * @param file Path of the measures data file
+	 * @return the watcher, which stops watching once closed
+	 * @throws IOException if the directory of the file cannot be watched
+	 * @throws IllegalArgumentException if the file cannot be read
+	 */
+	public static MeasureDataFileWatcher watch(Path file) throws IOException {
+		Path absolute = file.toAbsolutePath();
+		MeasureConfigs.setMeasureDataFile(absolute);
+
+		WatchService watchService = absolute.getFileSystem().newWatchService();
+		absolute.getParent().register(watchService,
+				StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+		MeasureDataFileWatcher watcher = new MeasureDataFileWatcher(absolute, watchService);
+		Thread thread = new Thread(watcher::watchForChanges, "MeasureDataFileWatcher");
+		thread.setDaemon(true);
+		thread.start();
+		return watcher;
+	}
+
+	/**
+	 * Gets the watched file
+	 *
+	 * @return absolute path of the measures data file
+	 */
+	public Path getFile() {
+		return file;
+	}
+
+	private void watchForChanges() {
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				if (key.pollEvents().stream().anyMatch(this::isWatchedFile)) {
+					reload();
+				}
+				key.reset();
+			}
+		} catch (ClosedWatchServiceException e) {
+			DEV_LOG.info("Stopped watching {}", file);
+		} catch (InterruptedException e) {
+			DEV_LOG.info("Stopped watching {}", file);
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private boolean isWatchedFile(WatchEvent<?> event) {
+		return file.getFileName().equals(event.context());
+	}
+
+	/**
+	 * Publishes the configurations in the watched file, keeping the current ones if it cannot be read
+	 */
+	void reload() {
+		try {
+			MeasureConfigs.setMeasureDataFile(file);
+			DEV_LOG.info("Reloaded measure configurations from {}", file);
+		} catch (IllegalArgumentException | IllegalStateException e) {
+			DEV_LOG.warn("Keeping the current measure configurations, " + file + " could not be read", e);
+		}
+	}
+
+	/**
+	 * Stops watching the file
+	 *
+	 * @throws IOException if the watch service fails to close
+	 */
+	@Override
+	public void close() throws IOException {
+		watchService.close();
+	}
+}
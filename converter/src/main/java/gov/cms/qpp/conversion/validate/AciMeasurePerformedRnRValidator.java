@@ -20,11 +20,12 @@ public class AciMeasurePerformedRnRValidator extends NodeValidator {
 	/**
 	 * internalValidateSingleNode Checks that this node has a child and that the node contains a valid measureId
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node Node parsed xml fragment under consideration
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
-		thoroughlyCheck(node)
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
+		state.thoroughlyCheck(node)
 			.hasChildren(MEASURE_PERFORMED_IS_REQUIRED)
 			.childMinimum(MEASURE_PERFORMED_IS_REQUIRED, 1, TemplateId.MEASURE_PERFORMED)
 			.childMaximum(MEASURE_PERFORMED_CAN_ONLY_BE_PRESENT_ONCE, 1, TemplateId.MEASURE_PERFORMED)
@@ -35,13 +35,14 @@ public class AciNumeratorDenominatorValidator extends NodeValidator {
 	 * <li>ACI Numerator Denominator Type Measure nodes have one and only one denominator node.</li>
 	 * </ul>
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node The node that represents an ACI Numerator Denominator Type Measure.
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
 
 		//the aci numerator denominator measure node must have an aci section node as parent
-		Checker nodeChecker = check(node).hasParent(NO_PARENT_SECTION, TemplateId.ACI_SECTION);
+		Checker nodeChecker = state.check(node).hasParent(NO_PARENT_SECTION, TemplateId.ACI_SECTION);
 		//the aci numerator denominator measure node must have a numerator node and a denominator node as children
 		validateChildren(nodeChecker);
 	}
@@ -21,11 +21,12 @@ public class AciSectionValidator extends NodeValidator {
 	 * <li>One and only one reporting parameter exists.</li>
 	 * </ul>
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node An ACI section node.
 	 */
 	@Override
-	protected void internalValidateSingleNode(final Node node) {
-		thoroughlyCheck(node)
+	protected void internalValidateSingleNode(final ValidationState state, final Node node) {
+		state.thoroughlyCheck(node)
 				.childMinimum(MINIMUM_REPORTING_PARAM_REQUIREMENT_ERROR, 1,
 						TemplateId.REPORTING_PARAMETERS_ACT)
 				.childMaximum(MINIMUM_REPORTING_PARAM_REQUIREMENT_ERROR, 1,
@@ -21,11 +21,12 @@ public class AggregateCountValidator extends NodeValidator {
 	 * <li>An integer value named "aggregateCount" was decoded from the source element</li>
 	 * </ul>
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node Node that represents a Aggregate Count.
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
-		check(node)
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
+		state.check(node)
 			.singleValue(VALUE_ERROR, "aggregateCount")
 			.intValue(TYPE_ERROR, "aggregateCount");
 	}
@@ -4,40 +4,49 @@ import com.google.common.base.Strings;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.model.error.Detail;
+import gov.cms.qpp.conversion.model.error.ErrorBudget;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
-import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Node checker DSL to help abbreviate / simplify single node validations
+ *
+ * A checker holds no more than the node it checks and where its errors go, so it is cheap to create one for each
+ * check. Children are counted from the node's own index, and a message is only formatted with its
+ * {@link #messageArguments(Object...) arguments} when a check fails.
  */
 class Checker {
 	private static final Logger DEV_LOG = LoggerFactory.getLogger(Checker.class);
-	private Node node;
-	private Set<Detail> details;
-	private boolean anded;
-	private Map<TemplateId, AtomicInteger> nodeCount;
+	private final Node node;
+	private final Set<Detail> details;
+	private final ValidatedNodes validatedNodes;
+	private final ErrorBudget errorBudget;
+	private final boolean anded;
 	private Comparable<?> lastAppraised;
+	private Object[] messageArguments;
 
-	private Checker(Node node, Set<Detail> details, boolean anded) {
+	/**
+	 * Creates a checker for a node, marking the node as validated
+	 *
+	 * @param node node to be validated
+	 * @param details holder for validation errors
+	 * @param validatedNodes nodes the validation run has validated
+	 * @param errorBudget errors the validation run may still report
+	 * @param anded whether checks are skipped once one fails
+	 */
+	private Checker(Node node, Set<Detail> details, ValidatedNodes validatedNodes, ErrorBudget errorBudget,
+			boolean anded) {
 		this.node = node;
 		this.details = details;
+		this.validatedNodes = validatedNodes;
+		this.errorBudget = errorBudget;
 		this.anded = anded;
-		this.nodeCount = new EnumMap<>(TemplateId.class);
-		node.getChildNodes()
-			.stream()
-			.map(Node::getType)
-			.forEach(type -> this.nodeCount.computeIfAbsent(type, key -> new AtomicInteger()).incrementAndGet());
-		this.node.setValidated(true);
+		validatedNodes.mark(node, true);
 	}
 
 	/**
@@ -48,7 +57,20 @@ class Checker {
 	 * @return The checker, for chaining method calls.
 	 */
 	static Checker check(Node node, Set<Detail> details) {
-		return new Checker(node, details, true);
+		return check(node, details, new ValidatedNodes(), ErrorBudget.UNLIMITED);
+	}
+
+	/**
+	 * static factory that returns a shortcut validator
+	 *
+	 * @param node node to be validated
+	 * @param details holder for validation errors
+	 * @param validatedNodes nodes the validation run has validated
+	 * @param errorBudget errors the validation run may still report
+	 * @return The checker, for chaining method calls.
+	 */
+	static Checker check(Node node, Set<Detail> details, ValidatedNodes validatedNodes, ErrorBudget errorBudget) {
+		return new Checker(node, details, validatedNodes, errorBudget, true);
 	}
 
 	/**
@@ -59,16 +81,61 @@ class Checker {
 	 * @return The checker, for chaining method calls.
 	 */
 	static Checker thoroughlyCheck(Node node, Set<Detail> details) {
-		return new Checker(node, details, false);
+		return thoroughlyCheck(node, details, new ValidatedNodes(), ErrorBudget.UNLIMITED);
 	}
 
 	/**
-	 * Governs whether or not a check should be performed based on prior anded check failures.
+	 * static factory that returns a non-shortcut validator
+	 *
+	 * @param node node to be validated
+	 * @param details holder for validation errors
+	 * @param validatedNodes nodes the validation run has validated
+	 * @param errorBudget errors the validation run may still report
+	 * @return The checker, for chaining method calls.
+	 */
+	static Checker thoroughlyCheck(Node node, Set<Detail> details, ValidatedNodes validatedNodes,
+			ErrorBudget errorBudget) {
+		return new Checker(node, details, validatedNodes, errorBudget, false);
+	}
+
+	/**
+	 * Governs whether or not a check should be performed based on prior anded check failures
+	 * or an exhausted error budget.
 	 *
 	 * @return determination as to whether or not a check should be performed
 	 */
 	private boolean shouldShortcut() {
-		return anded && !details.isEmpty();
+		return (anded && !details.isEmpty()) || isOverBudget();
+	}
+
+	/**
+	 * Whether the validation run has found as many errors as it needs to.
+	 *
+	 * @return determination as to whether or not any more errors should be looked for
+	 */
+	private boolean isOverBudget() {
+		return errorBudget.isExhaustedWith(details.size());
+	}
+
+	/**
+	 * Records an error for the target node
+	 *
+	 * @param message error message, formatted with the message arguments if there are any
+	 */
+	private void addDetail(String message) {
+		String text = messageArguments == null ? message : String.format(message, messageArguments);
+		details.add(new Detail(text, node.getPath()));
+	}
+
+	/**
+	 * Sets the arguments to format into the messages of the checks that follow, should they fail.
+	 *
+	 * @param arguments format arguments
+	 * @return The checker, for chaining method calls.
+	 */
+	public Checker messageArguments(Object... arguments) {
+		messageArguments = arguments;
+		return this;
 	}
 
 	/**
@@ -81,7 +148,7 @@ class Checker {
 	public Checker value(String message, String name) {
 		lastAppraised = node.getValue(name);
 		if (!shouldShortcut() && lastAppraised == null) {
-			details.add(new Detail(message, node.getPath()));
+			addDetail(message);
 		}
 		return this;
 	}
@@ -96,7 +163,7 @@ class Checker {
 	public Checker valueIsEmpty(String message, String name) {
 		lastAppraised = node.getValue(name);
 		if (!shouldShortcut() && !Strings.isNullOrEmpty((String)lastAppraised)) {
-			details.add(new Detail(message, node.getPath()));
+			addDetail(message);
 		}
 		return this;
 	}
@@ -111,7 +178,7 @@ class Checker {
 	public Checker valueIsNotEmpty(String message, String name) {
 		lastAppraised = node.getValue(name);
 		if (!shouldShortcut() && Strings.isNullOrEmpty((String)lastAppraised)) {
-			details.add(new Detail(message, node.getPath()));
+			addDetail(message);
 		}
 		return this;
 	}
@@ -126,8 +193,8 @@ class Checker {
 	public Checker singleValue(String message, String name) {
 		value(message, name);
 		List<String> duplicates = node.getDuplicateValues(name);
-		if (duplicates != null && !duplicates.isEmpty()) {
-			details.add(new Detail(message, node.getPath()));
+		if (!isOverBudget() && duplicates != null && !duplicates.isEmpty()) {
+			addDetail(message);
 		}
 		return this;
 	}
@@ -179,7 +246,7 @@ class Checker {
 
 	private void setErrorMessage(String message) {
 		if (! shouldShortcut()) {
-			details.add(new Detail(message, node.getPath()));
+			addDetail(message);
 		}
 	}
 
@@ -196,7 +263,7 @@ class Checker {
 				lastAppraised = Integer.parseInt(node.getValue(name));
 			} catch (NumberFormatException ex) {
 				DEV_LOG.warn("Problem with non int value: " + node.getValue(name), ex);
-				details.add(new Detail(message, node.getPath()));
+				addDetail(message);
 			}
 		}
 		return this;
@@ -212,7 +279,7 @@ class Checker {
 	@SuppressWarnings("unchecked")
 	public Checker greaterThan(String message, Comparable<?> value) {
 		if (!shouldShortcut() && lastAppraised != null && ((Comparable<Object>) lastAppraised).compareTo(value) <= 0) {
-			details.add(new Detail(message, node.getPath()));
+			addDetail(message);
 		}
 		lastAppraised = null;
 		return this;
@@ -228,7 +295,7 @@ class Checker {
 	@SuppressWarnings("unchecked")
 	public Checker lessThanOrEqualTo(String message, Comparable<?> value) {
 		if (!shouldShortcut() && lastAppraised != null && ((Comparable<Object>) lastAppraised).compareTo(value) > 0) {
-			details.add(new Detail(message, node.getPath()));
+			addDetail(message);
 		}
 		lastAppraised = null;
 		return this;
@@ -250,11 +317,11 @@ class Checker {
 				lastAppraised = Float.parseFloat(node.getValue(name));
 				if (((Comparable<Float>) lastAppraised).compareTo(startValue) < 0
 						|| ((Comparable<Float>) lastAppraised).compareTo(endValue) > 0) {
-					details.add(new Detail(message, node.getPath()));
+					addDetail(message);
 				}
 			} catch (NumberFormatException | NullPointerException exc) {
 				DEV_LOG.warn("Problem with non float value: " + node.getValue(name), exc);
-				details.add(new Detail(message, node.getPath()));
+				addDetail(message);
 			}
 		}
 		return this;
@@ -268,10 +335,10 @@ class Checker {
 	 */
 	public Checker hasParent(String message, TemplateId type) {
 		if (!shouldShortcut()) {
-			TemplateId parentType = Optional.ofNullable(node.getParent())
-					.orElse(new Node()).getType();
+			Node parent = node.getParent();
+			TemplateId parentType = parent == null ? TemplateId.DEFAULT : parent.getType();
 			if (parentType != type) {
-				details.add(new Detail(message, node.getPath()));
+				addDetail(message);
 			}
 		}
 		return this;
@@ -285,7 +352,7 @@ class Checker {
 	 */
 	public Checker hasChildren(String message) {
 		if (!shouldShortcut() && node.getChildNodes().isEmpty()) {
-			details.add(new Detail(message, node.getPath()));
+			addDetail(message);
 		}
 		return this;
 	}
@@ -302,7 +369,7 @@ class Checker {
 		if (!shouldShortcut()) {
 			int count = tallyNodes(types);
 			if (count < minimum) {
-				details.add(new Detail(message, node.getPath()));
+				addDetail(message);
 			}
 		}
 		return this;
@@ -320,7 +387,7 @@ class Checker {
 		if (!shouldShortcut()) {
 			int count = tallyNodes(types);
 			if (count > maximum) {
-				details.add(new Detail(message, node.getPath()));
+				addDetail(message);
 			}
 		}
 		return this;
@@ -351,7 +418,7 @@ class Checker {
 			}).count();
 
 			if (numberOfMeasuresRequired != numNodesWithWantedMeasureIds) {
-				details.add(new Detail(message, node.getPath()));
+				addDetail(message);
 			}
 		}
 		return this;
@@ -375,7 +442,7 @@ class Checker {
 				.stream()
 				.allMatch(childNode -> templateIds.contains(childNode.getType()));
 			if (!valid) {
-				details.add(new Detail(message, node.getPath()));
+				addDetail(message);
 			}
 		}
 		return this;
@@ -387,7 +454,7 @@ class Checker {
 	 * @return The checker, for chaining method calls.
 	 */
 	public Checker incompleteValidation() {
-		node.setValidated(false);
+		validatedNodes.mark(node, false);
 		return this;
 	}
 
@@ -398,10 +465,10 @@ class Checker {
 	 * @return count
 	 */
 	private int tallyNodes(TemplateId... types) {
-		return Arrays.stream(types)
-			.map(nodeCount::get)
-			.filter(Objects::nonNull)
-			.mapToInt(AtomicInteger::get)
-			.sum();
+		int count = 0;
+		for (TemplateId type : types) {
+			count += node.countChildNodes(type);
+		}
+		return count;
 	}
 }
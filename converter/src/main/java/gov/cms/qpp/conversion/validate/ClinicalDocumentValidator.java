@@ -31,11 +31,12 @@ public class ClinicalDocumentValidator extends NodeValidator {
 	 * </ul>
 	 * </p>
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node Node that represents a Clinical Document.
 	 */
 	@Override
-	protected void internalValidateSingleNode(final Node node) {
-		thoroughlyCheck(node)
+	protected void internalValidateSingleNode(final ValidationState state, final Node node) {
+		state.thoroughlyCheck(node)
 			.childMinimum(ONE_CHILD_REQUIRED, 1, TemplateId.ACI_SECTION, TemplateId.IA_SECTION, TemplateId.MEASURE_SECTION_V2)
 			.childMaximum(CONTAINS_DUPLICATE_ACI_SECTIONS, 1, TemplateId.ACI_SECTION)
 			.childMaximum(CONTAINS_DUPLICATE_IA_SECTIONS, 1, TemplateId.IA_SECTION)
@@ -26,15 +26,17 @@ public class CommonNumeratorDenominatorValidator extends NodeValidator {
 	 * internalValidateSingleNode inspects the node for certain validations.
 	 * Will add validation errors if any exist
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node Node parsed xml fragment under consideration
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
-		check(node).hasChildren(String.format(NO_CHILDREN, nodeName))
-				.childMinimum(String.format(INCORRECT_CHILD, nodeName), 1, TemplateId.ACI_AGGREGATE_COUNT)
-				.childMaximum(String.format(TOO_MANY_CHILDREN, nodeName), 1, TemplateId.ACI_AGGREGATE_COUNT);
-		if (getDetails().isEmpty()) {
-			validateAggregateCount(
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
+		state.check(node).messageArguments(nodeName)
+				.hasChildren(NO_CHILDREN)
+				.childMinimum(INCORRECT_CHILD, 1, TemplateId.ACI_AGGREGATE_COUNT)
+				.childMaximum(TOO_MANY_CHILDREN, 1, TemplateId.ACI_AGGREGATE_COUNT);
+		if (state.getDetails().isEmpty()) {
+			validateAggregateCount(state,
 					node.findFirstNode(TemplateId.ACI_AGGREGATE_COUNT));
 		}
 	}
@@ -44,13 +46,13 @@ public class CommonNumeratorDenominatorValidator extends NodeValidator {
 	 * {@link TemplateId#ACI_AGGREGATE_COUNT} node as validated to prevent duplicate
 	 * validation by the {@link AggregateCountValidator}
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param aggregateCountNode aggregate count node
 	 */
-	private void validateAggregateCount(Node aggregateCountNode) {
-		String invalidMessage = String.format(INVALID_VALUE, nodeName);
-		check(aggregateCountNode)
-				.singleValue(invalidMessage, AGGREGATE_COUNT_FIELD)
-				.intValue(String.format(NOT_AN_INTEGER_VALUE, nodeName), AGGREGATE_COUNT_FIELD)
-				.greaterThan(invalidMessage, -1);
+	private void validateAggregateCount(ValidationState state, Node aggregateCountNode) {
+		state.check(aggregateCountNode).messageArguments(nodeName)
+				.singleValue(INVALID_VALUE, AGGREGATE_COUNT_FIELD)
+				.intValue(NOT_AN_INTEGER_VALUE, AGGREGATE_COUNT_FIELD)
+				.greaterThan(INVALID_VALUE, -1);
 	}
 }
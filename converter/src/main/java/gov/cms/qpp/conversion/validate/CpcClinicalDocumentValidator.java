@@ -21,11 +21,12 @@ public class CpcClinicalDocumentValidator extends NodeValidator {
 	/**
 	 * Validates a single clinical document node
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node The node to validate.
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
-			check(node)
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
+			state.check(node)
 					.valueIsNotEmpty(MISSING_PRACTICE_SITE_ADDRESS, ClinicalDocumentDecoder.PRACTICE_SITE_ADDR)
 					.singleValue(ONLY_ONE_APM_ALLOWED, ClinicalDocumentDecoder.ENTITY_ID)
 					.childMinimum(ONE_MEASURE_SECTION_REQUIRED, 1, TemplateId.MEASURE_SECTION_V2);
@@ -18,11 +18,12 @@ public class CpcNpiTinCombinationValidation extends NodeValidator {
 	/**
 	 * Validates the NPI/TIN Combination within the QRDA Category III Report V3 section
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node The node to validate.
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
-		check(node)
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
+		state.check(node)
 			.childMinimum(AT_LEAST_ONE_NPI_TIN_COMBINATION, 1, TemplateId.NPI_TIN_ID);
 	}
 }
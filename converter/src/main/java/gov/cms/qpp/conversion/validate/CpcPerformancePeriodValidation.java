@@ -19,11 +19,12 @@ public class CpcPerformancePeriodValidation extends NodeValidator {
 	/**
 	 * Validates the NPI/TIN Combination within the QRDA Category III Report V3 section
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node The node to validate.
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
-		check(node)
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
+		state.check(node)
 			.valueIs(PERFORMANCE_START_JAN12017, ReportingParametersActDecoder.PERFORMANCE_START, "20170101")
 			.valueIs(PERFORMANCE_END_DEC312017, ReportingParametersActDecoder.PERFORMANCE_END, "20171231");
 	}
@@ -8,7 +8,6 @@ import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.model.Validator;
 import gov.cms.qpp.conversion.model.error.Detail;
 import gov.cms.qpp.conversion.model.validation.MeasureConfig;
-import gov.cms.qpp.conversion.model.validation.MeasureConfigs;
 import gov.cms.qpp.conversion.model.validation.SubPopulation;
 import gov.cms.qpp.conversion.model.validation.SubPopulations;
 
@@ -40,49 +39,52 @@ public class CpcQualityMeasureIdValidator extends QualityMeasureIdValidator {
 	 * <ul>
 	 *     <li>checks that the node contains the correct number of performance rates</li>
 	 * </ul>
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node The node to validate.
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
-		super.internalValidateSingleNode(node);
-		Map<String, MeasureConfig> configurationMap = MeasureConfigs.getConfigurationMap();
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
+		super.internalValidateSingleNode(state, node);
+		Map<String, MeasureConfig> configurationMap = state.getMeasureConfigs().getConfigurationMap();
 		String value = node.getValue(MEASURE_ID);
 		MeasureConfig measureConfig = configurationMap.get(value);
 		int requiredPerformanceRateCount = measureConfig.getStrata().size();
 
-		thoroughlyCheck(node)
-				.childMinimum(String.format(INVALID_PERFORMANCE_RATE_COUNT, requiredPerformanceRateCount),
+		state.thoroughlyCheck(node).messageArguments(requiredPerformanceRateCount)
+				.childMinimum(INVALID_PERFORMANCE_RATE_COUNT,
 						requiredPerformanceRateCount, TemplateId.PERFORMANCE_RATE_PROPORTION_MEASURE)
-				.childMaximum(String.format(INVALID_PERFORMANCE_RATE_COUNT, requiredPerformanceRateCount),
+				.childMaximum(INVALID_PERFORMANCE_RATE_COUNT,
 						requiredPerformanceRateCount, TemplateId.PERFORMANCE_RATE_PROPORTION_MEASURE);
 
 	}
 
 	@Override
-	List<Consumer<Node>> prepValidations(SubPopulation subPopulation) {
+	List<Consumer<PopulationIndex>> prepValidations(ValidationState state, SubPopulation subPopulation) {
 		return Arrays.asList(
-				makeValidator(subPopulation, subPopulation::getDenominatorExceptionsUuid, SubPopulations.DENEXCEP),
-				makeValidator(subPopulation, subPopulation::getDenominatorExclusionsUuid, SubPopulations.DENEX),
-				makeValidator(subPopulation, subPopulation::getNumeratorUuid, SubPopulations.NUMER),
-				makeValidator(subPopulation, subPopulation::getDenominatorUuid, SubPopulations.DENOM),
-				makeValidator(subPopulation, subPopulation::getInitialPopulationUuid,
+				makeValidator(state, subPopulation, subPopulation::getDenominatorExceptionsUuid, SubPopulations.DENEXCEP),
+				makeValidator(state, subPopulation, subPopulation::getDenominatorExclusionsUuid, SubPopulations.DENEX),
+				makeValidator(state, subPopulation, subPopulation::getNumeratorUuid, SubPopulations.NUMER),
+				makeValidator(state, subPopulation, subPopulation::getDenominatorUuid, SubPopulations.DENOM),
+				makeValidator(state, subPopulation, subPopulation::getInitialPopulationUuid,
 						SubPopulations.IPOP, SubPopulations.IPP),
-				makePerformanceRateUuidValidator(subPopulation::getNumeratorUuid, PERFORMANCE_RATE_ID));
+				makePerformanceRateUuidValidator(state, subPopulation::getNumeratorUuid, PERFORMANCE_RATE_ID));
 	}
 
 	/**
 	 * Method for Performance Rate Uuid validations
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param check a property existence check
 	 * @param keys that identify measures
 	 * @return a callback / consumer that will perform a measure specific validation against a given
 	 * node.
 	 */
-	private Consumer<Node> makePerformanceRateUuidValidator(Supplier<Object> check, String... keys) {
-		return node -> {
+	private Consumer<PopulationIndex> makePerformanceRateUuidValidator(ValidationState state, Supplier<Object> check, String... keys) {
+		return populations -> {
 			if (check.get() != null) {
+				Node node = populations.getMeasure();
 				Predicate<Node> childUuidFinder =
-						makeUuidChildFinder(check, SINGLE_PERFORMANCE_RATE, PERFORMANCE_RATE_ID);
+						makeUuidChildFinder(state, check, SINGLE_PERFORMANCE_RATE, PERFORMANCE_RATE_ID);
 
 				Node existingUuidChild = node
 						.getChildNodes(TemplateId.PERFORMANCE_RATE_PROPORTION_MEASURE)
@@ -91,7 +93,7 @@ public class CpcQualityMeasureIdValidator extends QualityMeasureIdValidator {
 						.orElse(null);
 
 				if (existingUuidChild == null) {
-					addMeasureConfigurationValidationMessage(check, keys, node);
+					addMeasureConfigurationValidationMessage(state, check, keys, node);
 				}
 			}
 		};
@@ -100,11 +102,12 @@ public class CpcQualityMeasureIdValidator extends QualityMeasureIdValidator {
 	/**
 	 * Validate measure strata
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node measure node
 	 * @param sub sub population constituent ids
 	 */
 	@Override
-	protected void followUpHook(Node node, SubPopulation sub) {
+	protected void followUpHook(ValidationState state, Node node, SubPopulation sub) {
 		List<Node> strataNodes = node.getChildNodes(TemplateId.REPORTING_STRATUM_CMS)
 				.collect(Collectors.toList());
 
@@ -113,7 +116,7 @@ public class CpcQualityMeasureIdValidator extends QualityMeasureIdValidator {
 					node.getValue(MeasureDataDecoder.MEASURE_TYPE),
 					node.getValue(MEASURE_POPULATION),
 					sub.getStrata());
-			this.getDetails().add(new Detail(message, node.getPath()));
+			state.getDetails().add(new Detail(message, node.getPath()));
 		}
 
 		sub.getStrata().forEach(stratum -> {
@@ -124,7 +127,7 @@ public class CpcQualityMeasureIdValidator extends QualityMeasureIdValidator {
 				String message = String.format(MISSING_STRATA, stratum,
 						node.getValue(MeasureDataDecoder.MEASURE_TYPE),
 						node.getValue(MEASURE_POPULATION));
-				this.getDetails().add(new Detail(message, node.getPath()));
+				state.getDetails().add(new Detail(message, node.getPath()));
 			}
 		});
 	}
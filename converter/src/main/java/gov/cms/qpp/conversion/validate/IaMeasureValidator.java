@@ -23,11 +23,12 @@ public class IaMeasureValidator extends NodeValidator {
 	 * <li>The string value is either a Y or an N</li>
 	 * </ul>
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node Node that represents a IA Measure Performed.
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
-		Checker.check(node, getDetails())
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
+		state.check(node)
 				.childMinimum(INCORRECT_CHILDREN_COUNT, 1, TemplateId.MEASURE_PERFORMED)
 				.childMaximum(INCORRECT_CHILDREN_COUNT, 1, TemplateId.MEASURE_PERFORMED);
 	}
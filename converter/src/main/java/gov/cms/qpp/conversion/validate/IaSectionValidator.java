@@ -19,11 +19,12 @@ public class IaSectionValidator extends NodeValidator {
 	/**
 	 * Validates a single IA Section node to ensure at least one Improvement Activity Measure exists
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node The node to validate.
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
-		check(node)
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
+		state.check(node)
 				.childMinimum(MINIMUM_REQUIREMENT_ERROR, 1, TemplateId.IA_MEASURE)
 				.childMinimum(REPORTING_PARAM_REQUIREMENT_ERROR, 1,
 						TemplateId.REPORTING_PARAMETERS_ACT)
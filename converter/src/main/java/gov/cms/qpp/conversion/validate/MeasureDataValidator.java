@@ -22,18 +22,19 @@ public class MeasureDataValidator extends NodeValidator {
 	 *    <li>The string value is an integer/li>
 	 *</ul>
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node Node that represents a IA Measure Performed.
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
-		check(node)
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
+		state.check(node)
 				.hasChildren(MISSING_AGGREGATE_COUNT)
 				.childMinimum(MISSING_AGGREGATE_COUNT, 1, TemplateId.ACI_AGGREGATE_COUNT)
 				.childMaximum(MISSING_AGGREGATE_COUNT, 1, TemplateId.ACI_AGGREGATE_COUNT);
 
-		if (getDetails().isEmpty()) {
+		if (state.getDetails().isEmpty()) {
 			Node child = node.findFirstNode(TemplateId.ACI_AGGREGATE_COUNT);
-			check(child)
+			state.check(child)
 					.singleValue(AggregateCountValidator.VALUE_ERROR, "aggregateCount")
 					.intValue(AggregateCountValidator.TYPE_ERROR, "aggregateCount")
 					.greaterThan(INVALID_VALUE, -1);
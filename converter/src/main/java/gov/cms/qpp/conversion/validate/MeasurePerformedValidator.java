@@ -16,11 +16,12 @@ public class MeasurePerformedValidator extends NodeValidator {
 	 * An string value named "measurePerformed" was decoded from the source element<
 	 * The string value is either a Y or an N
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node Node that represents a Measure Performed.
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
-		check(node)
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
+		state.check(node)
 			.singleValue(IaMeasureValidator.TYPE_ERROR, FIELD)
 			.valueIn(IaMeasureValidator.TYPE_ERROR, FIELD, BOOLEAN_VALUES);
 	}
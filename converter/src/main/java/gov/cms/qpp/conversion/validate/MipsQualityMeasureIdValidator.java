@@ -7,7 +7,6 @@ import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.model.Validator;
 import gov.cms.qpp.conversion.model.error.Detail;
 import gov.cms.qpp.conversion.model.validation.MeasureConfig;
-import gov.cms.qpp.conversion.model.validation.MeasureConfigs;
 import gov.cms.qpp.conversion.model.validation.SubPopulation;
 import gov.cms.qpp.conversion.model.validation.SubPopulations;
 import java.util.Arrays;
@@ -35,37 +34,39 @@ public class MipsQualityMeasureIdValidator extends QualityMeasureIdValidator {
 	 * <ul>
 	 *     <li>Checks that existing performance rates are valid</li>
 	 * </ul>
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node The node to validate.
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
-		super.internalValidateSingleNode(node);
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
+		super.internalValidateSingleNode(state, node);
 
-		Map<String, MeasureConfig> configurationMap = MeasureConfigs.getConfigurationMap();
+		Map<String, MeasureConfig> configurationMap = state.getMeasureConfigs().getConfigurationMap();
 		String value = node.getValue(MEASURE_ID);
 		MeasureConfig measureConfig = configurationMap.get(value);
 
 		if (measureConfig != null) {
 			List<SubPopulation> subPopulations = measureConfig.getSubPopulation();
-			validateExistingPerformanceRates(node, subPopulations);
+			validateExistingPerformanceRates(state, node, subPopulations);
 		}
 	}
 
 	@Override
-	List<Consumer<Node>> prepValidations(SubPopulation subPopulation) {
-		return Arrays.asList(makeValidator(subPopulation, subPopulation::getDenominatorExceptionsUuid, SubPopulations.DENEXCEP),
-				makeValidator(subPopulation, subPopulation::getDenominatorExclusionsUuid, SubPopulations.DENEX),
-				makeValidator(subPopulation, subPopulation::getNumeratorUuid, SubPopulations.NUMER),
-				makeValidator(subPopulation, subPopulation::getDenominatorUuid, SubPopulations.DENOM));
+	List<Consumer<PopulationIndex>> prepValidations(ValidationState state, SubPopulation subPopulation) {
+		return Arrays.asList(makeValidator(state, subPopulation, subPopulation::getDenominatorExceptionsUuid, SubPopulations.DENEXCEP),
+				makeValidator(state, subPopulation, subPopulation::getDenominatorExclusionsUuid, SubPopulations.DENEX),
+				makeValidator(state, subPopulation, subPopulation::getNumeratorUuid, SubPopulations.NUMER),
+				makeValidator(state, subPopulation, subPopulation::getDenominatorUuid, SubPopulations.DENOM));
 	}
 
 	/**
 	 * Validates performance rates that were decoded
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node The current parent node
 	 * @param subPopulations The current sub population
 	 */
-	private void validateExistingPerformanceRates(Node node, List<SubPopulation> subPopulations) {
+	private void validateExistingPerformanceRates(ValidationState state, Node node, List<SubPopulation> subPopulations) {
 		if (subPopulations.isEmpty()) {
 			return;
 		}
@@ -74,19 +75,20 @@ public class MipsQualityMeasureIdValidator extends QualityMeasureIdValidator {
 				.collect(Collectors.toList());
 
 		for (Node performanceRateNode: performanceRateNodes) {
-			validatePerformanceRateUuid(node, subPopulations, performanceRateNode);
+			validatePerformanceRateUuid(state, node, subPopulations, performanceRateNode);
 		}
 	}
 
 	/**
 	 * Validates an individual performance rate
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node The current parent node
 	 * @param subPopulations The current sub population
 	 * @param performanceRateNode The current performance rate node
 	 */
-	private void validatePerformanceRateUuid(Node node, List<SubPopulation> subPopulations, Node performanceRateNode) {
-		validatePerformanceRateUuidExists(performanceRateNode);
+	private void validatePerformanceRateUuid(ValidationState state, Node node, List<SubPopulation> subPopulations, Node performanceRateNode) {
+		validatePerformanceRateUuidExists(state, performanceRateNode);
 
 		String performanceUuid = performanceRateNode.getValue(PERFORMANCE_RATE_ID);
 
@@ -97,7 +99,7 @@ public class MipsQualityMeasureIdValidator extends QualityMeasureIdValidator {
 					.orElse(null);
 
 			if (subPopulation == null) {
-				addPerformanceRateValidationMessage(node, performanceUuid);
+				addPerformanceRateValidationMessage(state, node, performanceUuid);
 			}
 		}
 	}
@@ -105,10 +107,11 @@ public class MipsQualityMeasureIdValidator extends QualityMeasureIdValidator {
 	/**
 	 * Validates if the performance rate uuid exists.
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param performanceRateNode The current performance rate node
 	 */
-	private void validatePerformanceRateUuidExists(Node performanceRateNode) {
-		thoroughlyCheck(performanceRateNode)
+	private void validatePerformanceRateUuidExists(ValidationState state, Node performanceRateNode) {
+		state.thoroughlyCheck(performanceRateNode)
 				.incompleteValidation()
 				.singleValue(SINGLE_PERFORMANCE_RATE, PERFORMANCE_RATE_ID);
 	}
@@ -127,14 +130,15 @@ public class MipsQualityMeasureIdValidator extends QualityMeasureIdValidator {
 	/**
 	 * Adds a validation error message for a specified Performance Rate
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node The current parent node of performance rate
 	 * @param performanceUuid The current performance rate uuid
 	 */
-	private void addPerformanceRateValidationMessage(Node node, String performanceUuid) {
+	private void addPerformanceRateValidationMessage(ValidationState state, Node node, String performanceUuid) {
 		MeasureConfig config =
-				MeasureConfigs.getConfigurationMap().get(node.getValue(MEASURE_ID));
+				state.getMeasureConfigs().getConfigurationMap().get(node.getValue(MEASURE_ID));
 		String message = String.format(INCORRECT_PERFORMANCE_UUID, config.getElectronicMeasureId(),
 				PERFORMANCE_RATE_ID, performanceUuid);
-		this.getDetails().add(new Detail(message, node.getPath()));
+		state.getDetails().add(new Detail(message, node.getPath()));
 	}
 }
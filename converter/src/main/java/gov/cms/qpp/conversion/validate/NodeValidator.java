@@ -4,10 +4,11 @@ import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.model.Validator;
 import gov.cms.qpp.conversion.model.error.Detail;
+import gov.cms.qpp.conversion.model.error.ErrorBudget;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -17,7 +18,6 @@ public abstract class NodeValidator {
 
 	private static final Logger DEV_LOG = LoggerFactory.getLogger(NodeValidator.class);
 	private final TemplateId template;
-	private Set<Detail> details = new LinkedHashSet<>();
 
 	public NodeValidator() {
 		Validator val = this.getClass().getAnnotation(Validator.class);
@@ -26,35 +26,36 @@ public abstract class NodeValidator {
 
 	/**
 	 * Validates a single {@link gov.cms.qpp.conversion.model.Node} and returns the list
-	 * of {@link Detail}s for that node.
+	 * of {@link Detail}s for that node. Each call collects into a set of its own, so one validator
+	 * may be used for any number of nodes.
 	 *
 	 * @param node The node to validate.
 	 * @return List of errors determined for the node paramter.
-	 * @see #internalValidateSingleNode(Node)
+	 * @see #internalValidateSingleNode(ValidationState, Node)
 	 */
 	public Set<Detail> validateSingleNode(final Node node) {
-		DEV_LOG.debug("Using " + template + " validator (class: " + this.getClass().getName() + ") to validate " + node);
-		internalValidateSingleNode(node);
-		return getDetails();
+		return validateSingleNode(node, new ValidationState(template));
 	}
 
 	/**
-	 * Used by child classes to get the current list of validation errors they have added.
+	 * Validates a single {@link gov.cms.qpp.conversion.model.Node} as part of a validation run.
 	 *
-	 * @return The current list of validation errors.
+	 * @param node The node to validate.
+	 * @param runValidatedNodes The nodes the run has validated, which the validation adds to.
+	 * @param runErrorBudget The errors the run may still report. Checks stop once it is exhausted.
+	 * @param runMeasureConfigs The measure configurations the run uses.
+	 * @return List of errors determined for the node paramter.
 	 */
-	protected Set<Detail> getDetails() {
-		return details;
+	Set<Detail> validateSingleNode(final Node node, final ValidatedNodes runValidatedNodes,
+			final ErrorBudget runErrorBudget, final MeasureConfigSnapshot runMeasureConfigs) {
+		return validateSingleNode(node,
+				new ValidationState(template, runValidatedNodes, runErrorBudget, runMeasureConfigs));
 	}
 
-	/**
-	 * Used by child classes to add a {@link Detail}.
-	 *
-	 * @param newError The error to add to the list.
-	 */
-	protected void addValidationError(final Detail newError) {
-		logValidationError(newError);
-		details.add(newError);
+	private Set<Detail> validateSingleNode(final Node node, final ValidationState state) {
+		DEV_LOG.debug("Using " + template + " validator (class: " + this.getClass().getName() + ") to validate " + node);
+		internalValidateSingleNode(state, node);
+		return state.getDetails();
 	}
 
 	/**
@@ -62,18 +63,15 @@ public abstract class NodeValidator {
 	 *
 	 * <p>
 	 * The implementation should validate the {@link gov.cms.qpp.conversion.model.Node} passed in.  If an error is
-	 * found, the child class must call {@link #addValidationError(Detail)} for it to be reported.  The
+	 * found, the child class must call {@link ValidationState#addValidationError(Detail)} for it to be reported.  The
 	 * Node argument will have the same ID as the templateId of the
 	 * {@link gov.cms.qpp.conversion.model.Validator}.
 	 * </p>
 	 *
+	 * @param state The state of this validation, which collects the errors found.
 	 * @param node The node to validate.
 	 */
-	protected abstract void internalValidateSingleNode(final Node node);
-
-	private void logValidationError(final Detail newError) {
-		DEV_LOG.debug("Error '{}' added for templateId {}", newError, getTemplateId());
-	}
+	protected abstract void internalValidateSingleNode(final ValidationState state, final Node node);
 
 	/**
 	 * Get the node validator's corresponding template id.
@@ -84,12 +82,4 @@ public abstract class NodeValidator {
 		final Validator validator = this.getClass().getAnnotation(Validator.class);
 		return (null != validator) ? validator.value() : null;
 	}
-
-	protected Checker check(Node node) {
-		return Checker.check(node, this.getDetails());
-	}
-
-	Checker thoroughlyCheck(Node node) {
-		return Checker.thoroughlyCheck(node, this.getDetails());
-	}
 }
@@ -17,11 +17,12 @@ public class NpiTinCombinationValidation extends NodeValidator {
 	/**
 	 * Validates the NPI/TIN Combination within the QRDA Category III Report V3 section
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node The node to validate.
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
-		check(node).childMinimum(CLINICAL_DOCUMENT_REQUIRED, 1, TemplateId.CLINICAL_DOCUMENT)
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
+		state.check(node).childMinimum(CLINICAL_DOCUMENT_REQUIRED, 1, TemplateId.CLINICAL_DOCUMENT)
 			.childMaximum(EXACTLY_ONE_DOCUMENT_ALLOWED, 1, TemplateId.CLINICAL_DOCUMENT);
 	}
 }
@@ -17,12 +17,13 @@ public class PerformanceRateValidator extends NodeValidator {
 	/**
 	 * Validates that the node given contains a value in range of 0-1 or null attribute
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node The node to validate.
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
 		if (!NULL_ATTRIBUTE.equals(node.getValue(PerformanceRateProportionMeasureDecoder.NULL_PERFORMANCE_RATE))) {
-			check(node)
+			state.check(node)
 					.inDecimalRangeOf(INVALID_PERFORMANCE_RATE,
 							PerformanceRateProportionMeasureDecoder.PERFORMANCE_RATE, 0F, 1F);
 		}
@@ -0,0 +1,99 @@
+package gov.cms.qpp.conversion.validate;
+
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.TemplateId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static gov.cms.qpp.conversion.decode.MeasureDataDecoder.MEASURE_POPULATION;
+import static gov.cms.qpp.conversion.decode.MeasureDataDecoder.MEASURE_TYPE;
+
+/**
+ * The {@link TemplateId#MEASURE_DATA_CMS_V2} children of a Measure Reference Results node, looked up by
+ * population type and by population UUID.
+ *
+ * An index is built once for each measure a validation looks at and is confined to that validation.
+ */
+final class PopulationIndex {
+
+	private final Node measure;
+	private final List<Node> measureData;
+	private final Map<String, List<Node>> byType = new HashMap<>();
+	private final Map<String, List<Node>> byPopulation = new HashMap<>();
+	private final Set<Node> checked = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * @param measure the Measure Reference Results node
+	 */
+	PopulationIndex(Node measure) {
+		this.measure = measure;
+		this.measureData = measure.getChildNodes(TemplateId.MEASURE_DATA_CMS_V2).collect(Collectors.toList());
+		for (Node node : measureData) {
+			byType.computeIfAbsent(node.getValue(MEASURE_TYPE), type -> new ArrayList<>()).add(node);
+			String population = node.getValue(MEASURE_POPULATION);
+			if (population != null) {
+				byPopulation.computeIfAbsent(population, uuid -> new ArrayList<>()).add(node);
+			}
+		}
+	}
+
+	/**
+	 * @return the Measure Reference Results node
+	 */
+	Node getMeasure() {
+		return measure;
+	}
+
+	/**
+	 * @return every measure data node, in document order
+	 */
+	List<Node> getMeasureData() {
+		return measureData;
+	}
+
+	/**
+	 * Retrieves the measure data nodes of a population type
+	 *
+	 * @param type population type i.e. "DENOM", "NUMER", ...
+	 * @return the nodes, in document order
+	 */
+	List<Node> ofType(String type) {
+		return byType.getOrDefault(type, Collections.emptyList());
+	}
+
+	/**
+	 * Finds the first measure data node of one of the given population types with the given population UUID
+	 *
+	 * @param uuid population UUID
+	 * @param types population types i.e. "IPOP", "IPP"
+	 * @return the node, or null if there is none
+	 */
+	Node find(Object uuid, String... types) {
+		List<Node> candidates = byPopulation.getOrDefault(uuid, Collections.emptyList());
+		List<String> wanted = Arrays.asList(types);
+		for (Node candidate : candidates) {
+			if (wanted.contains(candidate.getValue(MEASURE_TYPE))) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Records that a measure data node has been checked for a population UUID
+	 *
+	 * @param node measure data node
+	 * @return true the first time a node is recorded, false afterwards
+	 */
+	boolean markChecked(Node node) {
+		return checked.add(node);
+	}
+}
@@ -6,29 +6,56 @@ import gov.cms.qpp.conversion.model.Registry;
 import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.model.Validator;
 import gov.cms.qpp.conversion.model.error.Detail;
+import gov.cms.qpp.conversion.model.error.ErrorBudget;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigSnapshot;
 import gov.cms.qpp.conversion.segmentation.QrdaScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * The engine that executes the VALIDATORS on the entire hierarchy of {@link gov.cms.qpp.conversion.model.Node}s.
+ * The validators that apply to a template id, given the program and scope of the context, are settled once per
+ * template id and reused for the rest of the hierarchy.
+ *
+ * When the context asks for {@link Context#isParallelValidation() parallel validation} the children of the nodes
+ * near the root, such as the sections and their measures, are validated as fork join tasks. Anything deeper is
+ * validated on the task of its ancestor. The details are still reported in document order.
+ *
+ * Validation stops looking for errors once the {@link ErrorBudget} of the run is exhausted.
  */
 public class QrdaValidator {
 	private static final Logger DEV_LOG = LoggerFactory.getLogger(QrdaValidator.class);
 
+	/**
+	 * Children of nodes this deep are validated on the task of their parent, as such small subtrees cost less to
+	 * validate than to fork
+	 */
+	static final int FORK_DEPTH = 2;
+
 	private final List<Detail> details = new ArrayList<>();
 	private final Set<TemplateId> scope;
 	private final Registry<NodeValidator> validators;
+	private final Map<TemplateId, List<NodeValidator>> plans = new ConcurrentHashMap<>();
+	private final boolean parallel;
+	private final int maxErrors;
+	private final MeasureConfigSnapshot measureConfigs;
+	private ErrorBudget errorBudget = ErrorBudget.UNLIMITED;
 
 	public QrdaValidator(Context context) {
 		this.validators = context.getRegistry(Validator.class);
 		this.scope = context.hasScope() ? QrdaScope.getTemplates(context.getScope()) : null;
+		this.parallel = context.isParallelValidation();
+		this.maxErrors = context.getMaxErrors();
+		this.measureConfigs = context.getMeasureConfigs();
 	}
 
 	/**
@@ -38,10 +65,28 @@ public class QrdaValidator {
 	 * @return The list of validation errors for the entire tree of nodes.
 	 */
 	public List<Detail> validate(Node rootNode) {
+		return validate(rootNode, new ErrorBudget(maxErrors));
+	}
+
+	/**
+	 * Validate all the {@link gov.cms.qpp.conversion.model.Node}s from the passed in Node and on down,
+	 * until the given budget of errors is exhausted.
+	 *
+	 * @param rootNode The root node that all other nodes descend from.
+	 * @param errorBudget The errors the validation may report, which it spends.
+	 * @return The list of validation errors for the tree of nodes. There may be more than the budget allows.
+	 */
+	public List<Detail> validate(Node rootNode, ErrorBudget errorBudget) {
 		DEV_LOG.info("Validating all nodes in the tree");
+		this.errorBudget = errorBudget;
 
 		//validate each node while traversing the tree
-		validateTree(rootNode);
+		ValidatedNodes validatedNodes = new ValidatedNodes();
+		if (parallel) {
+			details.addAll(ForkJoinPool.commonPool().invoke(new SubtreeValidation(rootNode, validatedNodes, 0)));
+		} else {
+			validateTree(rootNode, validatedNodes, details);
+		}
 
 		return details;
 	}
@@ -50,43 +95,81 @@ public class QrdaValidator {
 	 * Validates the {@link gov.cms.qpp.conversion.model.Node} and all of its children.
 	 *
 	 * @param node The root node to start validating from.
+	 * @param validatedNodes The nodes validated so far.
+	 * @param found Collects the validation errors.
 	 */
-	private void validateTree(final Node node) {
-		validateSingleNode(node);
+	private void validateTree(final Node node, final ValidatedNodes validatedNodes, final List<Detail> found) {
+		if (errorBudget.isExhausted()) {
+			return;
+		}
+
+		validateSingleNode(node, validatedNodes, found);
 
-		validateChildren(node);
+		validateChildren(node, validatedNodes, found);
 	}
 
 	/**
 	 * Validates a single {@link gov.cms.qpp.conversion.model.Node} based on its ID.
 	 *
 	 * @param node The node to validate.
+	 * @param validatedNodes The nodes validated so far.
+	 * @param found Collects the validation errors.
 	 */
-	private void validateSingleNode(final Node node) {
-		getValidators(node.getType())
-			.filter(this::isValidationRequired)
-			.forEach(validatorForNode -> {
-				Set<Detail> nodeErrors = validatorForNode.validateSingleNode(node);
-				details.addAll(nodeErrors);
-			});
+	private void validateSingleNode(final Node node, final ValidatedNodes validatedNodes, final List<Detail> found) {
+		for (NodeValidator validatorForNode : getValidators(node.getType())) {
+			if (errorBudget.isExhausted()) {
+				return;
+			}
+			Set<Detail> nodeDetails = validatorForNode.validateSingleNode(node, validatedNodes, errorBudget,
+					measureConfigs);
+			errorBudget.spend(nodeDetails.size());
+			found.addAll(nodeDetails);
+		}
 	}
 
 	/**
-	 * Retrieve permitted {@link Validator}s. {@link #scope} is used to determine which VALIDATORS are allowable.
+	 * Retrieve the required {@link Validator}s permitted by {@link #scope}. They are worked out the first time a
+	 * template id is seen and reused for every later node of the template id.
 	 *
 	 * @param templateId string representation of a would be validator's template id
 	 * @return validators that correspond to the given template id
 	 */
-	private Stream<NodeValidator> getValidators(TemplateId templateId) {
-		Set<NodeValidator> nodeValidators = validators.inclusiveGet(templateId);
-		return nodeValidators.stream()
-				.filter(Objects::nonNull)
-				.filter(nodeValidator -> {
-					Validator validator = nodeValidator.getClass().getAnnotation(Validator.class);
-					TemplateId template = validator == null ? TemplateId.DEFAULT : validator.value();
-					return scope == null || scope.contains(template);
-				})
-				.distinct();
+	private List<NodeValidator> getValidators(TemplateId templateId) {
+		if (templateId == null) {
+			return Collections.emptyList();
+		}
+		return plans.computeIfAbsent(templateId, this::planValidators);
+	}
+
+	/**
+	 * Works out the required {@link Validator}s permitted by {@link #scope} for a template id.
+	 *
+	 * @param templateId string representation of a would be validator's template id
+	 * @return unmodifiable list of the validators that correspond to the given template id
+	 */
+	private List<NodeValidator> planValidators(TemplateId templateId) {
+		List<NodeValidator> plan = new ArrayList<>();
+		for (NodeValidator nodeValidator : validators.inclusiveGet(templateId)) {
+			if (nodeValidator != null && isInScope(nodeValidator) && isValidationRequired(nodeValidator)) {
+				plan.add(nodeValidator);
+			}
+		}
+		return Collections.unmodifiableList(plan);
+	}
+
+	/**
+	 * Determines whether {@link #scope} permits a {@link gov.cms.qpp.conversion.validate.NodeValidator}.
+	 *
+	 * @param nodeValidator The NodeValidator
+	 * @return Whether the NodeValidator may validate.
+	 */
+	private boolean isInScope(NodeValidator nodeValidator) {
+		if (scope == null) {
+			return true;
+		}
+		Validator validator = getAnnotation(nodeValidator);
+		TemplateId template = validator == null ? TemplateId.DEFAULT : validator.value();
+		return scope.contains(template);
 	}
 
 	/**
@@ -115,10 +198,69 @@ public class QrdaValidator {
 	 * Validates all the children of the passed in {@link gov.cms.qpp.conversion.model.Node}.
 	 *
 	 * @param parentNode The children of this node are validated.
+	 * @param validatedNodes The nodes validated so far.
+	 * @param found Collects the validation errors.
+	 */
+	private void validateChildren(final Node parentNode, final ValidatedNodes validatedNodes,
+			final List<Detail> found) {
+		for (Node childNode : parentNode.getChildNodes()) {
+			if (!validatedNodes.isValidated(childNode)) {
+				validateTree(childNode, validatedNodes, found);
+			}
+		}
+	}
+
+	/**
+	 * Validates a {@link gov.cms.qpp.conversion.model.Node}, then each of its children on a task of its own
+	 * until the subtrees are {@link #FORK_DEPTH} deep.
 	 */
-	private void validateChildren(final Node parentNode) {
-		parentNode.getChildNodes().stream()
-				.filter(Node::isNotValidated)
-				.forEach(this::validateTree);
+	private final class SubtreeValidation extends RecursiveTask<List<Detail>> {
+		private static final long serialVersionUID = 1L;
+
+		private final transient Node node;
+		private final transient ValidatedNodes validatedNodes;
+		private final int depth;
+
+		/**
+		 * @param node The root of the subtree
+		 * @param validatedNodes The layer of validated nodes for the subtree
+		 * @param depth How far the root of the subtree is from the root of the hierarchy
+		 */
+		private SubtreeValidation(Node node, ValidatedNodes validatedNodes, int depth) {
+			this.node = node;
+			this.validatedNodes = validatedNodes;
+			this.depth = depth;
+		}
+
+		/**
+		 * @return The validation errors of the subtree in document order.
+		 */
+		@Override
+		protected List<Detail> compute() {
+			List<Detail> found = new ArrayList<>();
+			if (errorBudget.isExhausted()) {
+				return found;
+			}
+
+			validateSingleNode(node, validatedNodes, found);
+
+			if (depth >= FORK_DEPTH) {
+				validateChildren(node, validatedNodes, found);
+				return found;
+			}
+
+			List<SubtreeValidation> subtrees = new ArrayList<>();
+			for (Node childNode : node.getChildNodes()) {
+				if (!validatedNodes.isValidated(childNode)) {
+					subtrees.add(new SubtreeValidation(childNode, validatedNodes.fork(), depth + 1));
+				}
+			}
+			invokeAll(subtrees);
+
+			for (SubtreeValidation subtree : subtrees) {
+				found.addAll(subtree.join());
+			}
+			return found;
+		}
 	}
 }
@@ -5,7 +5,6 @@ import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.model.error.Detail;
 import gov.cms.qpp.conversion.model.validation.MeasureConfig;
-import gov.cms.qpp.conversion.model.validation.MeasureConfigs;
 import gov.cms.qpp.conversion.model.validation.SubPopulation;
 import gov.cms.qpp.conversion.model.validation.SubPopulations;
 import java.util.Arrays;
@@ -17,8 +16,6 @@ import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,8 +27,6 @@ import static gov.cms.qpp.conversion.decode.MeasureDataDecoder.MEASURE_TYPE;
  */
 abstract class QualityMeasureIdValidator extends NodeValidator {
 	Set<String> subPopulationExclusions = Collections.emptySet();
-	protected static final Set<String> IPOP = Stream.of("IPP", "IPOP")
-			.collect(Collectors.toSet());
 	private static final Logger DEV_LOG = LoggerFactory.getLogger(QualityMeasureIdValidator.class);
 
 	public static final String MEASURE_ID = "measureId";
@@ -62,36 +57,38 @@ abstract class QualityMeasureIdValidator extends NodeValidator {
 	 *	 <li>And validates the sub-populations</li>
 	 * </ul>
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node The node to validate.
 	 */
 	@Override
-	protected void internalValidateSingleNode(final Node node) {
+	protected void internalValidateSingleNode(final ValidationState state, final Node node) {
 		//It is possible that we have a Measure in the input that we have not defined in
 		//the meta data measures-data.json
 		//This should not be an error
 
-		thoroughlyCheck(node)
+		state.thoroughlyCheck(node)
 				.singleValue(MEASURE_GUID_MISSING, MEASURE_ID)
 				.childMinimum(NO_CHILD_MEASURE, 1, TemplateId.MEASURE_DATA_CMS_V2);
-		validateMeasureConfigs(node);
+		validateMeasureConfigs(state, node);
 	}
 
 	/**
 	 * Validate measure configurations
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node to validate
 	 */
-	private void validateMeasureConfigs(Node node) {
-		Map<String, MeasureConfig> configurationMap = MeasureConfigs.getConfigurationMap();
+	private void validateMeasureConfigs(ValidationState state, Node node) {
+		Map<String, MeasureConfig> configurationMap = state.getMeasureConfigs().getConfigurationMap();
 		String value = node.getValue(MEASURE_ID);
 		MeasureConfig measureConfig = configurationMap.get(value);
 
 		if (measureConfig != null) {
-			validateAllSubPopulations(node, measureConfig);
+			validateAllSubPopulations(state, node, measureConfig);
 		} else {
 			if (value != null) { // This check has already been made and a detail will exist if value is null.
 				DEV_LOG.error("MEASURE_GUID_MISSING " + value);
-				this.addValidationError(new Detail(MEASURE_GUID_MISSING, node.getPath()));
+				state.addValidationError(new Detail(MEASURE_GUID_MISSING, node.getPath()));
 			}
 		}
 	}
@@ -99,95 +96,91 @@ abstract class QualityMeasureIdValidator extends NodeValidator {
 	/**
 	 * Validates all the sub populations in the quality measure based on the measure configuration
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node The current parent node
 	 * @param measureConfig The measure configuration's sub population to use
 	 */
-	void validateAllSubPopulations(final Node node, final MeasureConfig measureConfig) {
+	void validateAllSubPopulations(final ValidationState state, final Node node, final MeasureConfig measureConfig) {
 		List<SubPopulation> subPopulations = measureConfig.getSubPopulation();
 
 		if (subPopulations.isEmpty()) {
 			return;
 		}
 
+		PopulationIndex populations = indexPopulations(state, node);
+
 		SubPopulations.getExclusiveKeys(subPopulationExclusions)
-				.forEach(key -> validateChildTypeCount(subPopulations, key, node));
+				.forEach(key -> validateChildTypeCount(state, subPopulations, key, populations));
 
 		for (SubPopulation subPopulation : subPopulations) {
-			validateSubPopulation(node, subPopulation);
+			validateSubPopulation(state, populations, subPopulation);
 		}
 	}
 
+	/**
+	 * Indexes the measure data of a measure, checking each has a single measure type along the way
+	 *
+	 * @param state The state of the validation, which collects its errors.
+	 * @param node The current parent node
+	 * @return the index of the measure data
+	 */
+	private PopulationIndex indexPopulations(ValidationState state, Node node) {
+		PopulationIndex populations = new PopulationIndex(node);
+		for (Node measureData : populations.getMeasureData()) {
+			state.thoroughlyCheck(measureData)
+					.incompleteValidation()
+					.singleValue(SINGLE_MEASURE_TYPE, MEASURE_TYPE);
+		}
+		return populations;
+	}
+
 	/**
 	 * Validate individual sub-populations.
 	 *
-	 * @param node          to validate
+	 * @param state The state of the validation, which collects its errors.
+	 * @param populations   measure data of the measure to validate
 	 * @param subPopulation a grouping of measures
 	 */
-	private void validateSubPopulation(Node node, SubPopulation subPopulation) {
-		List<Consumer<Node>> validations = prepValidations(subPopulation);
-		validations.forEach(validate -> validate.accept(node));
+	private void validateSubPopulation(ValidationState state, PopulationIndex populations, SubPopulation subPopulation) {
+		List<Consumer<PopulationIndex>> validations = prepValidations(state, subPopulation);
+		validations.forEach(validate -> validate.accept(populations));
 
-		validateDenomCountToIpopCount(node, subPopulation);
+		validateDenomCountToIpopCount(state, populations, subPopulation);
 	}
 
 
-	abstract List<Consumer<Node>> prepValidations(SubPopulation subPopulation);
+	abstract List<Consumer<PopulationIndex>> prepValidations(ValidationState state, SubPopulation subPopulation);
 
 	/**
 	 * Validation check for Denominator and Numerator counts of the same Sub Population
 	 *
-	 * @param node The current parent node
+	 * @param state The state of the validation, which collects its errors.
+	 * @param populations measure data of the current parent node
 	 * @param subPopulation the current sub population
 	 */
-	private void validateDenomCountToIpopCount(Node node, SubPopulation subPopulation) {
-		Node denomNode = getDenominatorNodeFromCurrentSubPopulation(node, subPopulation);
+	private void validateDenomCountToIpopCount(ValidationState state, PopulationIndex populations, SubPopulation subPopulation) {
+		Node denomNode = populations.find(subPopulation.getDenominatorUuid(), SubPopulations.DENOM);
 
-		Node ipopNode = getIpopNodeFromCurrentSubPopulation(node, subPopulation);
+		Node ipopNode = populations.find(subPopulation.getInitialPopulationUuid(),
+				SubPopulations.IPOP, SubPopulations.IPP);
 
 		if (denomNode != null && ipopNode != null) {
 			Node denomCount = denomNode.findFirstNode(TemplateId.ACI_AGGREGATE_COUNT);
 			Node ipopCount = ipopNode.findFirstNode(TemplateId.ACI_AGGREGATE_COUNT);
 
-			validateDenominatorCount(denomCount, ipopCount);
+			validateDenominatorCount(state, denomCount, ipopCount);
 		}
 	}
 
-	/**
-	 * Retrieves the Denominator from the current Sub Population given
-	 *
-	 * @param node The current parent node
-	 * @param subPopulation The current sub population holding the denominator UUID
-	 * @return the denominator node filtered by sub population or null if not found
-	 */
-	private Node getDenominatorNodeFromCurrentSubPopulation(Node node, SubPopulation subPopulation) {
-		return node.getChildNodes(TemplateId.MEASURE_DATA_CMS_V2).filter(thisNode ->
-				SubPopulations.DENOM.equals(thisNode.getValue(MEASURE_TYPE))
-						&& subPopulation.getDenominatorUuid().equals(thisNode.getValue(MEASURE_POPULATION)))
-				.findFirst().orElse(null);
-	}
-
-	/**
-	 * Retrieves the Initial Population from the current Sub Population given
-	 *
-	 * @param node The current parent node
-	 * @param subPopulation The current sub population holding the initial population UUID
-	 * @return the initial population node filtered by sub population or null if not found
-	 */
-	private Node getIpopNodeFromCurrentSubPopulation(Node node, SubPopulation subPopulation) {
-		return node.getChildNodes(TemplateId.MEASURE_DATA_CMS_V2).filter(thisNode ->
-				(IPOP.contains(thisNode.getValue(MEASURE_TYPE)))
-						&& subPopulation.getInitialPopulationUuid().equals(thisNode.getValue(MEASURE_POPULATION)))
-				.findFirst().orElse(null);
-	}
-
 	/**
 	 * Performs a validation on the Denominator node's aggregate count to the Initial Population node's aggregate count
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param denomCount Aggregate Count node of denominator
 	 * @param ipopCount Aggregate Count node of initial population
 	 */
-	private void validateDenominatorCount(Node denomCount, Node ipopCount) {
-		thoroughlyCheck(denomCount)
+	private void validateDenominatorCount(ValidationState state, Node denomCount, Node ipopCount) {
+		state.thoroughlyCheck(denomCount)
 				.incompleteValidation()
 				.intValue(AggregateCountValidator.TYPE_ERROR,
 						AggregateCountDecoder.AGGREGATE_COUNT)
@@ -198,111 +191,119 @@ abstract class QualityMeasureIdValidator extends NodeValidator {
 	/**
 	 * Validates that given subpopulations have the correct number of a given type
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param subPopulations The subpopulations to test against
 	 * @param key The type to check
-	 * @param node The node in which the child nodes live
+	 * @param populations measure data of the node in which the child nodes live
 	 */
-	private void validateChildTypeCount(List<SubPopulation> subPopulations, String key, Node node) {
+	private void validateChildTypeCount(ValidationState state, List<SubPopulation> subPopulations, String key,
+			PopulationIndex populations) {
 		long expectedChildTypeCount = subPopulations.stream()
 				.map(subPopulation -> SubPopulations.getUniqueIdForKey(key, subPopulation))
 				.filter(Objects::nonNull)
 				.count();
 
-		Predicate<Node> childTypeFinder = makeTypeChildFinder(key);
-		long actualChildTypeCount = node.getChildNodes(TemplateId.MEASURE_DATA_CMS_V2).filter(childTypeFinder).count();
+		long actualChildTypeCount = populations.ofType(key).size();
 
 		if (expectedChildTypeCount != actualChildTypeCount) {
+			Node node = populations.getMeasure();
 			MeasureConfig config =
-					MeasureConfigs.getConfigurationMap().get(node.getValue(MEASURE_ID));
+					state.getMeasureConfigs().getConfigurationMap().get(node.getValue(MEASURE_ID));
 			String message = String.format(INCORRECT_POPULATION_CRITERIA_COUNT,
 					config.getElectronicMeasureId(), expectedChildTypeCount, key, actualChildTypeCount);
-			this.getDetails().add(new Detail(message, node.getPath()));
+			state.getDetails().add(new Detail(message, node.getPath()));
 		}
 	}
 
 	/**
 	 * Method template for measure validations.
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param check a property existence check
 	 * @param keys that identify measure
 	 * @return a callback / consumer that will perform a measure specific validation against a given
 	 * node.
 	 */
-	Consumer<Node> makeValidator(SubPopulation sub, Supplier<Object> check, String... keys) {
-		return node -> {
-			if (check.get() != null) {
-				Predicate<Node> childTypeFinder = makeTypeChildFinder(keys);
-				Predicate<Node> childUuidFinder =
-						makeUuidChildFinder(check, SINGLE_MEASURE_POPULATION, MEASURE_POPULATION);
-
-				Node existingUuidChild = node
-						.getChildNodes(TemplateId.MEASURE_DATA_CMS_V2)
-						.filter(childTypeFinder)
-						.filter(childUuidFinder)
-						.findFirst()
-						.orElse(null);
+	Consumer<PopulationIndex> makeValidator(ValidationState state, SubPopulation sub, Supplier<Object> check, String... keys) {
+		return populations -> {
+			Object uuid = check.get();
+			if (uuid != null) {
+				Node existingUuidChild = populations.find(uuid, keys);
+				checkPopulationUuids(state, populations, existingUuidChild, keys);
 
 				if (existingUuidChild == null) {
-					addMeasureConfigurationValidationMessage(check, keys, node);
+					addMeasureConfigurationValidationMessage(state, check, keys, populations.getMeasure());
 				} else {
-					followUpHook(existingUuidChild, sub);
+					followUpHook(state, existingUuidChild, sub);
 				}
 			}
 		};
 	}
 
+	/**
+	 * Checks that the measure data of the given types, up to the one found for a population UUID, each have a single
+	 * population UUID. Each node is only checked the first time a search passes it.
+	 *
+	 * @param state The state of the validation, which collects its errors.
+	 * @param populations measure data of the current parent node
+	 * @param found the node found for the population UUID, or null if every node of the types is to be checked
+	 * @param keys measure types i.e. "DENOM", "NUMER", ...
+	 */
+	private void checkPopulationUuids(ValidationState state, PopulationIndex populations, Node found, String... keys) {
+		List<String> types = Arrays.asList(keys);
+		for (Node measureData : populations.getMeasureData()) {
+			if (types.contains(measureData.getValue(MEASURE_TYPE))) {
+				if (populations.markChecked(measureData)) {
+					state.thoroughlyCheck(measureData)
+							.incompleteValidation()
+							.singleValue(SINGLE_MEASURE_POPULATION, MEASURE_POPULATION);
+				}
+				if (measureData == found) {
+					return;
+				}
+			}
+		}
+	}
+
 	/**
 	 * Validator hook to allow implementor the opportunity to perform sub population validations.
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node a {@link TemplateId#MEASURE_DATA_CMS_V2} node
 	 * @param sub corresponding sub population
 	 */
-	protected void followUpHook(Node node, SubPopulation sub){
+	protected void followUpHook(ValidationState state, Node node, SubPopulation sub){
 		//Default implementation
 	}
 
 	/**
 	 * Adds a validation error message for a specified measure configuration
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param check Current SubPopulation to be validated
 	 * @param keys Identifiers for the current measures child
 	 * @param node Contains the current child nodes
 	 */
-	protected void addMeasureConfigurationValidationMessage(Supplier<Object> check, String[] keys, Node node) {
+	protected void addMeasureConfigurationValidationMessage(ValidationState state, Supplier<Object> check, String[] keys, Node node) {
 		MeasureConfig config =
-				MeasureConfigs.getConfigurationMap().get(node.getValue(MEASURE_ID));
+				state.getMeasureConfigs().getConfigurationMap().get(node.getValue(MEASURE_ID));
 		String message = String.format(INCORRECT_UUID, config.getElectronicMeasureId(),
 				String.join(",", Arrays.asList(keys)), check.get());
-		this.getDetails().add(new Detail(message, node.getPath()));
-	}
-
-	/**
-	 * Creates a {@link Predicate} which takes a node and tests whether the measure type is equal to the given measure type.
-	 * Also validates that it's the only measure type in the given node.
-	 *
-	 * @param populationCriteriaTypes measure type i.e. "DENOM", "NUMER", ...
-	 * @return predicate that filters measure nodes by measure type
-	 */
-	private Predicate<Node> makeTypeChildFinder(String... populationCriteriaTypes) {
-		return thisNode -> {
-			thoroughlyCheck(thisNode)
-					.incompleteValidation()
-					.singleValue(SINGLE_MEASURE_TYPE, MEASURE_TYPE);
-			return Arrays.asList(populationCriteriaTypes).contains(thisNode.getValue(MEASURE_TYPE));
-		};
+		state.getDetails().add(new Detail(message, node.getPath()));
 	}
 
 	/**
 	 * Creates a {@link Predicate} which takes a node and tests whether the measure population is equal to the given unique id
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param uuid Supplies a unique id to test against
 	 * @param message Supplies a unique error message to use
 	 * @param name Supplies a node field validate on
 	 * @return predicate seeking a matching uuid
 	 */
-	protected Predicate<Node> makeUuidChildFinder(Supplier<Object> uuid, String message, String name) {
+	protected Predicate<Node> makeUuidChildFinder(ValidationState state, Supplier<Object> uuid, String message, String name) {
 		return thisNode -> {
-			thoroughlyCheck(thisNode)
+			state.thoroughlyCheck(thisNode)
 					.incompleteValidation()
 					.singleValue(message, name);
 			return uuid.get().equals(thisNode.getValue(name));
@@ -15,11 +15,12 @@ public class QualityMeasureSectionValidator extends NodeValidator {
 	/**
 	 * Validate that the Quality Measure Section contains...
 	 *
+	 * @param state The state of the validation, which collects its errors.
 	 * @param node The node to validate.
 	 */
 	@Override
-	protected void internalValidateSingleNode(Node node) {
-		check(node)
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
+		state.check(node)
 			.childMinimum(REQUIRED_REPORTING_PARAM_REQUIREMENT_ERROR, 1,
 					TemplateId.REPORTING_PARAMETERS_ACT)
 			.childMaximum(REQUIRED_REPORTING_PARAM_REQUIREMENT_ERROR, 1,
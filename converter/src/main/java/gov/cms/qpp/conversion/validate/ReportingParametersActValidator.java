@@ -13,8 +13,8 @@ public class ReportingParametersActValidator extends NodeValidator {
 	private static final String SINGLE_PERFORMANCE_END = "Must have one and only one performance end";
 
 	@Override
-	protected void internalValidateSingleNode(Node node) {
-		check(node)
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
+		state.check(node)
 				.singleValue(SINGLE_PERFORMANCE_START, ReportingParametersActDecoder.PERFORMANCE_START)
 				.singleValue(SINGLE_PERFORMANCE_END, ReportingParametersActDecoder.PERFORMANCE_END)
 				.value(PERFORMANCE_YEAR, ReportingParametersActDecoder.PERFORMANCE_YEAR);
@@ -0,0 +1,61 @@
+package gov.cms.qpp.conversion.validate;
+
+import gov.cms.qpp.conversion.model.Node;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The {@link Node}s a single validation run has already validated, which the run need not validate again.
+ *
+ * A subtree validated on a task of its own records into a layer of its own, over the layer of the task that
+ * forked it. A layer is only written by the task that owns it and is no longer written once it has been forked.
+ */
+final class ValidatedNodes {
+
+	private final ValidatedNodes parent;
+	private final Map<Node, Boolean> validated = new IdentityHashMap<>();
+
+	ValidatedNodes() {
+		this(null);
+	}
+
+	private ValidatedNodes(ValidatedNodes parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Starts a layer for a subtree that sees everything recorded so far
+	 *
+	 * @return the new layer
+	 */
+	ValidatedNodes fork() {
+		return new ValidatedNodes(this);
+	}
+
+	/**
+	 * Records whether a node has been completely validated
+	 *
+	 * @param node the node
+	 * @param complete whether its validation is complete
+	 */
+	void mark(Node node, boolean complete) {
+		validated.put(node, complete);
+	}
+
+	/**
+	 * Whether a node has been completely validated
+	 *
+	 * @param node the node
+	 * @return whether the most recent record for the node says its validation is complete
+	 */
+	boolean isValidated(Node node) {
+		for (ValidatedNodes layer = this; layer != null; layer = layer.parent) {
+			Boolean complete = layer.validated.get(node);
+			if (complete != null) {
+				return complete;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,106 @@
+package gov.cms.qpp.conversion.validate;
+
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.model.error.Detail;
+import gov.cms.qpp.conversion.model.error.ErrorBudget;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigSnapshot;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Everything the validation of a single {@link Node} works with: the details found for the node, along with the
+ * nodes the validation run has validated, the errors the run may still report and the measure configurations the
+ * run uses.
+ *
+ * A state is created for each node a validator validates and is handed to
+ * {@link NodeValidator#internalValidateSingleNode(ValidationState, Node)}.
+ */
+public final class ValidationState {
+
+	private static final Logger DEV_LOG = LoggerFactory.getLogger(ValidationState.class);
+
+	private final TemplateId template;
+	private final Set<Detail> details = new LinkedHashSet<>();
+	private final ValidatedNodes validatedNodes;
+	private final ErrorBudget errorBudget;
+	private final MeasureConfigSnapshot measureConfigs;
+
+	/**
+	 * State of a validation made on its own, outside of any validation run
+	 *
+	 * @param template The template id of the validator.
+	 */
+	ValidationState(TemplateId template) {
+		this(template, new ValidatedNodes(), ErrorBudget.UNLIMITED, MeasureConfigs.getSnapshot());
+	}
+
+	/**
+	 * State of a validation made as part of a validation run
+	 *
+	 * @param template The template id of the validator.
+	 * @param validatedNodes The nodes the run has validated, which the validation adds to.
+	 * @param errorBudget The errors the run may still report. Checks stop once it is exhausted.
+	 * @param measureConfigs The measure configurations the run uses.
+	 */
+	ValidationState(TemplateId template, ValidatedNodes validatedNodes, ErrorBudget errorBudget,
+			MeasureConfigSnapshot measureConfigs) {
+		this.template = template;
+		this.validatedNodes = validatedNodes;
+		this.errorBudget = errorBudget;
+		this.measureConfigs = measureConfigs;
+	}
+
+	/**
+	 * The validation errors found for the node so far.
+	 *
+	 * @return The current list of validation errors.
+	 */
+	public Set<Detail> getDetails() {
+		return details;
+	}
+
+	/**
+	 * The measure configurations of the validation run, which stay the same for the whole run even if newer ones
+	 * are published meanwhile.
+	 *
+	 * @return The measure configurations.
+	 */
+	public MeasureConfigSnapshot getMeasureConfigs() {
+		return measureConfigs;
+	}
+
+	/**
+	 * Adds a {@link Detail} for the node.
+	 *
+	 * @param newError The error to add to the list.
+	 */
+	public void addValidationError(final Detail newError) {
+		DEV_LOG.debug("Error '{}' added for templateId {}", newError, template);
+		details.add(newError);
+	}
+
+	/**
+	 * Starts checking a node, skipping the rest of the checks once one fails.
+	 *
+	 * @param node The node to check.
+	 * @return A new checker, for chaining method calls.
+	 */
+	Checker check(Node node) {
+		return Checker.check(node, details, validatedNodes, errorBudget);
+	}
+
+	/**
+	 * Starts checking a node, making every check whether or not earlier ones failed.
+	 *
+	 * @param node The node to check.
+	 * @return A new checker, for chaining method calls.
+	 */
+	Checker thoroughlyCheck(Node node) {
+		return Checker.thoroughlyCheck(node, details, validatedNodes, errorBudget);
+	}
+}
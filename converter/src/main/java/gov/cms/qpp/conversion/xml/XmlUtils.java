@@ -7,6 +7,10 @@ import org.jdom2.Element;
 import org.jdom2.JDOMException;
 import org.jdom2.input.SAXBuilder;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -79,6 +83,27 @@ public class XmlUtils {
 		}
 	}
 
+	/**
+	 * Opens a stream of XML for pull parsing. DTDs and external entities are not supported,
+	 * matching the restrictions of {@link #parseXmlStream(InputStream)}.
+	 *
+	 * @param xmlStream The XML.
+	 * @return A reader positioned at the start of the XML document.
+	 * @throws XmlException When a failure to open the XML.
+	 */
+	public static XMLStreamReader openXmlStreamReader(InputStream xmlStream) throws XmlException {
+		try {
+			XMLInputFactory factory = XMLInputFactory.newFactory();
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+			factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+			factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+
+			return factory.createXMLStreamReader(xmlStream);
+		} catch (XMLStreamException e) {
+			throw new XmlException("Failed to open XML stream", e);
+		}
+	}
+
 	/**
 	 * Concatenates the parameters.
 	 *
@@ -2,6 +2,7 @@ package gov.cms.qpp.acceptance;
 
 import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.decode.QppXmlDecoder;
+import gov.cms.qpp.conversion.encode.EncodeState;
 import gov.cms.qpp.conversion.encode.QppOutputEncoder;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.xml.XmlUtils;
@@ -41,10 +42,9 @@ public class AciProportionDenominatorRoundTripTest {
 		QppOutputEncoder encoder = new QppOutputEncoder(context);
 		List<Node> nodes = new ArrayList<>();
 		nodes.add(numDenomNode);
-		encoder.setNodes(nodes);
 
 		StringWriter sw = new StringWriter();
-		encoder.encode(new BufferedWriter(sw));
+		encoder.encode(new EncodeState(), nodes, new BufferedWriter(sw));
 
 		String EXPECTED = "{\n  \"denominator\" : 600\n}";
 		assertThat(sw.toString())
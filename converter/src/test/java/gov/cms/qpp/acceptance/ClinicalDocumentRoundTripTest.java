@@ -3,6 +3,7 @@ package gov.cms.qpp.acceptance;
 import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.decode.XmlInputDecoder;
 import gov.cms.qpp.conversion.decode.placeholder.DefaultDecoder;
+import gov.cms.qpp.conversion.encode.EncodeState;
 import gov.cms.qpp.conversion.encode.QppOutputEncoder;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.xml.XmlUtils;
@@ -46,10 +47,9 @@ public class ClinicalDocumentRoundTripTest {
 		DefaultDecoder.removeDefaultNode(clinicalDocumentNode.getChildNodes());
 
 		QppOutputEncoder encoder = new QppOutputEncoder(context);
-		encoder.setNodes(Collections.singletonList(clinicalDocumentNode));
 
 		StringWriter sw = new StringWriter();
-		encoder.encode(new BufferedWriter(sw));
+		encoder.encode(new EncodeState(), Collections.singletonList(clinicalDocumentNode), new BufferedWriter(sw));
 
 		assertThat(sw.toString()).isEqualTo(EXPECTED);
 	}
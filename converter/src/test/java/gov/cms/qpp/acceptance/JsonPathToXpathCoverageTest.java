@@ -30,9 +30,8 @@ public class JsonPathToXpathCoverageTest {
 
 	private void checkCoverage(Path path) {
 		try {
-			JsonWrapper metaWrapper = new JsonWrapper(false);
-			helper = new JsonPathToXpathHelper(path, metaWrapper, false);
-			JsonWrapper wrapper = new JsonWrapper(metaWrapper, true);
+			JsonWrapper wrapper = new JsonWrapper();
+			helper = new JsonPathToXpathHelper(path, wrapper, false);
 			JsonNode root = om.readTree(wrapper.toString());
 			JsonPathAggregator agg = new JsonPathAggregator(root);
 
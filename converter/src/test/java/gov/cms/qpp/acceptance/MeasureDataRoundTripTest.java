@@ -3,6 +3,7 @@ package gov.cms.qpp.acceptance;
 import gov.cms.qpp.TestHelper;
 import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.decode.QppXmlDecoder;
+import gov.cms.qpp.conversion.encode.EncodeState;
 import gov.cms.qpp.conversion.encode.EncodeException;
 import gov.cms.qpp.conversion.encode.QppOutputEncoder;
 import gov.cms.qpp.conversion.model.Node;
@@ -73,10 +74,9 @@ public class MeasureDataRoundTripTest {
 		QppOutputEncoder encoder = new QppOutputEncoder(new Context());
 		List<Node> nodes = new ArrayList<>();
 		nodes.add(placeholder);
-		encoder.setNodes(nodes);
 
 		StringWriter sw = new StringWriter();
-		encoder.encode(new BufferedWriter(sw));
+		encoder.encode(new EncodeState(), nodes, new BufferedWriter(sw));
 		return sw;
 	}
 }
@@ -11,7 +11,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 public class QualityMeasureMultiXpathJsonPathTest {
-	private static JsonWrapper wrapper = new JsonWrapper(false);
+	private static JsonWrapper wrapper = new JsonWrapper();
 	private static Path path = Paths.get("src/test/resources/fixtures/multiPerformanceRatePropMeasure.xml");
 	private static JsonPathToXpathHelper helper;
 
@@ -1,8 +1,8 @@
 package gov.cms.qpp.acceptance;
 
 
-import com.jayway.jsonpath.PathNotFoundException;
 import gov.cms.qpp.acceptance.helper.JsonPathToXpathHelper;
+import gov.cms.qpp.conversion.correlation.PathCorrelator;
 import gov.cms.qpp.conversion.encode.JsonWrapper;
 import gov.cms.qpp.conversion.xml.XmlException;
 import org.junit.BeforeClass;
@@ -12,8 +12,10 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+import static com.google.common.truth.Truth.assertThat;
+
 public class XpathJsonPathComparisonTest {
-	private static JsonWrapper wrapper = new JsonWrapper(false);
+	private static JsonWrapper wrapper = new JsonWrapper();
 	private static Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
 	private static JsonPathToXpathHelper helper;
 	private static final String EXTENSION = "extension";
@@ -163,9 +165,9 @@ public class XpathJsonPathComparisonTest {
 		helper.executeAttributeTest(jsonPath, "value", "50");
 	}
 
-	@Test(expected = PathNotFoundException.class)
-	public void nonexistentJsonPath() throws IOException, XmlException {
+	@Test
+	public void nonexistentJsonPath() {
 		String jsonPath = "meep.mawp";
-		helper.executeAttributeTest(jsonPath, "", "");
+		assertThat(PathCorrelator.prepPath(jsonPath, wrapper)).isEmpty();
 	}
 }
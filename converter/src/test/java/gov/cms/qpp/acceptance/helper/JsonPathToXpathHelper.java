@@ -3,6 +3,7 @@ package gov.cms.qpp.acceptance.helper;
 import gov.cms.qpp.conversion.Converter;
 import gov.cms.qpp.conversion.PathQrdaSource;
 import gov.cms.qpp.conversion.correlation.PathCorrelator;
+import gov.cms.qpp.conversion.encode.EncodeState;
 import gov.cms.qpp.conversion.encode.JsonWrapper;
 import gov.cms.qpp.conversion.encode.QppOutputEncoder;
 import gov.cms.qpp.conversion.xml.XmlException;
@@ -37,7 +38,7 @@ public class JsonPathToXpathHelper {
 		converter.getContext().setDoDefaults(doDefaults);
 		converter.transform();
 		QppOutputEncoder encoder = new QppOutputEncoder(converter.getContext());
-		encoder.encode(wrapper, converter.getReport().getDecoded());
+		encoder.encode(new EncodeState(), wrapper, converter.getReport().getDecoded());
 	}
 
 	public void executeElementTest(String jsonPath, String xmlElementName)
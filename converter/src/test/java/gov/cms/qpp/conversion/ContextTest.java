@@ -24,6 +24,26 @@ public class ContextTest {
 		assertThat(new Context().isHistorical()).isFalse();
 	}
 
+	@Test
+	public void testIsNotStreamingDecodeByDefault() {
+		assertThat(new Context().isStreamingDecode()).isFalse();
+	}
+
+	@Test
+	public void testIsNotParallelValidationByDefault() {
+		assertThat(new Context().isParallelValidation()).isFalse();
+	}
+
+	@Test
+	public void testIsNotCompactOutputByDefault() {
+		assertThat(new Context().isCompactOutput()).isFalse();
+	}
+
+	@Test
+	public void testHasNoMaxErrorsByDefault() {
+		assertThat(new Context().getMaxErrors()).isEqualTo(0);
+	}
+
 	@Test
 	public void testIsDoDefaultsSetter() {
 		Context context = new Context();
@@ -45,6 +65,34 @@ public class ContextTest {
 		assertThat(context.isHistorical()).isTrue();
 	}
 
+	@Test
+	public void testIsStreamingDecodeSetter() {
+		Context context = new Context();
+		context.setStreamingDecode(true);
+		assertThat(context.isStreamingDecode()).isTrue();
+	}
+
+	@Test
+	public void testMaxErrorsSetter() {
+		Context context = new Context();
+		context.setMaxErrors(5);
+		assertThat(context.getMaxErrors()).isEqualTo(5);
+	}
+
+	@Test
+	public void testIsCompactOutputSetter() {
+		Context context = new Context();
+		context.setCompactOutput(true);
+		assertThat(context.isCompactOutput()).isTrue();
+	}
+
+	@Test
+	public void testIsParallelValidationSetter() {
+		Context context = new Context();
+		context.setParallelValidation(true);
+		assertThat(context.isParallelValidation()).isTrue();
+	}
+
 	@Test
 	public void testProgramIsAllByDefault() {
 		assertThat(new Context().getProgram())
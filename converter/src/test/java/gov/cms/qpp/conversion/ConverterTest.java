@@ -2,6 +2,7 @@ package gov.cms.qpp.conversion;
 
 import gov.cms.qpp.TestHelper;
 import gov.cms.qpp.conversion.encode.EncodeException;
+import gov.cms.qpp.conversion.encode.EncodeState;
 import gov.cms.qpp.conversion.encode.JsonWrapper;
 import gov.cms.qpp.conversion.encode.QppOutputEncoder;
 import gov.cms.qpp.conversion.model.ComponentKey;
@@ -12,6 +13,7 @@ import gov.cms.qpp.conversion.model.error.Detail;
 import gov.cms.qpp.conversion.model.error.Error;
 import gov.cms.qpp.conversion.model.error.TransformException;
 import gov.cms.qpp.conversion.model.error.correspondence.DetailsMessageEquals;
+import gov.cms.qpp.conversion.segmentation.QrdaScope;
 import gov.cms.qpp.conversion.stubs.Jenncoder;
 import gov.cms.qpp.conversion.stubs.JennyDecoder;
 import gov.cms.qpp.conversion.stubs.TestDefaultValidator;
@@ -24,15 +26,20 @@ import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.powermock.api.mockito.PowerMockito.doThrow;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
@@ -62,6 +69,151 @@ public class ConverterTest {
 		//no exception should be thrown, hence explicitly stating the expected exception is None
 	}
 
+	@Test
+	public void testReportSharesFrozenResults() {
+		Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
+		Converter converter = new Converter(new PathQrdaSource(path));
+		JsonWrapper qpp = converter.transform();
+		Converter.ConversionReport report = converter.getReport();
+
+		assertWithMessage("The report should hand out the conversion result itself")
+				.that(report.getEncoded()).isSameAs(qpp);
+		assertThat(report.getEncoded().isFrozen()).isTrue();
+		assertWithMessage("The report should hand out the same decoded tree each time")
+				.that(report.getDecoded()).isSameAs(report.getDecoded());
+		assertThat(report.getDecoded().isFrozen()).isTrue();
+	}
+
+	@Test
+	public void testStreamedQppMatchesWrapper() {
+		Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		Converter converter = new Converter(new PathQrdaSource(path));
+
+		converter.transform(output);
+		String wrapped = new Converter(new PathQrdaSource(path)).transform().toString();
+
+		assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(wrapped);
+		assertThat(converter.getReport().getEncoded()).isNull();
+	}
+
+	@Test
+	public void testCompactStreamedQppMatchesWrapper() {
+		Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		Converter converter = new Converter(new PathQrdaSource(path));
+		converter.getContext().setCompactOutput(true);
+
+		converter.transform(output);
+		byte[] wrapped = new Converter(new PathQrdaSource(path)).transform().toBytes(true);
+
+		assertThat(output.toByteArray()).isEqualTo(wrapped);
+		assertThat(new String(wrapped, StandardCharsets.UTF_8)).doesNotContain("\n");
+	}
+
+	@Test
+	public void testScopedStreamedQppMatchesWrapper() {
+		Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		Converter streamed = new Converter(new PathQrdaSource(path));
+		streamed.getContext().setScope(Collections.singleton(QrdaScope.IA_SECTION));
+		Converter wrapped = new Converter(new PathQrdaSource(path));
+		wrapped.getContext().setScope(Collections.singleton(QrdaScope.IA_SECTION));
+
+		streamed.transform(output);
+
+		assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8))
+				.isEqualTo(wrapped.transform().toString());
+	}
+
+	@Test
+	public void testStreamedInvalidQppWritesNothing() {
+		Path path = Paths.get("src/test/resources/negative/angerTheConverter.xml");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		try {
+			new Converter(new PathQrdaSource(path)).transform(output);
+			fail("The converter should not create valid QPP JSON");
+		} catch (TransformException exception) {
+			assertThat(exception.getDetails().getErrors().get(0).getDetails()).isNotEmpty();
+		}
+		assertThat(output.size()).isEqualTo(0);
+	}
+
+	@Test(expected = org.junit.Test.None.class)
+	public void testValidQppFileStreamingDecode() {
+		Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
+		Context context = new Context();
+		context.setStreamingDecode(true);
+		Converter converter = new Converter(new PathQrdaSource(path), context);
+
+		converter.transform();
+		//no exception should be thrown, hence explicitly stating the expected exception is None
+	}
+
+	@Test
+	public void testParallelValidationReportsDetailsInDocumentOrder() {
+		Path path = Paths.get("src/test/resources/negative/angerTheConverter.xml");
+		Context context = new Context();
+		context.setParallelValidation(true);
+
+		List<Detail> sequential = transformDetails(new Converter(new PathQrdaSource(path)));
+		List<Detail> parallel = transformDetails(new Converter(new PathQrdaSource(path), context));
+
+		assertThat(sequential).isNotEmpty();
+		assertThat(parallel).containsExactlyElementsIn(sequential).inOrder();
+	}
+
+	@Test
+	public void testMaxErrorsTruncatesReport() {
+		Path path = Paths.get("src/test/resources/negative/angerTheConverter.xml");
+		Context context = new Context();
+		context.setMaxErrors(2);
+
+		List<Detail> all = transformDetails(new Converter(new PathQrdaSource(path)));
+		Converter converter = new Converter(new PathQrdaSource(path), context);
+		List<Detail> limited = transformDetails(converter);
+
+		assertThat(all.size()).isGreaterThan(2);
+		assertThat(limited).containsExactlyElementsIn(all.subList(0, 2)).inOrder();
+		assertThat(converter.getReport().getReportDetails().getErrors().get(0).isTruncated()).isTrue();
+	}
+
+	@Test
+	public void testMaxErrorsTruncatesParallelReport() {
+		Path path = Paths.get("src/test/resources/negative/angerTheConverter.xml");
+		Context context = new Context();
+		context.setMaxErrors(1);
+		context.setParallelValidation(true);
+
+		List<Detail> limited = transformDetails(new Converter(new PathQrdaSource(path), context));
+
+		assertThat(limited).hasSize(1);
+	}
+
+	@Test
+	public void testMaxErrorsNotReached() {
+		Path path = Paths.get("src/test/resources/negative/angerTheConverter.xml");
+		Context context = new Context();
+		context.setMaxErrors(10000);
+
+		Converter converter = new Converter(new PathQrdaSource(path), context);
+		List<Detail> details = transformDetails(converter);
+
+		assertThat(details).isNotEmpty();
+		assertThat(converter.getReport().getReportDetails().getErrors().get(0).isTruncated()).isFalse();
+	}
+
+	private List<Detail> transformDetails(Converter converter) {
+		try {
+			converter.transform();
+			fail("The converter should not create valid QPP JSON");
+			return null;
+		} catch (TransformException exception) {
+			return exception.getDetails().getErrors().get(0).getDetails();
+		}
+	}
+
 	@Test
 	@PrepareForTest({Converter.class, QrdaValidator.class})
 	public void testValidationErrors() throws Exception {
@@ -105,13 +257,28 @@ public class ConverterTest {
 		}
 	}
 
+	@Test
+	public void testMalformedXmlOfOtherRoot() {
+		for (String xml : new String[] {"<foo><bar></foo>", "<foo/>trailing<junk"}) {
+			Converter converter = new Converter(new InputStreamSupplierQrdaSource(xml,
+					() -> new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))));
+
+			try {
+				converter.transform();
+				fail();
+			} catch (TransformException exception) {
+				checkup(exception, Converter.NOT_VALID_XML_DOCUMENT);
+			}
+		}
+	}
+
 	@Test
 	@PrepareForTest({Converter.class, QppOutputEncoder.class})
 	public void testEncodingExceptions() throws Exception {
 		QppOutputEncoder encoder = mock(QppOutputEncoder.class);
 		whenNew(QppOutputEncoder.class).withAnyArguments().thenReturn(encoder);
 		EncodeException ex = new EncodeException("mocked", new RuntimeException());
-		doThrow(ex).when(encoder).encode();
+		doThrow(ex).when(encoder).encode(any(EncodeState.class), anyList());
 
 		Path path = Paths.get("src/test/resources/converter/defaultedNode.xml");
 		Converter converter = new Converter(new PathQrdaSource(path));
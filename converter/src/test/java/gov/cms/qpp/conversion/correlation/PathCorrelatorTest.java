@@ -2,6 +2,7 @@ package gov.cms.qpp.conversion.correlation;
 
 
 import gov.cms.qpp.conversion.decode.ClinicalDocumentDecoder;
+import gov.cms.qpp.conversion.encode.JsonWrapper;
 import gov.cms.qpp.conversion.model.TemplateId;
 import org.junit.Test;
 
@@ -13,6 +14,8 @@ import static com.google.common.truth.Truth.assertWithMessage;
 
 public class PathCorrelatorTest {
 
+	private static final String QRDA_URI = "urn:hl7-org:v3";
+
 	@Test
 	public void pathCorrelatorInitilization() {
 		String xpath = PathCorrelator.getXpath(TemplateId.CLINICAL_DOCUMENT.name(),
@@ -20,6 +23,28 @@ public class PathCorrelatorTest {
 		assertWithMessage("xpath should not be null").that(xpath).isNotNull();
 	}
 
+	@Test
+	public void verifyXpathSubstitutionIsReused() {
+		String xpath = PathCorrelator.getXpath(TemplateId.CLINICAL_DOCUMENT.name(),
+				ClinicalDocumentDecoder.PROGRAM_NAME, QRDA_URI);
+		assertWithMessage("xpath should be reused for the QRDA uri")
+				.that(PathCorrelator.getXpath(TemplateId.CLINICAL_DOCUMENT.name(),
+						ClinicalDocumentDecoder.PROGRAM_NAME, QRDA_URI))
+				.isSameAs(xpath);
+	}
+
+	@Test
+	public void verifyXpathSubstitutionOfOtherUriIsNotKept() {
+		String xpath = PathCorrelator.getXpath(TemplateId.CLINICAL_DOCUMENT.name(),
+				ClinicalDocumentDecoder.PROGRAM_NAME, "meep");
+		String again = PathCorrelator.getXpath(TemplateId.CLINICAL_DOCUMENT.name(),
+				ClinicalDocumentDecoder.PROGRAM_NAME, "meep");
+		assertWithMessage("xpath of an uploaded uri should be made anew")
+				.that(again).isNotSameAs(xpath);
+		assertWithMessage("xpath of an uploaded uri should still be the same xpath")
+				.that(again).isEqualTo(xpath);
+	}
+
 	@Test(expected = PathCorrelationException.class)
 	public void pathCorrelatorInitilizationNegative() throws Throwable {
 		Field configPath = PathCorrelator.class.getDeclaredField("config");
@@ -50,4 +75,39 @@ public class PathCorrelatorTest {
 				.that(path.indexOf(PathCorrelator.getUriSubstitution()))
 				.isEqualTo(-1);
 	}
+
+	@Test
+	public void verifyJsonPathToPointer() {
+		assertWithMessage("Field names and positions should become reference tokens")
+				.that(PathCorrelator.toJsonPointer("$.measurementSets[0]['measure/ments'][12].measureId"))
+				.isEqualTo("/measurementSets/0/measure~1ments/12/measureId");
+		assertWithMessage("The root should become the empty pointer")
+				.that(PathCorrelator.toJsonPointer("$"))
+				.isEmpty();
+		assertWithMessage("Relative paths should start from the root")
+				.that(PathCorrelator.toJsonPointer("measurementSets[1]"))
+				.isEqualTo("/measurementSets/1");
+		assertWithMessage("Array paths should start from the root")
+				.that(PathCorrelator.toJsonPointer("[1]"))
+				.isEqualTo("/1");
+	}
+
+	@Test
+	public void verifyIndefiniteJsonPathHasNoPointer() {
+		assertWithMessage("Wildcards aren't definite")
+				.that(PathCorrelator.toJsonPointer("$.measurementSets[*]"))
+				.isNull();
+	}
+
+	@Test
+	public void verifyUncorrelatedPathIsEmpty() {
+		JsonWrapper wrapper = new JsonWrapper().putString("performanceYear", "2017");
+
+		assertWithMessage("A path without metadata should not correlate")
+				.that(PathCorrelator.prepPath("$.measurementSets[0].measureId", wrapper))
+				.isEmpty();
+		assertWithMessage("An indefinite path should not correlate")
+				.that(PathCorrelator.prepPath("$.measurementSets[*].measureId", wrapper))
+				.isEmpty();
+	}
 }
@@ -25,7 +25,7 @@ public class QrdaQppAssociationTest {
 
 	@Test
 	public void testAssociation() {
-		mapper.mapIt("$", qpp.getObject());
+		mapper.mapIt("$", qpp);
 		mapper.writeAssociations();
 
 		assertWithMessage("registered associations does not match expectation")
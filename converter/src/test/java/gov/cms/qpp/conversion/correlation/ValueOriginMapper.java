@@ -1,5 +1,9 @@
 package gov.cms.qpp.conversion.correlation;
 
+import gov.cms.qpp.conversion.encode.CorrelationIndex;
+import gov.cms.qpp.conversion.encode.CorrelationIndex.Metadata;
+import gov.cms.qpp.conversion.encode.JsonWrapper;
+
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -20,27 +24,27 @@ class ValueOriginMapper {
 		return associations;
 	}
 
+	void mapIt(String base, JsonWrapper wrapper) {
+		mapIt(base, wrapper.getObject(), wrapper.getCorrelationIndex());
+	}
+
 	@SuppressWarnings("unchecked")
-	void mapIt(String base, Object holder) {
+	private void mapIt(String base, Object holder, CorrelationIndex index) {
 		if (holder instanceof Map) {
-			map(base, (Map) holder);
+			map(base, (Map) holder, index);
 		} else {
-			map(base, (List) holder);
+			map(base, (List) holder, index);
 		}
 	}
 
-	@SuppressWarnings("unchecked")
-	private void map(String base, Map<String, Object> toAssociate) {
+	private void map(String base, Map<String, Object> toAssociate, CorrelationIndex index) {
 		for (Map.Entry<String, Object> entry : toAssociate.entrySet()) {
-			if (entry.getKey().equals("metadata_holder")) {
-				continue;
-			}
 			String newBase = base + "." + entry.getKey();
 
 			if (entry.getValue() instanceof Map || entry.getValue() instanceof List) {
-				mapIt(newBase, entry.getValue());
+				mapIt(newBase, entry.getValue(), find(index, entry.getKey()));
 			} else {
-				Set<Map<String, String>> metadataSet = ((Set<Map<String, String>>)toAssociate.get("metadata_holder"));
+				Set<Metadata> metadataSet = (index == null) ? null : index.getMetadata();
 				String xPath = getXpath(metadataSet, entry.getKey());
 				if (xPath != null) {
 					associations.add(
@@ -51,32 +55,36 @@ class ValueOriginMapper {
 		}
 	}
 
-	private String getXpath(Set<Map<String, String>> metadataSet, String key) {
+	private CorrelationIndex find(CorrelationIndex index, String name) {
+		return (index == null) ? null : index.find("/" + CorrelationIndex.escape(name));
+	}
+
+	private String getXpath(Set<Metadata> metadataSet, String key) {
 		String xPath = null;
-		Map<String, String> current = null;
+		Metadata current = null;
 		if (metadataSet == null) {
 			return xPath;
 		}
-		for (Map<String, String> metaMap : metadataSet) {
-			String label = metaMap.get("encodeLabel");
+		for (Metadata metadata : metadataSet) {
+			String label = metadata.getEncodeLabel();
 			if (label.equals(key)) {
-				String relative = PathCorrelator.getXpath(metaMap.get("template"), label, metaMap.get("nsuri"));
-				xPath = (relative == null) ? metaMap.get("path") : metaMap.get("path") + "/" + relative;
+				String relative = PathCorrelator.getXpath(metadata.getTemplate(), label, metadata.getNsUri());
+				xPath = (relative == null) ? metadata.getPath() : metadata.getPath() + "/" + relative;
 				break;
 			}
-			if (current == null || metaMap.get("path").length() < current.get("path").length()) {
-				current = metaMap;
-				xPath = metaMap.get("path");
+			if (current == null || metadata.getPath().length() < current.getPath().length()) {
+				current = metadata;
+				xPath = metadata.getPath();
 			}
 		}
 		return xPath;
 	}
 
-	private void map(String base, List<Object> toAssociate) {
-		int index = 0;
+	private void map(String base, List<Object> toAssociate, CorrelationIndex index) {
+		int position = 0;
 		for (Object obj : toAssociate) {
-			String newBase = base + "[" + index++ + "]";
-			mapIt(newBase, obj);
+			String newBase = base + "[" + position + "]";
+			mapIt(newBase, obj, find(index, String.valueOf(position++)));
 		}
 	}
 
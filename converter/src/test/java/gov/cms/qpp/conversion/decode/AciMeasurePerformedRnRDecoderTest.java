@@ -39,10 +39,9 @@ public class AciMeasurePerformedRnRDecoderTest {
 
 		Node aciMeasurePerformedNode = new Node();
 
-		objectUnderTest.setNamespace(element, objectUnderTest);
 
 		//execute
-		DecodeResult decodeResult = objectUnderTest.internalDecode(element, aciMeasurePerformedNode);
+		DecodeResult decodeResult = objectUnderTest.internalDecode(DecodeState.of(element), element, aciMeasurePerformedNode);
 
 		//assert
 		assertWithMessage("The decode result is incorrect.")
@@ -163,10 +163,9 @@ public class AciNumeratorDenominatorDecoderTest {
 		Node thisNode = new Node();
 
 		AciNumeratorDenominatorDecoder objectUnderTest = new AciNumeratorDenominatorDecoder(new Context());
-		objectUnderTest.setNamespace(element, objectUnderTest);
 
 		//execute
-		objectUnderTest.internalDecode(element, thisNode);
+		objectUnderTest.internalDecode(DecodeState.of(element), element, thisNode);
 
 		//assert
 		assertWithMessage("measureId should be %s", MEASURE_ID)
@@ -17,7 +17,7 @@ public class AciProportionNumeratorDecoderTest {
 		Node node = new Node();
 
 		AciProportionNumeratorDecoder aciProportionNumeratorDecoder = new AciProportionNumeratorDecoder(new Context());
-		DecodeResult decodeResult = aciProportionNumeratorDecoder.internalDecode(element, node);
+		DecodeResult decodeResult = aciProportionNumeratorDecoder.internalDecode(DecodeState.of(element), element, node);
 
 		assertWithMessage("Must continue on tree")
 				.that(decodeResult)
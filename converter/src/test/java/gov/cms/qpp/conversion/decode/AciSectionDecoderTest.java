@@ -18,7 +18,7 @@ public class AciSectionDecoderTest {
 		Node node = new Node();
 
 		AciSectionDecoder aciSectionDecoder = new AciSectionDecoder(new Context());
-		aciSectionDecoder.internalDecode(element, node);
+		aciSectionDecoder.internalDecode(DecodeState.of(element), element, node);
 
 		assertWithMessage("Node Category must be aci")
 				.that(node.getValue("category"))
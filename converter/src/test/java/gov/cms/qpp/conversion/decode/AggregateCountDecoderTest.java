@@ -72,9 +72,8 @@ public class AggregateCountDecoderTest {
         Node thisNode = new Node();
 
         AggregateCountDecoder instance = new AggregateCountDecoder(context);
-        instance.setNamespace(element, instance);
 
-        instance.internalDecode(element, thisNode);
+        instance.internalDecode(DecodeState.of(element), element, thisNode);
 
         assertWithMessage("Aggregate Count should be 450 ")
                 .that(thisNode.getValue("aggregateCount"))
@@ -150,8 +150,7 @@ public class ClinicalDocumentDecoderTest {
 		Element clinicalDocument = makeClinicalDocument("MIPS");
 		Node testParentNode = new Node();
 		ClinicalDocumentDecoder objectUnderTest = new ClinicalDocumentDecoder(new Context());
-		objectUnderTest.setNamespace(clinicalDocument, objectUnderTest);
-		objectUnderTest.internalDecode(clinicalDocument, testParentNode);
+		objectUnderTest.internalDecode(DecodeState.of(clinicalDocument), clinicalDocument, testParentNode);
 		Node testChildNode = testParentNode.getChildNodes().get(0);
 
 		assertWithMessage("Clinical Document doesn't contain program name")
@@ -179,8 +178,7 @@ public class ClinicalDocumentDecoderTest {
 		Element clinicalDocument = makeClinicalDocument("MIPS_INDIV");
 		Node testParentNode = new Node();
 		ClinicalDocumentDecoder objectUnderTest = new ClinicalDocumentDecoder(new Context());
-		objectUnderTest.setNamespace(clinicalDocument, objectUnderTest);
-		objectUnderTest.internalDecode(clinicalDocument, testParentNode);
+		objectUnderTest.internalDecode(DecodeState.of(clinicalDocument), clinicalDocument, testParentNode);
 		Node testChildNode = testParentNode.getChildNodes().get(0);
 
 		assertWithMessage("Clinical Document doesn't contain program name")
@@ -208,8 +206,7 @@ public class ClinicalDocumentDecoderTest {
 		Element clinicalDocument = makeClinicalDocument("MIPS_GROUP");
 		Node testParentNode = new Node();
 		ClinicalDocumentDecoder objectUnderTest = new ClinicalDocumentDecoder(new Context());
-		objectUnderTest.setNamespace(clinicalDocument, objectUnderTest);
-		objectUnderTest.internalDecode(clinicalDocument, testParentNode);
+		objectUnderTest.internalDecode(DecodeState.of(clinicalDocument), clinicalDocument, testParentNode);
 		Node testChildNode = testParentNode.getChildNodes().get(0);
 
 		assertWithMessage("Clinical Document doesn't contain program name")
@@ -237,8 +234,7 @@ public class ClinicalDocumentDecoderTest {
 		Element clinicalDocument = makeClinicalDocument(ClinicalDocumentDecoder.CPCPLUS);
 		Node testParentNode = new Node();
 		ClinicalDocumentDecoder objectUnderTest = new ClinicalDocumentDecoder(new Context());
-		objectUnderTest.setNamespace(clinicalDocument, objectUnderTest);
-		objectUnderTest.internalDecode(clinicalDocument, testParentNode);
+		objectUnderTest.internalDecode(DecodeState.of(clinicalDocument), clinicalDocument, testParentNode);
 		Node testChildNode = testParentNode.getChildNodes().get(0);
 
 		assertWithMessage("Clinical Document doesn't contain program name")
@@ -266,8 +262,7 @@ public class ClinicalDocumentDecoderTest {
 		Element clinicalDocument = makeClinicalDocument("Unknown");
 		Node testParentNode = new Node();
 		ClinicalDocumentDecoder objectUnderTest = new ClinicalDocumentDecoder(new Context());
-		objectUnderTest.setNamespace(clinicalDocument, objectUnderTest);
-		objectUnderTest.internalDecode(clinicalDocument, testParentNode);
+		objectUnderTest.internalDecode(DecodeState.of(clinicalDocument), clinicalDocument, testParentNode);
 		Node testChildNode = testParentNode.getChildNodes().get(0);
 
 		assertWithMessage("Clinical Document doesn't contain program name")
@@ -296,8 +291,7 @@ public class ClinicalDocumentDecoderTest {
 		clinicalDocument.addContent( prepareParticipant( clinicalDocument.getNamespace()) );
 		Node testParentNode = new Node();
 		ClinicalDocumentDecoder objectUnderTest = new ClinicalDocumentDecoder(new Context());
-		objectUnderTest.setNamespace(clinicalDocument, objectUnderTest);
-		objectUnderTest.internalDecode(clinicalDocument, testParentNode);
+		objectUnderTest.internalDecode(DecodeState.of(clinicalDocument), clinicalDocument, testParentNode);
 		assertWithMessage("Clinical Document contains the Entity Id")
 				.that(testParentNode.getValue(ClinicalDocumentDecoder.ENTITY_ID))
 				.isEqualTo(ENTITY_ID_VALUE);
@@ -309,8 +303,7 @@ public class ClinicalDocumentDecoderTest {
 		clinicalDocument.addContent( prepareParticipant( clinicalDocument.getNamespace()) );
 		Node testParentNode = new Node();
 		ClinicalDocumentDecoder objectUnderTest = new ClinicalDocumentDecoder(new Context());
-		objectUnderTest.setNamespace(clinicalDocument, objectUnderTest);
-		objectUnderTest.internalDecode(clinicalDocument, testParentNode);
+		objectUnderTest.internalDecode(DecodeState.of(clinicalDocument), clinicalDocument, testParentNode);
 		assertWithMessage("Clinical Document contains the Entity Id")
 				.that(testParentNode.getValue(ClinicalDocumentDecoder.PRACTICE_SITE_ADDR))
 				.isEqualTo("testing123");
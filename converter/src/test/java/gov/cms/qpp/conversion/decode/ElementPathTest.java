@@ -0,0 +1,96 @@
+package gov.cms.qpp.conversion.decode;
+
+import gov.cms.qpp.conversion.xml.XmlUtils;
+import org.jdom2.Element;
+import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathHelper;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+public class ElementPathTest {
+
+	@Test
+	public void testPathsMatchXPathHelper() throws Exception {
+		for (Path file : sampleFiles()) {
+			Element root = XmlUtils.parseXmlStream(XmlUtils.fileToStream(file));
+			ElementPaths shared = new ElementPaths();
+			for (Element element : elements(root)) {
+				String expected = XPathHelper.getAbsolutePath(element);
+				assertWithMessage("Path differs in %s", file)
+						.that(shared.of(element).get())
+						.isEqualTo(expected);
+				assertWithMessage("Path differs in %s", file)
+						.that(new ElementPaths().of(element).get())
+						.isEqualTo(expected);
+			}
+		}
+	}
+
+	@Test
+	public void testPathsWithoutNamespaceMatchXPathHelper() throws Exception {
+		Element root = XmlUtils.stringToDom("<a><b/><b><c xmlns=\"urn:x\"/><c/></b><d/></a>");
+		ElementPaths paths = new ElementPaths();
+
+		for (Element element : elements(root)) {
+			assertThat(paths.of(element).get()).isEqualTo(XPathHelper.getAbsolutePath(element));
+		}
+	}
+
+	@Test
+	public void testAncestorsShareHandles() throws Exception {
+		Element root = XmlUtils.stringToDom("<a><b><c/></b></a>");
+		Element b = root.getChild("b");
+		ElementPaths paths = new ElementPaths();
+
+		ElementPath first = paths.of(b);
+		paths.of(b.getChild("c"));
+
+		assertThat(paths.of(b)).isSameAs(first);
+	}
+
+	@Test
+	public void testRelocatedPathTakesNewPosition() throws Exception {
+		Element root = XmlUtils.stringToDom("<a><b/></a>");
+		Element b = root.getChild("b");
+		ElementPath path = new ElementPaths().of(b);
+		assertThat(path.get()).isEqualTo("/a/b");
+
+		root.addContent(new Element("b"));
+		path.relocate(b);
+
+		assertThat(path.get()).isEqualTo("/a/b[1]");
+	}
+
+	@Test
+	public void testDetachedElement() {
+		Element element = new Element("a");
+
+		assertThat(new ElementPaths().of(element).get()).isEqualTo(XPathHelper.getAbsolutePath(element));
+	}
+
+	private List<Element> elements(Element root) {
+		List<Element> elements = new ArrayList<>();
+		elements.add(root);
+		root.getDescendants(Filters.element()).forEach(elements::add);
+		return elements;
+	}
+
+	private List<Path> sampleFiles() throws IOException {
+		try (Stream<Path> qrda = Files.list(Paths.get("../qrda-files"))) {
+			return qrda.filter(path -> path.toString().endsWith(".xml"))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+	}
+}
@@ -157,8 +157,7 @@ public class MultipleTinsDecoderTest {
 	private List<Node> getTestChildren(Element multipleTinsElement) {
 		Node mulipleTinsNode = new Node();
 		MultipleTinsDecoder decoder = new MultipleTinsDecoder(context);
-		decoder.setNamespace(multipleTinsElement, decoder);
-		decoder.internalDecode(multipleTinsElement, mulipleTinsNode);
+		decoder.internalDecode(DecodeState.of(multipleTinsElement), multipleTinsElement, mulipleTinsNode);
 		return mulipleTinsNode.getChildNodes();
 	}
 
@@ -15,7 +15,7 @@ public class NullReturnDecoder extends QppXmlDecoder {
 	}
 
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisnode) {
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisnode) {
 		return null;
 	}
 }
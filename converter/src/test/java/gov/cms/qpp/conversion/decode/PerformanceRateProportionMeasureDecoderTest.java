@@ -57,6 +57,15 @@ public class PerformanceRateProportionMeasureDecoderTest {
 				.isEqualTo("NA");
 	}
 
+	@Test
+	public void testNullPerformanceRateIgnoredWhenRateFound() throws XmlException {
+		decodeNodeFromFile(happy.replace("value=\"0.947368\"", "value=\"0.947368\" nullFlavor=\"NA\""));
+		performanceRateNode = getNode();
+		assertWithMessage("Must not contain a null performance rate")
+				.that(performanceRateNode.getValue(PerformanceRateProportionMeasureDecoder.NULL_PERFORMANCE_RATE))
+				.isNull();
+	}
+
 	private void decodeNodeFromFile(String filename) throws XmlException {
 		context = new Context();
 		PerformanceRateProportionMeasureDecoder decoder = new PerformanceRateProportionMeasureDecoder(context);
@@ -14,7 +14,7 @@ public class QedDecoder extends QppXmlDecoder {
 	}
 
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisnode) {
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisnode) {
 		thisnode.putValue(element.getAttributeValue("resultName"), element.getAttributeValue("resultValue"));
 		return DecodeResult.TREE_FINISHED;
 	}
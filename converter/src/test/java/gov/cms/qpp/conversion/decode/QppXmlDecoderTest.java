@@ -19,7 +19,7 @@ public class QppXmlDecoderTest {
 	@Test
 	public void decodeResultNoAction() throws Exception {
 		assertWithMessage("DecodeResult is incorrect")
-				.that(new QppXmlDecoder(new Context()).internalDecode(null, null))
+				.that(new QppXmlDecoder(new Context()).internalDecode(null, null, null))
 				.isEquivalentAccordingToCompareTo(DecodeResult.NO_ACTION);
 	}
 
@@ -27,7 +27,7 @@ public class QppXmlDecoderTest {
 	public void nullElementDecodeReturnsError() {
 		// Element nullElement = null;
 		assertWithMessage("DecodeResult is incorrect")
-				.that(new QppXmlDecoder(new Context()).decode((Element) null, null))
+				.that(new QppXmlDecoder(new Context()).decode(null, (Element) null, null))
 				.isEquivalentAccordingToCompareTo(DecodeResult.ERROR);
 	}
 
@@ -45,7 +45,7 @@ public class QppXmlDecoderTest {
 		Node testNode = new Node();
 
 		QppXmlDecoder objectUnderTest = new DefaultQppXmlDecoder(context);
-		objectUnderTest.decode(testElement, testNode);
+		objectUnderTest.decode(DecodeState.of(testElement), testElement, testNode);
 
 		assertWithMessage("Child Node was not encountered")
 				.that(errorDecode)
@@ -78,11 +78,12 @@ public class QppXmlDecoderTest {
 
 		String methodName = "testChildDecodeResult";
 		Method testChildDecodeResult =
-				QppXmlDecoder.class.getDeclaredMethod(methodName, DecodeResult.class, Element.class, Node.class);
+				QppXmlDecoder.class.getDeclaredMethod(methodName, DecodeState.class, DecodeResult.class, Element.class,
+						Node.class);
 		testChildDecodeResult.setAccessible(true);
 
-		DecodeResult returnValue = (DecodeResult) testChildDecodeResult.invoke(objectUnderTest, code, childElement,
-				childNode);
+		DecodeResult returnValue = (DecodeResult) testChildDecodeResult.invoke(objectUnderTest,
+				DecodeState.of(childElement), code, childElement, childNode);
 		return returnValue;
 	}
 
@@ -99,7 +100,7 @@ public class QppXmlDecoderTest {
 		}
 
 		@Override
-		public DecodeResult internalDecode(Element element, Node childNode) {
+		public DecodeResult internalDecode(DecodeState state, Element element, Node childNode) {
 			errorDecode = true;
 			return DecodeResult.ERROR;
 		}
@@ -112,7 +113,7 @@ public class QppXmlDecoderTest {
 		}
 
 		@Override
-		public DecodeResult internalDecode(Element element, Node childNode) {
+		public DecodeResult internalDecode(DecodeState state, Element element, Node childNode) {
 			return DecodeResult.NO_ACTION;
 		}
 	}
@@ -0,0 +1,127 @@
+package gov.cms.qpp.conversion.decode;
+
+import com.google.common.base.Strings;
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.xml.XmlException;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+public class QrdaHeaderSnifferTest {
+
+	private static final String CLINICAL_DOCUMENT_TEMPLATE_ID = "<templateId root=\""
+			+ TemplateId.CLINICAL_DOCUMENT.getRoot() + "\" extension=\""
+			+ TemplateId.CLINICAL_DOCUMENT.getExtension() + "\"/>";
+
+	@Test
+	public void testAcceptsQrdaAndRewinds() throws Exception {
+		Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
+		InputStream stream = new BufferedInputStream(Files.newInputStream(path));
+
+		assertWithMessage("A QRDA-III document should be accepted")
+				.that(QrdaHeaderSniffer.accepts(new Context(), stream)).isTrue();
+		assertWithMessage("The stream should be rewound")
+				.that(IOUtils.toByteArray(stream)).isEqualTo(Files.readAllBytes(path));
+	}
+
+	@Test
+	public void testRejectsOtherRoot() throws Exception {
+		assertThat(accepts("<Other xmlns=\"urn:hl7-org:v3\">" + CLINICAL_DOCUMENT_TEMPLATE_ID + "</Other>")).isFalse();
+	}
+
+	@Test
+	public void testRejectsWithoutTemplateId() throws Exception {
+		assertThat(accepts("<ClinicalDocument xmlns=\"urn:hl7-org:v3\"><templateId root=\"1.2.3\"/>"
+				+ "<id root=\"1.2.3\"/></ClinicalDocument>")).isFalse();
+	}
+
+	@Test
+	public void testRejectsNestedTemplateId() throws Exception {
+		assertThat(accepts("<ClinicalDocument xmlns=\"urn:hl7-org:v3\"><component>"
+				+ CLINICAL_DOCUMENT_TEMPLATE_ID + "</component></ClinicalDocument>")).isFalse();
+	}
+
+	@Test
+	public void testRejectsTemplateIdOfOtherNamespace() throws Exception {
+		assertThat(accepts("<ClinicalDocument xmlns=\"urn:hl7-org:v3\"><x:templateId xmlns:x=\"urn:x\" root=\""
+				+ TemplateId.CLINICAL_DOCUMENT.getRoot() + "\" extension=\""
+				+ TemplateId.CLINICAL_DOCUMENT.getExtension() + "\"/></ClinicalDocument>")).isFalse();
+	}
+
+	@Test
+	public void testAcceptsTemplateIdAfterLeadingHeader() throws Exception {
+		assertThat(accepts("<ClinicalDocument><realmCode code=\"US\"/><typeId root=\"1.2.3\"/>"
+				+ "<templateId root=\"1.2.3\"/>" + CLINICAL_DOCUMENT_TEMPLATE_ID + "</ClinicalDocument>")).isTrue();
+	}
+
+	@Test
+	public void testAcceptsTemplateIdAfterOtherSibling() throws Exception {
+		assertThat(accepts("<ClinicalDocument><id root=\"1.2.3\"><x/></id>"
+				+ CLINICAL_DOCUMENT_TEMPLATE_ID + "</ClinicalDocument>")).isTrue();
+		assertThat(accepts("<ClinicalDocument><templateId root=\"1.2.3\"/><realmCode code=\"US\"/>"
+				+ CLINICAL_DOCUMENT_TEMPLATE_ID + "</ClinicalDocument>")).isTrue();
+	}
+
+	@Test
+	public void testLeavesMalformedDocumentsToParse() throws Exception {
+		assertThat(accepts("this is not xml")).isTrue();
+		assertThat(accepts("<ClinicalDocument><realmCode></ClinicalDocument>")).isTrue();
+	}
+
+	@Test(expected = XmlException.class)
+	public void testMalformedOtherRoot() throws Exception {
+		accepts("<foo><bar></foo>");
+	}
+
+	@Test(expected = XmlException.class)
+	public void testTrailingJunkAfterOtherRoot() throws Exception {
+		accepts("<foo/>trailing<junk");
+	}
+
+	@Test(expected = XmlException.class)
+	public void testTrailingJunkAfterOtherDocument() throws Exception {
+		accepts("<ClinicalDocument><id root=\"1.2.3\"/></ClinicalDocument><junk");
+	}
+
+	@Test
+	public void testRejectsLongOtherDocuments() throws Exception {
+		String comment = "<!--" + Strings.repeat(" ", QrdaHeaderSniffer.HEADER_LIMIT) + "-->";
+
+		assertThat(accepts("<Other/>" + comment)).isFalse();
+		assertThat(accepts("<ClinicalDocument><id root=\"1.2.3\"/></ClinicalDocument>" + comment)).isFalse();
+	}
+
+	@Test(expected = XmlException.class)
+	public void testMalformedLongOtherDocument() throws Exception {
+		String comment = "<!--" + Strings.repeat(" ", QrdaHeaderSniffer.HEADER_LIMIT) + "-->";
+
+		accepts("<Other>" + comment + "</Another>");
+	}
+
+	@Test
+	public void testLeavesLongHeadersToParse() throws Exception {
+		String comment = "<!--" + Strings.repeat(" ", QrdaHeaderSniffer.HEADER_LIMIT) + "-->";
+		String xml = "<ClinicalDocument>" + comment + "</ClinicalDocument>";
+		InputStream stream = new BufferedInputStream(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(QrdaHeaderSniffer.accepts(new Context(), stream)).isTrue();
+		assertWithMessage("The stream should be rewound")
+				.that(IOUtils.toString(stream, StandardCharsets.UTF_8)).isEqualTo(xml);
+	}
+
+	private boolean accepts(String xml) throws Exception {
+		InputStream stream = new BufferedInputStream(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+		return QrdaHeaderSniffer.accepts(new Context(), stream);
+	}
+}
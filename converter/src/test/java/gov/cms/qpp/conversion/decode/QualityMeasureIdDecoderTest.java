@@ -30,8 +30,7 @@ public class QualityMeasureIdDecoderTest {
 	public void internalDecodeValid() throws XmlException {
 		Node qualityMeasureIdNode = new Node();
 		Element qualityMeasureIdElement = XmlUtils.stringToDom(getXmlFragmentWithMeasureGuid("Measurement Id Value"));
-		objectUnderTest.setNamespace(qualityMeasureIdElement, objectUnderTest);
-		objectUnderTest.internalDecode(qualityMeasureIdElement, qualityMeasureIdNode);
+		objectUnderTest.internalDecode(DecodeState.of(qualityMeasureIdElement), qualityMeasureIdElement, qualityMeasureIdNode);
 
 		String value = qualityMeasureIdNode.getValue("measureId");
 		assertWithMessage("Expect to have a value")
@@ -50,8 +49,7 @@ public class QualityMeasureIdDecoderTest {
 
 		Node qualityMeasureIdNode = new Node();
 		Element qualityMeasureIdElement = XmlUtils.stringToDom(xmlFragment);
-		objectUnderTest.setNamespace(qualityMeasureIdElement, objectUnderTest);
-		DecodeResult decodeResult = objectUnderTest.internalDecode(qualityMeasureIdElement, qualityMeasureIdNode);
+		DecodeResult decodeResult = objectUnderTest.internalDecode(DecodeState.of(qualityMeasureIdElement), qualityMeasureIdElement, qualityMeasureIdNode);
 
 		assertWithMessage("The incorrect DecodeResult was returned.")
 				.that(decodeResult).isEquivalentAccordingToCompareTo(DecodeResult.TREE_CONTINUE);
@@ -67,10 +65,9 @@ public class QualityMeasureIdDecoderTest {
 		Element qualityMeasureIdElement = XmlUtils.stringToDom(getBadXmlFragmentWithIncorrectRoot());
 		Node qualityMeasureIdNode = new Node();
 
-		objectUnderTest.setNamespace(qualityMeasureIdElement, objectUnderTest);
 
 		//execute
-		DecodeResult decodeResult = objectUnderTest.internalDecode(qualityMeasureIdElement, qualityMeasureIdNode);
+		DecodeResult decodeResult = objectUnderTest.internalDecode(DecodeState.of(qualityMeasureIdElement), qualityMeasureIdElement, qualityMeasureIdNode);
 
 		//assert
 		assertWithMessage("The incorrect DecodeResult was returned.")
@@ -88,10 +85,9 @@ public class QualityMeasureIdDecoderTest {
 
 		Node qualityMeasureIdNode = new Node();
 
-		objectUnderTest.setNamespace(qualityMeasureIdElement, objectUnderTest);
 
 		//execute
-		DecodeResult decodeResult = objectUnderTest.internalDecode(qualityMeasureIdElement, qualityMeasureIdNode);
+		DecodeResult decodeResult = objectUnderTest.internalDecode(DecodeState.of(qualityMeasureIdElement), qualityMeasureIdElement, qualityMeasureIdNode);
 
 		//assert
 		assertWithMessage("The incorrect DecodeResult was returned.")
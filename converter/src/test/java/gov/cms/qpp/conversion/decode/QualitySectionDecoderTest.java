@@ -27,7 +27,7 @@ public class QualitySectionDecoderTest {
 		Node node = new Node();
 
 		QualitySectionDecoder sectionDecoder = new QualitySectionDecoder(new Context());
-		sectionDecoder.internalDecode(element, node);
+		sectionDecoder.internalDecode(DecodeState.of(element), element, node);
 
 		assertWithMessage("Expect node to have property category ")
 				.that(node.getValue("category"))
@@ -0,0 +1,193 @@
+package gov.cms.qpp.conversion.decode;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.segmentation.QrdaScope;
+import gov.cms.qpp.conversion.xml.XmlException;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+public class StreamingQppXmlDecoderTest {
+
+	@Test
+	public void testStreamedDecodeMatchesDocumentDecode() throws Exception {
+		for (Path file : sampleFiles()) {
+			assertWithMessage("Streamed decode of %s differs", file)
+					.that(streamDecode(new Context(), file))
+					.isEqualTo(documentDecode(new Context(), file));
+		}
+	}
+
+	@Test
+	public void testStreamedDecodeMatchesScopedDocumentDecode() throws Exception {
+		for (Path file : sampleFiles()) {
+			Context streamed = new Context();
+			streamed.setScope(Collections.singleton(QrdaScope.IA_SECTION));
+			Context document = new Context();
+			document.setScope(Collections.singleton(QrdaScope.IA_SECTION));
+
+			assertWithMessage("Scoped streamed decode of %s differs", file)
+					.that(streamDecode(streamed, file))
+					.isEqualTo(documentDecode(document, file));
+		}
+	}
+
+	@Test
+	public void testStreamedDecodeSetsProgram() throws Exception {
+		Context context = new Context();
+		streamDecode(context, Paths.get("../qrda-files/valid-QRDA-III-latest.xml"));
+
+		assertThat(context.getProgram()).isSameAs(documentDecodeProgram());
+	}
+
+	@Test
+	public void testStreamedDecodeKeepsSectionPaths() throws Exception {
+		Node decoded = streamDecode(new Context(), Paths.get("../qrda-files/valid-QRDA-III-latest.xml"));
+		Node firstSection = decoded.findFirstNode(TemplateId.CLINICAL_DOCUMENT).getChildNodes().get(0);
+
+		assertThat(firstSection.getPath())
+				.endsWith("[1]/*[local-name() = 'section' and namespace-uri() = 'urn:hl7-org:v3']");
+	}
+
+	@Test
+	public void testStreamedDecodeKeepsEntryPaths() throws Exception {
+		Path file = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
+		List<String> streamed = measurePaths(streamDecode(new Context(), file));
+
+		assertThat(streamed).isNotEmpty();
+		assertThat(streamed).containsExactlyElementsIn(measurePaths(documentDecode(new Context(), file))).inOrder();
+	}
+
+	@Test
+	public void testNotQrdaDocumentIsRejected() throws Exception {
+		assertThat(streamDecode(new Context(), Paths.get("src/test/resources/not-a-QRDA-III-file.xml"))).isNull();
+	}
+
+	@Test
+	public void testNotQrdaDocumentWithBodyIsRejected() throws Exception {
+		String xml = "<ClinicalDocument xmlns=\"urn:hl7-org:v3\">"
+				+ body("<component>" + section(TemplateId.IA_SECTION) + "</component>")
+				+ "</ClinicalDocument>";
+
+		assertThat(new StreamingQppXmlDecoder(new Context()).decode(toStream(xml))).isNull();
+	}
+
+	@Test
+	public void testDocumentWithoutBodyIsDecoded() throws Exception {
+		String xml = clinicalDocument("");
+
+		assertThat(new StreamingQppXmlDecoder(new Context()).decode(toStream(xml)).getType())
+				.isSameAs(TemplateId.CLINICAL_DOCUMENT);
+	}
+
+	@Test
+	public void testDocumentWithoutStructuredBodyIsDecoded() throws Exception {
+		String xml = clinicalDocument("<component><nonXMLBody><text>text</text></nonXMLBody></component>");
+
+		assertStreamedDecodeMatches(xml);
+	}
+
+	@Test
+	public void testOnlyComponentsOfStructuredBodyAreDecoded() throws Exception {
+		String xml = clinicalDocument(body("<component>" + section(TemplateId.IA_SECTION) + "</component>"
+				+ "<other>" + section(TemplateId.ACI_SECTION) + "</other>"
+				+ "<component>" + section(TemplateId.ACI_SECTION) + "</component>"));
+
+		assertStreamedDecodeMatches(xml);
+	}
+
+	@Test(expected = XmlException.class)
+	public void testMalformedXmlThrows() throws Exception {
+		new StreamingQppXmlDecoder(new Context()).decode(toStream("<ClinicalDocument><component>"));
+	}
+
+	@Test(expected = XmlException.class)
+	public void testMalformedXmlAfterBodyThrows() throws Exception {
+		String xml = clinicalDocument(body("<component>" + section(TemplateId.IA_SECTION) + "</component>"));
+
+		new StreamingQppXmlDecoder(new Context()).decode(toStream(xml.replace("</ClinicalDocument>", "<oops>")));
+	}
+
+	@Test(expected = XmlException.class)
+	public void testDoctypeIsDisallowed() throws Exception {
+		String xml = "<?xml version=\"1.0\"?><!DOCTYPE ClinicalDocument [<!ENTITY e \"e\">]>"
+				+ "<ClinicalDocument xmlns=\"urn:hl7-org:v3\"/>";
+		new StreamingQppXmlDecoder(new Context()).decode(toStream(xml));
+	}
+
+	private List<Path> sampleFiles() throws IOException {
+		try (Stream<Path> qrda = Files.list(Paths.get("../qrda-files"));
+				Stream<Path> samples = Files.list(Paths.get("../sample-files"))) {
+			return Stream.concat(qrda, samples)
+					.filter(path -> path.toString().endsWith(".xml"))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+	}
+
+	private Node streamDecode(Context context, Path file) throws XmlException {
+		try (InputStream stream = XmlUtils.fileToStream(file)) {
+			return XmlInputDecoder.decodeXml(context, stream);
+		} catch (IOException e) {
+			throw new XmlException("Unable to close " + file, e);
+		}
+	}
+
+	private Node documentDecode(Context context, Path file) throws XmlException {
+		return XmlInputDecoder.decodeXml(context, XmlUtils.parseXmlStream(XmlUtils.fileToStream(file)));
+	}
+
+	private List<String> measurePaths(Node decoded) {
+		return decoded.findNode(TemplateId.IA_MEASURE).stream()
+				.map(Node::getPath)
+				.collect(Collectors.toList());
+	}
+
+	private Object documentDecodeProgram() throws XmlException {
+		Context context = new Context();
+		documentDecode(context, Paths.get("../qrda-files/valid-QRDA-III-latest.xml"));
+		return context.getProgram();
+	}
+
+	private void assertStreamedDecodeMatches(String xml) throws XmlException {
+		assertThat(new StreamingQppXmlDecoder(new Context()).decode(toStream(xml)))
+				.isEqualTo(XmlInputDecoder.decodeXml(new Context(), XmlUtils.stringToDom(xml)));
+	}
+
+	private String clinicalDocument(String content) {
+		return "<ClinicalDocument xmlns=\"urn:hl7-org:v3\">" + templateId(TemplateId.CLINICAL_DOCUMENT)
+				+ content + "</ClinicalDocument>";
+	}
+
+	private String body(String sections) {
+		return "<component><structuredBody>" + sections + "</structuredBody></component>";
+	}
+
+	private String section(TemplateId templateId) {
+		return "<section>" + templateId(templateId) + "</section>";
+	}
+
+	private String templateId(TemplateId templateId) {
+		return "<templateId root=\"" + templateId.getRoot() + "\" extension=\"" + templateId.getExtension() + "\"/>";
+	}
+
+	private InputStream toStream(String xml) {
+		return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,162 @@
+package gov.cms.qpp.conversion.decode;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.correlation.model.Config;
+import gov.cms.qpp.conversion.correlation.model.Correlation;
+import gov.cms.qpp.conversion.correlation.model.PathCorrelation;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
+import org.jdom2.xpath.XPathFactory;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+public class XPathBatchTest {
+
+	private static final String NS_URI = "urn:hl7-org:v3";
+	private static final Namespace XPATH_NS = Namespace.getNamespace("ns", NS_URI);
+	private static final String B_PLAN = "./*[local-name() = 'b' and namespace-uri() = 'urn:x']";
+	private static List<String> correlatedXpaths;
+
+	private XPathBatch batch;
+
+	@BeforeClass
+	public static void loadCorrelations() throws Exception {
+		try (InputStream input = ClassLoader.getSystemResourceAsStream("pathing/path-correlation.json")) {
+			PathCorrelation pathCorrelation = new ObjectMapper().readValue(input, PathCorrelation.class);
+			correlatedXpaths = pathCorrelation.getCorrelations().stream()
+					.map(Correlation::getConfig)
+					.flatMap(List::stream)
+					.map(Config::getGoods)
+					.map(goods -> goods.getRelativeXPath().replace(pathCorrelation.getUriSubstitution(), NS_URI))
+					.distinct()
+					.collect(Collectors.toList());
+		}
+	}
+
+	@Before
+	public void setup() {
+		batch = new XPathBatch(new ClinicalDocumentDecoder(new Context()));
+	}
+
+	@Test
+	public void testBatchMatchesIndividualEvaluation() throws Exception {
+		for (String file : new String[] {"../qrda-files/valid-QRDA-III-latest.xml",
+				"../qrda-files/ComprehensivePrimaryCare_Sample_QRDA_III-latest.xml"}) {
+			Element root = XmlUtils.parseXmlStream(XmlUtils.fileToStream(Paths.get(file)));
+			List<Element> decodePoints = StreamSupport.stream(root.getDescendants(Filters.element()).spliterator(), false)
+					.filter(element -> element.getChild("templateId", element.getNamespace()) != null)
+					.collect(Collectors.toList());
+			decodePoints.add(root);
+
+			for (Element element : decodePoints) {
+				XPathBatch elementBatch = new XPathBatch(new ClinicalDocumentDecoder(new Context()));
+				List<List<Object>> all = new ArrayList<>();
+				List<List<Object>> first = new ArrayList<>();
+				for (String xpath : correlatedXpaths) {
+					XPathExpression<Object> plan = XPathNavigationPlan.compile(xpath, Filters.fpassthrough(), XPATH_NS);
+					List<Object> allResults = new ArrayList<>();
+					List<Object> firstResults = new ArrayList<>();
+					elementBatch.add(plan, allResults::add, false).add(plan, firstResults::add, true);
+					all.add(allResults);
+					first.add(firstResults);
+				}
+				elementBatch.evaluate(element);
+
+				for (int index = 0; index < correlatedXpaths.size(); index++) {
+					String xpath = correlatedXpaths.get(index);
+					XPathExpression<Object> expression =
+							XPathFactory.instance().compile(xpath, Filters.fpassthrough(), null, XPATH_NS);
+					assertWithMessage("%s differs in %s", xpath, file)
+							.that(all.get(index))
+							.containsExactlyElementsIn(expression.evaluate(element))
+							.inOrder();
+					assertWithMessage("%s differs in %s", xpath, file)
+							.that(first.get(index))
+							.containsExactlyElementsIn(firstOf(expression.evaluateFirst(element)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testConsumersRunInOrderAdded() throws Exception {
+		Element element = XmlUtils.stringToDom("<a xmlns=\"urn:x\"><b code=\"1\"/><b code=\"2\"/></a>");
+		List<String> order = new ArrayList<>();
+
+		batch.add(XPathNavigationPlan.compile(B_PLAN + "/@code", Filters.attribute()),
+						attribute -> order.add("code"), false)
+				.then(() -> order.add("then"))
+				.add(XPathNavigationPlan.compile(B_PLAN, Filters.element()), child -> order.add("b"), true)
+				.evaluate(element);
+
+		assertThat(order).containsExactly("code", "code", "then", "b").inOrder();
+	}
+
+	@Test
+	public void testSelectOneAppliesFilter() throws Exception {
+		Element element = XmlUtils.stringToDom("<a xmlns=\"urn:x\"><b code=\"1\"/></a>");
+		List<Object> results = new ArrayList<>();
+
+		batch.add(XPathNavigationPlan.compile(B_PLAN + "/@code", Filters.element()), results::add, true)
+				.evaluate(element);
+
+		assertThat(results).isEmpty();
+	}
+
+	@Test
+	public void testStepsMatchNamespace() throws Exception {
+		Element element = XmlUtils.stringToDom("<a xmlns=\"urn:x\"><b xmlns=\"urn:y\"/><c/><b/></a>");
+		List<Object> results = new ArrayList<>();
+
+		batch.add(XPathNavigationPlan.compile(B_PLAN, Filters.element()), results::add, false)
+				.evaluate(element);
+
+		assertThat(results).containsExactly(element.getChildren().get(2));
+	}
+
+	@Test
+	public void testExpressionsThatAreNotPlansAreEvaluated() throws Exception {
+		Element element = XmlUtils.stringToDom("<a><b/><b/></a>");
+		List<Object> results = new ArrayList<>();
+
+		batch.add(XPathFactory.instance().compile("./b", Filters.element()), results::add, false)
+				.evaluate(element);
+
+		assertThat(results).hasSize(2);
+	}
+
+	@Test
+	public void testBatchCanBeReevaluated() throws Exception {
+		List<Object> results = new ArrayList<>();
+		batch.add(XPathNavigationPlan.compile(B_PLAN, Filters.element()), results::add, false);
+
+		batch.evaluate(XmlUtils.stringToDom("<a xmlns=\"urn:x\"><b/><b/></a>"));
+		results.clear();
+		batch.evaluate(XmlUtils.stringToDom("<a xmlns=\"urn:x\"><b/></a>"));
+
+		assertThat(results).hasSize(1);
+	}
+
+	private List<Object> firstOf(Object result) {
+		List<Object> results = new ArrayList<>();
+		if (result != null) {
+			results.add(result);
+		}
+		return results;
+	}
+}
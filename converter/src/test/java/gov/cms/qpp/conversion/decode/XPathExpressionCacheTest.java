@@ -0,0 +1,72 @@
+package gov.cms.qpp.conversion.decode;
+
+import gov.cms.qpp.conversion.model.TemplateId;
+import org.jdom2.Attribute;
+import org.jdom2.Namespace;
+import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class XPathExpressionCacheTest {
+
+	private static final String TEMPLATE = TemplateId.CLINICAL_DOCUMENT.name();
+	private static final Namespace XPATH_NS = Namespace.getNamespace("ns", "urn:hl7-org:v3");
+
+	@Test
+	public void testExpressionIsReused() {
+		XPathExpression<Attribute> expression =
+				XPathExpressionCache.get(TEMPLATE, ClinicalDocumentDecoder.PROGRAM_NAME, Filters.attribute(), XPATH_NS);
+
+		assertThat(XPathExpressionCache.get(TEMPLATE, ClinicalDocumentDecoder.PROGRAM_NAME, Filters.attribute(),
+				Namespace.getNamespace("ns", "urn:hl7-org:v3")))
+				.isSameAs(expression);
+	}
+
+	@Test
+	public void testExpressionIsCompiledFromCorrelation() {
+		XPathExpression<Attribute> expression =
+				XPathExpressionCache.get(TEMPLATE, ClinicalDocumentDecoder.PROGRAM_NAME, Filters.attribute(), XPATH_NS);
+
+		assertThat(expression.getExpression()).contains("urn:hl7-org:v3");
+		assertThat(expression.getNamespace("ns")).isEqualTo(XPATH_NS);
+	}
+
+	@Test
+	public void testExpressionIsKeyedByFilter() {
+		assertThat(XPathExpressionCache.get(TEMPLATE, ClinicalDocumentDecoder.PROGRAM_NAME, Filters.attribute(), XPATH_NS))
+				.isNotSameAs(XPathExpressionCache.get(TEMPLATE, ClinicalDocumentDecoder.PROGRAM_NAME,
+						Filters.fpassthrough(), XPATH_NS));
+	}
+
+	@Test
+	public void testExpressionIsKeyedByNamespace() {
+		assertThat(XPathExpressionCache.get(TEMPLATE, ClinicalDocumentDecoder.PROGRAM_NAME, Filters.attribute(), XPATH_NS))
+				.isNotSameAs(XPathExpressionCache.get(TEMPLATE, ClinicalDocumentDecoder.PROGRAM_NAME,
+						Filters.attribute(), Namespace.getNamespace("ns", "urn:other")));
+	}
+
+	@Test
+	public void testExpressionIsSharedAcrossThreads() throws Exception {
+		XPathExpression<Attribute> expression =
+				XPathExpressionCache.get(TEMPLATE, ClinicalDocumentDecoder.PROGRAM_NAME, Filters.attribute(), XPATH_NS);
+
+		XPathExpression<Attribute> other = CompletableFuture.supplyAsync(() ->
+				XPathExpressionCache.get(TEMPLATE, ClinicalDocumentDecoder.PROGRAM_NAME, Filters.attribute(), XPATH_NS))
+				.get();
+
+		assertThat(other).isSameAs(expression);
+	}
+
+	@Test
+	public void testExpressionOfOtherNamespaceIsNotCached() {
+		Namespace other = Namespace.getNamespace("ns", "urn:other");
+
+		assertThat(XPathExpressionCache.get(TEMPLATE, ClinicalDocumentDecoder.PROGRAM_NAME, Filters.attribute(), other))
+				.isNotSameAs(XPathExpressionCache.get(TEMPLATE, ClinicalDocumentDecoder.PROGRAM_NAME,
+						Filters.attribute(), other));
+	}
+}
@@ -0,0 +1,94 @@
+package gov.cms.qpp.conversion.decode;
+
+import gov.cms.qpp.conversion.xml.XmlUtils;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+public class XPathNamespaceTest {
+
+	@Test
+	public void testNamespaceIsInterned() {
+		assertThat(XPathNamespace.forUri("urn:hl7-org:v3")).isSameAs(XPathNamespace.forUri("urn:hl7-org:v3"));
+	}
+
+	@Test
+	public void testOtherNamespaceIsNotInterned() {
+		assertThat(XPathNamespace.isInterned("urn:other")).isFalse();
+		assertThat(XPathNamespace.forUri("urn:other")).isNotSameAs(XPathNamespace.forUri("urn:other"));
+		assertThat(XPathNamespace.forUri("urn:other").getURI()).isEqualTo("urn:other");
+	}
+
+	@Test
+	public void testNamespaceIsPrefixed() {
+		Namespace namespace = XPathNamespace.forUri("urn:hl7-org:v3");
+
+		assertThat(namespace.getPrefix()).isEqualTo("ns");
+		assertThat(namespace.getURI()).isEqualTo("urn:hl7-org:v3");
+	}
+
+	@Test
+	public void testNamespaceWithoutUri() {
+		assertThat(XPathNamespace.forUri("").getPrefix()).isEqualTo("ns");
+	}
+
+	@Test
+	public void testDecodeStateKeepsNamespaceForSameUri() throws Exception {
+		Element element = XmlUtils.stringToDom("<a xmlns=\"urn:x\"><b/></a>");
+
+		DecodeState state = DecodeState.of(element);
+
+		assertThat(state.forElement(element.getChildren().get(0))).isSameAs(state);
+	}
+
+	@Test
+	public void testDecodeStateRebindsNamespaceForNewUri() throws Exception {
+		Element element = XmlUtils.stringToDom("<a xmlns=\"urn:x\"><b xmlns=\"urn:y\"/></a>");
+
+		DecodeState state = DecodeState.of(element);
+		DecodeState childState = state.forElement(element.getChildren().get(0));
+
+		assertThat(childState.getDefaultNs().getURI()).isEqualTo("urn:y");
+		assertThat(childState.getXpathNs().getURI()).isEqualTo("urn:y");
+		assertThat(childState.getPaths()).isSameAs(state.getPaths());
+	}
+
+	@Test
+	public void testDecodeStateBindsAfreshWithOtherBinding() throws Exception {
+		Element element = XmlUtils.stringToDom("<a xmlns=\"urn:x\"><b/></a>");
+
+		DecodeState state = DecodeState.of(element, XPathNamespace::construct);
+		DecodeState childState = state.forElement(element.getChildren().get(0));
+
+		assertThat(childState).isNotSameAs(state);
+		assertThat(childState.getXpathNs()).isNotSameAs(state.getXpathNs());
+		assertThat(childState.getXpathNs().getURI()).isEqualTo("urn:x");
+		assertThat(childState.getPaths()).isSameAs(state.getPaths());
+	}
+
+	@Test
+	public void testNestedDecodeLeavesOuterStateAlone() throws Exception {
+		Element element = XmlUtils.stringToDom("<a xmlns=\"urn:x\"><b xmlns=\"urn:y\"/></a>");
+
+		DecodeState state = DecodeState.of(element);
+		state.forElement(element.getChildren().get(0));
+
+		assertThat(state.getDefaultNs().getURI()).isEqualTo("urn:x");
+		assertThat(state.getXpathNs().getURI()).isEqualTo("urn:x");
+	}
+
+	@Test
+	public void privateConstructorTest() throws Exception {
+		Constructor<XPathNamespace> constructor = XPathNamespace.class.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		XPathNamespace xpathNamespace = constructor.newInstance();
+		constructor.setAccessible(false);
+		assertWithMessage("Expect to have an instance here")
+				.that(xpathNamespace).isInstanceOf(XPathNamespace.class);
+	}
+}
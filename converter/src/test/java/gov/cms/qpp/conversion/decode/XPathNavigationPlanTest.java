@@ -0,0 +1,123 @@
+package gov.cms.qpp.conversion.decode;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.cms.qpp.conversion.correlation.model.Config;
+import gov.cms.qpp.conversion.correlation.model.Correlation;
+import gov.cms.qpp.conversion.correlation.model.PathCorrelation;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
+import org.jdom2.xpath.XPathFactory;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+public class XPathNavigationPlanTest {
+
+	private static final String NS_URI = "urn:hl7-org:v3";
+	private static final Namespace XPATH_NS = Namespace.getNamespace("ns", NS_URI);
+	private static List<String> correlatedXpaths;
+
+	@BeforeClass
+	public static void loadCorrelations() throws Exception {
+		try (InputStream input = ClassLoader.getSystemResourceAsStream("pathing/path-correlation.json")) {
+			PathCorrelation pathCorrelation = new ObjectMapper().readValue(input, PathCorrelation.class);
+			correlatedXpaths = pathCorrelation.getCorrelations().stream()
+					.map(Correlation::getConfig)
+					.flatMap(List::stream)
+					.map(Config::getGoods)
+					.map(goods -> goods.getRelativeXPath().replace(pathCorrelation.getUriSubstitution(), NS_URI))
+					.distinct()
+					.collect(Collectors.toList());
+		}
+	}
+
+	@Test
+	public void testAllCorrelationsCompileToPlans() {
+		for (String xpath : correlatedXpaths) {
+			assertWithMessage("%s should compile to a plan", xpath)
+					.that(XPathNavigationPlan.compile(xpath, Filters.fpassthrough(), XPATH_NS))
+					.isNotNull();
+		}
+	}
+
+	@Test
+	public void testPlansMatchXpath() throws Exception {
+		for (String file : new String[] {"../qrda-files/valid-QRDA-III-latest.xml",
+				"../qrda-files/ComprehensivePrimaryCare_Sample_QRDA_III-latest.xml"}) {
+			Element root = XmlUtils.parseXmlStream(XmlUtils.fileToStream(Paths.get(file)));
+			List<Element> decodePoints = StreamSupport.stream(root.getDescendants(Filters.element()).spliterator(), false)
+					.filter(element -> element.getChild("templateId", element.getNamespace()) != null)
+					.collect(Collectors.toList());
+			decodePoints.add(root);
+
+			for (String xpath : correlatedXpaths) {
+				XPathExpression<Object> plan = XPathNavigationPlan.compile(xpath, Filters.fpassthrough(), XPATH_NS);
+				XPathExpression<Object> expression =
+						XPathFactory.instance().compile(xpath, Filters.fpassthrough(), null, XPATH_NS);
+				for (Element element : decodePoints) {
+					assertWithMessage("%s differs in %s", xpath, file)
+							.that(plan.evaluate(element))
+							.containsExactlyElementsIn(expression.evaluate(element))
+							.inOrder();
+					assertWithMessage("%s differs in %s", xpath, file)
+							.that(plan.evaluateFirst(element))
+							.isSameAs(expression.evaluateFirst(element));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testPlanAppliesFilter() throws Exception {
+		Element element = XmlUtils.stringToDom("<a xmlns=\"urn:x\"><b code=\"1\"/><b code=\"2\"/></a>");
+		XPathExpression<Element> plan = XPathNavigationPlan.compile(
+				"./*[local-name() = 'b' and namespace-uri() = 'urn:x']/@code", Filters.element());
+
+		assertThat(plan.evaluate(element)).isEmpty();
+	}
+
+	@Test
+	public void testPlanPredicate() throws Exception {
+		Element element = XmlUtils.stringToDom("<a><b root=\"1\" extension=\"x\"/><b root=\"2\" extension=\"y\"/></a>");
+		XPathExpression<Object> plan = XPathNavigationPlan.compile(
+				"./*[local-name() = 'b' and namespace-uri() = ''][@root='2']/@extension", Filters.fpassthrough());
+
+		assertThat(plan.evaluate(element)).hasSize(1);
+		assertThat(plan.evaluate(element).get(0).toString()).contains("y");
+	}
+
+	@Test
+	public void testContextOnlyPlan() throws Exception {
+		Element element = XmlUtils.stringToDom("<a/>");
+
+		assertThat(XPathNavigationPlan.compile(".", Filters.element()).evaluateFirst(element)).isSameAs(element);
+	}
+
+	@Test
+	public void testUnsupportedExpressionsAreNotPlanned() {
+		String[] unsupported = {
+				"//*[local-name() = 'b' and namespace-uri() = '']",
+				"./b",
+				"./*[local-name() = 'b' and namespace-uri() = ''][1]",
+				"./*[local-name() = 'b' and namespace-uri() = '']/@ns:code",
+				"./*[local-name() = 'b' and namespace-uri() = '']/@code/..",
+				"count(./*)"};
+
+		for (String xpath : unsupported) {
+			assertWithMessage("%s should not compile to a plan", xpath)
+					.that(XPathNavigationPlan.compile(xpath, Filters.fpassthrough()))
+					.isNull();
+		}
+	}
+}
@@ -3,6 +3,7 @@ package gov.cms.qpp.conversion.decode.placeholder;
 import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.decode.QppXmlDecoder;
 import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.xml.XmlUtils;
 import java.io.InputStream;
 import java.nio.charset.Charset;
@@ -23,4 +24,23 @@ public class DefaultDecoderTest {
 
 		assertThat(node).isNotNull();
 	}
+
+	@Test
+	public void removeDefaultNodeUpdatesSearches() {
+		Node root = new Node(TemplateId.CLINICAL_DOCUMENT);
+		Node measure = new Node(TemplateId.MEASURE_DATA_CMS_V2, root);
+		Node placeholder = new Node(TemplateId.CONTINUOUS_VARIABLE_MEASURE_VALUE_CMS, measure);
+		placeholder.putValue("DefaultDecoderFor", "Continuous Variable Measure Value - CMS");
+		measure.addChildNode(placeholder);
+		root.addChildNode(measure);
+
+		assertThat(root.findNode(TemplateId.CONTINUOUS_VARIABLE_MEASURE_VALUE_CMS)).containsExactly(placeholder);
+		assertThat(measure.getChildNodes(TemplateId.CONTINUOUS_VARIABLE_MEASURE_VALUE_CMS).count()).isEqualTo(1);
+
+		DefaultDecoder.removeDefaultNode(root.getChildNodes());
+
+		assertThat(root.findNode(TemplateId.CONTINUOUS_VARIABLE_MEASURE_VALUE_CMS)).isEmpty();
+		assertThat(root.findFirstNode(TemplateId.MEASURE_DATA_CMS_V2)).isSameAs(measure);
+		assertThat(measure.getChildNodes(TemplateId.CONTINUOUS_VARIABLE_MEASURE_VALUE_CMS).count()).isEqualTo(0);
+	}
 }
@@ -44,12 +44,11 @@ public class AciMeasurePerformedRnREncoderTest {
 	@SuppressWarnings("unchecked")
 	public void testEncoder() throws IOException {
 		QppOutputEncoder encoder = new QppOutputEncoder(new Context());
-		encoder.setNodes(nodes);
 
 		StringWriter sw = new StringWriter();
 
 		try {
-			encoder.encode(new BufferedWriter(sw));
+			encoder.encode(new EncodeState(), nodes, new BufferedWriter(sw));
 		} catch (EncodeException e) {
 			fail("Failure to encode: " + e.getMessage());
 		}
@@ -71,7 +70,7 @@ public class AciMeasurePerformedRnREncoderTest {
 		AciMeasurePerformedRnREncoder objectUnderTest = new AciMeasurePerformedRnREncoder(new Context());
 
 		//execute
-		objectUnderTest.internalEncode(jsonWrapper, aciMeasurePerformedRnR);
+		objectUnderTest.internalEncode(new EncodeState(), jsonWrapper, aciMeasurePerformedRnR);
 
 		//assert
 		assertWithMessage("MeasureId should be %s", MEASURE_ID)
@@ -90,7 +89,7 @@ public class AciMeasurePerformedRnREncoderTest {
 		aciMeasurePerformedRnR.setChildNodes();
 
 		//execute
-		objectUnderTest.internalEncode(jsonWrapper, aciMeasurePerformedRnR);
+		objectUnderTest.internalEncode(new EncodeState(), jsonWrapper, aciMeasurePerformedRnR);
 
 		//assert
 		assertWithMessage("MeasureId should be %s", MEASURE_ID)
@@ -108,7 +107,7 @@ public class AciMeasurePerformedRnREncoderTest {
 		AciMeasurePerformedRnREncoder objectUnderTest = new AciMeasurePerformedRnREncoder(new Context());
 		aciMeasurePerformedRnR.getChildNodes().get(0).putValue("measurePerformed", "Y");
 		//execute
-		objectUnderTest.internalEncode(jsonWrapper, aciMeasurePerformedRnR);
+		objectUnderTest.internalEncode(new EncodeState(), jsonWrapper, aciMeasurePerformedRnR);
 
 		//assert
 		assertWithMessage("MeasureId should be %s", MEASURE_ID)
@@ -126,7 +125,7 @@ public class AciMeasurePerformedRnREncoderTest {
 		AciMeasurePerformedRnREncoder objectUnderTest = new AciMeasurePerformedRnREncoder(new Context());
 		aciMeasurePerformedRnR.getChildNodes().get(0).putValue("measurePerformed","N");
 		//execute
-		objectUnderTest.internalEncode(jsonWrapper, aciMeasurePerformedRnR);
+		objectUnderTest.internalEncode(new EncodeState(), jsonWrapper, aciMeasurePerformedRnR);
 
 		//assert
 		assertWithMessage("MeasureId should be %s", MEASURE_ID)
@@ -145,7 +144,7 @@ public class AciMeasurePerformedRnREncoderTest {
 		String unknownValue = "Some unknown value";
 		aciMeasurePerformedRnR.getChildNodes().get(0).putValue("measurePerformed",unknownValue);
 		//execute
-		objectUnderTest.internalEncode(jsonWrapper, aciMeasurePerformedRnR);
+		objectUnderTest.internalEncode(new EncodeState(), jsonWrapper, aciMeasurePerformedRnR);
 
 		//assert
 		assertWithMessage("MeasureId should be %s", MEASURE_ID)
@@ -54,12 +54,10 @@ public class AciNumeratorDenominatorEncoderTest {
 	public void testEncoder() {
 		QppOutputEncoder encoder = new QppOutputEncoder(new Context());
 
-		encoder.setNodes(nodes);
-
 		StringWriter sw = new StringWriter();
 
 		try {
-			encoder.encode(new BufferedWriter(sw));
+			encoder.encode(new EncodeState(), nodes, new BufferedWriter(sw));
 		} catch (EncodeException e) {
 			fail("Failure to encode: " + e.getMessage());
 		}
@@ -78,7 +76,7 @@ public class AciNumeratorDenominatorEncoderTest {
 		AciNumeratorDenominatorEncoder objectUnderTest = new AciNumeratorDenominatorEncoder(new Context());
 
 		//execute
-		objectUnderTest.internalEncode(jsonWrapper, aciProportionMeasureNode);
+		objectUnderTest.internalEncode(new EncodeState(), jsonWrapper, aciProportionMeasureNode);
 
 		//assert
 		assertWithMessage("The measureId must be " + MEASURE_ID)
@@ -103,14 +101,15 @@ public class AciNumeratorDenominatorEncoderTest {
 		aciProportionMeasureNode.addChildNode(unknownNode);
 
 		//execute
-		objectUnderTest.internalEncode(jsonWrapper, aciProportionMeasureNode);
+		EncodeState state = new EncodeState();
+		objectUnderTest.internalEncode(state, jsonWrapper, aciProportionMeasureNode);
 
 		//assert
 		assertWithMessage("There must be a single validation error")
-				.that(objectUnderTest.getDetails())
+				.that(state.getDetails())
 				.hasSize(1);
 		assertWithMessage("The validation error must be the inability to find an encoder")
-				.that(objectUnderTest.getDetails().get(0).getMessage())
+				.that(state.getDetails().get(0).getMessage())
 				.isEqualTo("Failed to find an encoder");
 	}
 }
@@ -63,10 +63,9 @@ public class AciProportionDenominatorEncoderTest {
 	private void runEncoder() {
 		AciProportionDenominatorEncoder encoder = new AciProportionDenominatorEncoder(new Context());
 		try {
-			encoder.internalEncode(json, aciProportionDenominatorNode);
+			encoder.internalEncode(new EncodeState(), json, aciProportionDenominatorNode);
 		} catch (EncodeException e) {
 			throw new RuntimeException(e);
 		}
-		encoder.setNodes(nodes);
 	}
 }
@@ -34,7 +34,7 @@ public class AciProportionNumeratorEncoderTest {
 	@Test
 	public void testInternalEncode() throws EncodeException {
 		AciProportionNumeratorEncoder aciProportionNumeratorEncoder = new AciProportionNumeratorEncoder(new Context());
-		aciProportionNumeratorEncoder.internalEncode(jsonWrapper, aciProportionNumeratorNode);
+		aciProportionNumeratorEncoder.internalEncode(new EncodeState(), jsonWrapper, aciProportionNumeratorNode);
 
 		assertWithMessage("Must have a numerator value of 600")
 				.that(jsonWrapper.getInteger("numerator"))
@@ -46,7 +46,7 @@ public class AciProportionNumeratorEncoderTest {
 		aciProportionNumeratorNode.getChildNodes().remove(numeratorDenominatorValueNode);
 
 		AciProportionNumeratorEncoder aciProportionNumeratorEncoder = new AciProportionNumeratorEncoder(new Context());
-		aciProportionNumeratorEncoder.internalEncode(jsonWrapper, aciProportionNumeratorNode);
+		aciProportionNumeratorEncoder.internalEncode(new EncodeState(), jsonWrapper, aciProportionNumeratorNode);
 
 		assertWithMessage("Must have a null numerator")
 				.that(jsonWrapper.getInteger("numerator"))
@@ -58,7 +58,7 @@ public class AciProportionNumeratorEncoderTest {
 		numeratorDenominatorValueNode.putValue("aggregateCount", null);
 
 		AciProportionNumeratorEncoder aciProportionNumeratorEncoder = new AciProportionNumeratorEncoder(new Context());
-		aciProportionNumeratorEncoder.internalEncode(jsonWrapper, aciProportionNumeratorNode);
+		aciProportionNumeratorEncoder.internalEncode(new EncodeState(), jsonWrapper, aciProportionNumeratorNode);
 
 		assertWithMessage("Must have a numerator value of null")
 				.that(jsonWrapper.getInteger("numerator"))
@@ -116,12 +116,10 @@ public class AciSectionEncoderMultiMeasureTest {
 	public void testEncoder() {
 		QppOutputEncoder encoder = new QppOutputEncoder(new Context());
 
-		encoder.setNodes(nodes);
-
 		StringWriter sw = new StringWriter();
 
 		try {
-			encoder.encode(new BufferedWriter(sw));
+			encoder.encode(new EncodeState(), nodes, new BufferedWriter(sw));
 		} catch (EncodeException e) {
 			fail("Failure to encode: " + e.getMessage());
 		}
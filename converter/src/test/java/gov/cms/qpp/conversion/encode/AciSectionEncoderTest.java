@@ -4,6 +4,7 @@ import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.decode.ReportingParametersActDecoder;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.model.error.ErrorBudget;
 import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
@@ -67,7 +68,7 @@ public class AciSectionEncoderTest {
 	public void testInternalEncode() {
 		JsonWrapper jsonWrapper = new JsonWrapper();
 		AciSectionEncoder aciSectionEncoder = new AciSectionEncoder(new Context());
-		aciSectionEncoder.internalEncode(jsonWrapper, aciSectionNode);
+		aciSectionEncoder.internalEncode(new EncodeState(), jsonWrapper, aciSectionNode);
 
 		Map<?, ?> testMapObject = (Map<?, ?>) jsonWrapper.getObject();
 
@@ -90,15 +91,28 @@ public class AciSectionEncoderTest {
 		aciSectionNode.addChildNode(reportingParametersNode);
 
 		AciSectionEncoder aciSectionEncoder = new AciSectionEncoder(new Context());
-		aciSectionEncoder.internalEncode(testWrapper, aciSectionNode);
+		EncodeState state = new EncodeState();
+		aciSectionEncoder.internalEncode(state, testWrapper, aciSectionNode);
 
 		assertWithMessage("Must have validation error.")
-				.that(aciSectionEncoder.getDetails()).isNotNull();
+				.that(state.getDetails()).isNotNull();
 		assertWithMessage("Must be correct validation error")
-				.that(aciSectionEncoder.getDetails().get(0).getMessage())
+				.that(state.getDetails().get(0).getMessage())
 				.isEqualTo("Failed to find an encoder for child node DEFAULT");
 	}
 
+	@Test
+	public void internalEncodeStopsOnceErrorBudgetExhausted() throws EncodeException {
+		aciSectionNode.addChildNodes(new Node(), new Node());
+
+		EncodeState state = new EncodeState(new ErrorBudget(1));
+		new AciSectionEncoder(new Context()).internalEncode(state, new JsonWrapper(), aciSectionNode);
+
+		assertWithMessage("No more measures should be encoded after the first error")
+				.that(state.getDetails())
+				.hasSize(1);
+	}
+
 	@Test
 	public void internalEncodeNegativeWithNoReportingParameters() throws EncodeException {
 
@@ -106,7 +120,7 @@ public class AciSectionEncoderTest {
 
 		AciSectionEncoder encoder = spy(new AciSectionEncoder(new Context()));
 		JsonWrapper jsonWrapper = new JsonWrapper();
-		encoder.internalEncode(jsonWrapper, aciSectionNode);
+		encoder.internalEncode(new EncodeState(), jsonWrapper, aciSectionNode);
 
 		verify(encoder, never()).maintainContinuity(any(JsonWrapper.class), any(Node.class), anyString());
 	}
@@ -37,12 +37,10 @@ public class AggregateCountEncoderTest {
 	public void testEncoderWithFramework() {
 		QppOutputEncoder encoder = new QppOutputEncoder(new Context());
 
-		encoder.setNodes(nodes);
-
 		StringWriter sw = new StringWriter();
 
 		try {
-			encoder.encode(new BufferedWriter(sw));
+			encoder.encode(new EncodeState(), nodes, new BufferedWriter(sw));
 		} catch (EncodeException e) {
 			fail("Failure to encode: " + e.getMessage());
 		}
@@ -60,10 +58,9 @@ public class AggregateCountEncoderTest {
 	@Test
 	public void testEncoder() {
 		AggregateCountEncoder encoder = new AggregateCountEncoder(new Context());
-		encoder.setNodes(nodes);
 		JsonWrapper json = new JsonWrapper();
 		try {
-			encoder.internalEncode(json, numeratorDenominatorNode);
+			encoder.internalEncode(new EncodeState(), json, numeratorDenominatorNode);
 		} catch (EncodeException e) {
 			fail("Failure to encode: " + e.getMessage());
 		}
@@ -6,12 +6,16 @@ import gov.cms.qpp.conversion.decode.MultipleTinsDecoder;
 import gov.cms.qpp.conversion.decode.ReportingParametersActDecoder;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.model.error.ErrorBudget;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 
+import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
 
 public class ClinicalDocumentEncoderTest {
@@ -124,7 +128,7 @@ public class ClinicalDocumentEncoderTest {
 	public void testPerformanceYear() {
 		JsonWrapper testJsonWrapper = new JsonWrapper();
 		ClinicalDocumentEncoder clinicalDocumentEncoder = new ClinicalDocumentEncoder(new Context());
-		clinicalDocumentEncoder.internalEncode(testJsonWrapper, clinicalDocumentNode);
+		clinicalDocumentEncoder.internalEncode(new EncodeState(), testJsonWrapper, clinicalDocumentNode);
 		Object performanceYear = testJsonWrapper.getValue(ReportingParametersActDecoder.PERFORMANCE_YEAR);
 
 		assertWithMessage("performance year should be 2017")
@@ -137,7 +141,7 @@ public class ClinicalDocumentEncoderTest {
 		JsonWrapper testJsonWrapper = new JsonWrapper();
 
 		ClinicalDocumentEncoder clinicalDocumentEncoder = new ClinicalDocumentEncoder(new Context());
-		clinicalDocumentEncoder.internalEncode(testJsonWrapper, clinicalDocumentNode);
+		clinicalDocumentEncoder.internalEncode(new EncodeState(), testJsonWrapper, clinicalDocumentNode);
 
 		Map<?, ?> clinicalDocMap = ((Map<?, ?>) testJsonWrapper.getObject());
 
@@ -164,7 +168,7 @@ public class ClinicalDocumentEncoderTest {
 
 		ClinicalDocumentEncoder clinicalDocumentEncoder = new ClinicalDocumentEncoder(new Context());
 		clinicalDocumentNode.addChildNode(new Node());
-		clinicalDocumentEncoder.internalEncode(testJsonWrapper, clinicalDocumentNode);
+		clinicalDocumentEncoder.internalEncode(new EncodeState(), testJsonWrapper, clinicalDocumentNode);
 	}
 
 	@Test
@@ -173,7 +177,7 @@ public class ClinicalDocumentEncoderTest {
 		JsonWrapper testJsonWrapper = new JsonWrapper();
 
 		ClinicalDocumentEncoder clinicalDocumentEncoder = new ClinicalDocumentEncoder(new Context());
-		clinicalDocumentEncoder.internalEncode(testJsonWrapper, clinicalDocumentNode);
+		clinicalDocumentEncoder.internalEncode(new EncodeState(), testJsonWrapper, clinicalDocumentNode);
 
 		Map<?, ?> clinicalDocMap = ((Map<?, ?>) testJsonWrapper.getObject());
 
@@ -189,7 +193,7 @@ public class ClinicalDocumentEncoderTest {
 		JsonWrapper testJsonWrapper = new JsonWrapper();
 
 		ClinicalDocumentEncoder clinicalDocumentEncoder = new ClinicalDocumentEncoder(new Context());
-		clinicalDocumentEncoder.internalEncode(testJsonWrapper, clinicalDocumentNode);
+		clinicalDocumentEncoder.internalEncode(new EncodeState(), testJsonWrapper, clinicalDocumentNode);
 
 		Map<?, ?> clinicalDocMap = ((Map<?, ?>) testJsonWrapper.getObject());
 
@@ -204,7 +208,7 @@ public class ClinicalDocumentEncoderTest {
 		JsonWrapper testJsonWrapper = new JsonWrapper();
 
 		ClinicalDocumentEncoder clinicalDocumentEncoder = new ClinicalDocumentEncoder(new Context());
-		clinicalDocumentEncoder.internalEncode(testJsonWrapper, clinicalDocumentNode);
+		clinicalDocumentEncoder.internalEncode(new EncodeState(), testJsonWrapper, clinicalDocumentNode);
 
 		Map<?, ?> clinicalDocMap = ((Map<?, ?>) testJsonWrapper.getObject());
 
@@ -212,4 +216,66 @@ public class ClinicalDocumentEncoderTest {
 				.that(clinicalDocMap.get(ClinicalDocumentDecoder.ENTITY_ID))
 				.isNull();
 	}
+
+	@Test
+	public void testStreamEncodeMatchesInternalEncode() {
+		ClinicalDocumentEncoder clinicalDocumentEncoder = new ClinicalDocumentEncoder(new Context());
+
+		assertWithMessage("Streamed json must be the same as the wrapped json")
+				.that(stream(clinicalDocumentEncoder, new EncodeState()))
+				.isEqualTo(clinicalDocumentEncoder.encode(new EncodeState(), nodes).toString());
+	}
+
+	@Test
+	public void testStreamEncodeWithoutMeasures() {
+		clinicalDocumentNode.getChildNodes().remove(aciSectionNode);
+		ClinicalDocumentEncoder clinicalDocumentEncoder = new ClinicalDocumentEncoder(new Context());
+
+		String json = stream(clinicalDocumentEncoder, new EncodeState());
+
+		assertWithMessage("Must not contain a measure because the measurements are missing.")
+				.that(json)
+				.doesNotContain(MEASUREMENT_SETS);
+		assertThat(json).isEqualTo(clinicalDocumentEncoder.encode(new EncodeState(), nodes).toString());
+	}
+
+	@Test
+	public void testStopsOnceErrorBudgetExhausted() {
+		Node iaSectionNode = new Node(TemplateId.IA_SECTION);
+		iaSectionNode.addChildNode(new Node());
+		aciSectionNode.addChildNode(new Node());
+		clinicalDocumentNode.addChildNode(iaSectionNode);
+		ClinicalDocumentEncoder clinicalDocumentEncoder = new ClinicalDocumentEncoder(new Context());
+
+		EncodeState state = new EncodeState(new ErrorBudget(1));
+		clinicalDocumentEncoder.encode(state, nodes);
+		EncodeState streamState = new EncodeState(new ErrorBudget(1));
+		stream(clinicalDocumentEncoder, streamState);
+
+		assertWithMessage("No more measurement sets should be encoded after the first error")
+				.that(state.getDetails())
+				.hasSize(1);
+		assertWithMessage("No more measurement sets should be streamed after the first error")
+				.that(streamState.getDetails())
+				.hasSize(1);
+	}
+
+	@Test
+	public void testStreamEncodeNegative() {
+		clinicalDocumentNode.addChildNode(new Node());
+		ClinicalDocumentEncoder clinicalDocumentEncoder = new ClinicalDocumentEncoder(new Context());
+		EncodeState state = new EncodeState();
+
+		stream(clinicalDocumentEncoder, state);
+
+		assertWithMessage("A missing encoder must be reported")
+				.that(state.getDetails())
+				.hasSize(1);
+	}
+
+	private String stream(JsonOutputEncoder encoder, EncodeState state) {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		encoder.encode(state, nodes, output);
+		return new String(output.toByteArray(), StandardCharsets.UTF_8);
+	}
 }
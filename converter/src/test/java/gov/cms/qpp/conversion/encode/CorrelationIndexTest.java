@@ -0,0 +1,96 @@
+package gov.cms.qpp.conversion.encode;
+
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.TemplateId;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class CorrelationIndexTest {
+
+	private CorrelationIndex index;
+	private CorrelationIndex child;
+
+	@Before
+	public void setUp() {
+		index = new CorrelationIndex();
+		child = new CorrelationIndex();
+		child.add(new CorrelationIndex.Metadata(new Node(TemplateId.MEASURE_DATA_CMS_V2)));
+	}
+
+	@Test
+	public void testEmptyPointerFindsItself() {
+		assertThat(index.find("")).isSameAs(index);
+	}
+
+	@Test
+	public void testFindsNestedIndex() {
+		CorrelationIndex list = new CorrelationIndex();
+		list.put("3", child);
+		index.put("measurements", list);
+
+		assertThat(index.find("/measurements/3")).isSameAs(child);
+	}
+
+	@Test
+	public void testFindsEscapedNames() {
+		index.put("a/b~c", child);
+
+		assertThat(index.find("/" + CorrelationIndex.escape("a/b~c"))).isSameAs(child);
+		assertThat(CorrelationIndex.escape("a/b~c")).isEqualTo("a~1b~0c");
+	}
+
+	@Test
+	public void testMissingPointerFindsNothing() {
+		index.put("measurements", child);
+
+		assertThat(index.find("/measurements/0")).isNull();
+		assertThat(index.find("measurements")).isNull();
+	}
+
+	@Test
+	public void testRemovedIndexIsNotFound() {
+		index.put("measurements", child);
+		index.put("measurements", null);
+
+		assertThat(index.find("/measurements")).isNull();
+	}
+
+	@Test
+	public void testCopySharesNestedIndexes() {
+		index.put("measurements", child);
+
+		CorrelationIndex copy = index.copy();
+		copy.add(new CorrelationIndex.Metadata(new Node(TemplateId.CLINICAL_DOCUMENT)));
+
+		assertThat(copy.find("/measurements")).isSameAs(child);
+		assertThat(index.getMetadata()).isEmpty();
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testMetadataIsReadOnly() {
+		child.getMetadata().clear();
+	}
+
+	@Test
+	public void testMetadataOfNode() {
+		Node node = new Node(TemplateId.MEASURE_DATA_CMS_V2);
+		node.setPath("/ClinicalDocument/component");
+		CorrelationIndex.Metadata metadata = new CorrelationIndex.Metadata(node).withEncodeLabel("value");
+
+		assertThat(metadata.getTemplate()).isEqualTo(TemplateId.MEASURE_DATA_CMS_V2.name());
+		assertThat(metadata.getNsUri()).isEqualTo(node.getDefaultNsUri());
+		assertThat(metadata.getPath()).isEqualTo("/ClinicalDocument/component");
+		assertThat(metadata.getEncodeLabel()).isEqualTo("value");
+		assertThat(metadata.toString()).contains("encodeLabel=value");
+	}
+
+	@Test
+	public void equalsContract() {
+		EqualsVerifier.forClass(CorrelationIndex.Metadata.class)
+				.usingGetClass()
+				.verify();
+	}
+}
@@ -24,12 +24,10 @@ public class EncoderNegativeConditionsTest {
 		List<Node> nodes = new ArrayList<>();
 		nodes.add(aNode);
 
-		encoder.setNodes(nodes);
-
 		StringWriter sw = new StringWriter();
 
 		try {
-			encoder.encode(new BufferedWriter(sw));
+			encoder.encode(new EncodeState(), nodes, new BufferedWriter(sw));
 		} catch (EncodeException e) {
 			fail("Failure to encode: " + e.getMessage());
 		}
@@ -55,15 +53,14 @@ public class EncoderNegativeConditionsTest {
 
 		QppOutputEncoder encoder = new QppOutputEncoder(new Context());
 
-		encoder.setNodes(nodes);
-
 		FailingWriter failWrite = new FailingWriter();
 
-		encoder.encode(new BufferedWriter(failWrite));
+		EncodeState state = new EncodeState();
+		encoder.encode(state, nodes, new BufferedWriter(failWrite));
 
-		assertWithMessage("Should contain one error").that(encoder.getDetails()).hasSize(1);
+		assertWithMessage("Should contain one error").that(state.getDetails()).hasSize(1);
 		assertWithMessage("Should have same correct message")
-				.that(encoder.getDetails().get(0).getMessage())
+				.that(state.getDetails().get(0).getMessage())
 				.isEqualTo("Failure to encode");
 	}
 }
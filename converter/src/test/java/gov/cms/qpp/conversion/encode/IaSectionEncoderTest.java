@@ -57,12 +57,10 @@ public class IaSectionEncoderTest {
 	public void testEncoder() {
 		QppOutputEncoder encoder = new QppOutputEncoder(new Context());
 
-		encoder.setNodes(nodes);
-
 		StringWriter sw = new StringWriter();
 
 		try {
-			encoder.encode(new BufferedWriter(sw));
+			encoder.encode(new EncodeState(), nodes, new BufferedWriter(sw));
 		} catch (EncodeException e) {
 			fail("Failure to encode: " + e.getMessage());
 		}
@@ -77,12 +75,10 @@ public class IaSectionEncoderTest {
 		iaSectionNode.getChildNodes().remove(iaMeasureNode);
 		QppOutputEncoder encoder = new QppOutputEncoder(new Context());
 
-		encoder.setNodes(nodes);
-
 		StringWriter sw = new StringWriter();
 
 		try {
-			encoder.encode(new BufferedWriter(sw));
+			encoder.encode(new EncodeState(), nodes, new BufferedWriter(sw));
 		} catch (EncodeException e) {
 			fail("Failure to encode: " + e.getMessage());
 		}
@@ -97,12 +93,10 @@ public class IaSectionEncoderTest {
 		iaMeasureNode.getChildNodes().remove(iaMeasurePerformedNode);
 		QppOutputEncoder encoder = new QppOutputEncoder(new Context());
 
-		encoder.setNodes(nodes);
-
 		StringWriter sw = new StringWriter();
 
 		try {
-			encoder.encode(new BufferedWriter(sw));
+			encoder.encode(new EncodeState(), nodes, new BufferedWriter(sw));
 		} catch (EncodeException e) {
 			fail("Failure to encode: " + e.getMessage());
 		}
@@ -117,12 +111,10 @@ public class IaSectionEncoderTest {
 		iaMeasurePerformedNode.putValue("measurePerformed", null);
 		QppOutputEncoder encoder = new QppOutputEncoder(new Context());
 
-		encoder.setNodes(nodes);
-
 		StringWriter sw = new StringWriter();
 
 		try {
-			encoder.encode(new BufferedWriter(sw));
+			encoder.encode(new EncodeState(), nodes, new BufferedWriter(sw));
 		} catch (EncodeException e) {
 			fail("Failure to encode: " + e.getMessage());
 		}
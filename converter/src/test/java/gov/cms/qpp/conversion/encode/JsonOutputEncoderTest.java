@@ -2,6 +2,12 @@ package gov.cms.qpp.conversion.encode;
 
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.error.Detail;
+import gov.cms.qpp.conversion.model.error.ErrorBudget;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
@@ -13,24 +19,26 @@ import static org.junit.Assert.assertEquals;
 public class JsonOutputEncoderTest {
 
 	private JsonOutputEncoder joe;
+	private EncodeState state;
 
 	@Before
 	public void before() {
 		joe = new JsonOutputEncoder() {
 			@Override
-			protected void internalEncode(JsonWrapper wrapper, Node node) throws EncodeException {
+			protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) throws EncodeException {
 				EncodeException ee = new EncodeException("thrown", new RuntimeException("test"), "id");
 				throw ee;
 			}
 		};
+		state = new EncodeState();
 	}
 
 	@Test
 	public void testAddValidationAndGetValidations() {
-		assertEquals(0, joe.getDetails().size());
-		joe.addValidationError(new Detail("error"));
-		joe.addValidationError(new Detail("another"));
-		List<Detail> validations = joe.getDetails();
+		assertEquals(0, state.getDetails().size());
+		state.addValidationError(new Detail("error"));
+		state.addValidationError(new Detail("another"));
+		List<Detail> validations = state.getDetails();
 		assertThat(validations).hasSize(2);
 		assertThat(validations.get(0).getMessage()).isEqualTo("error");
 		assertThat(validations.get(1).getMessage()).isEqualTo("another");
@@ -38,12 +46,12 @@ public class JsonOutputEncoderTest {
 
 	@Test
 	public void testAddValidationAndGetValidationById() {
-		List<Detail> validations = joe.getDetails();
+		List<Detail> validations = state.getDetails();
 		assertThat(validations).hasSize(0);
 
-		joe.addValidationError(new Detail("err"));
+		state.addValidationError(new Detail("err"));
 
-		validations = joe.getDetails();
+		validations = state.getDetails();
 		assertThat(validations).isNotNull();
 		assertThat(validations).hasSize(1);
 		assertThat(validations.get(0).getMessage()).isEqualTo("err");
@@ -51,11 +59,53 @@ public class JsonOutputEncoderTest {
 
 	@Test
 	public void testAddValidationByEncodeException() {
-		joe.encode((JsonWrapper) null, (Node) null); // the values are not used in the test
+		joe.encode(state, (JsonWrapper) null, (Node) null); // the values are not used in the test
 
-		List<Detail> details = joe.getDetails();
+		List<Detail> details = state.getDetails();
 		assertWithMessage("Should have one error message")
 				.that(details)
 				.hasSize(1);
 	}
+
+	@Test
+	public void testStopsEncodingOnceErrorBudgetExhausted() {
+		state = new EncodeState(new ErrorBudget(2));
+
+		joe.encode(state, Arrays.asList(new Node(), new Node(), new Node()));
+
+		assertWithMessage("Should stop encoding after the second error")
+				.that(state.getDetails())
+				.hasSize(2);
+	}
+
+	@Test
+	public void testStreamStopsEncodingOnceErrorBudgetExhausted() {
+		state = new EncodeState(new ErrorBudget(2));
+
+		joe.encode(state, Arrays.asList(new Node(), new Node(), new Node()), new ByteArrayOutputStream());
+
+		assertWithMessage("Should stop streaming after the second error")
+				.that(state.getDetails())
+				.hasSize(2);
+	}
+
+	@Test
+	public void testStreamFailureToWrite() {
+		joe = new JsonOutputEncoder() {
+			@Override
+			protected void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) {
+				wrapper.putString("key", "value");
+			}
+		};
+
+		joe.encode(state, Collections.singletonList(new Node()), new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				throw new IOException("test");
+			}
+		});
+
+		assertThat(state.getDetails()).hasSize(1);
+		assertThat(state.getDetails().get(0).getMessage()).isEqualTo("Failure to encode");
+	}
 }
@@ -0,0 +1,162 @@
+package gov.cms.qpp.conversion.encode;
+
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.TemplateId;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+public class JsonStreamWriterTest {
+
+	private ByteArrayOutputStream output;
+	private JsonStreamWriter writer;
+
+	@Before
+	public void setUp() throws IOException {
+		output = new ByteArrayOutputStream();
+		writer = new JsonStreamWriter(output);
+	}
+
+	@Test
+	public void testWritesSameJsonAsWrapper() throws IOException {
+		JsonWrapper child = new JsonWrapper();
+		child.putString("obj1", "A");
+		child.attachMetadata(new Node(TemplateId.CLINICAL_DOCUMENT));
+		JsonWrapper wrapper = new JsonWrapper();
+		wrapper.putString("name1", "value1");
+		wrapper.putObject("name2", child);
+		wrapper.attachMetadata(new Node(TemplateId.CLINICAL_DOCUMENT));
+
+		writer.writeStartObject();
+		writer.writeFields(wrapper);
+		writer.writeArrayFieldStart("name3");
+		writer.writeValue(child);
+		writer.writeEndArray();
+		writer.writeEndObject();
+		writer.close();
+
+		wrapper.putObject("name3", new JsonWrapper().putObject(child));
+		assertWithMessage("Streamed json must be formatted as the wrapped json")
+				.that(written())
+				.isEqualTo(wrapper.toString());
+	}
+
+	@Test
+	public void testListHasNoFields() throws IOException {
+		JsonWrapper list = new JsonWrapper();
+		list.putString("A");
+
+		writer.writeStartObject();
+		writer.writeFields(list);
+		writer.writeEndObject();
+		writer.close();
+
+		assertThat(written()).isEqualTo("{ }");
+	}
+
+	@Test
+	public void testSharedValueIsRenderedOnce() throws IOException {
+		JsonWrapper shared = new JsonWrapper().putString("A");
+		JsonWrapper first = new JsonWrapper().putObject("shared", shared);
+		JsonWrapper second = new JsonWrapper().putObject("shared", shared);
+		Set<Object> sharedValues = JsonStreamWriter.findSharedValues(
+				Arrays.asList(first.getObject(), second.getObject()));
+
+		writer.writeStartArray();
+		writer.writeStartObject();
+		writer.writeFields(first, sharedValues);
+		writer.writeEndObject();
+		shared.putString("B");
+		writer.writeStartObject();
+		writer.writeFields(second, sharedValues);
+		writer.writeEndObject();
+		writer.writeEndArray();
+		writer.close();
+
+		assertWithMessage("The first rendering of a shared value must be reused")
+				.that(written())
+				.doesNotContain("B");
+	}
+
+	@Test
+	public void testSharedValueIsRenderedForEachDepth() throws IOException {
+		JsonWrapper shared = new JsonWrapper().putObject(new JsonWrapper().putString("name", "value"));
+		JsonWrapper outer = new JsonWrapper().putObject("shared", shared);
+		JsonWrapper inner = new JsonWrapper().putObject("shared", shared);
+		Set<Object> sharedValues = JsonStreamWriter.findSharedValues(
+				Arrays.asList(outer.getObject(), inner.getObject()));
+
+		writer.writeStartObject();
+		writer.writeFields(outer, sharedValues);
+		writer.writeArrayFieldStart("nested");
+		writer.writeStartObject();
+		writer.writeFields(inner, sharedValues);
+		writer.writeEndObject();
+		writer.writeEndArray();
+		writer.writeEndObject();
+		writer.flush();
+
+		outer.putObject("nested", new JsonWrapper().putObject(inner));
+		assertWithMessage("Shared values must be indented for where they are written")
+				.that(written())
+				.isEqualTo(outer.toString());
+	}
+
+	@Test
+	public void testListEntriesMatchWrapper() throws IOException {
+		JsonWrapper list = sharingList();
+
+		writer.writeValue(list);
+		writer.close();
+
+		assertThat(written()).isEqualTo(list.toString());
+	}
+
+	@Test
+	public void testCompactListEntriesMatchWrapper() throws IOException {
+		JsonWrapper list = sharingList();
+
+		writer = new JsonStreamWriter(output, true);
+		writer.writeValue(list);
+		writer.close();
+
+		assertThat(written()).isEqualTo("[{\"shared\":[\"A\"],\"id\":\"1\"},\"B\",{\"shared\":[\"A\"],\"id\":\"2\"}]");
+	}
+
+	@Test
+	public void testValuesSharedWithinAList() {
+		List<Object> shared = new ArrayList<>();
+		Map<String, Object> first = new HashMap<>();
+		first.put("shared", shared);
+		first.put("own", new ArrayList<>());
+		Map<String, Object> second = new HashMap<>();
+		second.put("shared", shared);
+
+		assertThat(JsonStreamWriter.findSharedValues(Arrays.asList(first, second, "other")))
+				.containsExactly(shared);
+	}
+
+	private JsonWrapper sharingList() {
+		JsonWrapper shared = new JsonWrapper().putString("A");
+		return new JsonWrapper()
+				.putObject(new JsonWrapper().putObject("shared", shared).putString("id", "1"))
+				.putString("B")
+				.putObject(new JsonWrapper().putObject("shared", shared).putString("id", "2"));
+	}
+
+	private String written() {
+		return new String(output.toByteArray(), StandardCharsets.UTF_8);
+	}
+}
@@ -3,16 +3,26 @@ package gov.cms.qpp.conversion.encode;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.util.JsonHelper;
+import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
@@ -20,12 +30,11 @@ import static org.junit.Assert.fail;
 
 public class JsonWrapperTest {
 
-	private ObjectWriter ow = JsonWrapper.getObjectWriter(true);
+	private ObjectWriter ow = JsonWrapper.getObjectWriter();
 	private JsonWrapper objectObjWrapper;
 	private JsonWrapper objectStrWrapper;
 	private JsonWrapper listObjWrapper;
 	private JsonWrapper listStrWrapper;
-	private JsonWrapper unfilteredMetaWrapper;
 
 	@Before
 	public void before() {
@@ -33,7 +42,6 @@ public class JsonWrapperTest {
 		objectStrWrapper = new JsonWrapper();
 		listObjWrapper   = new JsonWrapper();
 		listStrWrapper   = new JsonWrapper();
-		unfilteredMetaWrapper = new JsonWrapper(false);
 	}
 
 	@Test
@@ -532,6 +540,122 @@ public class JsonWrapperTest {
 				.isEqualTo(expect);
 	}
 
+	@Test
+	public void testWriteTo() throws Exception {
+		objectStrWrapper.putString("obj1", "A");
+		objectObjWrapper.putString("name1", "value1");
+		objectObjWrapper.putObject("name2", objectStrWrapper);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		objectObjWrapper.writeTo(output);
+
+		assertWithMessage("expect the same json as toString")
+				.that(new String(output.toByteArray(), StandardCharsets.UTF_8))
+				.isEqualTo(objectObjWrapper.toString());
+	}
+
+	@Test
+	public void testToBytes() {
+		objectObjWrapper.putString("name1", "value1");
+		objectObjWrapper.putObject("name2", listStrWrapper.putString("A").putString("B"));
+
+		assertWithMessage("expect the same json as toString")
+				.that(new String(objectObjWrapper.toBytes(), StandardCharsets.UTF_8))
+				.isEqualTo(objectObjWrapper.toString());
+		assertWithMessage("expect no indentation or line breaks")
+				.that(new String(objectObjWrapper.toBytes(true), StandardCharsets.UTF_8))
+				.isEqualTo("{\"name1\":\"value1\",\"name2\":[\"A\",\"B\"]}");
+	}
+
+	@Test
+	public void testListRepeatsSharedValues() throws Exception {
+		JsonWrapper shared = new JsonWrapper().putString("A");
+		listObjWrapper.putObject(new JsonWrapper().putObject("shared", shared));
+		listObjWrapper.putObject(new JsonWrapper().putObject("shared", shared));
+
+		assertWithMessage("expect each entry to hold its own copy of the shared value")
+				.that(listObjWrapper.toString())
+				.isEqualTo(JsonWrapper.getObjectWriter().writeValueAsString(listObjWrapper.getObject()));
+		assertThat(new String(listObjWrapper.toBytes(true), StandardCharsets.UTF_8))
+				.isEqualTo("[{\"shared\":[\"A\"]},{\"shared\":[\"A\"]}]");
+	}
+
+	@Test
+	public void testRenderEachEntry() {
+		JsonWrapper shared = new JsonWrapper().putString("A");
+		listObjWrapper.putObject(new JsonWrapper().putObject("shared", shared).putString("id", "1"));
+		listObjWrapper.putString("B");
+		listObjWrapper.putObject(new JsonWrapper().putObject("shared", shared).putString("id", "2"));
+		List<String> rendered = new ArrayList<>();
+
+		listObjWrapper.renderEach((entry, json) -> {
+			assertThat(json).isEqualTo(entry.toBytes(true));
+			rendered.add(new String(json, StandardCharsets.UTF_8));
+		});
+
+		assertThat(rendered)
+				.containsExactly("{\"shared\":[\"A\"],\"id\":\"1\"}", "{\"shared\":[\"A\"],\"id\":\"2\"}")
+				.inOrder();
+	}
+
+	@Test
+	public void testRenderEachEntryWithOwnValues() {
+		JsonWrapper shared = new JsonWrapper().putString("A");
+		listObjWrapper.putObject(new JsonWrapper().putObject("shared", shared)
+				.putObject("own", new JsonWrapper().putString("B")));
+		listObjWrapper.putObject(new JsonWrapper().putObject("shared", shared)
+				.putObject("own", new JsonWrapper().putString("C")));
+		List<String> rendered = new ArrayList<>();
+
+		listObjWrapper.renderEach((entry, json) -> rendered.add(new String(json, StandardCharsets.UTF_8)));
+
+		assertThat(rendered)
+				.containsExactly("{\"shared\":[\"A\"],\"own\":[\"B\"]}", "{\"shared\":[\"A\"],\"own\":[\"C\"]}")
+				.inOrder();
+	}
+
+	@Test
+	public void testRenderEachOfObject() {
+		objectStrWrapper.putString("obj1", "A");
+		List<JsonWrapper> entries = new ArrayList<>();
+
+		objectStrWrapper.renderEach((entry, json) -> {
+			entries.add(entry);
+			assertThat(json).isEqualTo(objectStrWrapper.toBytes(true));
+		});
+
+		assertThat(entries).containsExactly(objectStrWrapper);
+	}
+
+	@Test
+	public void testCompactWriteToLeavesStreamOpen() throws Exception {
+		objectStrWrapper.putString("obj1", "A");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		objectStrWrapper.writeTo(output, true);
+		objectStrWrapper.writeTo(output, true);
+
+		assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8))
+				.isEqualTo("{\"obj1\":\"A\"}{\"obj1\":\"A\"}");
+	}
+
+	@Test
+	public void testCompactContentStreamLeavesOutMetadata() throws Exception {
+		objectStrWrapper.putString("obj1", "A");
+		objectStrWrapper.attachMetadata(new Node(TemplateId.CLINICAL_DOCUMENT));
+
+		InputStream content = objectStrWrapper.contentStream(true);
+
+		assertThat(new String(IOUtils.toByteArray(content), StandardCharsets.UTF_8)).isEqualTo("{\"obj1\":\"A\"}");
+	}
+
+	@Test
+	public void testObjectWritersAreShared() {
+		assertThat(JsonWrapper.getObjectWriter()).isSameAs(JsonWrapper.getObjectWriter());
+		assertThat(JsonWrapper.getCompactObjectWriter()).isSameAs(JsonWrapper.getCompactObjectWriter());
+		assertThat(JsonWrapper.getCompactObjectWriter()).isNotSameAs(JsonWrapper.getObjectWriter());
+	}
+
 	@Test
 	public void testValueRetrieval() throws Exception {
 		objectStrWrapper.putString("obj1", "A");
@@ -554,12 +678,11 @@ public class JsonWrapperTest {
 	}
 
 	@Test
-	public void metadataFiltered() throws IOException {
+	public void metadataNotSerialized() throws IOException {
 		//setup
 		String shouldSerialize = "mawp";
-		String shouldNotSerialize = "metadata_meep";
 		objectObjWrapper.putString(shouldSerialize, shouldSerialize);
-		objectObjWrapper.putString(shouldNotSerialize, shouldNotSerialize);
+		objectObjWrapper.attachMetadata(new Node(TemplateId.CLINICAL_DOCUMENT));
 
 		//when
 		String json = objectObjWrapper.toString();
@@ -570,33 +693,109 @@ public class JsonWrapperTest {
 		assertWithMessage("Could not find %s", shouldSerialize)
 				.that(shouldSerialize)
 				.isEqualTo(obj.findValue(shouldSerialize).asText());
-		assertWithMessage("Should not find %s", shouldNotSerialize)
-				.that(obj.findValue(shouldNotSerialize))
-				.isNull();
+		assertWithMessage("Metadata should be kept out of the json")
+				.that(obj.size())
+				.isEqualTo(1);
+		assertThat(objectObjWrapper.getCorrelationIndex().getMetadata()).hasSize(1);
 	}
 
 	@Test
-	public void metadataUnfiltered() throws IOException {
+	public void metadataPrefixedNamesSerialized() throws IOException {
 		//setup
-		String shouldSerialize = "mawp";
 		String shouldAlsoSerialize = "metadata_meep";
-		unfilteredMetaWrapper.putString(shouldSerialize, shouldSerialize);
-		unfilteredMetaWrapper.putString(shouldAlsoSerialize, shouldAlsoSerialize);
+		objectObjWrapper.putString(shouldAlsoSerialize, shouldAlsoSerialize);
 
 		//when
-		String json = unfilteredMetaWrapper.toString();
-		ObjectMapper mapper = new ObjectMapper();
-		JsonNode obj = mapper.readTree(json);
+		JsonNode obj = new ObjectMapper().readTree(objectObjWrapper.toString());
 
 		//then
-		assertWithMessage("Could not find %s", shouldSerialize)
-				.that(shouldSerialize)
-				.isEqualTo(obj.findValue(shouldSerialize).asText());
 		assertWithMessage("Could not find %s", shouldAlsoSerialize)
 				.that(shouldAlsoSerialize)
 				.isEqualTo(obj.findValue(shouldAlsoSerialize).asText());
 	}
 
+	@Test
+	public void testNestedMetadataIsIndexedByPointer() {
+		Node measure = new Node(TemplateId.MEASURE_DATA_CMS_V2);
+		JsonWrapper measurement = new JsonWrapper().putString("measureId", "meep");
+		measurement.attachMetadata(measure);
+		JsonWrapper measurements = new JsonWrapper().putObject(new JsonWrapper().putString("other"))
+				.putObject(measurement);
+		objectObjWrapper.putObject("measurements", measurements);
+
+		CorrelationIndex found = objectObjWrapper.getCorrelationIndex().find("/measurements/1");
+
+		assertThat(found.getMetadata()).containsExactly(new CorrelationIndex.Metadata(measure));
+		assertThat(objectObjWrapper.getCorrelationIndex().find("/measurements/0")).isNull();
+	}
+
+	@Test
+	public void testReplacedValueDropsItsMetadata() {
+		JsonWrapper measurement = new JsonWrapper().putString("measureId", "meep");
+		measurement.attachMetadata(new Node(TemplateId.MEASURE_DATA_CMS_V2));
+		objectObjWrapper.putObject("measurement", measurement);
+
+		objectObjWrapper.putString("measurement", "replaced");
+
+		assertThat(objectObjWrapper.getCorrelationIndex().find("/measurement")).isNull();
+	}
+
+	@Test
+	public void testMergedMetadataIsLabeled() {
+		Node node = new Node(TemplateId.MEASURE_DATA_CMS_V2);
+		JsonWrapper other = new JsonWrapper().putString("meep", "mawp");
+		other.attachMetadata(node);
+
+		objectObjWrapper.putString("value", "1");
+		objectObjWrapper.mergeMetadata(other, "value");
+
+		assertThat(objectObjWrapper.getCorrelationIndex().getMetadata())
+				.containsExactly(new CorrelationIndex.Metadata(node).withEncodeLabel("value"));
+		assertWithMessage("The other wrapper's metadata must be left as it was")
+				.that(other.getCorrelationIndex().getMetadata())
+				.containsExactly(new CorrelationIndex.Metadata(node));
+	}
+
+	@Test
+	public void testCopyKeepsMetadata() {
+		Node node = new Node(TemplateId.CLINICAL_DOCUMENT);
+		objectObjWrapper.putString("meep", "mawp");
+		objectObjWrapper.attachMetadata(node);
+
+		JsonWrapper copy = new JsonWrapper(objectObjWrapper);
+		copy.attachMetadata(new Node(TemplateId.IA_SECTION));
+
+		assertThat(copy.getCorrelationIndex().getMetadata()).hasSize(2);
+		assertThat(objectObjWrapper.getCorrelationIndex().getMetadata())
+				.containsExactly(new CorrelationIndex.Metadata(node));
+	}
+
+	@Test
+	public void testStreamedEntriesKeepTheirMetadata() {
+		Node node = new Node(TemplateId.CLINICAL_DOCUMENT);
+		JsonWrapper entry = new JsonWrapper().putString("meep", "mawp");
+		entry.attachMetadata(node);
+		listObjWrapper.putString("skipped");
+		listObjWrapper.putObject(new JsonWrapper().putString("meep", "mop"));
+		listObjWrapper.putObject(entry);
+
+		List<CorrelationIndex> indexes = listObjWrapper.stream()
+				.map(JsonWrapper::getCorrelationIndex)
+				.collect(Collectors.toList());
+
+		assertThat(indexes).hasSize(2);
+		assertThat(indexes.get(0).getMetadata()).isEmpty();
+		assertThat(indexes.get(1).getMetadata()).containsExactly(new CorrelationIndex.Metadata(node));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testFrozenMetadataMayNotChange() {
+		objectObjWrapper.putString("meep", "mawp");
+		objectObjWrapper.freeze();
+
+		objectObjWrapper.attachMetadata(new Node(TemplateId.CLINICAL_DOCUMENT));
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void testContentStream() {
@@ -606,6 +805,97 @@ public class JsonWrapperTest {
 		assertThat(contentMap.get("meep")).isEqualTo("mawp");
 	}
 
+	@Test
+	public void testFreezeKeepsContent() {
+		objectObjWrapper.putString("meep", "mawp");
+		objectObjWrapper.putObject("nested", new JsonWrapper().putString("a"));
+		String json = objectObjWrapper.toString();
+
+		assertThat(objectObjWrapper.freeze()).isSameAs(objectObjWrapper);
+		assertThat(objectObjWrapper.isFrozen()).isTrue();
+		assertThat(objectObjWrapper.toString()).isEqualTo(json);
+		assertThat(objectObjWrapper.getString("meep")).isEqualTo("mawp");
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testFrozenObjectRejectsPut() {
+		objectObjWrapper.putString("meep", "mawp");
+		objectObjWrapper.freeze().putString("mawp", "meep");
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testFrozenListRejectsPut() {
+		listObjWrapper.putString("meep");
+		listObjWrapper.freeze().putString("mawp");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFreezeIsDeep() {
+		Map<String, Object> shared = new LinkedHashMap<>();
+		shared.put("meep", new LinkedList<>(Arrays.asList("mawp", new LinkedHashMap<>())));
+		Set<Map<String, String>> set = new LinkedHashSet<>();
+		set.add(new LinkedHashMap<>());
+		listObjWrapper.putObject(shared);
+		listObjWrapper.putObject(shared);
+		listObjWrapper.putObject(set);
+		listObjWrapper.freeze();
+
+		List<Object> frozen = (List<Object>) listObjWrapper.getObject();
+		assertThat(frozen.get(0)).isEqualTo(shared);
+		assertFrozen(() -> frozen.add("meep"));
+		assertFrozen(() -> ((Map<String, Object>) frozen.get(1)).put("meep", "mawp"));
+		List<Object> nestedList = (List<Object>) ((Map<String, Object>) frozen.get(0)).get("meep");
+		assertFrozen(() -> nestedList.add("meep"));
+		assertFrozen(() -> ((Map<String, Object>) nestedList.get(1)).put("meep", "mawp"));
+		Set<Map<String, String>> frozenSet = (Set<Map<String, String>>) frozen.get(2);
+		assertFrozen(() -> frozenSet.clear());
+		assertFrozen(() -> frozenSet.iterator().next().put("meep", "mawp"));
+	}
+
+	@Test
+	public void testFreezeIsIdempotent() {
+		objectObjWrapper.putString("meep", "mawp");
+		Object frozen = objectObjWrapper.freeze().getObject();
+
+		assertThat(objectObjWrapper.freeze().getObject()).isSameAs(frozen);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFrozenSharedValuesAreRenderedOnce() {
+		JsonWrapper measurementSets = new JsonWrapper().putObject(new JsonWrapper().putString("category", "aci"));
+		listObjWrapper.putObject(new JsonWrapper().putString("tin", "1").putObject("measurementSets", measurementSets));
+		listObjWrapper.putObject(new JsonWrapper().putString("tin", "2").putObject("measurementSets", measurementSets));
+		listObjWrapper.freeze();
+
+		List<Object> entries = (List<Object>) listObjWrapper.getObject();
+		Object first = ((Map<String, Object>) entries.get(0)).get("measurementSets");
+		assertWithMessage("Each entry should hold the same frozen measurement sets")
+				.that(((Map<String, Object>) entries.get(1)).get("measurementSets")).isSameAs(first);
+		assertWithMessage("The measurement sets should be rendered once for every entry")
+				.that(JsonStreamWriter.findSharedValues(entries)).containsExactly(first);
+		List<String> rendered = new ArrayList<>();
+		listObjWrapper.renderEach((entry, json) -> rendered.add(new String(json, StandardCharsets.UTF_8)));
+		assertThat(rendered).containsExactly(
+				"{\"tin\":\"1\",\"measurementSets\":[{\"category\":\"aci\"}]}",
+				"{\"tin\":\"2\",\"measurementSets\":[{\"category\":\"aci\"}]}").inOrder();
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testStreamOfFrozenWrapperIsFrozen() {
+		listObjWrapper.putObject(new JsonWrapper().putString("meep", "mawp"));
+		listObjWrapper.freeze().stream().forEach(wrapper -> wrapper.putString("mawp", "meep"));
+	}
+
+	private void assertFrozen(Runnable change) {
+		try {
+			change.run();
+			fail("A frozen value should not change");
+		} catch (UnsupportedOperationException expected) {
+			// frozen as expected
+		}
+	}
 }
 
 class MockBadJsonTarget {
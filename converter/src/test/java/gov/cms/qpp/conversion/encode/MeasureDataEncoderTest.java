@@ -52,6 +52,39 @@ public class MeasureDataEncoderTest {
 				.isEqualTo(900);
 	}
 
+	@Test
+	public void testAggregateCountIsCorrelated() {
+		Node measureDataNode = setUpMeasureDataNode(SubPopulations.NUMER);
+		JsonWrapper jsonWrapper = encode(measureDataNode);
+		assertWithMessage("Must record the aggregate count under the encoded label, then the measure data")
+				.that(jsonWrapper.getCorrelationIndex().getMetadata())
+				.containsExactly(
+						new CorrelationIndex.Metadata(measureDataNode.getChildNodes().get(0))
+								.withEncodeLabel(PERFORMANCE_MET),
+						new CorrelationIndex.Metadata(measureDataNode))
+				.inOrder();
+	}
+
+	@Test
+	public void testPopulationHasNoAggregateCountCorrelation() {
+		Node measureDataNode = setUpMeasureDataNode(SubPopulations.IPOP);
+		JsonWrapper jsonWrapper = new JsonWrapper();
+		new MeasureDataEncoder(new Context()).attachMetadata(jsonWrapper, measureDataNode);
+		assertWithMessage("Must only record the measure data")
+				.that(jsonWrapper.getCorrelationIndex().getMetadata())
+				.containsExactly(new CorrelationIndex.Metadata(measureDataNode));
+	}
+
+	@Test
+	public void testUnknownMeasureTypeHasNoAggregateCountCorrelation() {
+		Node measureDataNode = setUpMeasureDataNode("meep");
+		JsonWrapper jsonWrapper = new JsonWrapper();
+		new MeasureDataEncoder(new Context()).attachMetadata(jsonWrapper, measureDataNode);
+		assertWithMessage("Must only record the measure data")
+				.that(jsonWrapper.getCorrelationIndex().getMetadata())
+				.containsExactly(new CorrelationIndex.Metadata(measureDataNode));
+	}
+
 	private Node setUpMeasureDataNode(String measureType) {
 		Node aggCount = new Node(TemplateId.ACI_AGGREGATE_COUNT);
 		aggCount.putValue(AGGREGATE_COUNT, "900");
@@ -64,7 +97,7 @@ public class MeasureDataEncoderTest {
 	private JsonWrapper encode(Node measureDataNode) {
 		JsonWrapper jsonWrapper = new JsonWrapper();
 		QppOutputEncoder qppOutputEncoder = new QppOutputEncoder(new Context());
-		qppOutputEncoder.internalEncode(jsonWrapper, measureDataNode);
+		qppOutputEncoder.internalEncode(new EncodeState(), jsonWrapper, measureDataNode);
 		return jsonWrapper;
 	}
 }
@@ -17,7 +17,7 @@ public class MeasurePerformedEncoderTest {
 		JsonWrapper jsonWrapper = new JsonWrapper();
 		QppOutputEncoder qppOutputEncoder = new QppOutputEncoder(new Context());
 
-		qppOutputEncoder.internalEncode(jsonWrapper, measurePerformedNode);
+		qppOutputEncoder.internalEncode(new EncodeState(), jsonWrapper, measurePerformedNode);
 
 		assertWithMessage("Must return correct encoded result")
 				.that(jsonWrapper.getBoolean("value")).isTrue();
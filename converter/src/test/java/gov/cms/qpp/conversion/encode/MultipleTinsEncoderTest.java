@@ -5,11 +5,15 @@ import gov.cms.qpp.conversion.decode.MultipleTinsDecoder;
 import gov.cms.qpp.conversion.decode.ReportingParametersActDecoder;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import org.junit.Before;
 import org.junit.Test;
 
+import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
 
 public class MultipleTinsEncoderTest {
@@ -86,7 +90,7 @@ public class MultipleTinsEncoderTest {
 
 		testWrapper = new JsonWrapper();
 		JsonOutputEncoder multipleTinsEncoder = new MultipleTinsEncoder(new Context());
-		multipleTinsEncoder.internalEncode(testWrapper, multipleTinsNode);
+		multipleTinsEncoder.internalEncode(new EncodeState(), testWrapper, multipleTinsNode);
 	}
 
 	@Test
@@ -113,6 +117,49 @@ public class MultipleTinsEncoderTest {
 				.isEqualTo(TIN2);
 	}
 
+	@Test
+	public void testStreamedCombinationsMatchWrapper() {
+		assertWithMessage("Streamed entries must be formatted as the wrapped entries")
+				.that(stream(multipleTinsNode, false))
+				.isEqualTo(testWrapper.toString());
+	}
+
+	@Test
+	public void testCompactStreamedCombinationsMatchWrapper() {
+		assertWithMessage("Streamed entries must be formatted as the wrapped entries")
+				.that(stream(multipleTinsNode, true))
+				.isEqualTo(new String(testWrapper.toBytes(true), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testStreamedSingleCombinationMatchesWrapper() {
+		multipleTinsNode.removeChildNode(npiTinNodeTwo);
+		JsonWrapper wrapper = new JsonWrapper();
+		new MultipleTinsEncoder(new Context()).internalEncode(new EncodeState(), wrapper, multipleTinsNode);
+
+		assertThat(stream(multipleTinsNode, false)).isEqualTo(wrapper.toString());
+	}
+
+	@Test
+	public void testStreamEncodeNegative() {
+		clinicalDocumentNode.addChildNode(new Node());
+		MultipleTinsEncoder encoder = new MultipleTinsEncoder(new Context());
+		EncodeState state = new EncodeState();
+
+		encoder.encode(state, Collections.singletonList(multipleTinsNode), new ByteArrayOutputStream());
+
+		assertWithMessage("A missing encoder must be reported")
+				.that(state.getDetails())
+				.hasSize(1);
+	}
+
+	private String stream(Node node, boolean compact) {
+		MultipleTinsEncoder encoder = new MultipleTinsEncoder(new Context());
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		encoder.encode(new EncodeState(), Collections.singletonList(node), output, compact);
+		return new String(output.toByteArray(), StandardCharsets.UTF_8);
+	}
+
 	@SuppressWarnings("unchecked")
 	private LinkedHashMap<String, Object> getIndexedClinicalDocumentFromWrapper(Integer index) {
 		return ((LinkedList<LinkedHashMap<String, Object>>)
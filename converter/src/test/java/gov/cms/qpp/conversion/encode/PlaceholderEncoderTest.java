@@ -19,9 +19,10 @@ public class PlaceholderEncoderTest {
 		PlaceholderEncoder encoder = new PlaceholderEncoder(new Context());
 
 		//when
-		encoder.internalEncode(wrapper, placeHolder);
+		EncodeState state = new EncodeState();
+		encoder.internalEncode(state, wrapper, placeHolder);
 
 		//then
-		assertThat(encoder.getDetails()).hasSize(1);
+		assertThat(state.getDetails()).hasSize(1);
 	}
 }
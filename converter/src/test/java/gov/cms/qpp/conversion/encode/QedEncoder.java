@@ -20,12 +20,13 @@ public class QedEncoder extends QppOutputEncoder {
 	/**
      * internal encode for QED placeholder nodes
      *
+     * @param state state of the encoding, which collects its errors
      * @param wrapper object to encode into
      * @param node object to encode
      * @throws EncodeException
      */
     @Override
-    public void internalEncode(JsonWrapper wrapper, Node node) throws EncodeException {
+    public void internalEncode(EncodeState state, JsonWrapper wrapper, Node node) throws EncodeException {
         Set<String> keys = node.getKeys();
 
         for (String key : keys) {
@@ -3,6 +3,7 @@ package gov.cms.qpp.conversion.encode;
 import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.model.error.correspondence.DetailsMessageEquals;
 import gov.cms.qpp.conversion.model.validation.SubPopulations;
 import java.util.LinkedHashMap;
 import org.junit.Before;
@@ -124,10 +125,38 @@ public class QualityMeasureIdEncoderTest {
 				.isEqualTo(-600);
 	}
 
+	@Test
+	public void testPerformanceMetIsCorrelated() {
+		executeInternalEncode();
+
+		assertWithMessage("expected the numerator's aggregate count to be recorded as the performance met")
+				.that(wrapper.getCorrelationIndex().find("/value").getMetadata())
+				.contains(new CorrelationIndex.Metadata(aggregateCountNode).withEncodeLabel("performanceMet"));
+	}
+
+	@Test
+	public void testHarvestedAggregateCountIsNotEncoded() {
+		Context context = new Context();
+		encoder = new QualityMeasureIdEncoder(context);
+		Node invalidCount = new Node(TemplateId.ACI_AGGREGATE_COUNT);
+		invalidCount.putValue("aggregateCount", "meep");
+		numeratorNode = new Node(TemplateId.MEASURE_DATA_CMS_V2);
+		numeratorNode.putValue(type, SubPopulations.NUMER);
+		numeratorNode.addChildNode(invalidCount);
+		qualityMeasureId.addChildNodes(populationNode, denomExclusionNode, numeratorNode, denominatorNode);
+
+		EncodeState state = new EncodeState();
+		encoder.encode(state, wrapper, qualityMeasureId);
+
+		assertWithMessage("The aggregate count should only be read, not encoded by its own encoder")
+				.that(state.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.containsExactly("meep is not an integer.");
+	}
+
 	private void executeInternalEncode() {
 		qualityMeasureId.addChildNodes(populationNode, denomExclusionNode, numeratorNode, denominatorNode);
 		try {
-			encoder.internalEncode(wrapper, qualityMeasureId);
+			encoder.internalEncode(new EncodeState(), wrapper, qualityMeasureId);
 		} catch (EncodeException e) {
 			fail("Failure to encode: " + e.getMessage());
 		}
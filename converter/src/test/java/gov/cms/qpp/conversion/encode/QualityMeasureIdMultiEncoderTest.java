@@ -127,7 +127,7 @@ public class QualityMeasureIdMultiEncoderTest {
 				eligiblePopulationNodeTwo, eligiblePopulationExceptionNodeTwo,
 				eligiblePopulationExclusionNodeTwo, numeratorNodeTwo, denominatorNodeTwo);
 
-		encoder.internalEncode(wrapper, qualityMeasureId);
+		encoder.internalEncode(new EncodeState(), wrapper, qualityMeasureId);
 
 		LinkedHashMap<String, Object> childValues = getChildValues();
 		@SuppressWarnings("unchecked")
@@ -144,7 +144,7 @@ public class QualityMeasureIdMultiEncoderTest {
 				numeratorNode, denominatorNode, eligiblePopulationNodeTwo,
 				eligiblePopulationExceptionNodeTwo, numeratorNodeTwo, denominatorNodeTwo);
 
-		encoder.internalEncode(wrapper, qualityMeasureId);
+		encoder.internalEncode(new EncodeState(), wrapper, qualityMeasureId);
 
 		LinkedHashMap<String, Object> childValues = getChildValues();
 		@SuppressWarnings("unchecked")
@@ -22,7 +22,7 @@ public class QualitySectionEncoderTest {
 		Node qualitySectionNode = getQualitySectionNode();
 		QualitySectionEncoder encoder = new QualitySectionEncoder(new Context());
 		JsonWrapper jsonWrapper = new JsonWrapper();
-		encoder.internalEncode(jsonWrapper, qualitySectionNode);
+		encoder.internalEncode(new EncodeState(), jsonWrapper, qualitySectionNode);
 
 		assertWithMessage("Expect to encode category")
 				.that(jsonWrapper.getString("category")).isEqualTo("quality");
@@ -37,10 +37,11 @@ public class QualitySectionEncoderTest {
 
 		QualitySectionEncoder encoder = new QualitySectionEncoder(new Context());
 		JsonWrapper jsonWrapper = new JsonWrapper();
-		encoder.internalEncode(jsonWrapper, qualitySectionNode);
+		EncodeState state = new EncodeState();
+		encoder.internalEncode(state, jsonWrapper, qualitySectionNode);
 
 		assertWithMessage("An encoder for a child node should not have been found.")
-				.that(encoder.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.that(state.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly("Failed to find an encoder for child node DEFAULT");
 	}
 
@@ -52,7 +53,7 @@ public class QualitySectionEncoderTest {
 
 		QualitySectionEncoder mock = mock(QualitySectionEncoder.class);
 		JsonWrapper jsonWrapper = new JsonWrapper();
-		mock.internalEncode(jsonWrapper, qualitySectionNode);
+		mock.internalEncode(new EncodeState(), jsonWrapper, qualitySectionNode);
 
 		verify(mock, never())
 				.maintainContinuity(any(), any(JsonWrapper.class), any());
@@ -18,7 +18,7 @@ public class ReportingParametersActEncoderTest {
 		reportingParametersActNode.putValue(ReportingParametersActEncoder.PERFORMANCE_END,"20171231");
 		JsonWrapper outputWrapper = new JsonWrapper();
 		ReportingParametersActEncoder encoder = new ReportingParametersActEncoder(new Context());
-		encoder.internalEncode(outputWrapper, reportingParametersActNode);
+		encoder.internalEncode(new EncodeState(), outputWrapper, reportingParametersActNode);
 		String performanceStart = outputWrapper.getString(ReportingParametersActEncoder.PERFORMANCE_START);
 		String performanceEnd = outputWrapper.getString(ReportingParametersActEncoder.PERFORMANCE_END);
 
@@ -34,7 +34,7 @@ public class ReportingParametersActEncoderTest {
 
 		JsonWrapper outputWrapper = new JsonWrapper();
 		ReportingParametersActEncoder encoder = new ReportingParametersActEncoder(new Context());
-		encoder.internalEncode(outputWrapper, reportingParametersActNode);
+		encoder.internalEncode(new EncodeState(), outputWrapper, reportingParametersActNode);
 		String performanceStart = outputWrapper.getString(ReportingParametersActEncoder.PERFORMANCE_START);
 		String performanceEnd = outputWrapper.getString(ReportingParametersActEncoder.PERFORMANCE_END);
 
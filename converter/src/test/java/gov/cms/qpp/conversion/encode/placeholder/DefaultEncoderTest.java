@@ -2,6 +2,7 @@ package gov.cms.qpp.conversion.encode.placeholder;
 
 import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.decode.QppXmlDecoder;
+import gov.cms.qpp.conversion.encode.EncodeState;
 import gov.cms.qpp.conversion.encode.EncodeException;
 import gov.cms.qpp.conversion.encode.JsonWrapper;
 import gov.cms.qpp.conversion.encode.QppOutputEncoder;
@@ -28,7 +29,7 @@ public class DefaultEncoderTest {
 		Node placeHolder = new Node(TemplateId.DEFAULT, node);
 		node.addChildNode(placeHolder);
 		JsonWrapper wrapper = new JsonWrapper();
-		new QppOutputEncoder(new Context()).encode(wrapper, node);
+		new QppOutputEncoder(new Context()).encode(new EncodeState(), wrapper, node);
 
 		assertThat(wrapper.toString().length() > 10).isTrue();
 	}
@@ -39,7 +40,7 @@ public class DefaultEncoderTest {
 		Node placeHolder = new Node(TemplateId.PLACEHOLDER, root);
 		root.addChildNode(placeHolder);
 		JsonWrapper wrapper = new JsonWrapper();
-		new DefaultEncoder("Default Encode test").internalEncode(wrapper, root);
+		new DefaultEncoder("Default Encode test").internalEncode(new EncodeState(), wrapper, root);
 		assertThat(wrapper.toString()).hasLength(3);
 	}
 }
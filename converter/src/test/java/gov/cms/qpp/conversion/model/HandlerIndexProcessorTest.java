@@ -0,0 +1,58 @@
+package gov.cms.qpp.conversion.model;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+public class HandlerIndexProcessorTest {
+
+	private static final String SOURCE = "package sample;\n"
+			+ "import gov.cms.qpp.conversion.model.*;\n"
+			+ "@Decoder(TemplateId.PLACEHOLDER)\n"
+			+ "public class SampleDecoder {\n"
+			+ "	@Validator(value = TemplateId.PLACEHOLDER, program = Program.CPC)\n"
+			+ "	public static class Nested {}\n"
+			+ "}\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testIndexesAnnotatedClasses() throws Exception {
+		Path output = compile();
+
+		assertWithMessage("Decoders should be indexed")
+				.that(Files.readAllLines(output.resolve(HandlerIndexProcessor.INDEX_LOCATION + Decoder.class.getName())))
+				.containsExactly("sample.SampleDecoder");
+		assertWithMessage("Nested validators should be indexed by binary name")
+				.that(Files.readAllLines(output.resolve(HandlerIndexProcessor.INDEX_LOCATION + Validator.class.getName())))
+				.containsExactly("sample.SampleDecoder$Nested");
+		assertWithMessage("There should be no index of absent encoders")
+				.that(Files.exists(output.resolve(HandlerIndexProcessor.INDEX_LOCATION + Encoder.class.getName())))
+				.isFalse();
+	}
+
+	private Path compile() throws Exception {
+		Path source = folder.newFolder("sample").toPath().resolve("SampleDecoder.java");
+		Files.write(source, SOURCE.getBytes(StandardCharsets.UTF_8));
+		Path output = folder.newFolder("classes").toPath();
+		String classPath = Paths.get(Decoder.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		int result = compiler.run(null, null, null, "-d", output.toString(), "-classpath", classPath,
+				"-processorpath", classPath, "-processor", HandlerIndexProcessor.class.getName(), source.toString());
+
+		assertThat(result).isEqualTo(0);
+		return output;
+	}
+}
@@ -0,0 +1,46 @@
+package gov.cms.qpp.conversion.model;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+public class HandlerIndexTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testLoadSkipsBlankLinesAndMissingClasses() throws Exception {
+		Path index = folder.getRoot().toPath().resolve(HandlerIndex.INDEX_LOCATION + Decoder.class.getName());
+		Files.createDirectories(index.getParent());
+		Files.write(index, ("\n" + RegistryTest.class.getName() + "\n  gov.cms.Missing  \n").getBytes(StandardCharsets.UTF_8));
+
+		try (URLClassLoader loader = new URLClassLoader(new URL[] {folder.getRoot().toURI().toURL()},
+				getClass().getClassLoader())) {
+			assertWithMessage("The loadable classes of every index should be present")
+					.that(HandlerIndex.load(loader, Decoder.class))
+					.containsAllOf(RegistryTest.class, gov.cms.qpp.conversion.decode.ClinicalDocumentDecoder.class);
+		}
+	}
+
+	@Test
+	public void testLoadWithoutIndex() {
+		assertWithMessage("There should be no index for an annotation that was not processed")
+				.that(HandlerIndex.load(getClass().getClassLoader(), Deprecated.class)).isNull();
+	}
+
+	@Test
+	public void testLoadIndexedHandlers() {
+		assertThat(HandlerIndex.load(getClass().getClassLoader(), Encoder.class))
+				.contains(gov.cms.qpp.conversion.encode.ClinicalDocumentEncoder.class);
+	}
+}
@@ -0,0 +1,103 @@
+package gov.cms.qpp.conversion.model;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+public class NodeAttributesTest {
+
+	@Test
+	public void testPutAndGet() {
+		NodeAttributes attributes = new NodeAttributes();
+		attributes.put("type", "DENOM");
+		attributes.put("aggregateCount", "600");
+		attributes.put("type", "NUMER");
+
+		assertThat(attributes.get("type")).isEqualTo("NUMER");
+		assertThat(attributes.get("aggregateCount")).isEqualTo("600");
+		assertThat(attributes.names()).containsExactly("type", "aggregateCount").inOrder();
+	}
+
+	@Test
+	public void testUnknownName() {
+		NodeAttributes attributes = new NodeAttributes();
+
+		assertThat(attributes.get("neverStoredByAnyNode")).isNull();
+		assertThat(attributes.contains("neverStoredByAnyNode")).isFalse();
+	}
+
+	@Test
+	public void testNameStoredElsewhere() {
+		new NodeAttributes().put("populationId", "1");
+
+		assertWithMessage("A name stored by another node should not be found")
+				.that(new NodeAttributes().contains("populationId")).isFalse();
+	}
+
+	@Test
+	public void testNullValue() {
+		NodeAttributes attributes = new NodeAttributes();
+		attributes.put("measureId", null);
+
+		assertThat(attributes.contains("measureId")).isTrue();
+		assertThat(attributes.get("measureId")).isNull();
+	}
+
+	@Test
+	public void testGrowsAndRemoves() {
+		NodeAttributes attributes = new NodeAttributes();
+		for (int i = 0; i < 10; i++) {
+			attributes.put("name" + i, "value" + i);
+		}
+		attributes.remove("name3");
+		attributes.remove("name9");
+		attributes.remove("name3");
+
+		assertThat(attributes.contains("name3")).isFalse();
+		assertThat(attributes.get("name4")).isEqualTo("value4");
+		assertThat(attributes.names()).hasSize(8);
+	}
+
+	@Test
+	public void testEqualsIgnoresOrder() {
+		NodeAttributes attributes = new NodeAttributes();
+		attributes.put("a", "1");
+		attributes.put("b", null);
+		NodeAttributes reversed = new NodeAttributes();
+		reversed.put("b", null);
+		reversed.put("a", "1");
+
+		assertThat(attributes).isEqualTo(reversed);
+		assertThat(attributes.hashCode()).isEqualTo(reversed.hashCode());
+	}
+
+	@Test
+	public void testNotEquals() {
+		NodeAttributes attributes = new NodeAttributes();
+		attributes.put("a", "1");
+		NodeAttributes otherValue = new NodeAttributes();
+		otherValue.put("a", "2");
+		NodeAttributes otherName = new NodeAttributes();
+		otherName.put("c", "1");
+
+		assertThat(attributes).isNotEqualTo(otherValue);
+		assertThat(attributes).isNotEqualTo(otherName);
+		assertThat(attributes).isNotEqualTo(new NodeAttributes());
+		assertThat(attributes).isNotEqualTo("a=1");
+	}
+
+	@Test
+	public void testMatchesMap() {
+		NodeAttributes attributes = new NodeAttributes();
+		Map<String, String> map = new HashMap<>(ImmutableMap.of("a", "1", "b", "2"));
+		map.forEach(attributes::put);
+
+		assertThat(attributes.hashCode()).isEqualTo(map.hashCode());
+		assertThat(attributes.toString()).isAnyOf("{a=1, b=2}", "{b=2, a=1}");
+	}
+}
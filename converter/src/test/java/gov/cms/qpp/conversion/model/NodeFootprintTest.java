@@ -0,0 +1,183 @@
+package gov.cms.qpp.conversion.model;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.decode.XmlInputDecoder;
+import gov.cms.qpp.conversion.decode.placeholder.DefaultDecoder;
+import gov.cms.qpp.conversion.validate.QrdaValidator;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+import org.junit.Test;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+
+/**
+ * Measures the heap retained by a decoded document's nodes, once validated so that the nodes hold the indexes the
+ * validators searched them with, against the same nodes laid out as they were before, with a map of values, a map
+ * of duplicates and a list of children on every node.
+ *
+ * Sizes are estimated from the fields of each object reached, for a 64 bit JVM with compressed references.
+ * Both hold the same strings and template ids, and a path for every node, so those are left out.
+ */
+public class NodeFootprintTest {
+
+	private static final int HEADER = 12;
+	private static final int ARRAY_HEADER = 16;
+	private static final int REFERENCE = 4;
+	private static final int ALIGNMENT = 8;
+
+	@Test
+	public void testNodesRetainLessThanMapsOfValues() throws Exception {
+		Context context = new Context();
+		Node root = XmlInputDecoder.decodeXml(context,
+				XmlUtils.fileToStream(Paths.get("../qrda-files/valid-QRDA-III-latest.xml")));
+		DefaultDecoder.removeDefaultNode(root.getChildNodes());
+		new QrdaValidator(context).validate(root);
+
+		long compact = retainedSize(root);
+		long mapped = retainedSize(MapNode.of(root, null));
+
+		assertWithMessage("Nodes retain %s bytes, which the maps they replace would exceed (%s bytes)",
+				compact, mapped)
+				.that(compact).isLessThan(mapped);
+	}
+
+	/**
+	 * The layout of a node before its values were held compactly and it was indexed
+	 */
+	private static final class MapNode {
+		private final List<MapNode> childNodes = new ArrayList<>();
+		private final Map<String, String> data = new HashMap<>();
+		private final Map<String, List<String>> duplicateData = new HashMap<>();
+
+		private TemplateId type;
+		private MapNode parent;
+		private boolean validated;
+
+		private String defaultNsUri;
+		private String path;
+
+		static MapNode of(Node node, MapNode parent) {
+			MapNode copy = new MapNode();
+			for (String name : node.getKeys()) {
+				copy.data.put(name, node.getValue(name));
+				List<String> duplicates = node.getDuplicateValues(name);
+				if (duplicates != null) {
+					copy.duplicateData.put(name, new ArrayList<>(duplicates));
+				}
+			}
+			for (Node childNode : node.getChildNodes()) {
+				copy.childNodes.add(of(childNode, copy));
+			}
+			copy.type = node.getType();
+			copy.parent = parent;
+			copy.defaultNsUri = node.getDefaultNsUri();
+			copy.path = node.getPath();
+			return copy;
+		}
+	}
+
+	/**
+	 * Sums the sizes of the objects reachable from a root through the nodes and the collections and arrays that
+	 * make them up. Nothing else is counted, nor are the arrays of template ids that every index shares.
+	 *
+	 * @param root object to measure from
+	 * @return estimated retained size in bytes
+	 */
+	private static long retainedSize(Object root) throws IllegalAccessException {
+		Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		Deque<Object> pending = new ArrayDeque<>();
+		pending.push(root);
+		long size = 0;
+		while (!pending.isEmpty()) {
+			Object object = pending.pop();
+			if (!seen.add(object)) {
+				continue;
+			}
+
+			Class<?> type = object.getClass();
+			if (type.isArray()) {
+				size += arraySize(object);
+				if (!type.getComponentType().isPrimitive()) {
+					for (int index = 0; index < Array.getLength(object); index++) {
+						push(pending, Array.get(object, index));
+					}
+				}
+				continue;
+			}
+
+			size += align(HEADER + fieldsSize(type));
+			for (Class<?> declaring = type; declaring != null; declaring = declaring.getSuperclass()) {
+				for (Field field : declaring.getDeclaredFields()) {
+					if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+						field.setAccessible(true);
+						push(pending, field.get(object));
+					}
+				}
+			}
+		}
+		return size;
+	}
+
+	private static void push(Deque<Object> pending, Object object) {
+		if (object != null && isMeasured(object.getClass())) {
+			pending.push(object);
+		}
+	}
+
+	private static boolean isMeasured(Class<?> type) {
+		if (type.isArray()) {
+			return !type.getComponentType().isEnum();
+		}
+		return type.getName().startsWith("java.util.") || type == Node.class || type == NodeAttributes.class
+				|| type == MapNode.class;
+	}
+
+	private static long fieldsSize(Class<?> type) {
+		long size = 0;
+		for (Class<?> declaring = type; declaring != null; declaring = declaring.getSuperclass()) {
+			for (Field field : declaring.getDeclaredFields()) {
+				if (!Modifier.isStatic(field.getModifiers())) {
+					size += sizeOf(field.getType());
+				}
+			}
+		}
+		return size;
+	}
+
+	private static long arraySize(Object array) {
+		return align(ARRAY_HEADER + (long) Array.getLength(array) * sizeOf(array.getClass().getComponentType()));
+	}
+
+	private static int sizeOf(Class<?> type) {
+		if (type == long.class || type == double.class) {
+			return 8;
+		}
+		if (type == int.class || type == float.class) {
+			return 4;
+		}
+		if (type == short.class || type == char.class) {
+			return 2;
+		}
+		if (type == byte.class || type == boolean.class) {
+			return 1;
+		}
+		return REFERENCE;
+	}
+
+	private static long align(long size) {
+		return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+	}
+}
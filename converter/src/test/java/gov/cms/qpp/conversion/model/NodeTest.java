@@ -6,9 +6,11 @@ import nl.jqno.equalsverifier.Warning;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
+import static org.junit.Assert.fail;
 
 public class NodeTest {
 
@@ -63,20 +65,6 @@ public class NodeTest {
 				.that(childNode.toString()).contains("parent=not null");
 	}
 
-	@Test
-	public void testValidatedMember() {
-		Node node = new Node();
-		node.setValidated(true);
-
-		assertThat(node.isValidated()).isTrue();
-	}
-
-	@Test
-	public void testNotValidatedMember() {
-		Node node = new Node();
-		assertThat(node.isNotValidated()).isTrue();
-	}
-
 	@Test
 	public void testParentMember() {
 		Node child = new Node();
@@ -178,6 +166,366 @@ public class NodeTest {
 				.isNull();
 	}
 
+	@Test
+	public void testFindNodeInDepthFirstOrder() {
+		Node root = new Node(TemplateId.PLACEHOLDER);
+		Node first = new Node(TemplateId.PLACEHOLDER);
+		Node nested = new Node(TemplateId.PLACEHOLDER);
+		Node last = new Node(TemplateId.PLACEHOLDER);
+		first.addChildNode(nested);
+		root.addChildNodes(first, new Node(TemplateId.ACI_SECTION), last);
+
+		assertThat(root.findNode(TemplateId.PLACEHOLDER)).containsExactly(root, first, nested, last).inOrder();
+	}
+
+	@Test
+	public void testFindNodeAfterAddingDescendant() {
+		Node root = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		Node section = new Node(TemplateId.ACI_SECTION, root);
+		root.addChildNode(section);
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR)).isNull();
+
+		Node numerator = new Node(TemplateId.ACI_NUMERATOR, section);
+		section.addChildNode(numerator);
+
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR)).isSameAs(numerator);
+	}
+
+	@Test
+	public void testFindNodeAfterRemovingDescendant() {
+		Node root = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		Node section = new Node(TemplateId.ACI_SECTION, root);
+		Node numerator = new Node(TemplateId.ACI_NUMERATOR, section);
+		section.addChildNode(numerator);
+		root.addChildNode(section);
+		assertThat(root.findNode(TemplateId.ACI_NUMERATOR)).containsExactly(numerator);
+
+		section.removeChildNode(numerator);
+
+		assertThat(root.findNode(TemplateId.ACI_NUMERATOR)).isEmpty();
+	}
+
+	@Test
+	public void testFindNodeAfterReplacingChildren() {
+		Node root = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		Node section = new Node(TemplateId.ACI_SECTION, root);
+		root.addChildNode(section);
+		assertThat(root.findNode(TemplateId.ACI_SECTION)).containsExactly(section);
+
+		Node replacement = new Node(TemplateId.IA_SECTION, root);
+		root.setChildNodes(replacement);
+
+		assertThat(root.findNode(TemplateId.ACI_SECTION)).isEmpty();
+		assertThat(root.getChildNodes(TemplateId.IA_SECTION).findFirst().orElse(null)).isSameAs(replacement);
+
+		root.setChildNodes();
+
+		assertThat(root.findFirstNode(TemplateId.IA_SECTION)).isNull();
+	}
+
+	@Test
+	public void testFindNodeAfterChangingListDirectly() {
+		Node root = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		Node section = new Node(TemplateId.ACI_SECTION, root);
+		root.addChildNode(section);
+		assertThat(root.findNode(TemplateId.ACI_SECTION)).containsExactly(section);
+
+		Node replacement = new Node(TemplateId.IA_SECTION, root);
+		root.getChildNodes().set(root.getChildNodes().indexOf(section), replacement);
+
+		assertThat(root.findNode(TemplateId.ACI_SECTION)).isEmpty();
+		assertThat(root.getChildNodes(TemplateId.IA_SECTION).findFirst().orElse(null)).isSameAs(replacement);
+
+		root.getChildNodes().add(section);
+
+		assertThat(root.findNode(TemplateId.ACI_SECTION)).containsExactly(section);
+
+		root.getChildNodes().removeIf(child -> child.getType() == TemplateId.ACI_SECTION);
+
+		assertThat(root.findFirstNode(TemplateId.ACI_SECTION)).isNull();
+
+		root.getChildNodes().clear();
+
+		assertThat(root.findFirstNode(TemplateId.IA_SECTION)).isNull();
+	}
+
+	@Test
+	public void testFindNodeAfterChangingDescendantListDirectly() {
+		Node root = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		Node section = new Node(TemplateId.ACI_SECTION, root);
+		root.addChildNode(section);
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR)).isNull();
+
+		Node numerator = new Node(TemplateId.ACI_NUMERATOR, section);
+		section.getChildNodes().add(numerator);
+
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR)).isSameAs(numerator);
+
+		section.getChildNodes().remove(numerator);
+
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR)).isNull();
+	}
+
+	@Test
+	public void testFindNodeAfterChangingType() {
+		Node root = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		Node section = new Node(TemplateId.ACI_SECTION, root);
+		root.addChildNode(section);
+		assertThat(root.getChildNodes(TemplateId.ACI_SECTION).count()).isEqualTo(1);
+		assertThat(root.findFirstNode(TemplateId.ACI_SECTION)).isSameAs(section);
+
+		section.setType(TemplateId.IA_SECTION);
+
+		assertThat(root.getChildNodes(TemplateId.ACI_SECTION).count()).isEqualTo(0);
+		assertThat(root.findFirstNode(TemplateId.ACI_SECTION)).isNull();
+		assertThat(root.findFirstNode(TemplateId.IA_SECTION)).isSameAs(section);
+	}
+
+	@Test
+	public void testFindNodeThroughParents() {
+		Node root = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		Node section = indexed(new Node(TemplateId.ACI_SECTION, root));
+		Node measure = new Node(TemplateId.ACI_NUMERATOR_DENOMINATOR, section);
+		root.addChildNode(section);
+		section.addChildNode(measure);
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR)).isNull();
+
+		Node numerator = new Node(TemplateId.ACI_NUMERATOR, measure);
+		measure.addChildNode(numerator);
+
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR)).isSameAs(numerator);
+		assertThat(section.findFirstNode(TemplateId.ACI_NUMERATOR)).isSameAs(numerator);
+
+		measure.removeChildNode(numerator);
+
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR)).isNull();
+	}
+
+	@Test
+	public void testAddedChildKeepsParent() {
+		Node root = new Node(TemplateId.CLINICAL_DOCUMENT);
+		Node orphan = new Node(TemplateId.ACI_SECTION);
+		root.addChildNode(orphan);
+
+		assertThat(orphan.getParent()).isNull();
+	}
+
+	@Test
+	public void testFindNodeUnderChildWithoutParent() {
+		Node root = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		Node orphan = new Node(TemplateId.ACI_SECTION);
+		root.addChildNode(orphan);
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR)).isNull();
+
+		Node numerator = new Node(TemplateId.ACI_NUMERATOR);
+		orphan.addChildNode(numerator);
+
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR)).isSameAs(numerator);
+	}
+
+	@Test
+	public void testFindNodeAfterChildWithoutParentIsGivenParent() {
+		Node root = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		Node orphan = new Node(TemplateId.ACI_SECTION);
+		root.addChildNode(orphan);
+		assertThat(root.getChildNodes(TemplateId.ACI_SECTION).count()).isEqualTo(1);
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR)).isNull();
+
+		orphan.setParent(root);
+		assertThat(root.getChildNodes(TemplateId.ACI_SECTION).count()).isEqualTo(1);
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR)).isNull();
+
+		Node numerator = new Node(TemplateId.ACI_NUMERATOR, orphan);
+		orphan.addChildNode(numerator);
+		orphan.setType(TemplateId.IA_SECTION);
+
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR)).isSameAs(numerator);
+		assertThat(root.getChildNodes(TemplateId.ACI_SECTION).count()).isEqualTo(0);
+	}
+
+	@Test
+	public void testFindNodeUnderChildWithoutParentAfterItIsRemoved() {
+		Node root = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		Node section = new Node(TemplateId.ACI_SECTION, root);
+		Node orphan = new Node(TemplateId.ACI_NUMERATOR_DENOMINATOR);
+		root.addChildNode(section);
+		section.addChildNode(orphan);
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR_DENOMINATOR)).isSameAs(orphan);
+
+		section.removeChildNode(orphan);
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR_DENOMINATOR)).isNull();
+
+		Node numerator = new Node(TemplateId.ACI_NUMERATOR, section);
+		section.addChildNode(numerator);
+
+		assertThat(root.findFirstNode(TemplateId.ACI_NUMERATOR)).isSameAs(numerator);
+	}
+
+	@Test
+	public void testFindNodeAfterChildMovesToAnotherParent() {
+		Node root = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		Node other = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		Node section = new Node(TemplateId.ACI_SECTION, root);
+		root.addChildNode(section);
+		other.addChildNode(section);
+		assertThat(root.getChildNodes(TemplateId.ACI_SECTION).count()).isEqualTo(1);
+		assertThat(root.findFirstNode(TemplateId.ACI_SECTION)).isSameAs(section);
+
+		section.setParent(other);
+		assertThat(other.findFirstNode(TemplateId.ACI_SECTION)).isSameAs(section);
+		section.setType(TemplateId.IA_SECTION);
+
+		assertThat(root.getChildNodes(TemplateId.ACI_SECTION).count()).isEqualTo(0);
+		assertThat(root.findFirstNode(TemplateId.ACI_SECTION)).isNull();
+		assertThat(other.findFirstNode(TemplateId.ACI_SECTION)).isNull();
+	}
+
+	@Test
+	public void testFindNodeAfterRemovingOneOfTwiceHeldChild() {
+		Node root = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		Node section = new Node(TemplateId.ACI_SECTION, root);
+		root.addChildNodes(section, section);
+		root.removeChildNode(section);
+		assertThat(root.findFirstNode(TemplateId.ACI_SECTION)).isSameAs(section);
+
+		section.setType(TemplateId.IA_SECTION);
+
+		assertThat(root.findFirstNode(TemplateId.ACI_SECTION)).isNull();
+	}
+
+	@Test
+	public void testRemovingFrozenChildAddedToAnotherNode() {
+		Node frozen = new Node(TemplateId.ACI_SECTION);
+		Node first = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		first.addChildNode(frozen);
+		frozen.freeze();
+		Node second = new Node(TemplateId.CLINICAL_DOCUMENT);
+		second.addChildNode(frozen);
+
+		assertThat(second.removeChildNode(frozen)).isTrue();
+		assertThat(first.removeChildNode(frozen)).isTrue();
+		assertThat(first.findFirstNode(TemplateId.ACI_SECTION)).isNull();
+	}
+
+	@Test
+	public void testGetChildNodesByTemplateIds() {
+		Node root = new Node(TemplateId.CLINICAL_DOCUMENT);
+		Node aci = new Node(TemplateId.ACI_SECTION);
+		Node ia = new Node(TemplateId.IA_SECTION);
+		root.addChildNodes(ia, new Node(TemplateId.PLACEHOLDER), aci);
+
+		assertThat(root.getChildNodes(TemplateId.ACI_SECTION, TemplateId.IA_SECTION).toArray())
+				.asList().containsExactly(ia, aci).inOrder();
+		assertThat(root.getChildNodes(TemplateId.MEASURE_SECTION_V2).count()).isEqualTo(0);
+	}
+
+	@Test
+	public void testCountChildNodes() {
+		Node root = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		root.addChildNodes(new Node(TemplateId.IA_SECTION, root), new Node(TemplateId.PLACEHOLDER, root),
+				new Node(TemplateId.IA_SECTION, root));
+
+		assertThat(root.countChildNodes(TemplateId.IA_SECTION)).isEqualTo(2);
+		assertThat(root.countChildNodes(TemplateId.ACI_SECTION)).isEqualTo(0);
+	}
+
+	@Test
+	public void testFindNodeSkipsNodesWithoutType() {
+		Node root = new Node(TemplateId.CLINICAL_DOCUMENT);
+		root.addChildNode(new Node(null));
+
+		assertThat(root.findNode(TemplateId.CLINICAL_DOCUMENT)).containsExactly(root);
+	}
+
+	@Test
+	public void testFoundNodeListIsACopy() {
+		Node root = new Node(TemplateId.PLACEHOLDER);
+		root.findNode(TemplateId.PLACEHOLDER).clear();
+
+		assertThat(root.findNode(TemplateId.PLACEHOLDER)).containsExactly(root);
+	}
+
+	@Test
+	public void testFreezeIsDeep() {
+		Node root = new Node(TemplateId.CLINICAL_DOCUMENT);
+		Node child = new Node(TemplateId.ACI_SECTION);
+		root.addChildNode(child);
+
+		assertThat(root.freeze()).isSameAs(root);
+		assertThat(root.isFrozen()).isTrue();
+		assertThat(child.isFrozen()).isTrue();
+		assertThat(root.freeze().findFirstNode(TemplateId.ACI_SECTION)).isSameAs(child);
+	}
+
+	@Test
+	public void testFrozenNodeRejectsChanges() {
+		Node node = new Node(TemplateId.CLINICAL_DOCUMENT);
+		node.putValue("meep", "mawp");
+		node.addChildNode(new Node(TemplateId.ACI_SECTION));
+		node.freeze();
+
+		assertFrozen(() -> node.putValue("meep", "meep"));
+		assertFrozen(() -> node.putValue("meep", "meep", false));
+		assertFrozen(() -> node.removeValue("meep"));
+		assertFrozen(() -> node.addChildNode(new Node()));
+		assertFrozen(() -> node.removeChildNode(node.getChildNodes().get(0)));
+		assertFrozen(() -> node.setChildNodes());
+		assertFrozen(() -> node.addChildNodes(new Node()));
+		assertFrozen(() -> node.getChildNodes().set(0, new Node()));
+		assertFrozen(() -> node.getChildNodes().clear());
+		assertFrozen(() -> node.setParent(new Node()));
+		assertFrozen(() -> node.setType(TemplateId.IA_SECTION));
+		assertFrozen(() -> node.setPath("/a"));
+		assertFrozen(() -> node.setPath(() -> "/a"));
+		assertFrozen(() -> node.setDefaultNsUri("meep"));
+		assertThat(node.getValue("meep")).isEqualTo("mawp");
+		assertThat(node.getChildNodes()).hasSize(1);
+	}
+
+	@Test
+	public void testFrozenNodeCanBeShared() {
+		Node frozen = new Node(TemplateId.ACI_SECTION).freeze();
+		Node first = indexed(new Node(TemplateId.CLINICAL_DOCUMENT));
+		Node second = new Node(TemplateId.CLINICAL_DOCUMENT);
+		first.addChildNode(frozen);
+		second.addChildNode(frozen);
+		second.removeChildNode(frozen);
+
+		assertThat(first.findFirstNode(TemplateId.ACI_SECTION)).isSameAs(frozen);
+		assertThat(second.findFirstNode(TemplateId.ACI_SECTION)).isNull();
+	}
+
+	/**
+	 * Adds enough children to a node that its searches are answered from indexes
+	 *
+	 * @param node node to pad
+	 * @return the node
+	 */
+	static Node indexed(Node node) {
+		for (int count = 0; count < Node.INDEX_THRESHOLD; count++) {
+			node.addChildNode(new Node(TemplateId.DEFAULT, node));
+		}
+		return node;
+	}
+
+	private void assertFrozen(Runnable change) {
+		try {
+			change.run();
+			fail("A frozen node should not change");
+		} catch (UnsupportedOperationException expected) {
+			// frozen as expected
+		}
+	}
+
+	@Test
+	public void testNoValueForNullName() {
+		Node node = new Node(TemplateId.PLACEHOLDER);
+		node.putValue("DEF", "GHI");
+
+		assertThat(node.getValue(null)).isNull();
+		assertThat(node.hasValue(null)).isFalse();
+	}
+
 	@Test
 	public void testRemoveValue() {
 		Node node = new Node();
@@ -187,6 +535,28 @@ public class NodeTest {
 		assertThat(node.hasValue("test")).isFalse();
 	}
 
+	@Test
+	public void testLazyPath() {
+		Node node = new Node(TemplateId.PLACEHOLDER);
+		node.setPath(() -> "/a/b");
+
+		assertThat(node.getPath()).isEqualTo("/a/b");
+	}
+
+	@Test
+	public void testPathIsNullByDefault() {
+		assertThat(new Node(TemplateId.PLACEHOLDER).getPath()).isNull();
+	}
+
+	@Test
+	public void testPathReplacesLazyPath() {
+		Node node = new Node(TemplateId.PLACEHOLDER);
+		node.setPath(() -> "/a/b");
+		node.setPath("/c");
+
+		assertThat(node.getPath()).isEqualTo("/c");
+	}
+
 	@Test
 	public void testEquals() {
 		Node parent = new Node(TemplateId.CLINICAL_DOCUMENT);
@@ -196,10 +566,15 @@ public class NodeTest {
 		child2.setParent(parent);
 		parent.setChildNodes(child1, child2);
 
+		NodeAttributes attributes = new NodeAttributes();
+		attributes.put("measureId", "ACI_EP_1");
+
 		EqualsVerifier.forClass(Node.class)
 			.withPrefabValues(List.class, Lists.newArrayList(new Node()), Lists.newArrayList(new Node(TemplateId.CLINICAL_DOCUMENT), new Node(TemplateId.ACI_NUMERATOR)))
 			.withPrefabValues(Node.class, new Node(TemplateId.ACI_DENOMINATOR), parent)
-			.withIgnoredFields("parent")
+			.withPrefabValues(Supplier.class, () -> "/a", () -> "/b")
+			.withPrefabValues(NodeAttributes.class, new NodeAttributes(), attributes)
+			.withIgnoredFields("parent", "frozen", "indexed", "childIndex", "descendantIndex")
 			.suppress(Warning.NONFINAL_FIELDS)
 			.verify();
 	}
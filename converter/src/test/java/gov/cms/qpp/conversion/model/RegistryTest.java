@@ -10,7 +10,10 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.PrintStream;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
 import static com.google.common.truth.Truth.assertThat;
@@ -160,6 +163,110 @@ public class RegistryTest {
 				.that(decoder).isInstanceOf(AnotherPlaceholder.class);
 	}
 
+	@Test
+	public void testRegisterDoesNotAffectOtherRegistries() throws Exception {
+		registry.register(new ComponentKey(TemplateId.PLACEHOLDER, Program.ALL), Placeholder.class);
+		Registry<InputDecoder> other = new Context().getRegistry(Decoder.class);
+
+		assertWithMessage("Registration should be confined to its own registry")
+				.that(other.get(TemplateId.PLACEHOLDER)).isNull();
+		assertThat(other.size()).isLessThan(registry.size());
+	}
+
+	@Test
+	public void testRegistryInclusiveGetSameGeneralAndProgramSpecificHandler() throws Exception {
+		context.setProgram(Program.MIPS);
+		registry.register(new ComponentKey(TemplateId.PLACEHOLDER, Program.ALL), Placeholder.class);
+		registry.register(new ComponentKey(TemplateId.PLACEHOLDER, Program.MIPS), Placeholder.class);
+
+		assertWithMessage("Should return a single decoder")
+				.that(registry.inclusiveGet(TemplateId.PLACEHOLDER)).hasSize(1);
+	}
+
+	@Test
+	public void testRegistryReusesHandlerInstances() throws Exception {
+		registry.register(new ComponentKey(TemplateId.PLACEHOLDER, Program.ALL), Placeholder.class);
+		InputDecoder decoder = registry.get(TemplateId.PLACEHOLDER);
+
+		assertWithMessage("Registry should hand out the same instance for each lookup")
+				.that(registry.get(TemplateId.PLACEHOLDER)).isSameAs(decoder);
+		assertWithMessage("Registry should hand out the same instance for each lookup")
+				.that(registry.inclusiveGet(TemplateId.PLACEHOLDER)).containsExactly(decoder);
+	}
+
+	@Test
+	public void testRegistryInclusiveGetReusesHandlerSet() throws Exception {
+		registry.register(new ComponentKey(TemplateId.PLACEHOLDER, Program.ALL), Placeholder.class);
+		Set<InputDecoder> decoders = registry.inclusiveGet(TemplateId.PLACEHOLDER);
+
+		assertWithMessage("Registry should hand out the same handlers for each lookup")
+				.that(registry.inclusiveGet(TemplateId.PLACEHOLDER)).isSameAs(decoders);
+
+		try {
+			decoders.clear();
+			fail("Handlers handed out should not be modifiable");
+		} catch (UnsupportedOperationException expected) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testRegistryInclusiveGetAfterRegister() throws Exception {
+		context.setProgram(Program.CPC);
+		registry.register(new ComponentKey(TemplateId.PLACEHOLDER, Program.ALL), Placeholder.class);
+		assertThat(registry.inclusiveGet(TemplateId.PLACEHOLDER)).hasSize(1);
+
+		registry.register(new ComponentKey(TemplateId.PLACEHOLDER, Program.CPC), AnotherPlaceholder.class);
+
+		assertWithMessage("Registering should update the handlers handed out")
+				.that(registry.inclusiveGet(TemplateId.PLACEHOLDER)).hasSize(2);
+	}
+
+	@Test
+	public void testRegistryInclusiveGetFollowsProgram() throws Exception {
+		registry.register(new ComponentKey(TemplateId.PLACEHOLDER, Program.ALL), Placeholder.class);
+		registry.register(new ComponentKey(TemplateId.PLACEHOLDER, Program.CPC), AnotherPlaceholder.class);
+		context.setProgram(Program.MIPS);
+		assertThat(registry.inclusiveGet(TemplateId.PLACEHOLDER)).hasSize(1);
+
+		context.setProgram(Program.CPC);
+
+		assertWithMessage("Handlers should be looked up for the current program")
+				.that(registry.inclusiveGet(TemplateId.PLACEHOLDER)).hasSize(2);
+	}
+
+	@Test
+	public void testRegistryHandlerInstancesAreConfinedToContext() throws Exception {
+		Registry<InputDecoder> other = new Context().getRegistry(Decoder.class);
+
+		assertWithMessage("Each context should have instances of its own")
+				.that(other.get(TemplateId.ACI_AGGREGATE_COUNT))
+				.isNotSameAs(registry.get(TemplateId.ACI_AGGREGATE_COUNT));
+	}
+
+	@Test
+	public void testRegistryInclusiveGetWithoutHandlers() throws Exception {
+		assertWithMessage("Should return no decoders")
+				.that(registry.inclusiveGet(TemplateId.PLACEHOLDER)).isEmpty();
+	}
+
+	@Test
+	public void testIndexMatchesClassPathSearch() throws Exception {
+		for (Class<? extends Annotation> annotation : Arrays.asList(Decoder.class, Encoder.class, Validator.class)) {
+			Map<ComponentKey, Class<?>> indexed = registry.lookupAnnotatedClasses(annotation);
+			Map<ComponentKey, Class<?>> searched;
+			try {
+				System.setProperty(Registry.SCAN_FOR_HANDLERS, "true");
+				searched = registry.lookupAnnotatedClasses(annotation);
+			} finally {
+				System.clearProperty(Registry.SCAN_FOR_HANDLERS);
+			}
+
+			assertWithMessage("The %s index should hold every handler on the class path", annotation.getSimpleName())
+					.that(indexed).isEqualTo(searched);
+		}
+	}
+
 	@Test
 	public void testSize() {
 		assertWithMessage("Registry does not have contents")
@@ -0,0 +1,35 @@
+package gov.cms.qpp.conversion.model.error;
+
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class ErrorBudgetTest {
+
+	@Test
+	public void testUnlimitedNeverExhausted() {
+		ErrorBudget budget = new ErrorBudget(0);
+		budget.spend(1000);
+
+		assertThat(budget.isExhausted()).isFalse();
+		assertThat(budget.isExhaustedWith(1000)).isFalse();
+	}
+
+	@Test
+	public void testExhaustedOnceLimitReached() {
+		ErrorBudget budget = new ErrorBudget(2);
+		budget.spend(1);
+
+		assertThat(budget.isExhausted()).isFalse();
+		assertThat(budget.isExhaustedWith(1)).isTrue();
+
+		budget.spend(1);
+
+		assertThat(budget.isExhausted()).isTrue();
+	}
+
+	@Test
+	public void testMaxErrors() {
+		assertThat(new ErrorBudget(3).getMaxErrors()).isEqualTo(3);
+	}
+}
@@ -1,5 +1,6 @@
 package gov.cms.qpp.conversion.model.error;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.truth.StringSubject;
 import org.junit.Test;
 
@@ -39,6 +40,26 @@ public class ErrorTest {
 				.that(objectUnderTest.getSourceIdentifier()).isSameAs("meep");
 	}
 
+	@Test
+	public void testNotTruncatedByDefault() {
+		assertWithMessage("The details should not be truncated at first")
+				.that(new Error().isTruncated()).isFalse();
+	}
+
+	@Test
+	public void testTruncatedOnlySerializedWhenSet() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+		Error objectUnderTest = new Error("sourceID", Collections.singletonList(new Detail("description", "path")));
+
+		assertWithMessage("An untruncated error should not mention truncation")
+				.that(mapper.writeValueAsString(objectUnderTest)).doesNotContain("truncated");
+
+		objectUnderTest.setTruncated(true);
+
+		assertWithMessage("A truncated error should be marked as such")
+				.that(mapper.writeValueAsString(objectUnderTest)).contains("\"truncated\":true");
+	}
+
 	@Test
 	public void testToString() {
 		Error objectUnderTest = new Error();
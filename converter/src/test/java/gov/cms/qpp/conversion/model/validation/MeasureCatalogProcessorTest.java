@@ -0,0 +1,76 @@
+package gov.cms.qpp.conversion.model.validation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class MeasureCatalogProcessorTest {
+
+	private static final String SOURCE = "package sample;\npublic class Sample {}\n";
+	private static final String CATALOG = MeasureCatalog.catalogFor(MeasureCatalogProcessor.MEASURES_DATA);
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testCompilesMeasuresData() throws Exception {
+		Path output = folder.newFolder("classes").toPath();
+		Files.copy(Paths.get("src/test/resources/reduced-test-measures-data.json"),
+				output.resolve(MeasureCatalogProcessor.MEASURES_DATA));
+
+		assertThat(compile(output)).isEqualTo(0);
+
+		byte[] json = Files.readAllBytes(output.resolve(MeasureCatalogProcessor.MEASURES_DATA));
+		try (InputStream catalog = Files.newInputStream(output.resolve(CATALOG))) {
+			assertThat(MeasureCatalog.read(catalog, json).getConfigurationMap()).containsKey("requiresNothingGuid");
+		}
+	}
+
+	@Test
+	public void testNothingToCompile() throws Exception {
+		Path output = folder.newFolder("classes").toPath();
+
+		assertThat(compile(output)).isEqualTo(0);
+		assertThat(Files.exists(output.resolve(CATALOG))).isFalse();
+	}
+
+	@Test
+	public void testUnreadableMeasuresData() throws Exception {
+		Path output = folder.newFolder("classes").toPath();
+		Files.write(output.resolve(MeasureCatalogProcessor.MEASURES_DATA), "[{".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(compile(output)).isNotEqualTo(0);
+	}
+
+	private int compile(Path output) throws Exception {
+		Path source = folder.newFolder("sample").toPath().resolve("Sample.java");
+		Files.write(source, SOURCE.getBytes(StandardCharsets.UTF_8));
+
+		List<String> classPath = new ArrayList<>();
+		for (Class<?> type : new Class<?>[] {MeasureCatalogProcessor.class, MeasureCatalog.class, ObjectMapper.class,
+				JsonParser.class, JsonProperty.class}) {
+			classPath.add(Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+		}
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		return compiler.run(null, null, null, "-d", output.toString(),
+				"-processorpath", String.join(File.pathSeparator, classPath),
+				"-processor", MeasureCatalogProcessor.class.getName(), source.toString());
+	}
+}
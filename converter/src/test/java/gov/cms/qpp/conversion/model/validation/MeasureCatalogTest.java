@@ -0,0 +1,134 @@
+package gov.cms.qpp.conversion.model.validation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.ByteStreams;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+public class MeasureCatalogTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	public void testCompiledCatalogMatchesJson() throws IOException {
+		byte[] source = readSource(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME);
+		List<MeasureConfig> json = readJson(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME);
+		MeasureConfigSnapshot catalog;
+		try (InputStream input = resource(MeasureCatalog.catalogFor(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME))) {
+			assertWithMessage("The build should compile the measures data into a catalog").that(input).isNotNull();
+			catalog = MeasureCatalog.read(input, source);
+		}
+
+		assertIdentical(catalog, new MeasureConfigSnapshot(json));
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		for (String fileName : Arrays.asList("reduced-test-measures-data.json", "test-multi-prop-measure-data.json",
+				"measures-data-aci-test.json")) {
+			List<MeasureConfig> json = readJson(fileName);
+
+			assertIdentical(roundTrip(json), new MeasureConfigSnapshot(json));
+		}
+	}
+
+	@Test
+	public void testRoundTripAbsentValues() throws IOException {
+		MeasureConfig noStrata = new MeasureConfig();
+		noStrata.setMeasureId("noStrata");
+		MeasureConfig emptyStratum = new MeasureConfig();
+		emptyStratum.setMeasureId("emptyStratum");
+		emptyStratum.setStrata(Collections.singletonList(new Strata()));
+		MeasureConfig noSubPopulationStrata = new MeasureConfig();
+		noSubPopulationStrata.setMeasureId("noSubPopulationStrata");
+		Strata stratum = new Strata();
+		SubPopulation subPopulation = new SubPopulation();
+		subPopulation.setStrata(null);
+		stratum.setElectronicMeasureUuids(subPopulation);
+		noSubPopulationStrata.setStrata(Collections.singletonList(stratum));
+		List<MeasureConfig> configurations = Arrays.asList(noStrata, emptyStratum, noSubPopulationStrata);
+
+		MeasureConfigSnapshot read = roundTrip(configurations);
+
+		assertIdentical(read, new MeasureConfigSnapshot(configurations));
+		assertThat(read.getByMeasureId("noStrata").getStrata()).isNull();
+		assertThat(read.getByMeasureId("emptyStratum").getStrata().get(0).getElectronicMeasureUuids()).isNull();
+		assertThat(read.getByMeasureId("noSubPopulationStrata").getSubPopulation().get(0).getStrata()).isNull();
+	}
+
+	@Test
+	public void testCatalogFor() {
+		assertThat(MeasureCatalog.catalogFor("measures-data.json")).isEqualTo("measures-data.catalog");
+		assertThat(MeasureCatalog.catalogFor("measures")).isEqualTo("measures.catalog");
+	}
+
+	@Test(expected = IOException.class)
+	public void testNotACatalog() throws IOException {
+		MeasureCatalog.read(new ByteArrayInputStream("[{}]".getBytes("UTF-8")), new byte[0]);
+	}
+
+	@Test(expected = IOException.class)
+	public void testCatalogOfOtherJson() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		MeasureCatalog.write(readJson("reduced-test-measures-data.json"), readSource("reduced-test-measures-data.json"),
+				bytes);
+
+		MeasureCatalog.read(new ByteArrayInputStream(bytes.toByteArray()),
+				readSource("test-multi-prop-measure-data.json"));
+	}
+
+	@Test(expected = IOException.class)
+	public void testOtherVersion() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream data = new DataOutputStream(bytes);
+		data.writeInt(MeasureCatalog.MAGIC);
+		data.writeInt(MeasureCatalog.VERSION + 1);
+
+		MeasureCatalog.read(new ByteArrayInputStream(bytes.toByteArray()), new byte[0]);
+	}
+
+	private MeasureConfigSnapshot roundTrip(List<MeasureConfig> configurations) throws IOException {
+		byte[] source = mapper.writeValueAsBytes(configurations);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		MeasureCatalog.write(configurations, source, bytes);
+		return MeasureCatalog.read(new ByteArrayInputStream(bytes.toByteArray()), source);
+	}
+
+	private byte[] readSource(String fileName) throws IOException {
+		try (InputStream input = resource(fileName)) {
+			return ByteStreams.toByteArray(input);
+		}
+	}
+
+	private List<MeasureConfig> readJson(String fileName) throws IOException {
+		try (InputStream input = resource(fileName)) {
+			return mapper.readValue(input, new TypeReference<List<MeasureConfig>>() {});
+		}
+	}
+
+	private InputStream resource(String fileName) {
+		return getClass().getClassLoader().getResourceAsStream(fileName);
+	}
+
+	private void assertIdentical(MeasureConfigSnapshot actual, MeasureConfigSnapshot expected) {
+		assertWithMessage("Every measure configuration should be identical")
+				.that(mapper.<JsonNode>valueToTree(actual.getMeasureConfigs()))
+				.isEqualTo(mapper.<JsonNode>valueToTree(expected.getMeasureConfigs()));
+		assertWithMessage("The lookup table should be identical")
+				.that(mapper.<JsonNode>valueToTree(actual.getConfigurationMap()))
+				.isEqualTo(mapper.<JsonNode>valueToTree(expected.getConfigurationMap()));
+	}
+}
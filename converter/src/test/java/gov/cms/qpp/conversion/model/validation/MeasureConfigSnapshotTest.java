@@ -0,0 +1,111 @@
+package gov.cms.qpp.conversion.model.validation;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class MeasureConfigSnapshotTest {
+
+	private MeasureConfig aci;
+	private MeasureConfig requiredAci;
+	private MeasureConfig ia;
+	private MeasureConfig quality;
+	private MeasureConfig retiredQuality;
+	private MeasureConfigSnapshot snapshot;
+
+	@Before
+	public void setUp() {
+		aci = measureConfig("aci", "ACI_EP_1", null, null, 2017, 0);
+		requiredAci = measureConfig("aci", "ACI_PEA_1", null, null, 2017, 0);
+		requiredAci.setIsRequired(true);
+		ia = measureConfig("ia", "IA_EPA_1", null, null, 2018, 0);
+		quality = measureConfig("quality", "236", "CMS165v5", "guid236", 2017, 0);
+		retiredQuality = measureConfig("quality", "130", "CMS68v6", null, 2015, 2017);
+		snapshot = new MeasureConfigSnapshot(Arrays.asList(aci, requiredAci, ia, quality, retiredQuality));
+	}
+
+	@Test
+	public void testMeasureConfigsInOrderRead() {
+		assertThat(snapshot.getMeasureConfigs()).containsExactly(aci, requiredAci, ia, quality, retiredQuality).inOrder();
+	}
+
+	@Test
+	public void testConfigurationMapPrefersGuid() {
+		assertThat(snapshot.getConfigurationMap()).containsExactly(
+				"ACI_EP_1", aci, "ACI_PEA_1", requiredAci, "IA_EPA_1", ia, "guid236", quality, "CMS68v6", retiredQuality);
+	}
+
+	@Test
+	public void testLookupByEachIdentifier() {
+		assertThat(snapshot.getByGuid("guid236")).isSameAs(quality);
+		assertThat(snapshot.getByElectronicMeasureId("CMS68v6")).isSameAs(retiredQuality);
+		assertThat(snapshot.getByMeasureId("236")).isSameAs(quality);
+		assertThat(snapshot.getByMeasureId("CMS165v5")).isNull();
+	}
+
+	@Test
+	public void testByCategory() {
+		assertThat(snapshot.getByCategory("quality")).containsExactly(quality, retiredQuality).inOrder();
+		assertThat(snapshot.getByCategory("unknown")).isEmpty();
+	}
+
+	@Test
+	public void testUncategorizedLeftOutOfCategories() {
+		MeasureConfig uncategorized = measureConfig(null, "unknown", null, null, 2017, 0);
+		MeasureConfigSnapshot withUncategorized = new MeasureConfigSnapshot(Arrays.asList(aci, uncategorized));
+
+		assertThat(withUncategorized.getByCategory("aci")).containsExactly(aci);
+		assertThat(withUncategorized.getByMeasureId("unknown")).isSameAs(uncategorized);
+	}
+
+	@Test
+	public void testRequiredMeasuresForSection() {
+		assertThat(snapshot.requiredMeasuresForSection("aci")).containsExactly("ACI_PEA_1");
+		assertThat(snapshot.requiredMeasuresForSection("quality")).isEmpty();
+		assertThat(snapshot.requiredMeasuresForSection("unknown")).isEmpty();
+	}
+
+	@Test
+	public void testForPerformanceYear() {
+		assertThat(snapshot.getForPerformanceYear(2014)).isEmpty();
+		assertThat(snapshot.getForPerformanceYear(2016)).containsExactly(retiredQuality);
+		assertThat(snapshot.getForPerformanceYear(2017))
+				.containsExactly(aci, requiredAci, quality, retiredQuality).inOrder();
+		assertThat(snapshot.getForPerformanceYear(2018)).containsExactly(aci, requiredAci, ia, quality).inOrder();
+		assertThat(snapshot.getForPerformanceYear(2030)).containsExactly(aci, requiredAci, ia, quality).inOrder();
+	}
+
+	@Test
+	public void testSecondaryIndexesKeepFirstRead() {
+		MeasureConfig duplicate = measureConfig("quality", "236", "CMS165v6", "otherGuid", 2018, 0);
+		MeasureConfigSnapshot duplicated = new MeasureConfigSnapshot(Arrays.asList(quality, duplicate));
+
+		assertThat(duplicated.getByMeasureId("236")).isSameAs(quality);
+		assertThat(duplicated.getByGuid("otherGuid")).isSameAs(duplicate);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testDuplicateConfigurationMapIdentifier() {
+		new MeasureConfigSnapshot(Arrays.asList(quality, quality));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testUnmodifiable() {
+		snapshot.getMeasureConfigs().clear();
+	}
+
+	private MeasureConfig measureConfig(String category, String measureId, String electronicMeasureId, String guid,
+			int firstPerformanceYear, int lastPerformanceYear) {
+		MeasureConfig config = new MeasureConfig();
+		config.setCategory(category);
+		config.setMeasureId(measureId);
+		config.setElectronicMeasureId(electronicMeasureId);
+		config.setElectronicMeasureVerUuid(guid);
+		config.setFirstPerformanceYear(firstPerformanceYear);
+		config.setLastPerformanceYear(lastPerformanceYear);
+		return config;
+	}
+}
@@ -1,6 +1,7 @@
 package gov.cms.qpp.conversion.model.validation;
 
 import com.fasterxml.jackson.databind.JsonMappingException;
+import gov.cms.qpp.conversion.Context;
 import org.junit.AfterClass;
 import org.junit.Rule;
 import org.junit.Test;
@@ -8,8 +9,12 @@ import org.junit.rules.ExpectedException;
 
 import java.io.IOException;
 import java.lang.reflect.Constructor;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
+import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
 import static org.hamcrest.core.Is.isA;
 
@@ -84,4 +89,47 @@ public class MeasureConfigsTest {
 		assertWithMessage("Expect the notRequiredMeasures to be a empty list")
 				.that(notRequiredMeasures).isEmpty();
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testMeasureDataFileFromFileSystem() {
+		Path file = Paths.get("src/test/resources/reduced-test-measures-data.json");
+		MeasureConfigs.setMeasureDataFile(file);
+
+		assertThat(MeasureConfigs.getConfigurationMap()).containsKey("requiresNothingGuid");
+		assertThat(MeasureConfigs.getMeasureConfigs()).hasSize(4);
+	}
+
+	@Test
+	public void testMissingMeasureDataFileKeepsSnapshot() {
+		MeasureConfigs.setMeasureDataFile(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME);
+		MeasureConfigSnapshot before = MeasureConfigs.getSnapshot();
+
+		thrown.expect(IllegalArgumentException.class);
+		thrown.expectCause(isA(NoSuchFileException.class));
+		try {
+			MeasureConfigs.setMeasureDataFile(Paths.get("Bogus file name"));
+		} finally {
+			assertThat(MeasureConfigs.getSnapshot()).isSameAs(before);
+		}
+	}
+
+	@Test
+	public void testContextKeepsSnapshotItStartedWith() {
+		MeasureConfigs.setMeasureDataFile(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME);
+		Context context = new Context();
+		MeasureConfigSnapshot started = MeasureConfigs.getSnapshot();
+
+		MeasureConfigs.setMeasureDataFile("reduced-test-measures-data.json");
+
+		assertThat(context.getMeasureConfigs()).isSameAs(started);
+		assertThat(MeasureConfigs.getSnapshot()).isNotSameAs(started);
+		assertThat(new Context().getMeasureConfigs()).isSameAs(MeasureConfigs.getSnapshot());
+	}
+
+	@Test
+	public void testUnreadableCatalogFallsBackToJson() {
+		MeasureConfigs.setMeasureDataFile("bad-catalog-measures-data.json");
+
+		assertThat(MeasureConfigs.getConfigurationMap()).containsKey("requiresNothingGuid");
+	}
+}
@@ -0,0 +1,74 @@
+package gov.cms.qpp.conversion.model.validation;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class MeasureDataFileWatcherTest {
+
+	private static final Path REDUCED = Paths.get("src/test/resources/reduced-test-measures-data.json");
+	private static final Path MULTI_PROP = Paths.get("src/test/resources/test-multi-prop-measure-data.json");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path file;
+	private MeasureDataFileWatcher watcher;
+
+	@Before
+	public void setUp() throws IOException {
+		file = folder.getRoot().toPath().resolve("measures-data.json");
+		Files.copy(REDUCED, file);
+		watcher = MeasureDataFileWatcher.watch(file);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		watcher.close();
+		MeasureConfigs.setMeasureDataFile(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME);
+	}
+
+	@Test
+	public void testLoadsWatchedFile() {
+		assertThat(watcher.getFile().toString()).isEqualTo(file.toAbsolutePath().toString());
+		assertThat(MeasureConfigs.getConfigurationMap()).containsKey("requiresNothingGuid");
+	}
+
+	@Test
+	public void testReloadsChangedFile() throws Exception {
+		MeasureConfigSnapshot before = MeasureConfigs.getSnapshot();
+
+		Files.write(folder.newFile("unrelated.json").toPath(), "[".getBytes(StandardCharsets.UTF_8));
+		assertThat(MeasureConfigs.getSnapshot()).isSameAs(before);
+		Files.copy(MULTI_PROP, file, StandardCopyOption.REPLACE_EXISTING);
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (MeasureConfigs.getSnapshot() == before && System.nanoTime() < deadline) {
+			Thread.sleep(50);
+		}
+		assertThat(MeasureConfigs.getConfigurationMap()).containsKey("test1");
+	}
+
+	@Test
+	public void testUnreadableChangeKeepsSnapshot() throws IOException {
+		MeasureConfigSnapshot before = MeasureConfigs.getSnapshot();
+
+		watcher.close();
+		Files.write(file, "[{".getBytes(StandardCharsets.UTF_8));
+		watcher.reload();
+
+		assertThat(MeasureConfigs.getSnapshot()).isSameAs(before);
+	}
+}
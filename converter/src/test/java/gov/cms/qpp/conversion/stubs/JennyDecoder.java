@@ -2,6 +2,7 @@ package gov.cms.qpp.conversion.stubs;
 
 import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.decode.DecodeResult;
+import gov.cms.qpp.conversion.decode.DecodeState;
 import gov.cms.qpp.conversion.decode.placeholder.DefaultDecoder;
 import gov.cms.qpp.conversion.model.Node;
 import org.jdom2.Element;
@@ -13,7 +14,7 @@ public class JennyDecoder extends DefaultDecoder {
 	}
 
 	@Override
-	protected DecodeResult internalDecode(Element element, Node thisnode) {
+	protected DecodeResult internalDecode(DecodeState state, Element element, Node thisnode) {
 		thisnode.putValue("DefaultDecoderFor", "Jenny");
 		if (element.getChildren().size() > 1) {
 			thisnode.putValue( "problem", "too many children" );
@@ -3,13 +3,14 @@ package gov.cms.qpp.conversion.stubs;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.error.Detail;
 import gov.cms.qpp.conversion.validate.NodeValidator;
+import gov.cms.qpp.conversion.validate.ValidationState;
 
 public class TestDefaultValidator extends NodeValidator {
 
 	@Override
-	protected void internalValidateSingleNode(Node node) {
+	protected void internalValidateSingleNode(ValidationState state, Node node) {
 		if (node.getValue( "problem" ) != null) {
-			this.addValidationError(new Detail("Test validation error for Jenny"));
+			state.addValidationError(new Detail("Test validation error for Jenny"));
 		}
 	}
 }
\ No newline at end of file
@@ -29,8 +29,7 @@ public class AggregateCountValidatorTest {
         Node aggregateCountNode = new Node(TemplateId.ACI_AGGREGATE_COUNT);
 
         AggregateCountValidator validator = new AggregateCountValidator();
-        validator.internalValidateSingleNode( aggregateCountNode );
-        Set<Detail> errors = validator.getDetails();
+        Set<Detail> errors = validator.validateSingleNode( aggregateCountNode );
 
         assertWithMessage("Should result in a value error")
                 .that(errors).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
@@ -43,8 +42,7 @@ public class AggregateCountValidatorTest {
         aggregateCountNode.putValue(AggregateCountDecoder.AGGREGATE_COUNT, "meep");
 
         AggregateCountValidator validator = new AggregateCountValidator();
-        validator.internalValidateSingleNode(aggregateCountNode);
-        Set<Detail> errors = validator.getDetails();
+        Set<Detail> errors = validator.validateSingleNode(aggregateCountNode);
 
         assertWithMessage("Should result in a type error")
                 .that(errors).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
@@ -57,8 +55,7 @@ public class AggregateCountValidatorTest {
         aggregateCountNode.putValue(AggregateCountDecoder.AGGREGATE_COUNT, "7");
 
         AggregateCountValidator validator = new AggregateCountValidator();
-        validator.internalValidateSingleNode(aggregateCountNode);
-        Set<Detail> errors = validator.getDetails();
+        Set<Detail> errors = validator.validateSingleNode(aggregateCountNode);
 
         assertWithMessage("there are no errors")
                 .that(errors).isEmpty();
@@ -3,6 +3,7 @@ package gov.cms.qpp.conversion.validate;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.model.error.Detail;
+import gov.cms.qpp.conversion.model.error.ErrorBudget;
 import gov.cms.qpp.conversion.model.error.correspondence.DetailsMessageEquals;
 import org.junit.Before;
 import org.junit.Test;
@@ -10,6 +11,7 @@ import org.junit.Test;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
 
 /**
@@ -53,6 +55,50 @@ public class CheckerTest {
 				.containsExactly(ERROR_MESSAGE);
 	}
 
+	@Test
+	public void testThoroughCheckStopsOnceErrorBudgetExhausted() {
+		Node meepNode = new Node();
+		meepNode.putValue(VALUE, "one");
+		meepNode.putValue(VALUE, "two", false);
+
+		Checker checker = Checker.thoroughlyCheck(meepNode, details, new ValidatedNodes(), new ErrorBudget(1));
+		checker.hasChildren(ERROR_MESSAGE) //fails, exhausting the budget
+				.hasChildren(OTHER_ERROR_MESSAGE)
+				.singleValue(OTHER_ERROR_MESSAGE, VALUE);
+
+		assertWithMessage("Only the error within budget is reported")
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.containsExactly(ERROR_MESSAGE);
+	}
+
+	@Test
+	public void testMessageArgumentsFormattedIntoFailures() {
+		Node meepNode = new Node();
+
+		Checker checker = Checker.check(meepNode, details);
+		checker.messageArguments("meep", 1).value("%s needs %d value", VALUE);
+
+		assertWithMessage("The message is formatted with the arguments")
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.containsExactly("meep needs 1 value");
+	}
+
+	@Test
+	public void testNestedCheckLeavesOuterChainAlone() {
+		Node meepNode = new Node();
+		Node mawpNode = new Node();
+		mawpNode.putValue(VALUE, "Bob");
+		Checker outer = Checker.check(meepNode, details).messageArguments("meep");
+
+		Checker inner = Checker.thoroughlyCheck(mawpNode, details).value(ERROR_MESSAGE, VALUE);
+		outer.hasChildren("%s has no children");
+
+		assertThat(inner).isNotSameAs(outer);
+		assertWithMessage("The outer chain keeps checking its own node with its own message arguments")
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.containsExactly("meep has no children");
+	}
+
 	@Test
 	public void testValueFindSuccess() {
 		Node meepNode = new Node();
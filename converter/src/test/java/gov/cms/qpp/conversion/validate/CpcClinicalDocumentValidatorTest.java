@@ -24,8 +24,7 @@ public class CpcClinicalDocumentValidatorTest {
 	@Test
 	public void validPracticeSiteAddress() {
 		Node clinicalDocumentNode = createValidCpcPlusClinicalDocument();
-		cpcValidator.internalValidateSingleNode(clinicalDocumentNode);
-		Set<Detail> errors = cpcValidator.getDetails();
+		Set<Detail> errors = cpcValidator.validateSingleNode(clinicalDocumentNode);
 
 		assertWithMessage("Must have no errors")
 				.that(errors).isEmpty();
@@ -35,8 +34,7 @@ public class CpcClinicalDocumentValidatorTest {
 	public void missingPracticeSiteAddress() {
 		Node clinicalDocumentNode = createValidCpcPlusClinicalDocument();
 		clinicalDocumentNode.removeValue(ClinicalDocumentDecoder.PRACTICE_SITE_ADDR);
-		cpcValidator.internalValidateSingleNode(clinicalDocumentNode);
-		Set<Detail> errors = cpcValidator.getDetails();
+		Set<Detail> errors = cpcValidator.validateSingleNode(clinicalDocumentNode);
 
 		assertWithMessage("Must contain error")
 				.that(errors).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
@@ -48,8 +46,7 @@ public class CpcClinicalDocumentValidatorTest {
 		Node clinicalDocumentNode = createValidCpcPlusClinicalDocument();
 		clinicalDocumentNode.removeValue(ClinicalDocumentDecoder.PRACTICE_SITE_ADDR);
 		clinicalDocumentNode.putValue(ClinicalDocumentDecoder.PRACTICE_SITE_ADDR, "");
-		cpcValidator.internalValidateSingleNode(clinicalDocumentNode);
-		Set<Detail> errors = cpcValidator.getDetails();
+		Set<Detail> errors = cpcValidator.validateSingleNode(clinicalDocumentNode);
 
 		assertWithMessage("Must contain error")
 				.that(errors).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
@@ -62,10 +59,10 @@ public class CpcClinicalDocumentValidatorTest {
 
 		// extra APM
 		clinicalDocumentNode.putValue(ClinicalDocumentDecoder.ENTITY_ID, "1234567", false);
-		cpcValidator.internalValidateSingleNode(clinicalDocumentNode);
+		Set<Detail> details = cpcValidator.validateSingleNode(clinicalDocumentNode);
 
 		assertWithMessage("Must validate with the correct error")
-				.that(cpcValidator.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly(CpcClinicalDocumentValidator.ONLY_ONE_APM_ALLOWED);
 	}
 
@@ -73,20 +70,20 @@ public class CpcClinicalDocumentValidatorTest {
 	public void testCpcPlusNoApm() {
 		Node clinicalDocumentNode = createValidCpcPlusClinicalDocument();
 		clinicalDocumentNode.removeValue(ClinicalDocumentDecoder.ENTITY_ID);
-		cpcValidator.internalValidateSingleNode(clinicalDocumentNode);
+		Set<Detail> details = cpcValidator.validateSingleNode(clinicalDocumentNode);
 
 		assertWithMessage("Must validate with the correct error")
-				.that(cpcValidator.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly(CpcClinicalDocumentValidator.ONLY_ONE_APM_ALLOWED);
 	}
 
 	@Test
 	public void testCpcPlusMissingMeasureSection() {
 		Node clinicalDocumentNode = createCpcPlusClinicalDocument();
-		cpcValidator.internalValidateSingleNode(clinicalDocumentNode);
+		Set<Detail> details = cpcValidator.validateSingleNode(clinicalDocumentNode);
 
 		assertWithMessage("Must validate with the correct error")
-				.that(cpcValidator.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly(CpcClinicalDocumentValidator.ONE_MEASURE_SECTION_REQUIRED);
 	}
 
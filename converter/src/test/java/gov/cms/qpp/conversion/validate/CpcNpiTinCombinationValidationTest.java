@@ -2,10 +2,13 @@ package gov.cms.qpp.conversion.validate;
 
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.model.error.Detail;
 import gov.cms.qpp.conversion.model.error.correspondence.DetailsMessageEquals;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Set;
+
 import static com.google.common.truth.Truth.assertWithMessage;
 
 public class CpcNpiTinCombinationValidationTest {
@@ -21,10 +24,10 @@ public class CpcNpiTinCombinationValidationTest {
 
 	@Test
 	public void testNoNpiTinCombination() {
-		cpcValidator.internalValidateSingleNode(multipleTinNpiNode);
+		Set<Detail> details = cpcValidator.validateSingleNode(multipleTinNpiNode);
 
 		assertWithMessage("Must validate with the correct error")
-				.that(cpcValidator.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly(CpcNpiTinCombinationValidation.AT_LEAST_ONE_NPI_TIN_COMBINATION);
 	}
 
@@ -33,10 +36,10 @@ public class CpcNpiTinCombinationValidationTest {
 		Node tinNpiNode = new Node(TemplateId.NPI_TIN_ID);
 		multipleTinNpiNode.addChildNode(tinNpiNode);
 
-		cpcValidator.internalValidateSingleNode(multipleTinNpiNode);
+		Set<Detail> details = cpcValidator.validateSingleNode(multipleTinNpiNode);
 
 		assertWithMessage("There must be no errors")
-				.that(cpcValidator.getDetails()).isEmpty();
+				.that(details).isEmpty();
 	}
 
 	@Test
@@ -46,9 +49,9 @@ public class CpcNpiTinCombinationValidationTest {
 		multipleTinNpiNode.addChildNode(tinNpiNode1);
 		multipleTinNpiNode.addChildNode(tinNpiNode2);
 
-		cpcValidator.internalValidateSingleNode(multipleTinNpiNode);
+		Set<Detail> details = cpcValidator.validateSingleNode(multipleTinNpiNode);
 
 		assertWithMessage("There must be no errors")
-				.that(cpcValidator.getDetails()).isEmpty();
+				.that(details).isEmpty();
 	}
 }
\ No newline at end of file
@@ -3,10 +3,13 @@ package gov.cms.qpp.conversion.validate;
 import gov.cms.qpp.conversion.decode.ReportingParametersActDecoder;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.model.error.Detail;
 import gov.cms.qpp.conversion.model.error.correspondence.DetailsMessageEquals;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Set;
+
 import static com.google.common.truth.Truth.assertWithMessage;
 
 public class CpcPerformancePeriodValidationTest {
@@ -25,27 +28,27 @@ public class CpcPerformancePeriodValidationTest {
 
 	@Test
 	public void testPerformancePeriodIsValid() {
-		cpcValidator.internalValidateSingleNode(node);
+		Set<Detail> details = cpcValidator.validateSingleNode(node);
 		assertWithMessage("Should be no errors")
-				.that(cpcValidator.getDetails()).isEmpty();
+				.that(details).isEmpty();
 	}
 
 	@Test
 	public void testPerformancePeriodStartIsInvalid() {
 		node.putValue(ReportingParametersActDecoder.PERFORMANCE_START, "not what we want");
-		cpcValidator.internalValidateSingleNode(node);
+		Set<Detail> details = cpcValidator.validateSingleNode(node);
 
 		assertWithMessage("Should result in a performance start error")
-				.that(cpcValidator.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly(CpcPerformancePeriodValidation.PERFORMANCE_START_JAN12017);
 	}
 
 	@Test
 	public void testPerformancePeriodEndIsInvalid() {
 		node.putValue(ReportingParametersActDecoder.PERFORMANCE_END, "not what we want");
-		cpcValidator.internalValidateSingleNode(node);
+		Set<Detail> details = cpcValidator.validateSingleNode(node);
 		assertWithMessage("Should result in a performance end error")
-				.that(cpcValidator.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly(CpcPerformancePeriodValidation.PERFORMANCE_END_DEC312017);
 	}
 }
\ No newline at end of file
@@ -2,10 +2,13 @@ package gov.cms.qpp.conversion.validate;
 
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.model.error.Detail;
 import gov.cms.qpp.conversion.model.error.correspondence.DetailsMessageEquals;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Set;
+
 import static com.google.common.truth.Truth.assertWithMessage;
 
 public class CpcQualityMeasureIdValidatorTest {
@@ -23,30 +26,30 @@ public class CpcQualityMeasureIdValidatorTest {
 	@Test
 	public void testPerformanceCountWithNoErrors() {
 		addAnyNumberOfChildren(2);
-		validator.internalValidateSingleNode(testNode);
+		Set<Detail> details = validator.validateSingleNode(testNode);
 
 		assertWithMessage("Must contain 0 invalid performance rate count errors")
-				.that(validator.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.doesNotContain(String.format(CpcQualityMeasureIdValidator.INVALID_PERFORMANCE_RATE_COUNT, 2));
 	}
 
 	@Test
 	public void testPerformanceCountWithIncreasedSizeError() {
 		addAnyNumberOfChildren(3);
-		validator.internalValidateSingleNode(testNode);
+		Set<Detail> details = validator.validateSingleNode(testNode);
 
 		assertWithMessage("Must contain 2 invalid performance rate count errors")
-				.that(validator.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.contains(String.format(CpcQualityMeasureIdValidator.INVALID_PERFORMANCE_RATE_COUNT, 2));
 	}
 
 	@Test
 	public void testPerformanceCountWithDecreasedSizeError() {
 		addAnyNumberOfChildren(1);
-		validator.internalValidateSingleNode(testNode);
+		Set<Detail> details = validator.validateSingleNode(testNode);
 
 		assertWithMessage("Must contain 2 invalid performance rate count errors")
-				.that(validator.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.contains(String.format(CpcQualityMeasureIdValidator.INVALID_PERFORMANCE_RATE_COUNT, 2));
 	}
 
@@ -2,9 +2,9 @@ package gov.cms.qpp.conversion.validate;
 
 
 import com.google.common.collect.Sets;
-import gov.cms.qpp.conversion.Converter;
-import gov.cms.qpp.conversion.PathQrdaSource;
+import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.decode.MeasureDataDecoder;
+import gov.cms.qpp.conversion.decode.XmlInputDecoder;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.model.error.Detail;
@@ -12,6 +12,7 @@ import gov.cms.qpp.conversion.model.error.correspondence.DetailsMessageEquals;
 import gov.cms.qpp.conversion.model.validation.SubPopulations;
 import gov.cms.qpp.conversion.segmentation.QrdaScope;
 import gov.cms.qpp.conversion.xml.XmlException;
+import gov.cms.qpp.conversion.xml.XmlUtils;
 import org.junit.Test;
 
 import java.io.IOException;
@@ -117,17 +118,17 @@ public class CpcQualityMeasureScopedValidatonTest {
 		return (node) -> node.getValue(MeasureDataDecoder.MEASURE_TYPE).equals(type);
 	}
 
-	private Node scopedConversion(QrdaScope testSection, String path) {
-		Converter converter = new Converter(new PathQrdaSource(baseDir.resolve(path)));
-		converter.getContext().setScope(Sets.newHashSet(testSection));
-		converter.transform();
-		return converter.getReport().getDecoded().findFirstNode(TemplateId.MEASURE_REFERENCE_RESULTS_CMS_V2);
+	private Node scopedConversion(QrdaScope testSection, String path) throws XmlException {
+		Context context = new Context();
+		context.setScope(Sets.newHashSet(testSection));
+		Node decoded = XmlInputDecoder.decodeXml(context,
+				XmlUtils.parseXmlStream(XmlUtils.fileToStream(baseDir.resolve(path))));
+		return decoded.findFirstNode(TemplateId.MEASURE_REFERENCE_RESULTS_CMS_V2);
 	}
 
 	private Set<Detail> validateNode(Node node) {
 		CpcQualityMeasureIdValidator validator = new CpcQualityMeasureIdValidator();
-		validator.internalValidateSingleNode(node);
-		return validator.getDetails();
+		return validator.validateSingleNode(node);
 	}
 
 	private String[] getMessages(String type, String measure, String... subs) {
@@ -64,6 +64,22 @@ public class IaMeasureValidatorTest {
 				.containsExactly(IaMeasureValidator.INCORRECT_CHILDREN_COUNT);
 	}
 
+	@Test
+	public void testReusedValidatorReportsOnlyCurrentNode() throws Exception {
+		Node invalidNode = new Node(TemplateId.IA_MEASURE);
+		Node measureNode = new Node(TemplateId.IA_MEASURE);
+		Node measurePerformedNode = new Node(TemplateId.MEASURE_PERFORMED, measureNode);
+		measureNode.addChildNode(measurePerformedNode);
+		measurePerformedNode.putValue("measurePerformed", "Y");
+
+		IaMeasureValidator validator = new IaMeasureValidator();
+		validator.validateSingleNode(invalidNode);
+		Set<Detail> errors = validator.validateSingleNode(measureNode);
+
+		assertWithMessage("errors of a previously validated node should not be present")
+				.that(errors).isEmpty();
+	}
+
 	/**
 	 * Validate a missing child
 	 *
@@ -82,7 +82,6 @@ public class IaSectionValidatorTest {
 	private Set<Detail> validatorIaSection() {
 		IaSectionValidator iaValidator = new IaSectionValidator();
 
-		iaValidator.internalValidateSingleNode(iaSectionNode);
-		return iaValidator.getDetails();
+		return iaValidator.validateSingleNode(iaSectionNode);
 	}
 }
@@ -33,9 +33,7 @@ public class MeasureDataValidatorTest {
 		Node placeholder = new QppXmlDecoder(new Context()).decode(XmlUtils.stringToDom(happy));
 		MeasureDataValidator validator = new MeasureDataValidator();
 		Node underTest = placeholder.findFirstNode(TemplateId.MEASURE_DATA_CMS_V2);
-		validator.internalValidateSingleNode(underTest);
-
-		Set<Detail> errors = validator.getDetails();
+		Set<Detail> errors = validator.validateSingleNode(underTest);
 		assertWithMessage("Expect no errors on the happy path")
 				.that(errors).isEmpty();
 	}
@@ -44,14 +42,30 @@ public class MeasureDataValidatorTest {
 	public void missingAggregateCount() throws Exception {
 		Node testNode = new Node(TemplateId.MEASURE_DATA_CMS_V2);
 		MeasureDataValidator validator = new MeasureDataValidator();
-		validator.internalValidateSingleNode(testNode);
-
-		Set<Detail> errors = validator.getDetails();
+		Set<Detail> errors = validator.validateSingleNode(testNode);
 		assertWithMessage("missing error")
 				.that(errors).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly(MISSING_AGGREGATE_COUNT);
 	}
 
+	@Test
+	public void eachValidationHasItsOwnDetails() throws Exception {
+		MeasureDataValidator validator = new MeasureDataValidator();
+		Set<Detail> missing = validator.validateSingleNode(new Node(TemplateId.MEASURE_DATA_CMS_V2));
+
+		Node aggregateCount = new Node(TemplateId.ACI_AGGREGATE_COUNT);
+		aggregateCount.putValue("aggregateCount", "100");
+		Node testNode = new Node(TemplateId.MEASURE_DATA_CMS_V2);
+		testNode.addChildNode(aggregateCount);
+		Set<Detail> errors = validator.validateSingleNode(testNode);
+
+		assertWithMessage("Details of an earlier validation must not carry over")
+				.that(errors).isEmpty();
+		assertWithMessage("Details of an earlier validation must be left as they were")
+				.that(missing).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.containsExactly(MISSING_AGGREGATE_COUNT);
+	}
+
 	@Test
 	public void invalidAggregateCount() throws Exception {
 		Node aggregateCount = new Node(TemplateId.ACI_AGGREGATE_COUNT);
@@ -59,9 +73,7 @@ public class MeasureDataValidatorTest {
 		testNode.addChildNode(aggregateCount);
 		aggregateCount.putValue("aggregateCount", "error");
 		MeasureDataValidator validator = new MeasureDataValidator();
-		validator.internalValidateSingleNode(testNode);
-
-		Set<Detail> errors = validator.getDetails();
+		Set<Detail> errors = validator.validateSingleNode(testNode);
 		assertWithMessage("Should result in a type error")
 				.that(errors).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly(AggregateCountValidator.TYPE_ERROR);
@@ -75,9 +87,7 @@ public class MeasureDataValidatorTest {
 		Node testNode = new Node(TemplateId.MEASURE_DATA_CMS_V2);
 		testNode.addChildNodes(aggregateCount);
 		MeasureDataValidator validator = new MeasureDataValidator();
-		validator.internalValidateSingleNode(testNode);
-
-		Set<Detail> errors = validator.getDetails();
+		Set<Detail> errors = validator.validateSingleNode(testNode);
 		assertWithMessage("missing error")
 				.that(errors).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly(AggregateCountValidator.VALUE_ERROR);
@@ -90,9 +100,7 @@ public class MeasureDataValidatorTest {
 		Node testNode = new Node(TemplateId.MEASURE_DATA_CMS_V2);
 		testNode.addChildNodes(aggregateCount);
 		MeasureDataValidator validator = new MeasureDataValidator();
-		validator.internalValidateSingleNode(testNode);
-
-		Set<Detail> errors = validator.getDetails();
+		Set<Detail> errors = validator.validateSingleNode(testNode);
 		assertWithMessage("missing error")
 				.that(errors).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly(MeasureDataValidator.INVALID_VALUE);
@@ -4,10 +4,13 @@ import gov.cms.qpp.conversion.decode.ClinicalDocumentDecoder;
 import gov.cms.qpp.conversion.decode.MultipleTinsDecoder;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.model.error.Detail;
 import gov.cms.qpp.conversion.model.error.correspondence.DetailsMessageEquals;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Set;
+
 import static com.google.common.truth.Truth.assertWithMessage;
 
 public class NpiTinCombinationValidationTest {
@@ -48,10 +51,10 @@ public class NpiTinCombinationValidationTest {
 		npiTinCombinationNode.addChildNode(clinicalDocumentNode);
 		npiTinCombinationNode.addChildNode(firstValidNpiTinNode);
 
-		validator.internalValidateSingleNode(npiTinCombinationNode);
+		Set<Detail> details = validator.validateSingleNode(npiTinCombinationNode);
 
 		assertWithMessage("Must validate with no errors")
-				.that(validator.getDetails()).isEmpty();
+				.that(details).isEmpty();
 	}
 
 	@Test
@@ -64,10 +67,10 @@ public class NpiTinCombinationValidationTest {
 		npiTinCombinationNode.addChildNode(firstValidNpiTinNode);
 		npiTinCombinationNode.addChildNode(secondValidNpiTinNode);
 
-		validator.internalValidateSingleNode(npiTinCombinationNode);
+		Set<Detail> details = validator.validateSingleNode(npiTinCombinationNode);
 
 		assertWithMessage("Must validate with no errors")
-				.that(validator.getDetails()).isEmpty();
+				.that(details).isEmpty();
 	}
 
 	@Test
@@ -79,10 +82,10 @@ public class NpiTinCombinationValidationTest {
 		npiTinCombinationNode.addChildNode(clinicalDocumentNode);
 		npiTinCombinationNode.addChildNode(firstValidNpiTinNode);
 
-		validator.internalValidateSingleNode(npiTinCombinationNode);
+		Set<Detail> details = validator.validateSingleNode(npiTinCombinationNode);
 
 		assertWithMessage("Must validate with no errors")
-				.that(validator.getDetails()).isEmpty();
+				.that(details).isEmpty();
 	}
 
 	@Test
@@ -95,10 +98,10 @@ public class NpiTinCombinationValidationTest {
 		npiTinCombinationNode.addChildNode(firstValidNpiTinNode);
 		npiTinCombinationNode.addChildNode(secondValidNpiTinNode);
 
-		validator.internalValidateSingleNode(npiTinCombinationNode);
+		Set<Detail> details = validator.validateSingleNode(npiTinCombinationNode);
 
 		assertWithMessage("Must validate with no errors")
-				.that(validator.getDetails()).isEmpty();
+				.that(details).isEmpty();
 	}
 
 	@Test
@@ -110,19 +113,19 @@ public class NpiTinCombinationValidationTest {
 		npiTinCombinationNode.addChildNode(clinicalDocumentNode);
 		npiTinCombinationNode.addChildNode(validMipsGroupNpiTinNode);
 
-		validator.internalValidateSingleNode(npiTinCombinationNode);
+		Set<Detail> details = validator.validateSingleNode(npiTinCombinationNode);
 
 		assertWithMessage("Must validate with no errors")
-				.that(validator.getDetails()).isEmpty();
+				.that(details).isEmpty();
 	}
 
 	@Test
 	public void testClinicalDocumentNotPresent() {
 		Node rootWithoutClinicalDocument = new Node(TemplateId.QRDA_CATEGORY_III_REPORT_V3);
-		validator.internalValidateSingleNode(rootWithoutClinicalDocument);
+		Set<Detail> details = validator.validateSingleNode(rootWithoutClinicalDocument);
 
 		assertWithMessage("error should be about missing Clinical Document node")
-				.that(validator.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly(NpiTinCombinationValidation.CLINICAL_DOCUMENT_REQUIRED);
 	}
 
@@ -133,10 +136,10 @@ public class NpiTinCombinationValidationTest {
 		Node clinicalDocumentNode2 = new Node(TemplateId.CLINICAL_DOCUMENT);
 		rootWithTwoClinicalDocument.addChildNodes(clinicalDocumentNode, clinicalDocumentNode2);
 
-		validator.internalValidateSingleNode(rootWithTwoClinicalDocument);
+		Set<Detail> details = validator.validateSingleNode(rootWithTwoClinicalDocument);
 
 		assertWithMessage("error should be about too many Clinical Document nodes")
-				.that(validator.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly(NpiTinCombinationValidation.EXACTLY_ONE_DOCUMENT_ALLOWED);
 	}
 
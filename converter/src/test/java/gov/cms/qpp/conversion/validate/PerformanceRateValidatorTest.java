@@ -3,10 +3,13 @@ package gov.cms.qpp.conversion.validate;
 import gov.cms.qpp.conversion.decode.PerformanceRateProportionMeasureDecoder;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.model.error.Detail;
 import gov.cms.qpp.conversion.model.error.correspondence.DetailsMessageEquals;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Set;
+
 import static com.google.common.truth.Truth.assertWithMessage;
 
 public class PerformanceRateValidatorTest {
@@ -22,51 +25,51 @@ public class PerformanceRateValidatorTest {
 
 	@Test
 	public void testZeroValue() {
-		performanceRateValidator.internalValidateSingleNode(node);
+		Set<Detail> details = performanceRateValidator.validateSingleNode(node);
 		assertWithMessage("Must contain a proper value")
-				.that(performanceRateValidator.getDetails()).isEmpty();
+				.that(details).isEmpty();
 	}
 
 	@Test
 	public void testOneValue() {
 		node.putValue(PerformanceRateProportionMeasureDecoder.PERFORMANCE_RATE, "1");
-		performanceRateValidator.internalValidateSingleNode(node);
+		Set<Detail> details = performanceRateValidator.validateSingleNode(node);
 		assertWithMessage("Must contain a proper value")
-				.that(performanceRateValidator.getDetails()).isEmpty();
+				.that(details).isEmpty();
 	}
 
 	@Test
 	public void testNAValue() {
 		node.putValue(PerformanceRateProportionMeasureDecoder.NULL_PERFORMANCE_RATE, "NA");
-		performanceRateValidator.internalValidateSingleNode(node);
+		Set<Detail> details = performanceRateValidator.validateSingleNode(node);
 		assertWithMessage("Must contain a proper value")
-				.that(performanceRateValidator.getDetails()).isEmpty();
+				.that(details).isEmpty();
 	}
 
 	@Test
 	public void testNegativeValue() {
 		node.putValue(PerformanceRateProportionMeasureDecoder.PERFORMANCE_RATE, "-1");
-		performanceRateValidator.internalValidateSingleNode(node);
+		Set<Detail> details = performanceRateValidator.validateSingleNode(node);
 		assertWithMessage("Must contain a proper value")
-				.that(performanceRateValidator.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly(PerformanceRateValidator.INVALID_PERFORMANCE_RATE);
 	}
 
 	@Test
 	public void testInvalidValue() {
 		node.putValue(PerformanceRateProportionMeasureDecoder.PERFORMANCE_RATE, "2");
-		performanceRateValidator.internalValidateSingleNode(node);
+		Set<Detail> details = performanceRateValidator.validateSingleNode(node);
 		assertWithMessage("Must contain a proper value")
-				.that(performanceRateValidator.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly(PerformanceRateValidator.INVALID_PERFORMANCE_RATE);
 	}
 
 	@Test
 	public void testInvalidStringValue() {
 		node.putValue(PerformanceRateProportionMeasureDecoder.PERFORMANCE_RATE, "Inval");
-		performanceRateValidator.internalValidateSingleNode(node);
+		Set<Detail> details = performanceRateValidator.validateSingleNode(node);
 		assertWithMessage("Must contain a proper value")
-				.that(performanceRateValidator.getDetails()).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
 				.containsExactly(PerformanceRateValidator.INVALID_PERFORMANCE_RATE);
 	}
 }
@@ -0,0 +1,82 @@
+package gov.cms.qpp.conversion.validate;
+
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.model.validation.SubPopulations;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static gov.cms.qpp.conversion.decode.MeasureDataDecoder.MEASURE_POPULATION;
+import static gov.cms.qpp.conversion.decode.MeasureDataDecoder.MEASURE_TYPE;
+
+public class PopulationIndexTest {
+
+	private Node measure;
+	private Node ipp;
+	private Node ipop;
+	private Node denom;
+	private Node unidentified;
+
+	@Before
+	public void setUp() {
+		measure = new Node(TemplateId.MEASURE_REFERENCE_RESULTS_CMS_V2);
+		ipp = measureData(SubPopulations.IPP, "shared");
+		ipop = measureData(SubPopulations.IPOP, "shared");
+		denom = measureData(SubPopulations.DENOM, "denominator");
+		unidentified = measureData(SubPopulations.DENOM, null);
+		measure.addChildNodes(ipp, ipop, new Node(TemplateId.PERFORMANCE_RATE_PROPORTION_MEASURE), denom, unidentified);
+	}
+
+	@Test
+	public void testMeasureDataInDocumentOrder() {
+		PopulationIndex populations = new PopulationIndex(measure);
+
+		assertThat(populations.getMeasure()).isSameAs(measure);
+		assertThat(populations.getMeasureData()).containsExactly(ipp, ipop, denom, unidentified).inOrder();
+	}
+
+	@Test
+	public void testOfType() {
+		PopulationIndex populations = new PopulationIndex(measure);
+
+		assertThat(populations.ofType(SubPopulations.DENOM)).containsExactly(denom, unidentified).inOrder();
+		assertThat(populations.ofType(SubPopulations.NUMER)).isEmpty();
+	}
+
+	@Test
+	public void testFindFirstOfAnyType() {
+		PopulationIndex populations = new PopulationIndex(measure);
+
+		assertThat(populations.find("shared", SubPopulations.IPOP, SubPopulations.IPP)).isSameAs(ipp);
+		assertThat(populations.find("shared", SubPopulations.IPOP)).isSameAs(ipop);
+		assertThat(populations.find("denominator", SubPopulations.DENOM)).isSameAs(denom);
+	}
+
+	@Test
+	public void testFindNothing() {
+		PopulationIndex populations = new PopulationIndex(measure);
+
+		assertThat(populations.find("shared", SubPopulations.DENOM)).isNull();
+		assertThat(populations.find("missing", SubPopulations.DENOM)).isNull();
+		assertThat(populations.find(null, SubPopulations.DENOM)).isNull();
+	}
+
+	@Test
+	public void testMarkChecked() {
+		PopulationIndex populations = new PopulationIndex(measure);
+
+		assertThat(populations.markChecked(denom)).isTrue();
+		assertThat(populations.markChecked(denom)).isFalse();
+		assertThat(populations.markChecked(unidentified)).isTrue();
+	}
+
+	private Node measureData(String type, String population) {
+		Node node = new Node(TemplateId.MEASURE_DATA_CMS_V2);
+		node.putValue(MEASURE_TYPE, type);
+		if (population != null) {
+			node.putValue(MEASURE_POPULATION, population);
+		}
+		return node;
+	}
+}
@@ -10,14 +10,18 @@ import gov.cms.qpp.conversion.model.error.Detail;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static com.google.common.truth.Truth.assertWithMessage;
+import static org.mockito.Mockito.times;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest(QrdaValidator.class)
@@ -36,7 +40,7 @@ public class QrdaValidatorTest {
 
 	@Before
 	public void beforeEachTest() throws Exception {
-		nodesPassedIntoValidateSingleNode = new ArrayList<>();
+		nodesPassedIntoValidateSingleNode = Collections.synchronizedList(new ArrayList<>());
 
 		Context context = new Context();
 		objectUnderTest = TestHelper.mockValidator(context, RequiredTestValidator.class, new ComponentKey(TEST_REQUIRED_TEMPLATE_ID, Program.ALL), true);
@@ -120,6 +124,42 @@ public class QrdaValidatorTest {
 				.that(details).doesNotContain(TEST_VALIDATION_ERROR_FOR_SINGLE_NODE);
 	}
 
+	@Test
+	public void testValidatorsArePlannedOncePerTemplateId() throws Exception {
+		Node testRootNode = new Node();
+		testRootNode.addChildNodes(new Node(TEST_REQUIRED_TEMPLATE_ID), new Node(TEST_REQUIRED_TEMPLATE_ID),
+				new Node(TEST_REQUIRED_TEMPLATE_ID));
+
+		objectUnderTest.validate(testRootNode);
+
+		assertWithMessage("Every node of the template id should be validated")
+				.that(nodesPassedIntoValidateSingleNode).hasSize(3);
+		PowerMockito.verifyPrivate(objectUnderTest, times(1))
+				.invoke("isValidationRequired", ArgumentMatchers.isA(RequiredTestValidator.class));
+	}
+
+	@Test
+	public void testParallelValidationOfDeepHierarchy() throws Exception {
+		Context context = new Context();
+		context.setParallelValidation(true);
+		objectUnderTest = TestHelper.mockValidator(context, RequiredTestValidator.class,
+				new ComponentKey(TEST_REQUIRED_TEMPLATE_ID, Program.ALL), true);
+		Node testRootNode = new Node();
+		Node parent = testRootNode;
+		for (int depth = 0; depth <= QrdaValidator.FORK_DEPTH + 2; depth++) {
+			Node child = new Node(TEST_REQUIRED_TEMPLATE_ID);
+			parent.addChildNodes(child, new Node(TEST_REQUIRED_TEMPLATE_ID));
+			parent = child;
+		}
+
+		List<Detail> details = objectUnderTest.validate(testRootNode);
+
+		assertWithMessage("Nodes below the fork depth should be validated as well")
+				.that(nodesPassedIntoValidateSingleNode).hasSize(2 * (QrdaValidator.FORK_DEPTH + 3));
+		assertWithMessage("Every validated node should report its error")
+				.that(details).hasSize(2 * (QrdaValidator.FORK_DEPTH + 3));
+	}
+
 	private void assertNodeList(List<Node> nodeList, int expectedSize, TemplateId expectedTemplateId,
 			String keyToQuery, String expectedValue) {
 
@@ -147,18 +187,18 @@ public class QrdaValidatorTest {
 	public static class RequiredTestValidator extends NodeValidator {
 
 		@Override
-		public void internalValidateSingleNode(final Node node) {
+		public void internalValidateSingleNode(final ValidationState state, final Node node) {
 			nodesPassedIntoValidateSingleNode.add(node);
-			addValidationError(TEST_VALIDATION_ERROR_FOR_SINGLE_NODE);
+			state.addValidationError(TEST_VALIDATION_ERROR_FOR_SINGLE_NODE);
 		}
 	}
 
 	public static class OptionalTestValidator extends NodeValidator {
 
 		@Override
-		public void internalValidateSingleNode(final Node node) {
+		public void internalValidateSingleNode(final ValidationState state, final Node node) {
 			nodesPassedIntoValidateSingleNode.add(node);
-			addValidationError(TEST_VALIDATION_ERROR_FOR_SINGLE_NODE);
+			state.addValidationError(TEST_VALIDATION_ERROR_FOR_SINGLE_NODE);
 		}
 	}
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.google.common.truth.Truth.assertWithMessage;
 import static gov.cms.qpp.conversion.decode.MeasureDataDecoder.MEASURE_POPULATION;
@@ -283,6 +284,34 @@ public class QualityMeasureIdValidatorTest {
 				.containsExactly(expectedErrorMessage);
 	}
 
+	@Test
+	public void testDuplicatePopulationUuidsAcrossStrata() {
+		Node measureReferenceResultsNode = createCorrectMeasureReference(MULTIPLE_POPULATION_DENOM_EXCEPTION_GUID)
+			.addSubPopulationMeasureDataWithCounts(SubPopulations.NUMER, "extraNumeratorGuid", ONE_HUNDRED)
+			.build();
+		measureReferenceResultsNode.setPath("measure");
+		duplicatePopulation(measureReferenceResultsNode, SubPopulations.DENOM, MULTIPLE_POPULATION_DENOM_EXCEPTION_DENOM1_GUID)
+				.setPath("denominator1");
+		duplicatePopulation(measureReferenceResultsNode, SubPopulations.NUMER, MULTIPLE_POPULATION_DENOM_EXCEPTION_NUMER2_GUID)
+				.setPath("numerator2");
+		duplicatePopulation(measureReferenceResultsNode, SubPopulations.NUMER, "extraNumeratorGuid")
+				.setPath("extraNumerator");
+
+		Set<Detail> details = objectUnderTest.validateSingleNode(measureReferenceResultsNode);
+
+		String countMessage = String.format(
+				QualityMeasureIdValidator.INCORRECT_POPULATION_CRITERIA_COUNT, "CMS52v5", 3, SubPopulations.NUMER, 4);
+		assertWithMessage("Only measure data up to the one found for each stratum should be checked")
+				.that(details).comparingElementsUsing(DetailsMessageEquals.INSTANCE)
+				.containsExactly(countMessage, QualityMeasureIdValidator.SINGLE_MEASURE_POPULATION,
+						QualityMeasureIdValidator.SINGLE_MEASURE_POPULATION)
+				.inOrder();
+		assertWithMessage("Incorrect paths of the validation errors.")
+				.that(details.stream().map(Detail::getPath).collect(Collectors.toList()))
+				.containsExactly("measure", "denominator1", "numerator2")
+				.inOrder();
+	}
+
 	@Test
 	public void testInternalDenomCountLessThanIpopCount() {
 		Node measureReferenceResultsNode = createCorrectMeasureReference(REQUIRES_DENOM_EXCEPTION_GUID)
@@ -370,6 +399,16 @@ public class QualityMeasureIdValidatorTest {
 		return measureReferenceResultsNode;
 	}
 
+	private Node duplicatePopulation(Node measureReferenceResultsNode, String type, String populationId) {
+		Node measureNode = measureReferenceResultsNode.getChildNodes(TemplateId.MEASURE_DATA_CMS_V2)
+				.filter(node -> type.equals(node.getValue(MEASURE_TYPE))
+						&& populationId.equals(node.getValue(MEASURE_POPULATION)))
+				.findFirst()
+				.orElseThrow(IllegalStateException::new);
+		measureNode.putValue(MEASURE_POPULATION, "duplicatePopulationGuid", false);
+		return measureNode;
+	}
+
 	private Node createMeasureReferenceResultsNode() {
 		return createMeasureReferenceResultsNode(true, true);
 	}
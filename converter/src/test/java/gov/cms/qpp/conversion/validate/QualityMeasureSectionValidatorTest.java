@@ -56,7 +56,6 @@ public class QualityMeasureSectionValidatorTest {
 
 	private Set<Detail> validateQualityMeasureSection() {
 		QualityMeasureSectionValidator validator = new QualityMeasureSectionValidator();
-		validator.internalValidateSingleNode(qualityMeasureSectionNode);
-		return validator.getDetails();
+		return validator.validateSingleNode(qualityMeasureSectionNode);
 	}
 }
@@ -0,0 +1,302 @@
+package gov.cms.qpp.conversion.model.validation;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary form of a measures data file, compiled from its json at build time by
+ * the {@code MeasureCatalogProcessor} of the processors module.
+ * <p>
+ * A catalog holds the length and checksum of the json it was compiled from, a table of the distinct strings of the
+ * measures data, followed by every {@link MeasureConfig} with its strings given as positions in that table, followed
+ * by the lookup table of {@link MeasureConfigSnapshot#getConfigurationMap()}. Reading one needs no json parsing or
+ * reflection. The json remains the source of truth, so a catalog is only ever written from it, and is only read
+ * back against the json it was written from.
+ */
+public final class MeasureCatalog {
+
+	static final int MAGIC = 0x51505043;
+	static final int VERSION = 2;
+
+	private static final int NULL = -1;
+	private static final String JSON_EXTENSION = ".json";
+	private static final String CATALOG_EXTENSION = ".catalog";
+
+	/**
+	 * Library utility class so the constructor is private and empty.
+	 */
+	private MeasureCatalog() {
+		//empty
+	}
+
+	/**
+	 * Names the catalog compiled from a measures data file
+	 *
+	 * @param fileName name of the measures data json
+	 * @return name of the catalog
+	 */
+	public static String catalogFor(String fileName) {
+		String base = fileName.endsWith(JSON_EXTENSION)
+				? fileName.substring(0, fileName.length() - JSON_EXTENSION.length()) : fileName;
+		return base + CATALOG_EXTENSION;
+	}
+
+	/**
+	 * Writes measure configurations as a catalog
+	 *
+	 * @param configurations the configurations, in the order they were read from the json
+	 * @param source the json the configurations were read from
+	 * @param output where to write the catalog, which is left open
+	 * @throws IOException if the catalog cannot be written
+	 * @throws IllegalStateException if two configurations share the identifier of the configuration map
+	 */
+	public static void write(List<MeasureConfig> configurations, byte[] source, OutputStream output)
+			throws IOException {
+		Map<String, MeasureConfig> configurationMap = new MeasureConfigSnapshot(configurations).getConfigurationMap();
+		StringTable strings = new StringTable();
+		for (MeasureConfig configuration : configurations) {
+			strings.addAll(configuration);
+		}
+
+		DataOutputStream data = new DataOutputStream(output);
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeInt(source.length);
+		data.writeLong(checksum(source));
+		strings.write(data);
+
+		data.writeInt(configurations.size());
+		Map<MeasureConfig, Integer> positions = new IdentityHashMap<>();
+		for (MeasureConfig configuration : configurations) {
+			positions.put(configuration, positions.size());
+			writeMeasureConfig(data, strings, configuration);
+		}
+
+		data.writeInt(configurationMap.size());
+		for (Map.Entry<String, MeasureConfig> entry : configurationMap.entrySet()) {
+			data.writeInt(strings.indexOf(entry.getKey()));
+			data.writeInt(positions.get(entry.getValue()));
+		}
+		data.flush();
+	}
+
+	/**
+	 * Reads the measure configurations of a catalog
+	 *
+	 * @param input the catalog, which is left open
+	 * @param source the json the catalog is expected to have been compiled from
+	 * @return the configurations
+	 * @throws IOException if the catalog cannot be read, was written by another version or from other json
+	 */
+	public static MeasureConfigSnapshot read(InputStream input, byte[] source) throws IOException {
+		DataInputStream data = new DataInputStream(new BufferedInputStream(input));
+		if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+			throw new IOException("Not a measure catalog of version " + VERSION);
+		}
+		if (data.readInt() != source.length || data.readLong() != checksum(source)) {
+			throw new IOException("The measure catalog was compiled from other measures data");
+		}
+
+		String[] strings = new String[data.readInt()];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = data.readUTF();
+		}
+
+		int count = data.readInt();
+		List<MeasureConfig> configurations = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			configurations.add(readMeasureConfig(data, strings));
+		}
+
+		int lookups = data.readInt();
+		Map<String, MeasureConfig> configurationMap = new HashMap<>(lookups * 4 / 3 + 1);
+		for (int i = 0; i < lookups; i++) {
+			String key = strings[data.readInt()];
+			configurationMap.put(key, configurations.get(data.readInt()));
+		}
+		return new MeasureConfigSnapshot(configurations, configurationMap);
+	}
+
+	private static long checksum(byte[] source) {
+		CRC32 checksum = new CRC32();
+		checksum.update(source, 0, source.length);
+		return checksum.getValue();
+	}
+
+	private static void writeMeasureConfig(DataOutputStream data, StringTable strings, MeasureConfig configuration)
+			throws IOException {
+		strings.write(data, configuration.getCategory());
+		data.writeInt(configuration.getFirstPerformanceYear());
+		data.writeInt(configuration.getLastPerformanceYear());
+		strings.write(data, configuration.getMetricType());
+		strings.write(data, configuration.getMeasureId());
+		strings.write(data, configuration.getTitle());
+		strings.write(data, configuration.getDescription());
+		data.writeBoolean(configuration.isRequired());
+		strings.write(data, configuration.getMeasureSet());
+		data.writeBoolean(configuration.isBonus());
+		strings.write(data, configuration.getObjective());
+		strings.write(data, configuration.getElectronicMeasureId());
+		strings.write(data, configuration.getElectronicMeasureVerUuid());
+
+		List<Strata> strata = configuration.getStrata();
+		data.writeInt(strata == null ? NULL : strata.size());
+		if (strata != null) {
+			for (Strata stratum : strata) {
+				strings.write(data, stratum.getName());
+				writeSubPopulation(data, strings, stratum.getElectronicMeasureUuids());
+			}
+		}
+	}
+
+	private static MeasureConfig readMeasureConfig(DataInputStream data, String[] strings) throws IOException {
+		MeasureConfig configuration = new MeasureConfig();
+		configuration.setCategory(readString(data, strings));
+		configuration.setFirstPerformanceYear(data.readInt());
+		configuration.setLastPerformanceYear(data.readInt());
+		configuration.setMetricType(readString(data, strings));
+		configuration.setMeasureId(readString(data, strings));
+		configuration.setTitle(readString(data, strings));
+		configuration.setDescription(readString(data, strings));
+		configuration.setIsRequired(data.readBoolean());
+		configuration.setMeasureSet(readString(data, strings));
+		configuration.setIsBonus(data.readBoolean());
+		configuration.setObjective(readString(data, strings));
+		configuration.setElectronicMeasureId(readString(data, strings));
+		configuration.setElectronicMeasureVerUuid(readString(data, strings));
+
+		int strataCount = data.readInt();
+		if (strataCount != NULL) {
+			List<Strata> strata = new ArrayList<>(strataCount);
+			for (int i = 0; i < strataCount; i++) {
+				Strata stratum = new Strata();
+				stratum.setName(readString(data, strings));
+				stratum.setElectronicMeasureUuids(readSubPopulation(data, strings));
+				strata.add(stratum);
+			}
+			configuration.setStrata(strata);
+		}
+		return configuration;
+	}
+
+	private static void writeSubPopulation(DataOutputStream data, StringTable strings, SubPopulation subPopulation)
+			throws IOException {
+		data.writeBoolean(subPopulation != null);
+		if (subPopulation != null) {
+			strings.write(data, subPopulation.getInitialPopulationUuid());
+			strings.write(data, subPopulation.getDenominatorUuid());
+			strings.write(data, subPopulation.getDenominatorExclusionsUuid());
+			strings.write(data, subPopulation.getNumeratorUuid());
+			strings.write(data, subPopulation.getDenominatorExceptionsUuid());
+
+			List<String> strata = subPopulation.getStrata();
+			data.writeInt(strata == null ? NULL : strata.size());
+			if (strata != null) {
+				for (String stratum : strata) {
+					strings.write(data, stratum);
+				}
+			}
+		}
+	}
+
+	private static SubPopulation readSubPopulation(DataInputStream data, String[] strings) throws IOException {
+		if (!data.readBoolean()) {
+			return null;
+		}
+
+		SubPopulation subPopulation = new SubPopulation();
+		subPopulation.setInitialPopulationUuid(readString(data, strings));
+		subPopulation.setDenominatorUuid(readString(data, strings));
+		subPopulation.setDenominatorExclusionsUuid(readString(data, strings));
+		subPopulation.setNumeratorUuid(readString(data, strings));
+		subPopulation.setDenominatorExceptionsUuid(readString(data, strings));
+
+		int strataCount = data.readInt();
+		if (strataCount == NULL) {
+			subPopulation.setStrata(null);
+		} else {
+			List<String> strata = new ArrayList<>(strataCount);
+			for (int i = 0; i < strataCount; i++) {
+				strata.add(readString(data, strings));
+			}
+			subPopulation.setStrata(strata);
+		}
+		return subPopulation;
+	}
+
+	private static String readString(DataInputStream data, String[] strings) throws IOException {
+		int index = data.readInt();
+		return index == NULL ? null : strings[index];
+	}
+
+	/**
+	 * The distinct strings of a catalog, each written once and referred to by its position
+	 */
+	private static final class StringTable {
+		private final Map<String, Integer> positions = new LinkedHashMap<>();
+
+		void addAll(MeasureConfig configuration) {
+			add(configuration.getCategory());
+			add(configuration.getMetricType());
+			add(configuration.getMeasureId());
+			add(configuration.getTitle());
+			add(configuration.getDescription());
+			add(configuration.getMeasureSet());
+			add(configuration.getObjective());
+			add(configuration.getElectronicMeasureId());
+			add(configuration.getElectronicMeasureVerUuid());
+			add(MeasureConfigSnapshot.getMeasureId(configuration));
+			if (configuration.getStrata() != null) {
+				for (Strata stratum : configuration.getStrata()) {
+					add(stratum.getName());
+					addAll(stratum.getElectronicMeasureUuids());
+				}
+			}
+		}
+
+		private void addAll(SubPopulation subPopulation) {
+			if (subPopulation != null) {
+				add(subPopulation.getInitialPopulationUuid());
+				add(subPopulation.getDenominatorUuid());
+				add(subPopulation.getDenominatorExclusionsUuid());
+				add(subPopulation.getNumeratorUuid());
+				add(subPopulation.getDenominatorExceptionsUuid());
+				if (subPopulation.getStrata() != null) {
+					subPopulation.getStrata().forEach(this::add);
+				}
+			}
+		}
+
+		private void add(String value) {
+			if (value != null) {
+				positions.putIfAbsent(value, positions.size());
+			}
+		}
+
+		int indexOf(String value) {
+			return value == null ? NULL : positions.get(value);
+		}
+
+		void write(DataOutputStream data) throws IOException {
+			data.writeInt(positions.size());
+			for (String value : positions.keySet()) {
+				data.writeUTF(value);
+			}
+		}
+
+		void write(DataOutputStream data, String value) throws IOException {
+			data.writeInt(indexOf(value));
+		}
+	}
+}
@@ -0,0 +1,224 @@
+package gov.cms.qpp.conversion.model.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * An unchanging set of {@link MeasureConfig}s together with the indexes used to look them up.
+ *
+ * Every index is built when the snapshot is created, so a snapshot may be shared by any number of conversions
+ * on any number of threads. A conversion holds on to the snapshot it started with even if
+ * {@link MeasureConfigs} publishes another one meanwhile.
+ *
+ * The lists and maps of a snapshot are unmodifiable, but the configurations in them, along with their
+ * {@link Strata} and {@link SubPopulation}s, are the beans that were read and are handed out without copying.
+ * Callers must not change them, since every other conversion sharing the snapshot would see the change.
+ */
+public final class MeasureConfigSnapshot {
+
+	private final List<MeasureConfig> configurations;
+	private final Map<String, MeasureConfig> configurationMap;
+	private final Map<String, MeasureConfig> byGuid;
+	private final Map<String, MeasureConfig> byElectronicMeasureId;
+	private final Map<String, MeasureConfig> byMeasureId;
+	private final Map<String, List<MeasureConfig>> byCategory;
+	private final Map<String, List<String>> requiredBySection;
+	private final NavigableMap<Integer, List<MeasureConfig>> byPerformanceYear;
+
+	/**
+	 * @param configurations the measure configurations, in the order they were read
+	 * @throws IllegalStateException if two configurations share the identifier of the configuration map
+	 */
+	public MeasureConfigSnapshot(Collection<MeasureConfig> configurations) {
+		this(configurations, configurations.stream()
+				.collect(Collectors.toMap(MeasureConfigSnapshot::getMeasureId, Function.identity())));
+	}
+
+	/**
+	 * @param configurations the measure configurations, in the order they were read
+	 * @param configurationMap the configurations by their guid, electronicMeasureId or measureId, already built
+	 * @see MeasureCatalog
+	 */
+	MeasureConfigSnapshot(Collection<MeasureConfig> configurations, Map<String, MeasureConfig> configurationMap) {
+		this.configurations = Collections.unmodifiableList(new ArrayList<>(configurations));
+		this.configurationMap = Collections.unmodifiableMap(configurationMap);
+		this.byGuid = index(MeasureConfig::getElectronicMeasureVerUuid);
+		this.byElectronicMeasureId = index(MeasureConfig::getElectronicMeasureId);
+		this.byMeasureId = index(MeasureConfig::getMeasureId);
+		this.byCategory = group(MeasureConfig::getCategory);
+		this.requiredBySection = requiredBySection();
+		this.byPerformanceYear = byPerformanceYear();
+	}
+
+	/**
+	 * Finds the first existing guid, electronicMeasureId, or measureId that exists for an aci, ia, or ecqm section
+	 *
+	 * @param measureConfig Measure configuration that contains the identifiers
+	 * @return An identifier
+	 */
+	static String getMeasureId(MeasureConfig measureConfig) {
+		String guid = measureConfig.getElectronicMeasureVerUuid();
+		String electronicMeasureId = measureConfig.getElectronicMeasureId();
+		String measureId = measureConfig.getMeasureId();
+		return (guid != null ? guid : (electronicMeasureId != null ? electronicMeasureId : measureId));
+	}
+
+	/**
+	 * Retrieves every configuration
+	 *
+	 * @return unmodifiable list of configurations, in the order they were read
+	 */
+	public List<MeasureConfig> getMeasureConfigs() {
+		return configurations;
+	}
+
+	/**
+	 * Retrieves a mapping of the configurations by their guid, electronicMeasureId or measureId,
+	 * whichever comes first
+	 *
+	 * @return unmodifiable mapped configurations
+	 */
+	public Map<String, MeasureConfig> getConfigurationMap() {
+		return configurationMap;
+	}
+
+	/**
+	 * Looks up a configuration by its guid
+	 *
+	 * @param guid electronic measure version uuid
+	 * @return the configuration, or null if there is none
+	 */
+	public MeasureConfig getByGuid(String guid) {
+		return byGuid.get(guid);
+	}
+
+	/**
+	 * Looks up a configuration by its electronic measure id
+	 *
+	 * @param electronicMeasureId i.e. "CMS165v5"
+	 * @return the configuration, or null if there is none
+	 */
+	public MeasureConfig getByElectronicMeasureId(String electronicMeasureId) {
+		return byElectronicMeasureId.get(electronicMeasureId);
+	}
+
+	/**
+	 * Looks up a configuration by its measure id
+	 *
+	 * @param measureId i.e. "236" or "IA_EPA_1"
+	 * @return the configuration, or null if there is none
+	 */
+	public MeasureConfig getByMeasureId(String measureId) {
+		return byMeasureId.get(measureId);
+	}
+
+	/**
+	 * Retrieves the configurations of a category
+	 *
+	 * @param category i.e. "aci", "ia" or "quality"
+	 * @return unmodifiable list of configurations, in the order they were read
+	 */
+	public List<MeasureConfig> getByCategory(String category) {
+		return byCategory.getOrDefault(category, Collections.emptyList());
+	}
+
+	/**
+	 * Retrieves the configurations that apply to a performance year. A configuration without a last performance year
+	 * applies to every year from its first.
+	 *
+	 * @param performanceYear i.e. 2017
+	 * @return unmodifiable list of configurations, in the order they were read
+	 */
+	public List<MeasureConfig> getForPerformanceYear(int performanceYear) {
+		Map.Entry<Integer, List<MeasureConfig>> entry = byPerformanceYear.floorEntry(performanceYear);
+		return entry == null ? Collections.emptyList() : entry.getValue();
+	}
+
+	/**
+	 * Retrieves a list of required measures for any given section
+	 *
+	 * @param section Specified section for measures required
+	 * @return unmodifiable list of the identifiers of the required measures
+	 */
+	public List<String> requiredMeasuresForSection(String section) {
+		return requiredBySection.getOrDefault(section, Collections.emptyList());
+	}
+
+	/**
+	 * Indexes the configurations by an identifier, the first configuration read winning when several share it
+	 *
+	 * @param identifier identifier of a configuration, which may be null
+	 * @return configurations by identifier
+	 */
+	private Map<String, MeasureConfig> index(Function<MeasureConfig, String> identifier) {
+		Map<String, MeasureConfig> index = new HashMap<>();
+		for (MeasureConfig configuration : configurations) {
+			String id = identifier.apply(configuration);
+			if (id != null) {
+				index.putIfAbsent(id, configuration);
+			}
+		}
+		return Collections.unmodifiableMap(index);
+	}
+
+	private Map<String, List<MeasureConfig>> group(Function<MeasureConfig, String> key) {
+		Map<String, List<MeasureConfig>> groups = configurations.stream()
+				.filter(configuration -> key.apply(configuration) != null)
+				.collect(Collectors.groupingBy(key, LinkedHashMap::new,
+						Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList)));
+		return Collections.unmodifiableMap(groups);
+	}
+
+	private Map<String, List<String>> requiredBySection() {
+		Map<String, List<String>> required = new HashMap<>();
+		byCategory.forEach((category, members) -> required.put(category, Collections.unmodifiableList(
+				members.stream()
+						.filter(MeasureConfig::isRequired)
+						.map(MeasureConfigSnapshot::getMeasureId)
+						.collect(Collectors.toList()))));
+		return Collections.unmodifiableMap(required);
+	}
+
+	/**
+	 * The configurations that apply only change in the years a configuration starts applying or stops applying,
+	 * so the index keeps the configurations that apply from each of those years on.
+	 *
+	 * @return configurations that apply from each year in which they change
+	 */
+	private NavigableMap<Integer, List<MeasureConfig>> byPerformanceYear() {
+		TreeSet<Integer> changes = new TreeSet<>();
+		for (MeasureConfig configuration : configurations) {
+			changes.add(configuration.getFirstPerformanceYear());
+			if (hasLastPerformanceYear(configuration)) {
+				changes.add(configuration.getLastPerformanceYear() + 1);
+			}
+		}
+
+		NavigableMap<Integer, List<MeasureConfig>> index = new TreeMap<>();
+		for (Integer year : changes) {
+			index.put(year, Collections.unmodifiableList(configurations.stream()
+					.filter(configuration -> appliesTo(configuration, year))
+					.collect(Collectors.toList())));
+		}
+		return Collections.unmodifiableNavigableMap(index);
+	}
+
+	private static boolean appliesTo(MeasureConfig configuration, int year) {
+		return configuration.getFirstPerformanceYear() <= year
+				&& (!hasLastPerformanceYear(configuration) || year <= configuration.getLastPerformanceYear());
+	}
+
+	private static boolean hasLastPerformanceYear(MeasureConfig configuration) {
+		return configuration.getLastPerformanceYear() >= configuration.getFirstPerformanceYear();
+	}
+}
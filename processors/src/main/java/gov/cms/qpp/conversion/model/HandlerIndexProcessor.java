@@ -0,0 +1,86 @@
+package gov.cms.qpp.conversion.model;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Compile time processor that indexes the classes annotated with the converter's {@code Decoder}, {@code Encoder} or
+ * {@code Validator}.
+ * <p>
+ * For each annotation an index resource named {@link #INDEX_LOCATION} followed by the annotation's name is written,
+ * listing the binary names of the annotated classes one per line. The converter's {@code HandlerIndex} reads these
+ * indexes rather than searching the class path, so the two must agree on the location.
+ */
+@SupportedAnnotationTypes({HandlerIndexProcessor.DECODER, HandlerIndexProcessor.ENCODER,
+		HandlerIndexProcessor.VALIDATOR})
+public class HandlerIndexProcessor extends AbstractProcessor {
+
+	public static final String INDEX_LOCATION = "META-INF/handlers/";
+
+	static final String DECODER = "gov.cms.qpp.conversion.model.Decoder";
+	static final String ENCODER = "gov.cms.qpp.conversion.model.Encoder";
+	static final String VALIDATOR = "gov.cms.qpp.conversion.model.Validator";
+
+	private final Map<String, Set<String>> index = new TreeMap<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	/**
+	 * Collects the annotated classes of each round and writes the indexes once the last round is over
+	 *
+	 * @param annotations the handler annotations present in this round
+	 * @param roundEnv current round
+	 * @return false, so that the annotations remain available to other processors
+	 */
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement annotation : annotations) {
+			Set<String> handlers = index.computeIfAbsent(annotation.getQualifiedName().toString(),
+					ignore -> new TreeSet<>());
+			for (Element annotated : roundEnv.getElementsAnnotatedWith(annotation)) {
+				handlers.add(processingEnv.getElementUtils().getBinaryName((TypeElement) annotated).toString());
+			}
+		}
+
+		if (roundEnv.processingOver()) {
+			index.forEach(this::writeIndex);
+		}
+		return false;
+	}
+
+	private void writeIndex(String annotation, Set<String> handlers) {
+		try {
+			FileObject resource = processingEnv.getFiler()
+					.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION + annotation);
+			Writer writer = resource.openWriter();
+			try {
+				for (String handler : handlers) {
+					writer.write(handler);
+					writer.write('\n');
+				}
+			} finally {
+				writer.close();
+			}
+		} catch (IOException exception) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"Unable to write the " + annotation + " handler index: " + exception.getMessage());
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package gov.cms.qpp.conversion.model.validation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Compile time processor that compiles the measures data json into a {@link MeasureCatalog}.
+ * <p>
+ * The json has already been copied into the class output with the rest of the resources when the sources are
+ * compiled. The catalog is written next to it, named by {@link MeasureCatalog#catalogFor(String)}, and records
+ * the length and checksum of the json. Nothing is written when there is no json to compile, in which case
+ * {@link MeasureConfigs} reads the json instead. It also reads the json when the catalog is stale, as it is when
+ * the json changes without the sources being compiled again.
+ */
+@SupportedAnnotationTypes("*")
+public class MeasureCatalogProcessor extends AbstractProcessor {
+
+	static final String MEASURES_DATA = "measures-data.json";
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	/**
+	 * Writes the catalog once the last round is over
+	 *
+	 * @param annotations ignored
+	 * @param roundEnv current round
+	 * @return false, so that the annotations remain available to other processors
+	 */
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			compile(MEASURES_DATA);
+		}
+		return false;
+	}
+
+	private void compile(String fileName) {
+		try {
+			byte[] json;
+			try (InputStream input = processingEnv.getFiler()
+					.getResource(StandardLocation.CLASS_OUTPUT, "", fileName).openInputStream()) {
+				json = readAll(input);
+			}
+			List<MeasureConfig> configurations =
+					new ObjectMapper().readValue(json, new TypeReference<List<MeasureConfig>>() {});
+
+			FileObject catalog = processingEnv.getFiler()
+					.createResource(StandardLocation.CLASS_OUTPUT, "", MeasureCatalog.catalogFor(fileName));
+			try (OutputStream output = catalog.openOutputStream()) {
+				MeasureCatalog.write(configurations, json, output);
+			}
+		} catch (FileNotFoundException | NoSuchFileException missing) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+					"No measure catalog compiled, there is no " + fileName);
+		} catch (IOException | IllegalStateException exception) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"Unable to compile the measure catalog of " + fileName + ": " + exception.getMessage());
+		}
+	}
+
+	private static byte[] readAll(InputStream input) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = input.read(buffer)) != -1) {
+			bytes.write(buffer, 0, read);
+		}
+		return bytes.toByteArray();
+	}
+}
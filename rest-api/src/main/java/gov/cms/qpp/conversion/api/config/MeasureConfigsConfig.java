@@ -0,0 +1,45 @@
+package gov.cms.qpp.conversion.api.config;
+
+import gov.cms.qpp.conversion.api.model.Constants;
+import gov.cms.qpp.conversion.model.validation.MeasureDataFileWatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Spring configuration file for measure configurations.
+ *
+ * Configures {@link Bean}s that keep the measure configurations up to date without restarting the ReST API.
+ */
+@Configuration
+public class MeasureConfigsConfig {
+
+	private static final Logger API_LOG = LoggerFactory.getLogger(Constants.API_LOG);
+
+	@Autowired
+	private Environment environment;
+
+	/**
+	 * Creates the {@link Bean} that reloads the measure configurations whenever the measures data file
+	 * named by {@link Constants#MEASURES_DATA_FILE_ENV_VARIABLE} changes.
+	 *
+	 * Without the variable the measure configurations packaged with the converter are used.
+	 *
+	 * @return The file watcher, which is closed when the application shuts down.
+	 * @throws IOException If the file cannot be watched.
+	 */
+	@Bean(destroyMethod = "close")
+	@ConditionalOnProperty(Constants.MEASURES_DATA_FILE_ENV_VARIABLE)
+	public MeasureDataFileWatcher measureDataFileWatcher() throws IOException {
+		String measuresDataFile = environment.getProperty(Constants.MEASURES_DATA_FILE_ENV_VARIABLE);
+		API_LOG.info("Watching {} for measure configurations", measuresDataFile);
+		return MeasureDataFileWatcher.watch(Paths.get(measuresDataFile));
+	}
+}
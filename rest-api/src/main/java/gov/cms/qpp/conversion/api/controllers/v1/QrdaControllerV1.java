@@ -6,6 +6,7 @@ import gov.cms.qpp.conversion.api.model.Constants;
 import gov.cms.qpp.conversion.api.services.AuditService;
 import gov.cms.qpp.conversion.api.services.QrdaService;
 import gov.cms.qpp.conversion.api.services.ValidationService;
+import gov.cms.qpp.conversion.encode.JsonWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -47,14 +49,18 @@ public class QrdaControllerV1 {
 	 * Endpoint to transform an uploaded file into a valid or error json response
 	 *
 	 * @param file Uploaded file
-	 * @return Valid json or error json content
+	 * @param maxErrors Most errors to report, or zero or less for no limit
+	 * @param compact Whether to respond with json that has no indentation or line breaks
+	 * @return Valid json, streamed straight to the response, or error json content
 	 * @throws IOException If errors occur during file upload or conversion
 	 */
 	@RequestMapping(method = RequestMethod.POST, headers = {"Accept=" + Constants.V1_API_ACCEPT})
-	public ResponseEntity<String> uploadQrdaFile(@RequestParam MultipartFile file) throws IOException {
+	public ResponseEntity<StreamingResponseBody> uploadQrdaFile(@RequestParam MultipartFile file,
+			@RequestParam(required = false, defaultValue = "0") int maxErrors,
+			@RequestParam(required = false, defaultValue = "false") boolean compact) throws IOException {
 		API_LOG.info("Request received " + file.getName());
 		Converter.ConversionReport conversionReport = qrdaService.convertQrda3ToQpp(
-				new InputStreamSupplierQrdaSource(file.getName(), inputStreamSupplier(file)));
+				new InputStreamSupplierQrdaSource(file.getName(), inputStreamSupplier(file)), maxErrors);
 
 		validationService.validateQpp(conversionReport);
 		auditService.success(conversionReport);
@@ -62,7 +68,10 @@ public class QrdaControllerV1 {
 		HttpHeaders httpHeaders = new HttpHeaders();
 		httpHeaders.setContentType(MediaType.APPLICATION_JSON_UTF8);
 
-		return new ResponseEntity<>(conversionReport.getEncoded().toString(), httpHeaders, HttpStatus.CREATED);
+		// the encoded QPP is kept whole rather than streamed from the converter, since it must be validated
+		// against the submission API and stored for the audit before the response status is known
+		JsonWrapper qpp = conversionReport.getEncoded();
+		return new ResponseEntity<>(output -> qpp.writeTo(output, compact), httpHeaders, HttpStatus.CREATED);
 	}
 
 	/**
@@ -15,4 +15,14 @@ public interface QrdaService {
 	 * @return Results of the conversion
 	 */
 	Converter.ConversionReport convertQrda3ToQpp(QrdaSource source);
+
+	/**
+	 * Converts a given a input stream with to conversion result content, reporting no more than
+	 * the given number of errors
+	 *
+	 * @param source Object to be converted
+	 * @param maxErrors Most errors to report, or zero or less for no limit
+	 * @return Results of the conversion
+	 */
+	Converter.ConversionReport convertQrda3ToQpp(QrdaSource source, int maxErrors);
 }
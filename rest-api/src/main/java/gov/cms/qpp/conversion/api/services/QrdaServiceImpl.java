@@ -22,7 +22,31 @@ public class QrdaServiceImpl implements QrdaService {
 	 */
 	@Override
 	public Converter.ConversionReport convertQrda3ToQpp(QrdaSource source) {
+		return convert(initConverter(source));
+	}
+
+	/**
+	 * Converts a given a input stream with to conversion result content, stopping early once
+	 * the given number of errors is reached
+	 *
+	 * @param source Object to be converted
+	 * @param maxErrors Most errors to report, or zero or less for no limit
+	 * @return Results of the conversion
+	 */
+	@Override
+	public Converter.ConversionReport convertQrda3ToQpp(QrdaSource source, int maxErrors) {
 		Converter converter = initConverter(source);
+		converter.getContext().setMaxErrors(maxErrors);
+		return convert(converter);
+	}
+
+	/**
+	 * Performs the conversion
+	 *
+	 * @param converter converter for the source
+	 * @return Results of the conversion
+	 */
+	private Converter.ConversionReport convert(Converter converter) {
 		API_LOG.info("Performing QRDA3 to QPP conversion");
 		converter.transform();
 		return converter.getReport();
@@ -54,8 +54,8 @@ public class ValidationServiceImpl implements ValidationService {
 		}
 
 		API_LOG.info("Calling QPP validation");
-		conversionReport.getEncoded().stream().forEach(wrapper -> {
-			ResponseEntity<String> validationResponse = callValidationEndpoint(validationUrl, wrapper);
+		conversionReport.getEncoded().renderEach((wrapper, qpp) -> {
+			ResponseEntity<String> validationResponse = callValidationEndpoint(validationUrl, qpp);
 			if (HttpStatus.UNPROCESSABLE_ENTITY.equals(validationResponse.getStatusCode())) {
 				AllErrors convertedErrors = convertQppValidationErrorsToQrda(validationResponse.getBody(), wrapper);
 				conversionReport.setRawValidationDetails(validationResponse.getBody());
@@ -69,13 +69,13 @@ public class ValidationServiceImpl implements ValidationService {
 	 * Calls the validation API end-point.
 	 *
 	 * @param url The URL of the validation API end-point.
-	 * @param qpp The QPP to validate.
+	 * @param qpp The compact json of the QPP to validate.
 	 * @return The response from the validation API end-point.
 	 */
-	private ResponseEntity<String> callValidationEndpoint(String url, JsonWrapper qpp) {
+	private ResponseEntity<String> callValidationEndpoint(String url, byte[] qpp) {
 		restTemplate.setErrorHandler(new NoHandlingErrorHandler());
 
-		HttpEntity<String> request = new HttpEntity<>(qpp.toString(), getHeaders());
+		HttpEntity<byte[]> request = new HttpEntity<>(qpp, getHeaders());
 		return restTemplate.postForEntity(url, request, String.class);
 	}
 
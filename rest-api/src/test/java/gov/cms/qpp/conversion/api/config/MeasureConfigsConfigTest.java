@@ -0,0 +1,52 @@
+package gov.cms.qpp.conversion.api.config;
+
+import gov.cms.qpp.conversion.api.model.Constants;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigs;
+import gov.cms.qpp.conversion.model.validation.MeasureDataFileWatcher;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MeasureConfigsConfigTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@InjectMocks
+	private MeasureConfigsConfig underTest;
+
+	@Mock
+	private Environment environment;
+
+	@After
+	public void resetMeasureConfigs() {
+		MeasureConfigs.setMeasureDataFile(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME);
+	}
+
+	@Test
+	public void testWatchesMeasuresDataFile() throws IOException {
+		Path file = folder.newFile("measures-data.json").toPath();
+		Files.write(file, "[]".getBytes(StandardCharsets.UTF_8));
+		when(environment.getProperty(Constants.MEASURES_DATA_FILE_ENV_VARIABLE)).thenReturn(file.toString());
+
+		try (MeasureDataFileWatcher watcher = underTest.measureDataFileWatcher()) {
+			assertThat(watcher.getFile().toString()).isEqualTo(file.toAbsolutePath().toString());
+			assertThat(MeasureConfigs.getMeasureConfigs()).isEmpty();
+		}
+	}
+}
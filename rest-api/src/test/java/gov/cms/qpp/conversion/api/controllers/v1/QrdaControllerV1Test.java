@@ -19,8 +19,10 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
@@ -30,6 +32,8 @@ import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
@@ -73,30 +77,54 @@ public class QrdaControllerV1Test {
 
 	@Test
 	public void uploadQrdaFile() throws IOException {
-		when(qrdaService.convertQrda3ToQpp(any(QrdaSource.class))).thenReturn(report);
+		when(qrdaService.convertQrda3ToQpp(any(QrdaSource.class), anyInt())).thenReturn(report);
 		when(auditService.success(any(Converter.ConversionReport.class)))
 				.then(invocation -> null);
 
-		ResponseEntity qppResponse = objectUnderTest.uploadQrdaFile(multipartFile);
+		ResponseEntity<StreamingResponseBody> qppResponse = objectUnderTest.uploadQrdaFile(multipartFile, 0, false);
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		qppResponse.getBody().writeTo(body);
 
-		verify(qrdaService, atLeastOnce()).convertQrda3ToQpp(any(QrdaSource.class));
+		verify(qrdaService, atLeastOnce()).convertQrda3ToQpp(any(QrdaSource.class), anyInt());
 
 		assertWithMessage("The QPP response body is incorrect.")
-				.that(qppResponse.getBody())
+				.that(new String(body.toByteArray(), StandardCharsets.UTF_8))
 				.isEqualTo(report.getEncoded().toString());
 	}
 
+	@Test
+	public void uploadQrdaFileCompact() throws IOException {
+		when(qrdaService.convertQrda3ToQpp(any(QrdaSource.class), anyInt())).thenReturn(report);
+
+		ResponseEntity<StreamingResponseBody> qppResponse = objectUnderTest.uploadQrdaFile(multipartFile, 0, true);
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		qppResponse.getBody().writeTo(body);
+
+		assertWithMessage("The QPP response body should be compact.")
+				.that(new String(body.toByteArray(), StandardCharsets.UTF_8))
+				.isEqualTo("{\"key\":\"Good Qpp\"}");
+	}
+
+	@Test
+	public void uploadQrdaFileWithMaxErrors() throws IOException {
+		when(qrdaService.convertQrda3ToQpp(any(QrdaSource.class), anyInt())).thenReturn(report);
+
+		objectUnderTest.uploadQrdaFile(multipartFile, 5, false);
+
+		verify(qrdaService).convertQrda3ToQpp(any(QrdaSource.class), eq(5));
+	}
+
 	@Test
 	public void testFailedQppValidation() {
 		String transformationErrorMessage = "Test failed QPP validation";
 
-		when(qrdaService.convertQrda3ToQpp(any(QrdaSource.class)))
+		when(qrdaService.convertQrda3ToQpp(any(QrdaSource.class), anyInt()))
 				.thenReturn(null);
 		Mockito.doThrow(new TransformException(transformationErrorMessage, null, null))
 			.when(validationService).validateQpp(isNull());
 
 		try {
-			ResponseEntity qppResponse = objectUnderTest.uploadQrdaFile(multipartFile);
+			ResponseEntity qppResponse = objectUnderTest.uploadQrdaFile(multipartFile, 0, false);
 			fail("An exception should have occurred. Instead was " + qppResponse);
 		} catch(TransformException exception) {
 			assertWithMessage("A different exception occurred.")
@@ -1,5 +1,6 @@
 package gov.cms.qpp.conversion.api.services;
 
+import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.Converter;
 import gov.cms.qpp.conversion.InputStreamSupplierQrdaSource;
 import gov.cms.qpp.conversion.QrdaSource;
@@ -53,6 +54,19 @@ public class QrdaServiceImplTest {
 				.that(qpp.getString(KEY)).isSameAs(MOCK_SUCCESS_QPP_STRING);
 	}
 
+	@Test
+	public void testConvertQrda3ToQppWithMaxErrors() {
+		Converter converter = objectUnderTest.initConverter(MOCK_SUCCESS_QRDA_SOURCE);
+		Context context = new Context();
+		when(converter.getContext()).thenReturn(context);
+
+		JsonWrapper qpp = objectUnderTest.convertQrda3ToQpp(MOCK_SUCCESS_QRDA_SOURCE, 3).getEncoded();
+
+		assertThat(context.getMaxErrors()).isEqualTo(3);
+		assertWithMessage("The JSON content is incorrect.")
+				.that(qpp.getString(KEY)).isSameAs(MOCK_SUCCESS_QPP_STRING);
+	}
+
 	@Test
 	public void testConvertQrda3ToQppError() {
 		try {
@@ -75,7 +75,7 @@ public class ValidationServiceImplTest {
 		pathToSubmissionError = Paths.get("src/test/resources/submissionErrorFixture.json");
 		pathToSubmissionDuplicateEntryError = Paths.get("src/test/resources/submissionDuplicateEntryErrorFixture.json");
 		Path toConvert = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
-		qppWrapper = new JsonWrapper(new Converter(new PathQrdaSource(toConvert)).transform(), false);
+		qppWrapper = new JsonWrapper(new Converter(new PathQrdaSource(toConvert)).transform());
 		prepAllErrors();
 	}
 